@@ -0,0 +1,56 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.collection;
+
+import java.util.Collection;
+
+/**
+ * A collection with a fixed capacity that evicts it's oldest element if a new
+ * element is added to a full collection. Implementations must perform both the
+ * addition and the eviction in constant time.
+ *
+ * @author eso
+ */
+public interface BoundedCollection<E> extends Collection<E> {
+
+	/**
+	 * Returns the maximum number of elements in this collection.
+	 *
+	 * @return The capacity
+	 */
+	int getCapacity();
+
+	/**
+	 * Checks whether this collection has reached it's capacity so that the
+	 * next addition of a new element will evict the oldest element.
+	 *
+	 * @return TRUE if the collection is full
+	 */
+	default boolean isFull() {
+		return size() == getCapacity();
+	}
+
+	/**
+	 * Adds an element to this collection and returns the element that has
+	 * been evicted to make room for it. This is the same as {@link #add(Object)}
+	 * but allows the caller to track evicted elements.
+	 *
+	 * @param element The element to add
+	 * @return The evicted element or NULL if no element has been evicted
+	 */
+	E push(E element);
+}
@@ -0,0 +1,160 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.collection;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A set with a fixed capacity that preserves the insertion order of it's
+ * elements. If the set is full the element that has been inserted first will
+ * be dropped when a new element is added. Adding an element that is already
+ * contained in the set will not change the order of the elements. All
+ * operations have constant complexity.
+ *
+ * <p>Like the standard collections this class performs no thread
+ * synchronization.</p>
+ *
+ * @author eso
+ */
+public class BoundedSet<E> extends AbstractSet<E>
+	implements BoundedCollection<E> {
+
+	private final int capacity;
+
+	private final LinkedHashMap<E, Boolean> elements;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param capacity The maximum number of elements in this set
+	 * @throws IllegalArgumentException If the capacity is not positive
+	 */
+	public BoundedSet(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException(
+				"Capacity must be positive: " + capacity);
+		}
+
+		this.capacity = capacity;
+
+		elements = new LinkedHashMap<>(Math.min(capacity, 1024) * 4 / 3 + 1);
+	}
+
+	/**
+	 * Creates a new instance that is filled with the elements of another
+	 * collection. If the collection contains more distinct elements than the
+	 * capacity only the last added elements will be kept.
+	 *
+	 * @param capacity The maximum number of elements in this set
+	 * @param values   The initial values
+	 */
+	public BoundedSet(int capacity, Collection<? extends E> values) {
+		this(capacity);
+
+		addAll(values);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean add(E element) {
+		if (elements.containsKey(element)) {
+			return false;
+		}
+
+		push(element);
+
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		elements.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object element) {
+		return elements.containsKey(element);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getCapacity() {
+		return capacity;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<E> iterator() {
+		return elements.keySet().iterator();
+	}
+
+	/**
+	 * Adds an element if it is not contained in this set already.
+	 *
+	 * @see BoundedCollection#push(Object)
+	 */
+	@Override
+	public E push(E element) {
+		E evicted = null;
+
+		if (!elements.containsKey(element)) {
+			if (elements.size() == capacity) {
+				Iterator<Map.Entry<E, Boolean>> eldest =
+					elements.entrySet().iterator();
+
+				evicted = eldest.next().getKey();
+				eldest.remove();
+			}
+
+			elements.put(element, Boolean.TRUE);
+		}
+
+		return evicted;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean remove(Object element) {
+		return elements.remove(element) != null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return elements.size();
+	}
+}
@@ -0,0 +1,231 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.collection;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list with a fixed capacity that is backed by a circular array. Elements
+ * can only be appended to the end of the list. If the list is full the first
+ * (oldest) element will be dropped when a new element is added. Appending
+ * elements and removing the first or last element are constant time
+ * operations, as is the indexed access to elements. Removing other elements
+ * requires to shift the following elements like in an array list.
+ *
+ * <p>Like the standard collections this class performs no thread
+ * synchronization.</p>
+ *
+ * @author eso
+ */
+public class RingBuffer<E> extends AbstractList<E>
+	implements BoundedCollection<E>, RandomAccess {
+
+	private final Object[] elements;
+
+	private int head = 0;
+
+	private int size = 0;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param capacity The maximum number of elements in this buffer
+	 * @throws IllegalArgumentException If the capacity is not positive
+	 */
+	public RingBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException(
+				"Capacity must be positive: " + capacity);
+		}
+
+		elements = new Object[capacity];
+	}
+
+	/**
+	 * Creates a new instance that is filled with the elements of another
+	 * collection. If the collection contains more elements than the capacity
+	 * only the last elements will be kept.
+	 *
+	 * @param capacity The maximum number of elements in this buffer
+	 * @param values   The initial values
+	 */
+	public RingBuffer(int capacity, Collection<? extends E> values) {
+		this(capacity);
+
+		addAll(values);
+	}
+
+	/**
+	 * Appends an element to the end of this buffer. If the buffer is full the
+	 * first element will be evicted.
+	 *
+	 * @see AbstractList#add(Object)
+	 */
+	@Override
+	public boolean add(E element) {
+		push(element);
+
+		return true;
+	}
+
+	/**
+	 * Only supports the adding at the end of this buffer.
+	 *
+	 * @see AbstractList#add(int, Object)
+	 */
+	@Override
+	public void add(int index, E element) {
+		if (index != size) {
+			throw new UnsupportedOperationException(
+				"Elements can only be appended");
+		}
+
+		push(element);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		Arrays.fill(elements, null);
+		head = 0;
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E get(int index) {
+		checkIndex(index);
+
+		return (E) elements[position(index)];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getCapacity() {
+		return elements.length;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E push(E element) {
+		E evicted = null;
+
+		if (size == elements.length) {
+			evicted = (E) elements[head];
+			elements[head] = element;
+			head = (head + 1) % elements.length;
+		} else {
+			elements[position(size++)] = element;
+		}
+
+		modCount++;
+
+		return evicted;
+	}
+
+	/**
+	 * Removes an element. Removing the first or last element has constant
+	 * complexity, all other indices require to shift the following elements.
+	 *
+	 * @see AbstractList#remove(int)
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E remove(int index) {
+		checkIndex(index);
+
+		int position = position(index);
+		E removed = (E) elements[position];
+
+		if (index == 0) {
+			elements[head] = null;
+			head = (head + 1) % elements.length;
+		} else {
+			for (int i = index + 1; i < size; i++) {
+				elements[position(i - 1)] = elements[position(i)];
+			}
+
+			elements[position(size - 1)] = null;
+		}
+
+		size--;
+		modCount++;
+
+		return removed;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public E set(int index, E element) {
+		checkIndex(index);
+
+		int position = position(index);
+		E previous = (E) elements[position];
+
+		elements[position] = element;
+
+		return previous;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Throws an {@link IndexOutOfBoundsException} if the given index is not
+	 * valid for this buffer.
+	 *
+	 * @param index The index to check
+	 */
+	private void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(
+				"Index: " + index + ", Size: " + size);
+		}
+	}
+
+	/**
+	 * Maps a list index to the position in the element array.
+	 *
+	 * @param index The list index
+	 * @return The array position
+	 */
+	private int position(int index) {
+		return (head + index) % elements.length;
+	}
+}
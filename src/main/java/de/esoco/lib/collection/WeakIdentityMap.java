@@ -0,0 +1,284 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.collection;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * A thread-safe map with weakly referenced keys that are compared by
+ * identity instead of {@link Object#equals(Object)}. Like in a {@link
+ * java.util.WeakHashMap} an entry will be removed automatically after it's
+ * key has been garbage collected. Other than a synchronized weak hash map
+ * this implementation is based on a {@link ConcurrentHashMap} so that
+ * queries don't block each other and don't block concurrent modifications.
+ * Entries of collected keys are expunged on each modification of the map.
+ *
+ * <p>The values of this map are referenced strongly. Therefore a value must
+ * not refer to it's key because otherwise the entry cannot be collected.
+ * This class implements only a subset of the {@link java.util.Map} methods
+ * because the map views of a weak map would be of limited use.</p>
+ *
+ * @author eso
+ */
+public class WeakIdentityMap<K, V> {
+
+	private final ConcurrentMap<Object, V> entries =
+		new ConcurrentHashMap<>();
+
+	private final ReferenceQueue<K> collectedKeys = new ReferenceQueue<>();
+
+	/**
+	 * Removes all entries from this map.
+	 */
+	public void clear() {
+		entries.clear();
+
+		while (collectedKeys.poll() != null) {
+			// just drain the queue
+		}
+	}
+
+	/**
+	 * Returns the value that is associated with a key or creates and stores
+	 * a new value if no mapping exists. The creation of the new value may be
+	 * performed concurrently by multiple threads but only the first created
+	 * value will be stored in the map and returned to all threads.
+	 *
+	 * @param key     The key to return the value for
+	 * @param factory The function that creates a new value for the key
+	 * @return The existing or new value
+	 */
+	public V computeIfAbsent(K key, Function<? super K, ? extends V> factory) {
+		V value = get(key);
+
+		if (value == null) {
+			V newValue = factory.apply(key);
+
+			expungeCollectedKeys();
+			value = entries.putIfAbsent(new WeakKey<>(key, collectedKeys),
+				newValue);
+
+			if (value == null) {
+				value = newValue;
+			}
+		}
+
+		return value;
+	}
+
+	/**
+	 * Checks whether this map contains a mapping for a certain key.
+	 *
+	 * @param key The key to check
+	 * @return TRUE if a mapping exists
+	 */
+	public boolean containsKey(Object key) {
+		return key != null && entries.containsKey(new LookupKey(key));
+	}
+
+	/**
+	 * Returns the value that is associated with a certain key.
+	 *
+	 * @param key The key
+	 * @return The associated value or NULL if no mapping exists
+	 */
+	public V get(Object key) {
+		return key != null ? entries.get(new LookupKey(key)) : null;
+	}
+
+	/**
+	 * Associates a value with a key.
+	 *
+	 * @param key   The key
+	 * @param value The value
+	 * @return The value that had previously been associated with the key or
+	 * NULL for none
+	 */
+	public V put(K key, V value) {
+		expungeCollectedKeys();
+
+		// an existing map key will be kept by the map
+		return entries.put(new WeakKey<>(key, collectedKeys), value);
+	}
+
+	/**
+	 * Removes the mapping for a certain key.
+	 *
+	 * @param key The key
+	 * @return The value that had been associated with the key or NULL for
+	 * none
+	 */
+	public V remove(Object key) {
+		expungeCollectedKeys();
+
+		return key != null ? entries.remove(new LookupKey(key)) : null;
+	}
+
+	/**
+	 * Returns the number of entries in this map after expunging the entries
+	 * of keys that have already been collected.
+	 *
+	 * @return The current map size
+	 */
+	public int size() {
+		expungeCollectedKeys();
+
+		return entries.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s[%d]", getClass().getSimpleName(), size());
+	}
+
+	/**
+	 * Removes the entries of keys that have been garbage collected.
+	 */
+	private void expungeCollectedKeys() {
+		Reference<? extends K> key;
+
+		while ((key = collectedKeys.poll()) != null) {
+			entries.remove(key);
+		}
+	}
+
+	/**
+	 * The interface of key wrappers that compare their keys by identity.
+	 *
+	 * @author eso
+	 */
+	private interface IdentityKey {
+
+		/**
+		 * Returns the wrapped key.
+		 *
+		 * @return The key or NULL if it has been collected
+		 */
+		Object get();
+
+		/**
+		 * Compares the wrapped key of this instance with another object.
+		 *
+		 * @param self  This instance
+		 * @param other The object to compare with
+		 * @return TRUE if the other object is a key wrapper with the same key
+		 */
+		static boolean equals(IdentityKey self, Object other) {
+			if (self == other) {
+				return true;
+			} else if (other instanceof IdentityKey) {
+				Object key = self.get();
+
+				return key != null && key == ((IdentityKey) other).get();
+			} else {
+				return false;
+			}
+		}
+	}
+
+	/**
+	 * A temporary strong key that is used for map lookups.
+	 *
+	 * @author eso
+	 */
+	private static final class LookupKey implements IdentityKey {
+
+		private final Object key;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param key The key to look up
+		 */
+		LookupKey(Object key) {
+			this.key = key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object other) {
+			return IdentityKey.equals(this, other);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object get() {
+			return key;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(key);
+		}
+	}
+
+	/**
+	 * A weak reference to a key that is stored in the map. The identity hash
+	 * code is stored so that the entry can still be found after the key has
+	 * been collected.
+	 *
+	 * @author eso
+	 */
+	private static final class WeakKey<K> extends WeakReference<K>
+		implements IdentityKey {
+
+		private final int hashCode;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param key   The key to reference
+		 * @param queue The queue to register the reference with
+		 */
+		WeakKey(K key, ReferenceQueue<? super K> queue) {
+			super(key, queue);
+
+			hashCode = System.identityHashCode(key);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object other) {
+			return IdentityKey.equals(this, other);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
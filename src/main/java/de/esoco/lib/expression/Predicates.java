@@ -19,6 +19,7 @@ package de.esoco.lib.expression;
 import de.esoco.lib.expression.function.GetElement.GetField;
 import de.esoco.lib.expression.function.GetElement.ReadField;
 import de.esoco.lib.expression.predicate.BinaryPredicateChain;
+import de.esoco.lib.expression.predicate.CompiledPredicate;
 import de.esoco.lib.expression.predicate.Comparison;
 import de.esoco.lib.expression.predicate.Comparison.EqualTo;
 import de.esoco.lib.expression.predicate.Comparison.GreaterOrEqual;
@@ -155,6 +156,20 @@ public class Predicates {
 		return new BinaryPredicateChain<L, R, V, W>(outer, left, right);
 	}
 
+	/**
+	 * Compiles a predicate tree into a single method handle. The returned
+	 * predicate yields the same results as the argument but avoids the
+	 * cascading invocations of the predicate objects in the tree. This is
+	 * intended for long-lived predicates that are evaluated very often.
+	 *
+	 * @param predicate The predicate to compile
+	 * @return A new instance of {@link CompiledPredicate}
+	 * @see CompiledPredicate#compile(Predicate)
+	 */
+	public static <T> Predicate<T> compile(Predicate<T> predicate) {
+		return CompiledPredicate.compile(predicate);
+	}
+
 	/**
 	 * Returns a predicate that compares the target object with another object
 	 * by means of the {@link Object#equals(Object)} method. The predicate
@@ -17,11 +17,26 @@
 package de.esoco.lib.expression.function;
 
 import de.esoco.lib.expression.Function;
+import de.esoco.lib.expression.predicate.PredicateChain;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelationType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Implements a function chain that evaluates an outer function with the result
  * of an inner function and then returns the result of the outer function.
  *
+ * <p>On the first evaluation a chain compiles itself into a flat array of
+ * steps by resolving all nested chains. Consecutive relation types in the
+ * steps are fused into a single step that traverses the relations of the
+ * input object directly. The compiled steps are cached in the chain so that
+ * subsequent evaluations only iterate over the step array instead of
+ * recursing through the chain tree.</p>
+ *
  * @author eso
  */
 public class FunctionChain<I, V, O> extends AbstractFunction<I, O> {
@@ -30,6 +45,8 @@ public class FunctionChain<I, V, O> extends AbstractFunction<I, O> {
 
 	private final Function<I, ? extends V> inner;
 
+	private transient volatile Function<Object, Object>[] steps;
+
 	/**
 	 * Creates a new instance that chains two functions together.
 	 *
@@ -45,11 +62,44 @@ public class FunctionChain<I, V, O> extends AbstractFunction<I, O> {
 	}
 
 	/**
+	 * Checks whether a relation type can be fused with other relation types
+	 * into a single relation traversal step. This is only possible if the
+	 * relation type doesn't override the default evaluation.
+	 *
+	 * @param type The relation type to check
+	 * @return TRUE if the type can be fused
+	 */
+	private static boolean isFusible(RelationType<?> type) {
+		try {
+			return type
+				.getClass()
+				.getMethod("evaluate", Relatable.class)
+				.getDeclaringClass() == RelationType.class;
+		} catch (NoSuchMethodException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Evaluates the compiled steps of this chain.
+	 *
 	 * @see Function#evaluate(Object)
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public O evaluate(I input) {
-		return outer.evaluate(inner.evaluate(input));
+		Function<Object, Object>[] chainSteps = steps;
+		Object value = input;
+
+		if (chainSteps == null) {
+			chainSteps = compile();
+		}
+
+		for (Function<Object, Object> step : chainSteps) {
+			value = step.evaluate(value);
+		}
+
+		return (O) value;
 	}
 
 	/**
@@ -62,6 +112,23 @@ public class FunctionChain<I, V, O> extends AbstractFunction<I, O> {
 		return inner;
 	}
 
+	/**
+	 * Returns the compiled steps of this chain in the order of their
+	 * evaluation. Nested chains are resolved into their steps and
+	 * consecutive relation types are fused into single steps.
+	 *
+	 * @return The unmodifiable list of chain steps
+	 */
+	public final List<Function<?, ?>> getSteps() {
+		Function<Object, Object>[] chainSteps = steps;
+
+		if (chainSteps == null) {
+			chainSteps = compile();
+		}
+
+		return Collections.unmodifiableList(Arrays.asList(chainSteps));
+	}
+
 	/**
 	 * Returns the outer function of this chain which is evaluated last with
 	 * the
@@ -91,6 +158,88 @@ public class FunctionChain<I, V, O> extends AbstractFunction<I, O> {
 		return result;
 	}
 
+	/**
+	 * Adds the steps of a function to a list. Nested chains which don't
+	 * override the chain evaluation are resolved recursively.
+	 *
+	 * @param function  The function to add
+	 * @param stepsList The list of steps to add to
+	 */
+	@SuppressWarnings("unchecked")
+	private void addSteps(Function<?, ?> function,
+		List<Function<Object, Object>> stepsList) {
+		Class<?> functionClass = function.getClass();
+
+		if (functionClass == FunctionChain.class ||
+			functionClass == PredicateChain.class) {
+			FunctionChain<?, ?, ?> chain = (FunctionChain<?, ?, ?>) function;
+
+			addSteps(chain.inner, stepsList);
+			addSteps(chain.outer, stepsList);
+		} else {
+			stepsList.add((Function<Object, Object>) function);
+		}
+	}
+
+	/**
+	 * Compiles this chain into a flat array of steps and caches it. This
+	 * method is not synchronized because concurrent invocations will create
+	 * equivalent results.
+	 *
+	 * @return The compiled steps
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private Function<Object, Object>[] compile() {
+		List<Function<Object, Object>> chainSteps = new ArrayList<>();
+		List<Function<Object, Object>> compiled = new ArrayList<>();
+		List<RelationType<?>> path = new ArrayList<>();
+
+		addSteps(inner, chainSteps);
+		addSteps(outer, chainSteps);
+
+		for (Function<Object, Object> step : chainSteps) {
+			Function<?, ?> function = step;
+
+			if (function instanceof RelationType &&
+				isFusible((RelationType<?>) function)) {
+				path.add((RelationType<?>) function);
+			} else {
+				fuseRelationPath(path, compiled);
+				compiled.add(step);
+			}
+		}
+
+		fuseRelationPath(path, compiled);
+		steps = compiled.toArray(new Function[compiled.size()]);
+
+		return steps;
+	}
+
+	/**
+	 * Adds a step for a sequence of relation types to a list of compiled
+	 * steps and clears the sequence. A single relation type is added
+	 * unchanged.
+	 *
+	 * @param path     The relation type sequence
+	 * @param compiled The compiled steps to add the path step to
+	 */
+	@SuppressWarnings("unchecked")
+	private void fuseRelationPath(List<RelationType<?>> path,
+		List<Function<Object, Object>> compiled) {
+		int length = path.size();
+
+		if (length == 1) {
+			Function<?, ?> step = path.get(0);
+
+			compiled.add((Function<Object, Object>) step);
+		} else if (length > 1) {
+			compiled.add(
+				new RelationPath(path.toArray(new RelationType<?>[length])));
+		}
+
+		path.clear();
+	}
+
 	/**
 	 * Compares the left and right functions with that of another function.
 	 *
@@ -113,4 +262,57 @@ public class FunctionChain<I, V, O> extends AbstractFunction<I, O> {
 	protected int paramsHashCode() {
 		return 31 * outer.hashCode() + inner.hashCode();
 	}
+
+	/**
+	 * A chain step that queries a sequence of relations, starting at the
+	 * input value and continuing with the respective relation targets.
+	 *
+	 * @author eso
+	 */
+	private static final class RelationPath
+		implements Function<Object, Object> {
+
+		private final RelationType<?>[] types;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param types The relation types to query in the path order
+		 */
+		RelationPath(RelationType<?>[] types) {
+			this.types = types;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Object evaluate(Object input) {
+			Object value = input;
+
+			for (RelationType<?> type : types) {
+				if (value == null) {
+					break;
+				}
+
+				value = ((Relatable) value).get(type);
+			}
+
+			return value;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			StringBuilder path = new StringBuilder();
+
+			for (RelationType<?> type : types) {
+				path.append(path.length() > 0 ? "." : "").append(type);
+			}
+
+			return path.toString();
+		}
+	}
 }
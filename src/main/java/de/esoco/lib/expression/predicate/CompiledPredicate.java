@@ -0,0 +1,429 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.expression.predicate;
+
+import de.esoco.lib.expression.Function;
+import de.esoco.lib.expression.Predicate;
+import de.esoco.lib.expression.Predicates;
+import de.esoco.lib.expression.Predicates.And;
+import de.esoco.lib.expression.Predicates.Not;
+import de.esoco.lib.expression.Predicates.Or;
+import de.esoco.lib.expression.function.FunctionChain;
+import de.esoco.lib.expression.predicate.Comparison.ElementOf;
+import de.esoco.lib.expression.predicate.Comparison.EqualTo;
+import de.esoco.lib.expression.predicate.Comparison.GreaterOrEqual;
+import de.esoco.lib.expression.predicate.Comparison.GreaterThan;
+import de.esoco.lib.expression.predicate.Comparison.LessOrEqual;
+import de.esoco.lib.expression.predicate.Comparison.LessThan;
+import de.esoco.lib.expression.predicate.Comparison.Matching;
+import de.esoco.lib.expression.predicate.Comparison.SameAs;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.regex.Pattern;
+
+/**
+ * A predicate that evaluates a tree of other predicates through a single
+ * {@link MethodHandle}. The handle is built from method handle combinators
+ * when a predicate is compiled with {@link #compile(Predicate)}. Logical
+ * joins and negations become guards on the handles of their operands, the
+ * comparison values of the standard {@link Comparison} predicates are bound
+ * as constants, and the functions of function predicates and function
+ * chains (e.g. relation types) are bound to the handle as receivers. This
+ * replaces the cascade of virtual predicate invocations by a single handle
+ * invocation. How much of the handle tree is inlined by the JIT compiler
+ * depends on the JVM. Hidden classes are not used because this library
+ * targets Java 8.
+ *
+ * <p>Only the standard predicate and function classes are compiled
+ * structurally. Other predicates (including subclasses of the standard
+ * classes) are invoked as opaque nodes of the tree. The compiled predicate
+ * yields the same results as the original predicate but it should only be
+ * used for long-lived predicate trees because the compilation is
+ * significantly more expensive than the creation of the predicates.</p>
+ *
+ * @author eso
+ */
+public class CompiledPredicate<T> implements Predicate<T> {
+
+	private static final MethodType PREDICATE_TYPE =
+		MethodType.methodType(boolean.class, Object.class);
+
+	private static final MethodHandle TEST;
+
+	private static final MethodHandle EVALUATE;
+
+	private static final MethodHandle EQUAL;
+
+	private static final MethodHandle SAME;
+
+	private static final MethodHandle COMPARE;
+
+	private static final MethodHandle MATCHES;
+
+	private static final MethodHandle CONTAINS;
+
+	private static final MethodHandle NOT;
+
+	private static final MethodHandle GREATER;
+
+	private static final MethodHandle GREATER_OR_EQUAL;
+
+	private static final MethodHandle LESS;
+
+	private static final MethodHandle LESS_OR_EQUAL;
+
+	static {
+		Lookup lookup = MethodHandles.lookup();
+
+		try {
+			TEST = lookup.findVirtual(java.util.function.Predicate.class,
+				"test", MethodType.methodType(boolean.class, Object.class));
+			EVALUATE = lookup.findVirtual(Function.class, "evaluate",
+				MethodType.methodType(Object.class, Object.class));
+			EQUAL = lookup.findStatic(Objects.class, "equals",
+				MethodType.methodType(boolean.class, Object.class,
+					Object.class));
+			CONTAINS = lookup.findVirtual(Collection.class, "contains",
+				MethodType.methodType(boolean.class, Object.class));
+			SAME = findHelper(lookup, "same", boolean.class, Object.class,
+				Object.class);
+			COMPARE = findHelper(lookup, "compare", int.class, Object.class,
+				Object.class);
+			MATCHES = findHelper(lookup, "matches", boolean.class,
+				Object.class, Pattern.class);
+			NOT = findHelper(lookup, "not", boolean.class, boolean.class);
+			GREATER = findHelper(lookup, "greater", boolean.class, int.class);
+			GREATER_OR_EQUAL = findHelper(lookup, "greaterOrEqual",
+				boolean.class, int.class);
+			LESS = findHelper(lookup, "less", boolean.class, int.class);
+			LESS_OR_EQUAL =
+				findHelper(lookup, "lessOrEqual", boolean.class, int.class);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private final Predicate<T> source;
+
+	private final MethodHandle handle;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param source The source predicate
+	 * @param handle The compiled handle of the predicate
+	 */
+	private CompiledPredicate(Predicate<T> source, MethodHandle handle) {
+		this.source = source;
+		this.handle = handle;
+	}
+
+	/**
+	 * Compiles a predicate tree into a single method handle and returns a
+	 * predicate that evaluates that handle. If the argument is already a
+	 * compiled predicate it will be returned unchanged.
+	 *
+	 * @param predicate The predicate to compile
+	 * @return The compiled predicate
+	 */
+	public static <T> CompiledPredicate<T> compile(Predicate<T> predicate) {
+		if (predicate instanceof CompiledPredicate) {
+			return (CompiledPredicate<T>) predicate;
+		} else {
+			return new CompiledPredicate<>(predicate,
+				compilePredicate(predicate));
+		}
+	}
+
+	/**
+	 * Compiles a comparison predicate.
+	 *
+	 * @param comparison The comparison
+	 * @return The method handle or NULL if the comparison cannot be compiled
+	 */
+	private static MethodHandle compileComparison(
+		Comparison<?, ?> comparison) {
+		Class<?> comparisonClass = comparison.getClass();
+		Object value = comparison.getRightValue();
+		MethodHandle result = null;
+
+		if (comparisonClass == EqualTo.class) {
+			result = MethodHandles.insertArguments(EQUAL, 1, value);
+		} else if (comparisonClass == SameAs.class) {
+			result = MethodHandles.insertArguments(SAME, 1, value);
+		} else if (comparisonClass == Matching.class) {
+			result = MethodHandles.insertArguments(MATCHES, 1, value);
+		} else if (comparisonClass == ElementOf.class) {
+			result = CONTAINS.bindTo(value);
+		} else {
+			MethodHandle test = null;
+
+			if (comparisonClass == GreaterThan.class) {
+				test = GREATER;
+			} else if (comparisonClass == GreaterOrEqual.class) {
+				test = GREATER_OR_EQUAL;
+			} else if (comparisonClass == LessThan.class) {
+				test = LESS;
+			} else if (comparisonClass == LessOrEqual.class) {
+				test = LESS_OR_EQUAL;
+			}
+
+			if (test != null) {
+				result = MethodHandles.filterReturnValue(
+					MethodHandles.insertArguments(COMPARE, 1, value), test);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Compiles a function into a method handle of the type (Object)Object.
+	 * The steps of function chains are compiled into a sequence of handles.
+	 *
+	 * @param function The function to compile
+	 * @return The method handle
+	 */
+	private static MethodHandle compileFunction(Function<?, ?> function) {
+		MethodHandle result;
+
+		if (function instanceof FunctionChain) {
+			result = MethodHandles.identity(Object.class);
+
+			FunctionChain<?, ?, ?> chain = (FunctionChain<?, ?, ?>) function;
+
+			for (Function<?, ?> step : chain.getSteps()) {
+				result = MethodHandles.filterReturnValue(result,
+					EVALUATE.bindTo(step));
+			}
+		} else {
+			result = EVALUATE.bindTo(function);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Compiles a predicate into a method handle of the type (Object)boolean.
+	 *
+	 * @param predicate The predicate to compile
+	 * @return The method handle
+	 */
+	private static MethodHandle compilePredicate(Predicate<?> predicate) {
+		Class<?> predicateClass = predicate.getClass();
+		MethodHandle result = null;
+
+		if (predicate instanceof CompiledPredicate) {
+			result = ((CompiledPredicate<?>) predicate).handle;
+		} else if (predicate == Predicates.alwaysTrue() ||
+			predicate == Predicates.alwaysFalse()) {
+			result = MethodHandles.dropArguments(
+				MethodHandles.constant(boolean.class,
+					predicate == Predicates.alwaysTrue()), 0, Object.class);
+		} else if (predicate == Predicates.isNull()) {
+			result = MethodHandles.insertArguments(SAME, 1, (Object) null);
+		} else if (predicateClass == And.class || predicateClass == Or.class) {
+			PredicateJoin<?> join = (PredicateJoin<?>) predicate;
+			MethodHandle left = compilePredicate(join.getLeft());
+			MethodHandle right = compilePredicate(join.getRight());
+			boolean isOr = predicateClass == Or.class;
+			MethodHandle constant = MethodHandles.dropArguments(
+				MethodHandles.constant(boolean.class, isOr), 0, Object.class);
+
+			result = isOr ?
+			         MethodHandles.guardWithTest(left, constant, right) :
+			         MethodHandles.guardWithTest(left, right, constant);
+		} else if (predicateClass == Not.class) {
+			result = MethodHandles.filterReturnValue(
+				compilePredicate(((Not<?>) predicate).getInvertedPredicate()),
+				NOT);
+		} else if (predicateClass == FunctionPredicate.class ||
+			predicateClass == ElementPredicate.class) {
+			FunctionPredicate<?, ?> functionPredicate =
+				(FunctionPredicate<?, ?>) predicate;
+
+			result = MethodHandles.filterArguments(
+				compilePredicate(functionPredicate.getPredicate()), 0,
+				compileFunction(functionPredicate.getFunction()));
+		} else if (predicateClass == PredicateChain.class) {
+			PredicateChain<?, ?> chain = (PredicateChain<?, ?>) predicate;
+
+			result = MethodHandles.filterArguments(
+				compilePredicate((Predicate<?>) chain.getOuter()), 0,
+				compileFunction(chain.getInner()));
+		} else if (predicate instanceof Comparison) {
+			result = compileComparison((Comparison<?, ?>) predicate);
+		}
+
+		if (result == null) {
+			result = TEST.bindTo(predicate);
+		}
+
+		return result.asType(PREDICATE_TYPE);
+	}
+
+	/**
+	 * Helper method for the comparison of comparable values.
+	 *
+	 * @param value      The value to compare
+	 * @param comparison The value to compare with
+	 * @return The comparison result
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static int compare(Object value, Object comparison) {
+		return ((Comparable) value).compareTo(comparison);
+	}
+
+	/**
+	 * Returns a method handle for a static helper method of this class.
+	 *
+	 * @param lookup     The lookup to use
+	 * @param name       The method name
+	 * @param returnType The return type
+	 * @param paramTypes The parameter types
+	 * @return The method handle
+	 * @throws ReflectiveOperationException If the lookup fails
+	 */
+	private static MethodHandle findHelper(Lookup lookup, String name,
+		Class<?> returnType, Class<?>... paramTypes)
+		throws ReflectiveOperationException {
+		return lookup.findStatic(CompiledPredicate.class, name,
+			MethodType.methodType(returnType, paramTypes));
+	}
+
+	/**
+	 * Helper method for a greater than comparison result.
+	 *
+	 * @param comparison The comparison result
+	 * @return TRUE if the result is positive
+	 */
+	private static boolean greater(int comparison) {
+		return comparison > 0;
+	}
+
+	/**
+	 * Helper method for a greater or equal comparison result.
+	 *
+	 * @param comparison The comparison result
+	 * @return TRUE if the result is zero or positive
+	 */
+	private static boolean greaterOrEqual(int comparison) {
+		return comparison >= 0;
+	}
+
+	/**
+	 * Helper method for a less than comparison result.
+	 *
+	 * @param comparison The comparison result
+	 * @return TRUE if the result is negative
+	 */
+	private static boolean less(int comparison) {
+		return comparison < 0;
+	}
+
+	/**
+	 * Helper method for a less or equal comparison result.
+	 *
+	 * @param comparison The comparison result
+	 * @return TRUE if the result is zero or negative
+	 */
+	private static boolean lessOrEqual(int comparison) {
+		return comparison <= 0;
+	}
+
+	/**
+	 * Helper method for pattern matching.
+	 *
+	 * @param value   The value to match
+	 * @param pattern The pattern to match the value's string against
+	 * @return TRUE if the value matches
+	 */
+	private static boolean matches(Object value, Pattern pattern) {
+		return pattern.matcher(value.toString()).matches();
+	}
+
+	/**
+	 * Helper method for logical negation.
+	 *
+	 * @param value The value to negate
+	 * @return The negated value
+	 */
+	private static boolean not(boolean value) {
+		return !value;
+	}
+
+	/**
+	 * Helper method for an identity comparison.
+	 *
+	 * @param value      The value to compare
+	 * @param comparison The value to compare with
+	 * @return TRUE if both values are identical
+	 */
+	private static boolean same(Object value, Object comparison) {
+		return value == comparison;
+	}
+
+	/**
+	 * Evaluates the compiled method handle.
+	 *
+	 * @see Predicate#evaluate(Object)
+	 */
+	@Override
+	public Boolean evaluate(T value) {
+		return test(value);
+	}
+
+	/**
+	 * Returns the original predicate from which this instance has been
+	 * compiled.
+	 *
+	 * @return The source predicate
+	 */
+	public final Predicate<T> getSource() {
+		return source;
+	}
+
+	/**
+	 * Overridden to invoke the compiled method handle without boxing the
+	 * result.
+	 *
+	 * @see Predicate#test(Object)
+	 */
+	@Override
+	public boolean test(T value) {
+		try {
+			return (boolean) handle.invokeExact((Object) value);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return source.toString();
+	}
+}
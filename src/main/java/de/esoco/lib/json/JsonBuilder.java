@@ -64,7 +64,9 @@ public class JsonBuilder {
 	private static final Collection<RelationType<?>>
 		DEFAULT_EXCLUDED_RELATION_TYPES =
 		CollectionUtil.setOf(ListenerTypes.RELATION_LISTENERS,
+			ListenerTypes.RELATION_BATCH_LISTENERS,
 			ListenerTypes.RELATION_TYPE_LISTENERS,
+			ListenerTypes.RELATION_TYPE_BATCH_LISTENERS,
 			ListenerTypes.RELATION_UPDATE_LISTENERS, IMMUTABLE);
 
 	private final StringBuilder json = new StringBuilder();
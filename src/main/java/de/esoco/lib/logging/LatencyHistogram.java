@@ -0,0 +1,301 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.logging;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram of latency values with a fixed memory footprint. Values are
+ * recorded into logarithmic buckets where each power-of-two range is divided
+ * into a fixed number of linear sub-buckets. The number of sub-buckets is
+ * defined by the precision bits of an instance and determines the maximum
+ * relative error of the percentiles that are queried from the histogram (e.g.
+ * 5 bits for 32 sub-buckets and an error below 3.2%). Values below the number
+ * of sub-buckets are recorded exactly.
+ *
+ * <p>Recording values is lock-free and can be performed concurrently from
+ * multiple threads. Queries are not atomic in respect to concurrent recordings
+ * and may therefore miss recordings that occur while the query is executed.
+ * The unit of the recorded values is up to the application, but the methods
+ * {@link #recordSince(long)} and {@link #getValueAtPercentile(double,
+ * TimeUnit)} expect nanoseconds.</p>
+ *
+ * @author eso
+ */
+public class LatencyHistogram {
+
+	/**
+	 * The default number of precision bits.
+	 */
+	public static final int DEFAULT_PRECISION = 5;
+
+	private final int precision;
+
+	private final int subBuckets;
+
+	private final AtomicLongArray counts;
+
+	private final LongAdder totalCount = new LongAdder();
+
+	private final LongAdder totalSum = new LongAdder();
+
+	private final AtomicLong minimum = new AtomicLong(Long.MAX_VALUE);
+
+	private final AtomicLong maximum = new AtomicLong(Long.MIN_VALUE);
+
+	/**
+	 * Creates a new instance with the default precision.
+	 */
+	public LatencyHistogram() {
+		this(DEFAULT_PRECISION);
+	}
+
+	/**
+	 * Creates a new instance with a certain precision.
+	 *
+	 * @param precision The number of bits that define the sub-bucket count
+	 *                  for each power-of-two range (1 - 16)
+	 * @throws IllegalArgumentException If the precision is out of range
+	 */
+	public LatencyHistogram(int precision) {
+		if (precision < 1 || precision > 16) {
+			throw new IllegalArgumentException(
+				"Precision must be 1 - 16: " + precision);
+		}
+
+		this.precision = precision;
+		subBuckets = 1 << precision;
+		counts = new AtomicLongArray((64 - precision) * subBuckets);
+	}
+
+	/**
+	 * Returns the number of recorded values.
+	 *
+	 * @return The value count
+	 */
+	public long getCount() {
+		return totalCount.sum();
+	}
+
+	/**
+	 * Returns the largest recorded value.
+	 *
+	 * @return The maximum value or zero if no values have been recorded
+	 */
+	public long getMaximum() {
+		long max = maximum.get();
+
+		return max != Long.MIN_VALUE ? max : 0;
+	}
+
+	/**
+	 * Returns the arithmetic mean of all recorded values.
+	 *
+	 * @return The mean value or {@link Double#NaN} if no values have been
+	 * recorded
+	 */
+	public double getMean() {
+		long count = totalCount.sum();
+
+		return count > 0 ? (double) totalSum.sum() / count : Double.NaN;
+	}
+
+	/**
+	 * Returns the smallest recorded value.
+	 *
+	 * @return The minimum value or zero if no values have been recorded
+	 */
+	public long getMinimum() {
+		long min = minimum.get();
+
+		return min != Long.MAX_VALUE ? min : 0;
+	}
+
+	/**
+	 * Returns the number of precision bits of this instance.
+	 *
+	 * @return The precision
+	 */
+	public final int getPrecision() {
+		return precision;
+	}
+
+	/**
+	 * Returns the value at a certain percentile of the recorded values. The
+	 * result is the highest value that is equivalent to the percentile's
+	 * bucket in this histogram, limited by the maximum recorded value.
+	 *
+	 * @param percentile The percentile (0 - 100)
+	 * @return The value at the given percentile or zero if no values have been
+	 * recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException(
+				"Invalid percentile: " + percentile);
+		}
+
+		long count = totalCount.sum();
+		long value = 0;
+
+		if (count > 0) {
+			long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+			long cumulated = 0;
+			int size = counts.length();
+
+			for (int index = 0; index < size; index++) {
+				cumulated += counts.get(index);
+
+				if (cumulated >= rank) {
+					value = highestValueOf(index);
+
+					break;
+				}
+			}
+
+			value = Math.max(Math.min(value, getMaximum()), getMinimum());
+		}
+
+		return value;
+	}
+
+	/**
+	 * Returns the value at a certain percentile of recorded nanosecond values,
+	 * converted to another time unit.
+	 *
+	 * @param percentile The percentile (0 - 100)
+	 * @param unit       The time unit to convert the value to
+	 * @return The converted value at the given percentile
+	 * @see #getValueAtPercentile(double)
+	 */
+	public long getValueAtPercentile(double percentile, TimeUnit unit) {
+		return unit.convert(getValueAtPercentile(percentile),
+			TimeUnit.NANOSECONDS);
+	}
+
+	/**
+	 * Records a value in this histogram.
+	 *
+	 * @param value The value to record (must not be negative)
+	 * @throws IllegalArgumentException If the value is negative
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			throw new IllegalArgumentException(
+				"Negative value: " + value);
+		}
+
+		counts.incrementAndGet(indexOf(value));
+		totalCount.increment();
+		totalSum.add(value);
+
+		long current;
+
+		while (value < (current = minimum.get()) &&
+			!minimum.compareAndSet(current, value)) {
+			// retry
+		}
+
+		while (value > (current = maximum.get()) &&
+			!maximum.compareAndSet(current, value)) {
+			// retry
+		}
+	}
+
+	/**
+	 * Records the nanoseconds that have elapsed since a certain start time.
+	 *
+	 * @param startNanos The start time as returned by {@link
+	 *                   System#nanoTime()}
+	 * @return The elapsed nanoseconds
+	 */
+	public long recordSince(long startNanos) {
+		long elapsed = Math.max(0, System.nanoTime() - startNanos);
+
+		record(elapsed);
+
+		return elapsed;
+	}
+
+	/**
+	 * Removes all recorded values from this histogram.
+	 */
+	public void reset() {
+		int size = counts.length();
+
+		for (int index = 0; index < size; index++) {
+			counts.set(index, 0);
+		}
+
+		totalCount.reset();
+		totalSum.reset();
+		minimum.set(Long.MAX_VALUE);
+		maximum.set(Long.MIN_VALUE);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("boxing")
+	public String toString() {
+		return String.format(
+			"%s[count=%d, min=%d, mean=%.1f, p50=%d, p99=%d, p999=%d, " +
+				"max=%d]", getClass().getSimpleName(), getCount(),
+			getMinimum(), getMean(), getValueAtPercentile(50),
+			getValueAtPercentile(99), getValueAtPercentile(99.9),
+			getMaximum());
+	}
+
+	/**
+	 * Returns the highest value that is recorded in the bucket with a certain
+	 * index.
+	 *
+	 * @param index The bucket index
+	 * @return The highest equivalent value
+	 */
+	long highestValueOf(int index) {
+		if (index < subBuckets) {
+			return index;
+		} else {
+			int shift = index / subBuckets - 1;
+			long top = subBuckets + index % subBuckets;
+
+			return ((top + 1) << shift) - 1;
+		}
+	}
+
+	/**
+	 * Returns the bucket index for a certain value.
+	 *
+	 * @param value The value
+	 * @return The bucket index
+	 */
+	int indexOf(long value) {
+		if (value < subBuckets) {
+			return (int) value;
+		} else {
+			int shift = 63 - Long.numberOfLeadingZeros(value) - precision;
+			int top = (int) (value >>> shift);
+
+			return (shift + 1) * subBuckets + top - subBuckets;
+		}
+	}
+}
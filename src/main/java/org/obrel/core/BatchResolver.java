@@ -0,0 +1,61 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import de.esoco.lib.expression.Function;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * A target resolver for intermediate relations that can resolve multiple
+ * intermediate targets at once, e.g. by loading several entities with a
+ * single query. It can be used like any other resolver function with {@link
+ * Relatable#set(RelationType, Function, Object)}. If such a relation is
+ * queried on it's own the resolver will be invoked with a single intermediate
+ * target. But if the intermediate relations of many objects are resolved with
+ * {@link ObjectRelations#prefetch(RelationType, Collection)} the resolver will
+ * be invoked only once with all distinct intermediate targets of the
+ * unresolved relations.
+ *
+ * @author eso
+ */
+@FunctionalInterface
+public interface BatchResolver<I, T> extends Function<I, T> {
+
+	/**
+	 * Resolves a single intermediate target by invoking {@link
+	 * #resolveAll(Collection)}.
+	 *
+	 * @see Function#evaluate(Object)
+	 */
+	@Override
+	default T evaluate(I intermediateTarget) {
+		return resolveAll(Collections.singleton(intermediateTarget)).get(
+			intermediateTarget);
+	}
+
+	/**
+	 * Resolves multiple intermediate targets at once. Intermediate targets
+	 * which are missing in the returned map will be resolved to NULL.
+	 *
+	 * @param intermediateTargets The distinct intermediate targets to resolve
+	 * @return A mapping from intermediate targets to the resolved targets
+	 */
+	Map<I, T> resolveAll(Collection<I> intermediateTargets);
+}
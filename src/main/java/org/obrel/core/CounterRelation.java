@@ -0,0 +1,128 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A relation that stores a long counter value in a {@link LongAdder}. This
+ * allows to count concurrently from multiple threads without contention and
+ * without allocating a new boxed value for each increment. The counter value
+ * can be queried without boxing through the {@link LongSupplier} interface.
+ * The boxed target value will only be created if the relation is queried
+ * through the generic relation API, e.g. by {@link #getTarget()}.
+ *
+ * <p>The sum of a {@link LongAdder} is not an atomic snapshot if it is queried
+ * while concurrent updates occur. Setting the target of this relation will
+ * reset the counter to the new value and is not atomic in respect to
+ * concurrent increments either.</p>
+ *
+ * @author eso
+ */
+public class CounterRelation extends Relation<Long> implements LongSupplier {
+
+	private static final long serialVersionUID = 1L;
+
+	private final LongAdder counter = new LongAdder();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param type         The relation type
+	 * @param initialValue The initial counter value
+	 */
+	public CounterRelation(RelationType<Long> type, long initialValue) {
+		super(type);
+
+		counter.add(initialValue);
+	}
+
+	/**
+	 * Adds a value to the counter.
+	 *
+	 * @param value The value to add
+	 */
+	public final void add(long value) {
+		counter.add(value);
+	}
+
+	/**
+	 * Returns the current counter value.
+	 *
+	 * @see LongSupplier#getAsLong()
+	 */
+	@Override
+	public final long getAsLong() {
+		return counter.sum();
+	}
+
+	/**
+	 * Returns the current counter value as a boxed long.
+	 *
+	 * @see Relation#getTarget()
+	 */
+	@Override
+	public Long getTarget() {
+		return Long.valueOf(counter.sum());
+	}
+
+	/**
+	 * Increments the counter by one.
+	 */
+	public final void increment() {
+		counter.increment();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	Relation<Long> copyTo(Relatable target) {
+		return target.set(getType(), getTarget());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean dataEqual(Relation<?> other) {
+		return getAsLong() == ((CounterRelation) other).getAsLong();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int dataHashCode() {
+		return 17 + Long.hashCode(counter.sum());
+	}
+
+	/**
+	 * Resets the counter to the given value.
+	 *
+	 * @see Relation#setTarget(Object)
+	 */
+	@Override
+	void setTarget(Long newTarget) {
+		counter.reset();
+
+		if (newTarget != null) {
+			counter.add(newTarget.longValue());
+		}
+	}
+}
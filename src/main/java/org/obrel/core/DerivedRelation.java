@@ -0,0 +1,146 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import java.util.Objects;
+
+/**
+ * A relation that memoizes a value which is derived from other relations of
+ * it's parent object. The value is derived by the initial value function of
+ * the relation type (see {@link RelationType#initialValue(Relatable)}). After
+ * an invocation of {@link #invalidate()} it will be derived again on the next
+ * query of the relation target. Because the derivation reads the current
+ * values of the parent's relations, any derived relations that the value
+ * depends on will be re-evaluated first. This ensures that derived values are
+ * always consistent, independent of the order in which they are invalidated.
+ *
+ * <p>Relation listeners are notified before a modification is applied and
+ * derived relations are therefore invalidated before their dependencies have
+ * changed. If the parent is a {@link RelatedObject} a value that is derived
+ * before the parent has been modified after the invalidation will not be
+ * memoized, so that listeners which query the value while being notified of
+ * a dependency change cannot memoize a value that has been derived from the
+ * previous dependency values.</p>
+ *
+ * <p>If the target of this relation is set explicitly the new value will be
+ * used until the relation is invalidated the next time. A deserialized
+ * relation has no reference to it's parent and will therefore always return
+ * the value it had when it was serialized.</p>
+ *
+ * @author eso
+ */
+public class DerivedRelation<T> extends Relation<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Relatable parent;
+
+	private T value;
+
+	private transient boolean valid;
+
+	private transient int invalidation;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param type   The relation type
+	 * @param parent The parent object to derive the value from
+	 * @param value  The current derived value
+	 */
+	public DerivedRelation(RelationType<T> type, Relatable parent, T value) {
+		super(type);
+
+		this.parent = parent;
+		this.value = value;
+
+		valid = true;
+	}
+
+	/**
+	 * Returns the memoized value and derives it again if it has been
+	 * invalidated.
+	 *
+	 * @see Relation#getTarget()
+	 */
+	@Override
+	public T getTarget() {
+		if (!valid && parent != null) {
+			value = getType().initialValue(parent);
+			valid = !(parent instanceof RelatedObject) ||
+				((RelatedObject) parent).modificationCount != invalidation;
+		}
+
+		return value;
+	}
+
+	/**
+	 * Invalidates the memoized value so that it will be derived again on the
+	 * next query.
+	 */
+	public final void invalidate() {
+		valid = false;
+
+		if (parent instanceof RelatedObject) {
+			invalidation = ((RelatedObject) parent).modificationCount;
+		}
+	}
+
+	/**
+	 * Checks whether the memoized value is valid or needs to be derived again.
+	 *
+	 * @return TRUE if the memoized value is valid
+	 */
+	public final boolean isValid() {
+		return valid;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	Relation<T> copyTo(Relatable target) {
+		return target.set(getType(), getTarget());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean dataEqual(Relation<?> other) {
+		return Objects.equals(getTarget(), other.getTarget());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int dataHashCode() {
+		return 17 + Objects.hashCode(getTarget());
+	}
+
+	/**
+	 * Sets the memoized value and marks it as valid.
+	 *
+	 * @see Relation#setTarget(Object)
+	 */
+	@Override
+	void setTarget(T newTarget) {
+		value = newTarget;
+		valid = true;
+	}
+}
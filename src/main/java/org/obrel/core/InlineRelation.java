@@ -0,0 +1,308 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import de.esoco.lib.expression.InvertibleFunction;
+import de.esoco.lib.expression.Predicate;
+
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A lightweight relation that refers to a relation target which is stored
+ * inline in the parent object (see {@link RelatedObject#usesInlineTargets()}).
+ * Instances are created on demand and are not stored in the parent, so that
+ * read access never modifies the parent. Read access to meta-relations will
+ * be delegated to the stored relation if it has been materialized already.
+ * Any modification of the meta-relations (e.g. by annotating or aliasing the
+ * relation or by querying a meta-relation with an initial value) will first
+ * materialize the stored relation in the parent and then be forwarded to it.
+ *
+ * <p>If the relation is removed from the parent an instance behaves like a
+ * detached relation with a NULL target. Serializing an instance will write a
+ * {@link DirectRelation} with the current target instead.</p>
+ *
+ * @author eso
+ */
+final class InlineRelation<T> extends Relation<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient RelatedObject parent;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param parent The parent object that contains the inline target
+	 * @param type   The relation type
+	 */
+	InlineRelation(RelatedObject parent, RelationType<T> type) {
+		super(type);
+
+		this.parent = parent;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean anyRelation(Predicate<? super Relation<?>> filter) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.anyRelation(filter) :
+		       super.anyRelation(filter);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void deleteRelation(Relation<?> relation) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		if (stored != null) {
+			stored.deleteRelation(relation);
+		} else {
+			super.deleteRelation(relation);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void forEachRelation(Predicate<? super Relation<?>> filter,
+		Consumer<? super Relation<?>> action) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		if (stored != null) {
+			stored.forEachRelation(filter, action);
+		} else {
+			super.forEachRelation(filter, action);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> R get(RelationType<R> type) {
+		Relation<T> relation = parent.getStoredRelation(getType());
+
+		if (relation == null && type.hasInitialValue()) {
+			// the initial value will be stored in the materialized relation
+			relation = attached();
+		}
+
+		return relation != null && relation != this ? relation.get(type) :
+		       super.get(type);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Relation<R> getRelation(RelationType<R> type) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.getRelation(type) :
+		       super.getRelation(type);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getRelationCount(Predicate<? super Relation<?>> filter) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.getRelationCount(filter) :
+		       super.getRelationCount(filter);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public List<Relation<?>> getRelations(
+		Predicate<? super Relation<?>> filter) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.getRelations(filter) :
+		       super.getRelations(filter);
+	}
+
+	/**
+	 * Returns the target from the parent object.
+	 *
+	 * @see Relation#getTarget()
+	 */
+	@Override
+	public T getTarget() {
+		return parent.getCurrentTarget(getType());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasFlag(RelationType<Boolean> type) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.hasFlag(type) : super.hasFlag(type);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean hasRelation(RelationType<?> type) {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.hasRelation(type) :
+		       super.hasRelation(type);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<Relation<?>> relationSpliterator() {
+		Relation<T> stored = parent.getStoredRelation(getType());
+
+		return stored != null ? stored.relationSpliterator() :
+		       super.relationSpliterator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R> Relation<R> set(RelationType<R> type, R target) {
+		Relation<T> relation = attached();
+
+		return relation != this ? relation.set(type, target) :
+		       super.set(type, target);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public <R, D> TransformedRelation<R, D> transform(RelationType<R> type,
+		InvertibleFunction<R, D> transformation) {
+		Relation<T> relation = attached();
+
+		return relation != this ? relation.transform(type, transformation) :
+		       super.transform(type, transformation);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	<R> Relation<R> addRelation(Relation<R> relation, boolean notify) {
+		Relation<T> attached = attached();
+
+		return attached != this ? attached.addRelation(relation, notify) :
+		       super.addRelation(relation, notify);
+	}
+
+	/**
+	 * Returns the materialized relation from the parent object or this
+	 * instance if the relation has been removed from the parent.
+	 *
+	 * @see Relation#attached()
+	 */
+	@Override
+	Relation<T> attached() {
+		Relation<T> relation = null;
+
+		if (parent.hasRelation(getType())) {
+			relation = parent.materializeRelation(getType());
+		}
+
+		return relation != null ? relation : this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	Relation<T> copyTo(Relatable target) {
+		return target.set(getType(), getTarget());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean dataEqual(Relation<?> other) {
+		T target = getTarget();
+
+		if (target == null) {
+			return other.getTarget() == null;
+		} else {
+			return target.equals(other.getTarget());
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int dataHashCode() {
+		T target = getTarget();
+
+		return 17 + (target != null ? target.hashCode() : 0);
+	}
+
+	/**
+	 * Re-assigns this instance to the inline target of another relation type
+	 * in the parent object. This allows to use a single instance as a view
+	 * of all inline targets while iterating over the relations of the parent.
+	 *
+	 * @param type The new relation type
+	 * @return This instance
+	 */
+	@SuppressWarnings("unchecked")
+	Relation<?> reassign(RelationType<?> type) {
+		setType((RelationType<T>) type);
+
+		return this;
+	}
+
+	/**
+	 * Stores the new target in the parent object.
+	 *
+	 * @see Relation#setTarget(Object)
+	 */
+	@Override
+	void setTarget(T newTarget) {
+		parent.setCurrentTarget(getType(), newTarget);
+	}
+
+	/**
+	 * Replaces this instance with a direct relation on serialization.
+	 *
+	 * @return The replacement relation
+	 */
+	private Object writeReplace() {
+		return new DirectRelation<T>(getType(), getTarget());
+	}
+}
@@ -17,10 +17,21 @@
 package org.obrel.core;
 
 import de.esoco.lib.expression.Function;
+import org.obrel.type.MetaTypes;
 
 import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
 
 import static org.obrel.core.RelationTypeModifier.PRIVATE;
 import static org.obrel.core.RelationTypes.newType;
@@ -44,6 +55,21 @@ import static org.obrel.core.RelationTypes.newType;
  * serializable the intermediate target value will be converted to the final
  * target format which will then be serialized.</p>
  *
+ * <p>The resolution of the intermediate target is thread-safe and will only
+ * be performed once. If multiple threads query an unresolved relation
+ * concurrently, one of them will perform the resolution while the others wait
+ * for the result. After the resolution the target is accessed without
+ * locking. Because the conversion function is invoked while holding the lock
+ * of the relation it should not depend on the resolution of intermediate
+ * relations in other threads. An unresolved relation can also be resolved
+ * asynchronously with {@link #resolveAsync(Executor)}. If a relation type has
+ * the meta-relation {@link MetaTypes#RESOLUTION_TIME} the time needed for the
+ * resolutions of it's relations will be recorded in it.</p>
+ *
+ * <p>If the conversion function is a {@link BatchResolver} the intermediate
+ * relations of multiple objects can be resolved together with {@link
+ * ObjectRelations#prefetch(RelationType, java.util.Collection)}.</p>
+ *
  * <p>See the documentation of {@link RelatedObject#set(RelationType, Function,
  * Object)} for details about this kind of relation.</p>
  *
@@ -59,6 +85,8 @@ public class IntermediateRelation<T, I> extends DirectRelation<T> {
 
 	private static final long serialVersionUID = 1L;
 
+	private transient volatile boolean resolved;
+
 	static {
 		RelationTypes.init(IntermediateRelation.class);
 	}
@@ -83,13 +111,84 @@ public class IntermediateRelation<T, I> extends DirectRelation<T> {
 		set(INTERMEDIATE_TARGET, intermediateTarget);
 	}
 
+	/**
+	 * Resolves the unresolved intermediate relations with a certain type in
+	 * multiple objects. Relations with the same {@link BatchResolver} will be
+	 * resolved together with a single invocation of the resolver for all
+	 * distinct intermediate targets. Relations with other resolvers will be
+	 * resolved individually.
+	 *
+	 * @param type    The relation type
+	 * @param objects The objects to resolve the relations of
+	 * @return The number of relations that have been resolved
+	 */
+	static <T> int resolveAll(RelationType<T> type,
+		Iterable<? extends Relatable> objects) {
+		Map<BatchResolver<Object, T>, List<IntermediateRelation<T, Object>>>
+			batches = new IdentityHashMap<>();
+		int count = 0;
+
+		for (Relatable object : objects) {
+			Relation<T> relation = object.getRelation(type);
+
+			if (relation instanceof IntermediateRelation) {
+				IntermediateRelation<T, Object> intermediate =
+					(IntermediateRelation<T, Object>) relation;
+
+				Function<?, ?> conversion = intermediate.getConversion();
+
+				if (conversion instanceof BatchResolver) {
+					batches
+						.computeIfAbsent((BatchResolver<Object, T>) conversion,
+							r -> new ArrayList<>())
+						.add(intermediate);
+				} else if (conversion != null) {
+					intermediate.getTarget();
+					count++;
+				}
+			}
+		}
+
+		for (Map.Entry<BatchResolver<Object, T>,
+			List<IntermediateRelation<T, Object>>> batch :
+			batches.entrySet()) {
+			List<IntermediateRelation<T, Object>> relations = batch.getValue();
+			Set<Object> intermediateTargets = new LinkedHashSet<>();
+
+			for (IntermediateRelation<T, Object> relation : relations) {
+				intermediateTargets.add(relation.getIntermediateTarget());
+			}
+
+			long start = System.nanoTime();
+
+			Map<Object, T> targets = batch
+				.getKey()
+				.resolveAll(Collections.unmodifiableSet(intermediateTargets));
+
+			recordResolutionTime(type, start);
+
+			for (IntermediateRelation<T, Object> relation : relations) {
+				relation.resolve(targets);
+				count++;
+			}
+		}
+
+		return count;
+	}
+
 	/**
 	 * Returns the intermediate target value of this relation.
 	 *
 	 * @return The intermediate target
 	 */
 	public final I getIntermediateTarget() {
-		return (I) get(INTERMEDIATE_TARGET);
+		if (resolved) {
+			return null;
+		}
+
+		synchronized (this) {
+			return (I) get(INTERMEDIATE_TARGET);
+		}
 	}
 
 	/**
@@ -101,15 +200,60 @@ public class IntermediateRelation<T, I> extends DirectRelation<T> {
 	 */
 	@Override
 	public T getTarget() {
-		T target = super.getTarget();
-		Function<I, T> conversion = (Function<I, T>) get(TARGET_CONVERSION);
+		if (!resolved) {
+			resolve();
+		}
+
+		return super.getTarget();
+	}
 
-		if (conversion != null && target == null) {
-			target = conversion.evaluate((I) get(INTERMEDIATE_TARGET));
-			setTarget(target);
+	/**
+	 * Checks whether the target of this relation is available without
+	 * blocking. This is always the case except if the intermediate target is
+	 * a {@link Future} that has not completed yet or a {@link
+	 * CompletableFuture} that has completed exceptionally.
+	 *
+	 * @return TRUE if the target is available without blocking
+	 */
+	public final boolean isAvailable() {
+		Object intermediateTarget = getIntermediateTarget();
+
+		if (intermediateTarget instanceof CompletableFuture) {
+			CompletableFuture<?> future =
+				(CompletableFuture<?>) intermediateTarget;
+
+			return future.isDone() && !future.isCompletedExceptionally();
+		} else if (intermediateTarget instanceof Future) {
+			return ((Future<?>) intermediateTarget).isDone();
+		} else {
+			return true;
 		}
+	}
+
+	/**
+	 * Checks whether the intermediate target of this relation has already
+	 * been resolved.
+	 *
+	 * @return TRUE if the target has been resolved
+	 */
+	public final boolean isResolved() {
+		return resolved || getConversion() == null;
+	}
 
-		return target;
+	/**
+	 * Resolves the intermediate target of this relation asynchronously with
+	 * a certain executor. If the target has already been resolved the
+	 * returned future will be completed already.
+	 *
+	 * @param executor The executor to perform the resolution with
+	 * @return A future that will be completed with the resolved target
+	 */
+	public CompletableFuture<T> resolveAsync(Executor executor) {
+		if (resolved) {
+			return CompletableFuture.completedFuture(super.getTarget());
+		} else {
+			return CompletableFuture.supplyAsync(this::getTarget, executor);
+		}
 	}
 
 	/**
@@ -140,11 +284,77 @@ public class IntermediateRelation<T, I> extends DirectRelation<T> {
 	 * @see DirectRelation#setTarget(Object)
 	 */
 	@Override
-	void setTarget(T newTarget) {
+	synchronized void setTarget(T newTarget) {
 		deleteRelation(TARGET_CONVERSION);
 		deleteRelation(INTERMEDIATE_TARGET);
 
 		super.setTarget(newTarget);
+		resolved = true;
+	}
+
+	/**
+	 * Records the time of a resolution in the meta-relation {@link
+	 * MetaTypes#RESOLUTION_TIME} of a relation type if it exists.
+	 *
+	 * @param type       The relation type
+	 * @param startNanos The start time of the resolution
+	 */
+	private static void recordResolutionTime(RelationType<?> type,
+		long startNanos) {
+		if (type.hasRelation(MetaTypes.RESOLUTION_TIME)) {
+			type.get(MetaTypes.RESOLUTION_TIME).recordSince(startNanos);
+		}
+	}
+
+	/**
+	 * Returns the target conversion of this relation if it has not been
+	 * resolved yet.
+	 *
+	 * @return The conversion function or NULL if already resolved
+	 */
+	private Function<I, T> getConversion() {
+		if (resolved) {
+			return null;
+		}
+
+		synchronized (this) {
+			return (Function<I, T>) get(TARGET_CONVERSION);
+		}
+	}
+
+	/**
+	 * Performs the single resolution of the intermediate target by applying
+	 * the target conversion. Concurrent invocations will block until the
+	 * resolution is complete.
+	 */
+	private synchronized void resolve() {
+		if (!resolved) {
+			Function<I, T> conversion = (Function<I, T>) get(TARGET_CONVERSION);
+
+			if (conversion != null) {
+				long start = System.nanoTime();
+				T target =
+					conversion.evaluate((I) get(INTERMEDIATE_TARGET));
+
+				recordResolutionTime(getType(), start);
+				setTarget(target);
+			}
+
+			resolved = true;
+		}
+	}
+
+	/**
+	 * Sets the target of this relation from the result of a batch resolution
+	 * if it has not been resolved concurrently.
+	 *
+	 * @param targets The mapping from intermediate targets to the resolved
+	 *                targets
+	 */
+	private synchronized void resolve(Map<?, T> targets) {
+		if (!resolved) {
+			setTarget(targets.get(get(INTERMEDIATE_TARGET)));
+		}
 	}
 
 	/**
@@ -155,7 +365,8 @@ public class IntermediateRelation<T, I> extends DirectRelation<T> {
 	 * @param out The output stream
 	 * @throws IOException If the serialization fails
 	 */
-	private void writeObject(ObjectOutputStream out) throws IOException {
+	private synchronized void writeObject(ObjectOutputStream out)
+		throws IOException {
 		if (!(get(TARGET_CONVERSION) instanceof Serializable &&
 			get(INTERMEDIATE_TARGET) instanceof Serializable)) {
 			// if the intermediate data is not serializable convert it to
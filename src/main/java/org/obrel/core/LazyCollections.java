@@ -0,0 +1,380 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Package-internal helper class for the non-materializing access to
+ * relations with collection datatypes. It provides shared immutable empty
+ * collections for {@link Relatable#peek(RelationType)} and views of
+ * non-existing relations with the modifier {@link RelationTypeModifier#LAZY}.
+ * Such views read from an empty collection as long as the relation doesn't
+ * exist and create the relation through {@link Relatable#init(RelationType)}
+ * on the first modification. After that the views delegate to the relation
+ * target.
+ *
+ * @author eso
+ */
+final class LazyCollections {
+
+	/**
+	 * Private, only static use.
+	 */
+	private LazyCollections() {
+	}
+
+	/**
+	 * Returns a shared immutable empty collection for a relation type with a
+	 * collection datatype.
+	 *
+	 * @param type The relation type
+	 * @return The empty collection or NULL if the type doesn't have a
+	 * collection datatype
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T emptyValue(RelationType<T> type) {
+		Class<?> targetType = type.getTargetType();
+		Object empty = null;
+
+		if (targetType == List.class || targetType == Collection.class) {
+			empty = Collections.emptyList();
+		} else if (targetType == Set.class) {
+			empty = Collections.emptySet();
+		} else if (targetType == Map.class) {
+			empty = Collections.emptyMap();
+		}
+
+		return (T) empty;
+	}
+
+	/**
+	 * Returns the target of a relation and creates the relation with the
+	 * type's initial value if it doesn't exist. Like the initial value that
+	 * is created by {@link RelatedObject#get(RelationType)} the relation will
+	 * also be created in related objects if the type is readonly.
+	 *
+	 * @param parent The parent of the relation
+	 * @param type   The relation type
+	 * @return The relation target
+	 */
+	private static <T> T materialize(Relatable parent, RelationType<T> type) {
+		Relation<T> relation = parent.getRelation(type);
+
+		if (relation == null) {
+			if (parent instanceof RelatedObject) {
+				relation = ((RelatedObject) parent).addInitialRelation(type);
+			} else {
+				relation = parent.init(type);
+			}
+		}
+
+		return relation.getTarget();
+	}
+
+	/**
+	 * Returns a view of a non-existing relation with a collection datatype
+	 * that creates the relation on the first modification.
+	 *
+	 * @param parent The parent of the relation
+	 * @param type   The relation type
+	 * @return The view or NULL if the type doesn't have a collection datatype
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	static <T> T newView(Relatable parent, RelationType<T> type) {
+		Class<?> targetType = type.getTargetType();
+		Object view = null;
+
+		if (targetType == List.class || targetType == Collection.class) {
+			view = new LazyList(parent, type);
+		} else if (targetType == Set.class) {
+			view = new LazySet(parent, type);
+		} else if (targetType == Map.class) {
+			view = new LazyMap(parent, type);
+		}
+
+		return (T) view;
+	}
+
+	/**
+	 * A lazy list view.
+	 *
+	 * @author eso
+	 */
+	private static class LazyList<E> extends AbstractList<E> {
+
+		private final Relatable parent;
+
+		private final RelationType<List<E>> type;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param parent The parent of the relation
+		 * @param type   The relation type
+		 */
+		LazyList(Relatable parent, RelationType<List<E>> type) {
+			this.parent = parent;
+			this.type = type;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void add(int index, E element) {
+			modifiable(index, true).add(index, element);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object element) {
+			return target().contains(element);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public E get(int index) {
+			return target().get(index);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public E remove(int index) {
+			return modifiable(index, false).remove(index);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public E set(int index, E element) {
+			return modifiable(index, false).set(index, element);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return target().size();
+		}
+
+		/**
+		 * Returns the relation target for a modification at a certain index
+		 * and creates the relation if necessary. If the relation doesn't
+		 * exist the index will be checked against the empty view first so
+		 * that an invalid index doesn't create the relation.
+		 *
+		 * @param index  The index of the modification
+		 * @param insert TRUE if an element will be inserted at the index
+		 * @return The target list
+		 * @throws IndexOutOfBoundsException If the relation doesn't exist and
+		 *                                   the index is invalid for an empty
+		 *                                   list
+		 */
+		private List<E> modifiable(int index, boolean insert) {
+			if (!parent.hasRelation(type) && !(insert && index == 0)) {
+				throw new IndexOutOfBoundsException(
+					"Index: " + index + ", Size: 0");
+			}
+
+			return materialize(parent, type);
+		}
+
+		/**
+		 * Returns the relation target or an empty list if the relation
+		 * doesn't exist.
+		 *
+		 * @return The target list
+		 */
+		private List<E> target() {
+			return parent.hasRelation(type) ? parent.get(type) :
+			       Collections.<E>emptyList();
+		}
+	}
+
+	/**
+	 * A lazy map view.
+	 *
+	 * @author eso
+	 */
+	private static class LazyMap<K, V> extends AbstractMap<K, V> {
+
+		private final Relatable parent;
+
+		private final RelationType<Map<K, V>> type;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param parent The parent of the relation
+		 * @param type   The relation type
+		 */
+		LazyMap(Relatable parent, RelationType<Map<K, V>> type) {
+			this.parent = parent;
+			this.type = type;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean containsKey(Object key) {
+			return target().containsKey(key);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Set<Entry<K, V>> entrySet() {
+			return target().entrySet();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public V get(Object key) {
+			return target().get(key);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public V put(K key, V value) {
+			return materialize(parent, type).put(key, value);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public V remove(Object key) {
+			return target().remove(key);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return target().size();
+		}
+
+		/**
+		 * Returns the relation target or an empty map if the relation doesn't
+		 * exist.
+		 *
+		 * @return The target map
+		 */
+		private Map<K, V> target() {
+			return parent.hasRelation(type) ? parent.get(type) :
+			       Collections.<K, V>emptyMap();
+		}
+	}
+
+	/**
+	 * A lazy set view.
+	 *
+	 * @author eso
+	 */
+	private static class LazySet<E> extends AbstractSet<E> {
+
+		private final Relatable parent;
+
+		private final RelationType<Set<E>> type;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param parent The parent of the relation
+		 * @param type   The relation type
+		 */
+		LazySet(Relatable parent, RelationType<Set<E>> type) {
+			this.parent = parent;
+			this.type = type;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean add(E element) {
+			return materialize(parent, type).add(element);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean contains(Object element) {
+			return target().contains(element);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<E> iterator() {
+			return target().iterator();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean remove(Object element) {
+			return target().remove(element);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return target().size();
+		}
+
+		/**
+		 * Returns the relation target or an empty set if the relation doesn't
+		 * exist.
+		 *
+		 * @return The target set
+		 */
+		private Set<E> target() {
+			return parent.hasRelation(type) ? parent.get(type) :
+			       Collections.<E>emptySet();
+		}
+	}
+}
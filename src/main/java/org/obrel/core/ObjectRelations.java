@@ -16,6 +16,7 @@
 //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
 package org.obrel.core;
 
+import de.esoco.lib.collection.WeakIdentityMap;
 import de.esoco.lib.expression.Conversions;
 import de.esoco.lib.expression.Predicate;
 import de.esoco.lib.expression.Predicates;
@@ -34,7 +35,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import static de.esoco.lib.expression.Predicates.alwaysTrue;
 
@@ -52,8 +54,8 @@ public class ObjectRelations {
 	private static final RelatedObject EMPTY_RELATION_CONTAINER =
 		new RelatedObject();
 
-	private static final Map<Object, RelatedObject> relationContainerMap =
-		new WeakHashMap<Object, RelatedObject>();
+	private static final WeakIdentityMap<Object, RelatedObject>
+		relationContainerMap = new WeakIdentityMap<>();
 
 	/**
 	 * Private, only static use.
@@ -93,6 +95,28 @@ public class ObjectRelations {
 		}
 	}
 
+	/**
+	 * Replaces the relations of a target object with copies of the relations
+	 * of a source object. Other than {@link #syncRelations(RelatedObject,
+	 * RelatedObject)} both objects have independent relations afterwards. As
+	 * with {@link #copyRelations(Relatable, Relatable, boolean)} the relation
+	 * targets are only copied by reference. If the source object uses
+	 * persistent relations (see {@link
+	 * RelatedObject#usesPersistentRelations()}) the relations will be shared
+	 * structurally until either object modifies them. Then forking takes
+	 * constant time if all relation targets are stored inline (see {@link
+	 * RelatedObject#usesInlineTargets()}), else only relations with relation
+	 * objects are copied individually. Unlike copying, forking also includes
+	 * private relations.
+	 *
+	 * @param target The target object to replace the relations of
+	 * @param source The object to fork the relations of
+	 */
+	public static void forkRelations(RelatedObject target,
+		RelatedObject source) {
+		target.forkRelations(source);
+	}
+
 	/**
 	 * Parses a JSON string into the relations of a relatable object. The JSON
 	 * string must be in a compatible format, e.g. like it is generated by
@@ -111,9 +135,15 @@ public class ObjectRelations {
 	 * store relations for that object. The returned {@link Relatable} instance
 	 * will be available as long as the original object has not been garbage
 	 * collected, even if the calling code does not keep a reference to the
-	 * returned object. If the argument is a relatable object already it
+	 * returned object. If the argument is a related object already it
 	 * will be
-	 * returned unchanged.
+	 * returned unchanged. Other objects are associated with their relatable
+	 * by identity, i.e. equal but distinct objects have different relatables.
+	 * This also applies to instances of {@link RelatableMixin} because
+	 * implementations of {@link RelatableMixin#getRelationContainer()} may
+	 * invoke this method. If a mixin implementation returns a different
+	 * container the mixin should be used directly instead of the result of
+	 * this method.
 	 *
 	 * @param forObject The object to return a relatable object for
 	 * @return A {@link Relatable} instance associated with the argument object
@@ -141,20 +171,16 @@ public class ObjectRelations {
 		if (object instanceof RelatedObject) {
 			return (RelatedObject) object;
 		} else {
-			synchronized (relationContainerMap) {
-				RelatedObject container = relationContainerMap.get(object);
+			RelatedObject container = relationContainerMap.get(object);
 
-				if (container == null) {
-					if (create) {
-						container = new RelatedObject();
-						relationContainerMap.put(object, container);
-					} else {
-						container = EMPTY_RELATION_CONTAINER;
-					}
-				}
-
-				return container;
+			if (container == null) {
+				container = create ?
+				            relationContainerMap.computeIfAbsent(object,
+					            o -> new RelatedObject()) :
+				            EMPTY_RELATION_CONTAINER;
 			}
+
+			return container;
 		}
 	}
 
@@ -172,6 +198,45 @@ public class ObjectRelations {
 			StandardTypes.class);
 	}
 
+	/**
+	 * Resolves the intermediate relations with a certain type in multiple
+	 * objects. This should be used before the relations of many objects are
+	 * queried, e.g. to render them in a list, to avoid that each relation
+	 * performs a separate resolution on the first query. Relations that have
+	 * been set with a {@link BatchResolver} (see {@link
+	 * Relatable#set(RelationType, de.esoco.lib.expression.Function, Object)})
+	 * will be resolved with a single invocation of the resolver. Objects
+	 * without an unresolved intermediate relation of the given type will be
+	 * ignored.
+	 *
+	 * @param type    The type of the relations to resolve
+	 * @param objects The objects to resolve the relations of
+	 * @return The number of relations that have been resolved
+	 */
+	public static <T> int prefetch(RelationType<T> type,
+		Collection<? extends Relatable> objects) {
+		return IntermediateRelation.resolveAll(type, objects);
+	}
+
+	/**
+	 * Performs a {@link #prefetch(RelationType, Collection)} asynchronously
+	 * with a certain executor. The objects must not be modified until the
+	 * returned future has completed.
+	 *
+	 * @param type     The type of the relations to resolve
+	 * @param objects  The objects to resolve the relations of
+	 * @param executor The executor to perform the resolution with
+	 * @return A future that will be completed with the number of resolved
+	 * relations
+	 */
+	@SuppressWarnings("boxing")
+	public static <T> CompletableFuture<Integer> prefetchAsync(
+		RelationType<T> type, Collection<? extends Relatable> objects,
+		Executor executor) {
+		return CompletableFuture.supplyAsync(() -> prefetch(type, objects),
+			executor);
+	}
+
 	/**
 	 * Registers all relation types that are defined in the given classes.
 	 * Normally a relation type is registered automatically when it is used for
@@ -307,6 +372,17 @@ public class ObjectRelations {
 		setAll(flagType, Boolean.TRUE, objects);
 	}
 
+	/**
+	 * Shares the annotations of all relations of a certain object with other
+	 * relations that have identical annotations.
+	 *
+	 * @param object The object to share the relation annotations of
+	 * @see Relation#shareAnnotations()
+	 */
+	public static void shareAnnotations(Relatable object) {
+		object.forEachRelation(null, Relation::shareAnnotations);
+	}
+
 	/**
 	 * Performs a shutdown by freeing global resources.
 	 */
@@ -324,7 +400,7 @@ public class ObjectRelations {
 	 */
 	public static void swapRelations(RelatedObject first,
 		RelatedObject second) {
-		Map<RelationType<?>, Relation<?>> secondRelations = second.relations;
+		Map<RelationType<?>, Object> secondRelations = second.relations;
 
 		second.relations = first.relations;
 		first.relations = secondRelations;
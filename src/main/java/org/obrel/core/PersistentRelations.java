@@ -0,0 +1,705 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A package-internal relation map that stores the relations of a {@link
+ * RelatedObject} in a persistent hash array mapped trie (HAMT). The nodes of
+ * the trie are never modified. Instead, each modification copies the nodes
+ * on the path to the modified entry and replaces the root of this map, while
+ * all other nodes are shared with previous versions. This allows to create
+ * independent snapshots of a map with {@link #snapshot()} in constant time.
+ * Modifications of the map or its snapshots only copy the touched path of at
+ * most seven nodes. Iterations are performed on the version of the map at
+ * the start of the iteration and are therefore not affected by concurrent
+ * modifications.
+ *
+ * <p>Other than the default relation map this map doesn't preserve the order
+ * in which relations have been added. Relation objects that are stored as
+ * values are mutable and are therefore copied separately by {@link
+ * RelatedObject} when forking relations. To support this the map keeps track
+ * of the number of relation objects it contains.</p>
+ *
+ * @author eso
+ */
+final class PersistentRelations extends AbstractMap<RelationType<?>, Object> {
+
+	private static final Object NOT_FOUND = new Object();
+
+	private static final int BITS = 5;
+
+	private static final int MAX_DEPTH = 32 / BITS + 2;
+
+	private Node root = Node.EMPTY;
+
+	private int size = 0;
+
+	private int relationCount = 0;
+
+	private Set<Entry<RelationType<?>, Object>> entrySet = null;
+
+	/**
+	 * Creates a new empty instance.
+	 */
+	PersistentRelations() {
+	}
+
+	/**
+	 * Creates a new instance that shares the trie of another instance.
+	 *
+	 * @param other The instance to share the trie of
+	 */
+	private PersistentRelations(PersistentRelations other) {
+		root = other.root;
+		size = other.size;
+		relationCount = other.relationCount;
+	}
+
+	/**
+	 * Calculates the spread hash code of a key.
+	 *
+	 * @param key The key
+	 * @return The hash code
+	 */
+	private static int hash(Object key) {
+		int h = key.hashCode();
+
+		return h ^ (h >>> 16);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		root = Node.EMPTY;
+		size = 0;
+		relationCount = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return key != null && root.find(0, hash(key), key) != NOT_FOUND;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Entry<RelationType<?>, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new EntrySet();
+		}
+
+		return entrySet;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object get(Object key) {
+		Object value = key != null ? root.find(0, hash(key), key) : NOT_FOUND;
+
+		return value != NOT_FOUND ? value : null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object put(RelationType<?> key, Object value) {
+		Change change = new Change();
+
+		root = root.put(0, hash(key), key, value, change);
+
+		if (change.previous == NOT_FOUND) {
+			size++;
+		} else if (change.previous instanceof Relation) {
+			relationCount--;
+		}
+
+		if (value instanceof Relation) {
+			relationCount++;
+		}
+
+		return change.previous != NOT_FOUND ? change.previous : null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object remove(Object key) {
+		if (key == null) {
+			return null;
+		}
+
+		Change change = new Change();
+		Node newRoot = root.remove(0, hash(key), key, change);
+
+		root = newRoot != null ? newRoot : Node.EMPTY;
+
+		if (change.previous == NOT_FOUND) {
+			return null;
+		}
+
+		size--;
+
+		if (change.previous instanceof Relation) {
+			relationCount--;
+		}
+
+		return change.previous;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks whether this map contains relation objects as values.
+	 *
+	 * @return TRUE if at least one value is a relation object
+	 */
+	boolean hasRelationObjects() {
+		return relationCount > 0;
+	}
+
+	/**
+	 * Returns an independent copy of this map that shares the trie with this
+	 * instance. This is a constant-time operation.
+	 *
+	 * @return The snapshot of this map
+	 */
+	PersistentRelations snapshot() {
+		return new PersistentRelations(this);
+	}
+
+	/**
+	 * Records the changes of a trie modification.
+	 *
+	 * @author eso
+	 */
+	private static class Change {
+
+		Object previous = NOT_FOUND;
+	}
+
+	/**
+	 * A trie node that stores an array of key-value pairs. In bitmap nodes a
+	 * key of NULL indicates that the value is a sub-node.
+	 *
+	 * @author eso
+	 */
+	private abstract static class Node {
+
+		static final Node EMPTY = new BitmapNode(0, new Object[0]);
+
+		final Object[] array;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param array The key-value pairs
+		 */
+		Node(Object[] array) {
+			this.array = array;
+		}
+
+		/**
+		 * Returns a copy of an array with a changed element.
+		 *
+		 * @param array The array
+		 * @param index The index of the element to change
+		 * @param value The new element value
+		 * @return The array copy
+		 */
+		static Object[] copyWith(Object[] array, int index, Object value) {
+			Object[] copy = array.clone();
+
+			copy[index] = value;
+
+			return copy;
+		}
+
+		/**
+		 * Returns a copy of an array without a certain key-value pair.
+		 *
+		 * @param array The array
+		 * @param pair  The index of the pair to remove
+		 * @return The array copy
+		 */
+		static Object[] copyWithout(Object[] array, int pair) {
+			Object[] copy = new Object[array.length - 2];
+
+			System.arraycopy(array, 0, copy, 0, 2 * pair);
+			System.arraycopy(array, 2 * (pair + 1), copy, 2 * pair,
+				copy.length - 2 * pair);
+
+			return copy;
+		}
+
+		/**
+		 * Creates a node that contains two entries.
+		 *
+		 * @param shift  The bit shift of the new node
+		 * @param key1   The first key
+		 * @param value1 The first value
+		 * @param hash2  The hash code of the second key
+		 * @param key2   The second key
+		 * @param value2 The second value
+		 * @return The new node
+		 */
+		static Node createNode(int shift, Object key1, Object value1,
+			int hash2, Object key2, Object value2) {
+			int hash1 = hash(key1);
+
+			if (hash1 == hash2) {
+				return new CollisionNode(hash1,
+					new Object[] { key1, value1, key2, value2 });
+			}
+
+			Change change = new Change();
+
+			return EMPTY
+				.put(shift, hash1, key1, value1, change)
+				.put(shift, hash2, key2, value2, change);
+		}
+
+		/**
+		 * Searches the value of a key.
+		 *
+		 * @param shift The bit shift of this node
+		 * @param hash  The hash code of the key
+		 * @param key   The key
+		 * @return The value or {@link #NOT_FOUND}
+		 */
+		abstract Object find(int shift, int hash, Object key);
+
+		/**
+		 * Returns a node with an added or replaced value.
+		 *
+		 * @param shift  The bit shift of this node
+		 * @param hash   The hash code of the key
+		 * @param key    The key
+		 * @param value  The value
+		 * @param change Receives the previous value
+		 * @return The new node or this instance if unchanged
+		 */
+		abstract Node put(int shift, int hash, Object key, Object value,
+			Change change);
+
+		/**
+		 * Returns a node without a certain key.
+		 *
+		 * @param shift  The bit shift of this node
+		 * @param hash   The hash code of the key
+		 * @param key    The key
+		 * @param change Receives the removed value
+		 * @return The new node, this instance if unchanged, or NULL if the
+		 * node is empty
+		 */
+		abstract Node remove(int shift, int hash, Object key, Change change);
+	}
+
+	/**
+	 * A node that maps up to 32 hash code fragments to entries or sub-nodes.
+	 *
+	 * @author eso
+	 */
+	private static final class BitmapNode extends Node {
+
+		private final int bitmap;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param bitmap The bitmap of occupied slots
+		 * @param array  The key-value pairs
+		 */
+		BitmapNode(int bitmap, Object[] array) {
+			super(array);
+
+			this.bitmap = bitmap;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object find(int shift, int hash, Object key) {
+			int bit = bit(hash, shift);
+
+			if ((bitmap & bit) == 0) {
+				return NOT_FOUND;
+			}
+
+			int i = 2 * index(bit);
+			Object k = array[i];
+			Object v = array[i + 1];
+
+			if (k == null) {
+				return ((Node) v).find(shift + BITS, hash, key);
+			} else {
+				return key.equals(k) ? v : NOT_FOUND;
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node put(int shift, int hash, Object key, Object value,
+			Change change) {
+			int bit = bit(hash, shift);
+			int pair = index(bit);
+			int i = 2 * pair;
+
+			if ((bitmap & bit) == 0) {
+				int count = Integer.bitCount(bitmap);
+				Object[] copy = new Object[2 * (count + 1)];
+
+				System.arraycopy(array, 0, copy, 0, i);
+				copy[i] = key;
+				copy[i + 1] = value;
+				System.arraycopy(array, i, copy, i + 2, 2 * (count - pair));
+
+				return new BitmapNode(bitmap | bit, copy);
+			}
+
+			Object k = array[i];
+			Object v = array[i + 1];
+
+			if (k == null) {
+				Node node = ((Node) v).put(shift + BITS, hash, key, value,
+					change);
+
+				return node == v ? this :
+				       new BitmapNode(bitmap, copyWith(array, i + 1, node));
+			} else if (key.equals(k)) {
+				change.previous = v;
+
+				return v == value ? this :
+				       new BitmapNode(bitmap, copyWith(array, i + 1, value));
+			} else {
+				Object[] copy = array.clone();
+
+				copy[i] = null;
+				copy[i + 1] =
+					createNode(shift + BITS, k, v, hash, key, value);
+
+				return new BitmapNode(bitmap, copy);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node remove(int shift, int hash, Object key, Change change) {
+			int bit = bit(hash, shift);
+
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+
+			int pair = index(bit);
+			int i = 2 * pair;
+			Object k = array[i];
+			Object v = array[i + 1];
+
+			if (k == null) {
+				Node node = ((Node) v).remove(shift + BITS, hash, key, change);
+
+				if (node == v) {
+					return this;
+				} else if (node != null) {
+					return new BitmapNode(bitmap, copyWith(array, i + 1, node));
+				}
+			} else if (key.equals(k)) {
+				change.previous = v;
+			} else {
+				return this;
+			}
+
+			return bitmap == bit ? null :
+			       new BitmapNode(bitmap ^ bit, copyWithout(array, pair));
+		}
+
+		/**
+		 * Returns the bit for the hash code fragment at a certain shift.
+		 *
+		 * @param hash  The hash code
+		 * @param shift The bit shift
+		 * @return The bit
+		 */
+		private int bit(int hash, int shift) {
+			return 1 << ((hash >>> shift) & 0x1f);
+		}
+
+		/**
+		 * Returns the pair index of a bit.
+		 *
+		 * @param bit The bit
+		 * @return The pair index
+		 */
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1));
+		}
+	}
+
+	/**
+	 * A node that stores entries with keys that have the same hash code.
+	 *
+	 * @author eso
+	 */
+	private static final class CollisionNode extends Node {
+
+		private final int hash;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param hash  The common hash code
+		 * @param array The key-value pairs
+		 */
+		CollisionNode(int hash, Object[] array) {
+			super(array);
+
+			this.hash = hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Object find(int shift, int hash, Object key) {
+			int i = indexOf(key);
+
+			return hash == this.hash && i >= 0 ? array[i + 1] : NOT_FOUND;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node put(int shift, int hash, Object key, Object value,
+			Change change) {
+			if (hash != this.hash) {
+				return new BitmapNode(1 << ((this.hash >>> shift) & 0x1f),
+					new Object[] { null, this }).put(shift, hash, key, value,
+					change);
+			}
+
+			int i = indexOf(key);
+
+			if (i >= 0) {
+				change.previous = array[i + 1];
+
+				return array[i + 1] == value ? this :
+				       new CollisionNode(hash, copyWith(array, i + 1, value));
+			}
+
+			Object[] copy = new Object[array.length + 2];
+
+			System.arraycopy(array, 0, copy, 0, array.length);
+			copy[array.length] = key;
+			copy[array.length + 1] = value;
+
+			return new CollisionNode(hash, copy);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Node remove(int shift, int hash, Object key, Change change) {
+			int i = hash == this.hash ? indexOf(key) : -1;
+
+			if (i < 0) {
+				return this;
+			}
+
+			change.previous = array[i + 1];
+
+			return array.length == 2 ? null :
+			       new CollisionNode(hash, copyWithout(array, i / 2));
+		}
+
+		/**
+		 * Returns the array index of a key.
+		 *
+		 * @param key The key
+		 * @return The index or -1 if not found
+		 */
+		private int indexOf(Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (key.equals(array[i])) {
+					return i;
+				}
+			}
+
+			return -1;
+		}
+	}
+
+	/**
+	 * An iterator over the entries of a trie version.
+	 *
+	 * @author eso
+	 */
+	private class EntryIterator
+		implements Iterator<Entry<RelationType<?>, Object>> {
+
+		private final Object[][] arrays = new Object[MAX_DEPTH][];
+
+		private final int[] positions = new int[MAX_DEPTH];
+
+		private int depth = 0;
+
+		private Object nextKey = null;
+
+		private Object nextValue = null;
+
+		private RelationType<?> lastKey = null;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param root The root node of the trie version to iterate
+		 */
+		EntryIterator(Node root) {
+			arrays[0] = root.array;
+			advance();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean hasNext() {
+			return nextKey != null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Entry<RelationType<?>, Object> next() {
+			if (nextKey == null) {
+				throw new NoSuchElementException();
+			}
+
+			lastKey = (RelationType<?>) nextKey;
+
+			Entry<RelationType<?>, Object> entry =
+				new SimpleImmutableEntry<>(lastKey, nextValue);
+
+			advance();
+
+			return entry;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void remove() {
+			if (lastKey == null) {
+				throw new IllegalStateException();
+			}
+
+			PersistentRelations.this.remove(lastKey);
+			lastKey = null;
+		}
+
+		/**
+		 * Advances to the next entry.
+		 */
+		private void advance() {
+			nextKey = null;
+
+			while (depth >= 0) {
+				Object[] array = arrays[depth];
+				int position = positions[depth];
+
+				if (position >= array.length) {
+					depth--;
+				} else {
+					positions[depth] = position + 2;
+
+					if (array[position] == null) {
+						depth++;
+						arrays[depth] = ((Node) array[position + 1]).array;
+						positions[depth] = 0;
+					} else {
+						nextKey = array[position];
+						nextValue = array[position + 1];
+
+						return;
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * The entry set of this map.
+	 *
+	 * @author eso
+	 */
+	private class EntrySet extends AbstractSet<Entry<RelationType<?>, Object>> {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void clear() {
+			PersistentRelations.this.clear();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Iterator<Entry<RelationType<?>, Object>> iterator() {
+			return new EntryIterator(root);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+}
@@ -0,0 +1,184 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import org.obrel.type.ListenerTypes;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleSupplier;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * A relation of a {@link PrimitiveType} that stores it's target value
+ * unboxed. The value can be queried without boxing through the primitive
+ * supplier interfaces. A boxed target value will only be created if the
+ * relation is queried through the generic relation API, e.g. by {@link
+ * #getTarget()}, or if it is updated because updates are prepared by the
+ * relation type with the boxed value.
+ *
+ * @author eso
+ */
+public class PrimitiveRelation<T> extends Relation<T>
+	implements IntSupplier, LongSupplier, DoubleSupplier, BooleanSupplier {
+
+	private static final long serialVersionUID = 1L;
+
+	private long bits;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param type The relation type
+	 * @param bits The bit representation of the initial value
+	 */
+	PrimitiveRelation(PrimitiveType<T> type, long bits) {
+		super(type);
+
+		this.bits = bits;
+	}
+
+	/**
+	 * Returns the value as a boolean, which will be TRUE for all values that
+	 * are not zero.
+	 *
+	 * @see BooleanSupplier#getAsBoolean()
+	 */
+	@Override
+	public final boolean getAsBoolean() {
+		return bits != 0;
+	}
+
+	/**
+	 * Returns the value as a double.
+	 *
+	 * @see DoubleSupplier#getAsDouble()
+	 */
+	@Override
+	public final double getAsDouble() {
+		return getPrimitiveType().isFloatingPoint() ?
+		       Double.longBitsToDouble(bits) :
+		       bits;
+	}
+
+	/**
+	 * Returns the value as an integer.
+	 *
+	 * @see IntSupplier#getAsInt()
+	 */
+	@Override
+	public final int getAsInt() {
+		return (int) getAsLong();
+	}
+
+	/**
+	 * Returns the value as a long.
+	 *
+	 * @see LongSupplier#getAsLong()
+	 */
+	@Override
+	public final long getAsLong() {
+		return getPrimitiveType().isFloatingPoint() ?
+		       (long) Double.longBitsToDouble(bits) :
+		       bits;
+	}
+
+	/**
+	 * Returns the boxed value.
+	 *
+	 * @see Relation#getTarget()
+	 */
+	@Override
+	public T getTarget() {
+		return getPrimitiveType().box(bits);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	Relation<T> copyTo(Relatable target) {
+		return target.set(getType(), getTarget());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	boolean dataEqual(Relation<?> other) {
+		return bits == ((PrimitiveRelation<?>) other).bits;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	int dataHashCode() {
+		return 17 + Long.hashCode(bits);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	void setTarget(T newTarget) {
+		bits = getPrimitiveType().unbox(newTarget);
+	}
+
+	/**
+	 * Updates the value of this relation in a certain parent. If no listeners
+	 * need to be notified of the update and the parent is a {@link
+	 * RelatedObject} the update will be performed by {@link
+	 * RelatedObject#updateRelation(RelationType, Object, boolean)} without
+	 * looking up listeners again. That still prepares the update through the
+	 * relation type and counts the modification for derived relations.
+	 * Otherwise the update will be performed through the standard method
+	 * {@link Relatable#set(RelationType, Object)}.
+	 *
+	 * @param parent The parent object of this relation
+	 * @param value  The bit representation of the new value
+	 * @throws UnsupportedOperationException If the relation type is final or
+	 *                                       readonly
+	 */
+	void update(Relatable parent, long value) {
+		RelationType<T> type = getType();
+
+		type.checkUpdateAllowed();
+
+		boolean notify = !type.isPrivate() &&
+			(parent.hasRelation(ListenerTypes.RELATION_LISTENERS) ||
+				hasRelation(ListenerTypes.RELATION_UPDATE_LISTENERS) ||
+				type.hasRelation(ListenerTypes.RELATION_TYPE_LISTENERS));
+
+		T target = getPrimitiveType().box(value);
+
+		if (!notify && parent instanceof RelatedObject) {
+			((RelatedObject) parent).updateRelation(type, target, false);
+		} else {
+			parent.set(type, target);
+		}
+	}
+
+	/**
+	 * Returns the primitive relation type of this relation.
+	 *
+	 * @return The primitive type
+	 */
+	private PrimitiveType<T> getPrimitiveType() {
+		return (PrimitiveType<T>) getType();
+	}
+}
@@ -0,0 +1,264 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import static de.esoco.lib.expression.Functions.value;
+
+/**
+ * A relation type for primitive values that stores the values of it's
+ * relations unboxed in instances of {@link PrimitiveRelation}. In combination
+ * with the primitive accessor methods of {@link Relatable} like {@link
+ * Relatable#getInt(RelationType)} and {@link Relatable#setInt(RelationType,
+ * int)} this allows to read and write the values without allocating boxed
+ * objects. Through the generic relation API relations of these types appear
+ * as regular relations with the boxed datatype.
+ *
+ * <p>Primitive relations cannot have a NULL target. Unset relations of
+ * primitive types have an initial value of zero or FALSE, respectively.</p>
+ *
+ * <p>This class is final because updates through the primitive accessors
+ * bypass the boxed update handling of relation types (i.e. the method {@link
+ * #prepareRelationUpdate(Relation, Object)}) if no relation listeners are
+ * registered that need to be notified.</p>
+ *
+ * @author eso
+ */
+public final class PrimitiveType<T> extends RelationType<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Primitive primitive;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param name       The name of this type or NULL for the initialization
+	 *                   by {@link RelationTypes#init(Class...)}
+	 * @param targetType The boxed datatype (Integer, Long, Double, or
+	 *                   Boolean)
+	 * @param modifiers  The relation type modifiers
+	 * @throws IllegalArgumentException If the datatype is not supported
+	 */
+	public PrimitiveType(String name, Class<T> targetType,
+		RelationTypeModifier... modifiers) {
+		super(name, targetType, value(Primitive.valueOf(targetType).box(0)),
+			modifiers);
+
+		primitive = Primitive.valueOf(targetType);
+	}
+
+	/**
+	 * Factory method for a partially initialized primitive double type that
+	 * will be initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The relation type modifiers
+	 * @return The new instance
+	 */
+	public static PrimitiveType<Double> newPrimitiveDouble(
+		RelationTypeModifier... modifiers) {
+		return new PrimitiveType<>(null, Double.class, modifiers);
+	}
+
+	/**
+	 * Factory method for a partially initialized primitive boolean type that
+	 * will be initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The relation type modifiers
+	 * @return The new instance
+	 */
+	public static PrimitiveType<Boolean> newPrimitiveFlag(
+		RelationTypeModifier... modifiers) {
+		return new PrimitiveType<>(null, Boolean.class, modifiers);
+	}
+
+	/**
+	 * Factory method for a partially initialized primitive integer type that
+	 * will be initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The relation type modifiers
+	 * @return The new instance
+	 */
+	public static PrimitiveType<Integer> newPrimitiveInt(
+		RelationTypeModifier... modifiers) {
+		return new PrimitiveType<>(null, Integer.class, modifiers);
+	}
+
+	/**
+	 * Factory method for a partially initialized primitive long type that
+	 * will be initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The relation type modifiers
+	 * @return The new instance
+	 */
+	public static PrimitiveType<Long> newPrimitiveLong(
+		RelationTypeModifier... modifiers) {
+		return new PrimitiveType<>(null, Long.class, modifiers);
+	}
+
+	/**
+	 * Overridden to replace the relation with a {@link PrimitiveRelation}.
+	 *
+	 * @see RelationType#addRelation(Relatable, Relation)
+	 */
+	@Override
+	protected Relation<T> addRelation(Relatable parent, Relation<T> relation) {
+		if (!(relation instanceof PrimitiveRelation ||
+			relation instanceof RelationWrapper)) {
+			relation = newRelation(relation.getTarget());
+		}
+
+		return super.addRelation(parent, relation);
+	}
+
+	/**
+	 * Overridden to return a new {@link PrimitiveRelation}.
+	 *
+	 * @see RelationType#newRelation(RelatedObject, Object)
+	 */
+	@Override
+	protected Relation<T> newRelation(RelatedObject parent, T target) {
+		return newRelation(target);
+	}
+
+	/**
+	 * Converts a primitive bit representation to a boxed value of this
+	 * type's datatype.
+	 *
+	 * @param bits The value bits
+	 * @return The boxed value
+	 */
+	@SuppressWarnings("unchecked")
+	T box(long bits) {
+		return (T) primitive.box(bits);
+	}
+
+	/**
+	 * Checks whether this type stores floating point values.
+	 *
+	 * @return TRUE for floating point values
+	 */
+	boolean isFloatingPoint() {
+		return primitive == Primitive.DOUBLE;
+	}
+
+	/**
+	 * Converts a boxed value of this type's datatype into it's primitive bit
+	 * representation.
+	 *
+	 * @param value The boxed value
+	 * @return The value bits
+	 * @throws IllegalArgumentException If the value is NULL
+	 */
+	long unbox(T value) {
+		if (value == null) {
+			throw new IllegalArgumentException(
+				"Primitive relation target must not be NULL: " + this);
+		}
+
+		return primitive.unbox(value);
+	}
+
+	/**
+	 * Creates a new primitive relation.
+	 *
+	 * @param target The initial target value
+	 * @return The new relation
+	 */
+	private Relation<T> newRelation(T target) {
+		return new PrimitiveRelation<>(this, unbox(target));
+	}
+
+	/**
+	 * Enumeration of the supported primitive datatypes. All values are
+	 * represented as long bits, with doubles in their raw IEEE 754 format.
+	 */
+	private enum Primitive {
+		INT(Integer.class), LONG(Long.class), DOUBLE(Double.class),
+		BOOLEAN(Boolean.class);
+
+		private final Class<?> datatype;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param datatype The boxed datatype
+		 */
+		Primitive(Class<?> datatype) {
+			this.datatype = datatype;
+		}
+
+		/**
+		 * Returns the instance for a certain boxed datatype.
+		 *
+		 * @param datatype The boxed datatype
+		 * @return The matching instance
+		 * @throws IllegalArgumentException If the datatype is not supported
+		 */
+		static Primitive valueOf(Class<?> datatype) {
+			for (Primitive primitive : values()) {
+				if (primitive.datatype == datatype) {
+					return primitive;
+				}
+			}
+
+			throw new IllegalArgumentException(
+				"Unsupported primitive datatype: " + datatype);
+		}
+
+		/**
+		 * Boxes the bit representation of a value.
+		 *
+		 * @param bits The value bits
+		 * @return The boxed value
+		 */
+		Object box(long bits) {
+			switch (this) {
+				case INT:
+					return Integer.valueOf((int) bits);
+
+				case LONG:
+					return Long.valueOf(bits);
+
+				case DOUBLE:
+					return Double.valueOf(Double.longBitsToDouble(bits));
+
+				default:
+					return Boolean.valueOf(bits != 0);
+			}
+		}
+
+		/**
+		 * Returns the bit representation of a boxed value.
+		 *
+		 * @param value The boxed value
+		 * @return The value bits
+		 */
+		long unbox(Object value) {
+			switch (this) {
+				case DOUBLE:
+					return Double.doubleToRawLongBits(
+						((Number) value).doubleValue());
+
+				case BOOLEAN:
+					return ((Boolean) value).booleanValue() ? 1 : 0;
+
+				default:
+					return ((Number) value).longValue();
+			}
+		}
+	}
+}
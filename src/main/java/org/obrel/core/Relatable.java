@@ -23,7 +23,11 @@ import de.esoco.lib.expression.monad.Option;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * This interface defines the public methods that are provided by related
@@ -53,6 +57,22 @@ import java.util.stream.Stream;
  */
 public interface Relatable {
 
+	/**
+	 * Checks whether this instance contains at least one public relation that
+	 * matches a certain filter. Other than {@link #hasRelations(Predicate)}
+	 * this method stops at the first matching relation. The default
+	 * implementation evaluates the relations provided by {@link
+	 * #relationSpliterator()}.
+	 *
+	 * @param filter The relation filter
+	 * @return TRUE if at least one relation matches the filter
+	 */
+	default boolean anyRelation(Predicate<? super Relation<?>> filter) {
+		return StreamSupport
+			.stream(relationSpliterator(), false)
+			.anyMatch(filter::test);
+	}
+
 	/**
 	 * Deletes a certain relation from this instance.
 	 *
@@ -88,11 +108,34 @@ public interface Relatable {
 	 * @param filter The relation filter or NULL for all relations
 	 */
 	default void deleteRelations(Predicate<? super Relation<?>> filter) {
+		// iterate over a copy because relations are removed
 		for (Relation<?> relation : getRelations(filter)) {
 			deleteRelation(relation);
 		}
 	}
 
+	/**
+	 * Performs an action for each public relation that matches a certain
+	 * filter. Other than iterating over the result of {@link
+	 * #getRelations(Predicate)} this doesn't require to copy the relations.
+	 * The action must therefore not add or remove relations of this instance.
+	 * Implementations may also pass reusable relation views to the filter and
+	 * the action, so they must not keep references to the relations after
+	 * the invocation. The default implementation iterates over the relations
+	 * provided by {@link #relationSpliterator()}.
+	 *
+	 * @param filter The relation filter or NULL for all relations
+	 * @param action The action to perform
+	 */
+	default void forEachRelation(Predicate<? super Relation<?>> filter,
+		Consumer<? super Relation<?>> action) {
+		relationSpliterator().forEachRemaining(relation -> {
+			if (filter == null || filter.test(relation)) {
+				action.accept(relation);
+			}
+		});
+	}
+
 	/**
 	 * Returns the resolved value of the relation that matches a certain
 	 * relation type. If that relation does not exist already but the type
@@ -133,16 +176,94 @@ public interface Relatable {
 	 * (may be empty but will never be NULL)
 	 */
 	default List<Object> getAll(Predicate<? super Relation<?>> filter) {
-		List<Relation<?>> relations = getRelations(filter);
-		List<Object> result = new ArrayList<Object>(relations.size());
+		List<Object> result = new ArrayList<Object>();
 
-		for (Relation<?> relation : relations) {
-			result.add(relation.getTarget());
-		}
+		forEachRelation(filter, relation -> result.add(relation.getTarget()));
 
 		return result;
 	}
 
+	/**
+	 * Returns the value of a double relation as a primitive value. If the
+	 * relation has a {@link PrimitiveType} the value will be read without
+	 * boxing. Otherwise the value will be queried with {@link
+	 * #get(RelationType)} and unboxed, returning zero for NULL.
+	 *
+	 * @param type The double relation type
+	 * @return The double value
+	 */
+	default double getDouble(RelationType<Double> type) {
+		Relation<Double> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			return ((PrimitiveRelation<Double>) relation).getAsDouble();
+		}
+
+		Double value = get(type);
+
+		return value != null ? value.doubleValue() : 0;
+	}
+
+	/**
+	 * Returns an {@link Option} for the value of a certain relation if the
+	 * value is available without blocking. This is the case for all relations
+	 * except intermediate relations which have an uncompleted or failed future
+	 * as their intermediate target (see {@link #setFuture(RelationType,
+	 * CompletableFuture)}). For all other relations the result is the same as
+	 * that of {@link #getOption(RelationType)}.
+	 *
+	 * @param type The relation type
+	 * @return The option representing the available relation value
+	 */
+	default <T> Option<T> getIfAvailable(RelationType<T> type) {
+		Relation<T> relation = getRelation(type);
+
+		if (relation instanceof IntermediateRelation &&
+			!((IntermediateRelation<T, ?>) relation).isAvailable()) {
+			return Option.none();
+		}
+
+		return getOption(type);
+	}
+
+	/**
+	 * Returns the value of an integer relation as a primitive value.
+	 *
+	 * @param type The integer relation type
+	 * @return The int value
+	 * @see #getDouble(RelationType)
+	 */
+	default int getInt(RelationType<Integer> type) {
+		Relation<Integer> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			return ((PrimitiveRelation<Integer>) relation).getAsInt();
+		}
+
+		Integer value = get(type);
+
+		return value != null ? value.intValue() : 0;
+	}
+
+	/**
+	 * Returns the value of a long relation as a primitive value.
+	 *
+	 * @param type The long relation type
+	 * @return The long value
+	 * @see #getDouble(RelationType)
+	 */
+	default long getLong(RelationType<Long> type) {
+		Relation<Long> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			return ((PrimitiveRelation<Long>) relation).getAsLong();
+		}
+
+		Long value = get(type);
+
+		return value != null ? value.longValue() : 0;
+	}
+
 	/**
 	 * Returns an {@link Option} for the value of a certain relation or
 	 * {@link Option#none()} if the value is NULL or no relation exists. In the
@@ -179,7 +300,15 @@ public interface Relatable {
 	 * @return The number of relations that match the filter
 	 */
 	default int getRelationCount(Predicate<? super Relation<?>> filter) {
-		return getRelations(filter).size();
+		if (filter == null) {
+			return (int) relationSpliterator().getExactSizeIfKnown();
+		}
+
+		int[] count = new int[1];
+
+		forEachRelation(filter, relation -> count[0]++);
+
+		return count[0];
 	}
 
 	/**
@@ -219,6 +348,10 @@ public interface Relatable {
 	default boolean hasFlag(RelationType<Boolean> type) {
 		Relation<Boolean> relation = getRelation(type);
 
+		if (relation instanceof PrimitiveRelation) {
+			return ((PrimitiveRelation<Boolean>) relation).getAsBoolean();
+		}
+
 		return relation != null && relation.getTarget() == Boolean.TRUE;
 	}
 
@@ -246,7 +379,8 @@ public interface Relatable {
 	 * matches the given filter
 	 */
 	default boolean hasRelations(Predicate<? super Relation<?>> filter) {
-		return getRelations(filter).size() > 0;
+		return filter != null ? anyRelation(filter) :
+		       relationSpliterator().estimateSize() > 0;
 	}
 
 	/**
@@ -267,11 +401,53 @@ public interface Relatable {
 			relation = set(type, null);
 		} else {
 			relation = getRelation(type);
+
+			if (relation == null) {
+				// lazy types only create the relation on modification
+				relation = set(type, type.initialValue(this));
+			}
 		}
 
 		return relation;
 	}
 
+	/**
+	 * Returns the target of a relation without ever modifying this object.
+	 * Other than {@link #get(RelationType)} this method will not create a new
+	 * relation if the relation type has an initial value. Instead a shared
+	 * immutable empty instance will be returned for list, set, map, and
+	 * collection datatypes and the type's default value for all other types.
+	 * This allows to read relations from large numbers of objects without
+	 * creating garbage and inflating the objects with empty relations.
+	 *
+	 * @param type The relation type
+	 * @return The relation target, an empty collection, or the default value
+	 */
+	default <T> T peek(RelationType<T> type) {
+		if (hasRelation(type)) {
+			return get(type);
+		}
+
+		T empty = type.hasInitialValue() ? LazyCollections.emptyValue(type) :
+		          null;
+
+		return empty != null ? empty : type.defaultValue(this);
+	}
+
+	/**
+	 * Returns a spliterator over all public relations of this instance. The
+	 * spliterator has the characteristic {@link Spliterator#SIZED} and
+	 * therefore knows the exact number of relations before the traversal.
+	 * Relations must not be added or removed while the spliterator is used.
+	 * The default implementation returns the spliterator of {@link
+	 * #getRelations(Predicate)}.
+	 *
+	 * @return The relation spliterator
+	 */
+	default Spliterator<Relation<?>> relationSpliterator() {
+		return getRelations(null).spliterator();
+	}
+
 	/**
 	 * Sets a relation to the given target object with a certain relation type
 	 * to this instance. If this is the first call for the given type a new
@@ -362,6 +538,132 @@ public interface Relatable {
 		return set(intType, Integer.valueOf(value));
 	}
 
+	/**
+	 * Sets the value of a double relation from a primitive value. If the
+	 * relation exists and has a {@link PrimitiveType} the value will be
+	 * updated directly if no relation listeners need to be notified.
+	 * Otherwise the value will be set with {@link
+	 * #set(RelationType, Object)}.
+	 *
+	 * @param type  The double relation type
+	 * @param value The double value to set
+	 * @return The relation that has been created or updated
+	 */
+	default Relation<Double> setDouble(RelationType<Double> type,
+		double value) {
+		Relation<Double> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			((PrimitiveRelation<Double>) relation).update(this,
+				Double.doubleToRawLongBits(value));
+		} else {
+			relation = set(type, Double.valueOf(value));
+		}
+
+		return relation;
+	}
+
+	/**
+	 * Sets the value of a boolean relation from a primitive value.
+	 *
+	 * @param type  The boolean relation type
+	 * @param value The boolean value to set
+	 * @return The relation that has been created or updated
+	 * @see #setDouble(RelationType, double)
+	 */
+	default Relation<Boolean> setFlag(RelationType<Boolean> type,
+		boolean value) {
+		Relation<Boolean> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			((PrimitiveRelation<Boolean>) relation).update(this,
+				value ? 1 : 0);
+		} else {
+			relation = set(type, Boolean.valueOf(value));
+		}
+
+		return relation;
+	}
+
+	/**
+	 * Sets a relation to a value that will be computed asynchronously. The
+	 * relation will be an intermediate relation (see {@link
+	 * #set(RelationType, Function, Object)}) with the future as the
+	 * intermediate target. Querying the relation value with {@link
+	 * #get(RelationType)} will block until the future has completed, while
+	 * {@link #getIfAvailable(RelationType)} allows to query the value without
+	 * blocking. When the future completes successfully the relation will be
+	 * updated with {@link #set(RelationType, Object)} so that relation
+	 * listeners receive an UPDATE event. This will happen in the thread that
+	 * completes the future. If the relation type is final or readonly the
+	 * value will only be resolved without a notification.
+	 *
+	 * @param type   The relation type
+	 * @param future The future that provides the relation value
+	 * @return The new intermediate relation
+	 * @throws IllegalStateException If a relation with the given type exists
+	 *                               already
+	 */
+	default <T> Relation<T> setFuture(RelationType<T> type,
+		CompletableFuture<? extends T> future) {
+		Function<CompletableFuture<? extends T>, T> join =
+			CompletableFuture::join;
+
+		Relation<T> relation = set(type, join, future);
+
+		future.whenComplete((value, error) -> {
+			if (error == null && getRelation(type) == relation) {
+				if (type.isFinal() || type.isReadonly()) {
+					relation.getTarget();
+				} else {
+					set(type, value);
+				}
+			}
+		});
+
+		return relation;
+	}
+
+	/**
+	 * Sets the value of an integer relation from a primitive value.
+	 *
+	 * @param type  The integer relation type
+	 * @param value The int value to set
+	 * @return The relation that has been created or updated
+	 * @see #setDouble(RelationType, double)
+	 */
+	default Relation<Integer> setInt(RelationType<Integer> type, int value) {
+		Relation<Integer> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			((PrimitiveRelation<Integer>) relation).update(this, value);
+		} else {
+			relation = set(type, Integer.valueOf(value));
+		}
+
+		return relation;
+	}
+
+	/**
+	 * Sets the value of a long relation from a primitive value.
+	 *
+	 * @param type  The long relation type
+	 * @param value The long value to set
+	 * @return The relation that has been created or updated
+	 * @see #setDouble(RelationType, double)
+	 */
+	default Relation<Long> setLong(RelationType<Long> type, long value) {
+		Relation<Long> relation = getRelation(type);
+
+		if (relation instanceof PrimitiveRelation) {
+			((PrimitiveRelation<Long>) relation).update(this, value);
+		} else {
+			relation = set(type, Long.valueOf(value));
+		}
+
+		return relation;
+	}
+
 	/**
 	 * Sets the value of an optional relation. An optional relation has a
 	 * relation type with an {@link Option} datatype that wraps the actual
@@ -388,7 +690,7 @@ public interface Relatable {
 	 * @return The stream of relations
 	 */
 	default Stream<Relation<?>> streamRelations() {
-		return getRelations(null).stream();
+		return StreamSupport.stream(relationSpliterator(), false);
 	}
 
 	/**
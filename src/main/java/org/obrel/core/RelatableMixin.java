@@ -21,6 +21,8 @@ import de.esoco.lib.expression.InvertibleFunction;
 import de.esoco.lib.expression.Predicate;
 
 import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * A {@link Relatable} sub-interface that can be used to provide relation
@@ -29,15 +31,32 @@ import java.util.List;
  * implement this interface to get relation support.
  *
  * <p>The only method added by this mixin is {@link #getRelationContainer()}. By
- * default it returns the result of {@link ObjectRelations#getRelatable(Object)}
- * but implementations may override this to return an explicit {@link Relatable}
- * instance for better lookup performance (e.g. an {@link RelatedObject} stored
- * in a field).</p>
+ * default it returns a container that is associated with the instance in a
+ * global map but implementations may override this to return an explicit
+ * {@link Relatable} instance for better lookup performance (e.g. an {@link
+ * RelatedObject} stored in a field). The nested class {@link ContainerHandle}
+ * provides a lazily initialized container for this purpose:</p>
+ *
+ * <pre>
+ * private final ContainerHandle relations = new ContainerHandle();
+ *
+ * public Relatable getRelationContainer() {
+ *     return relations.get();
+ * }
+ * </pre>
  *
  * @author eso
  */
 public interface RelatableMixin extends Relatable {
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	default boolean anyRelation(Predicate<? super Relation<?>> filter) {
+		return getRelationContainer().anyRelation(filter);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -46,6 +65,15 @@ public interface RelatableMixin extends Relatable {
 		getRelationContainer().deleteRelation(relation);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	default void forEachRelation(Predicate<? super Relation<?>> filter,
+		Consumer<? super Relation<?>> action) {
+		getRelationContainer().forEachRelation(filter, action);
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -64,14 +92,18 @@ public interface RelatableMixin extends Relatable {
 
 	/**
 	 * Returns the relation container of this instance. By default it returns
-	 * {@link ObjectRelations#getRelationContainer(Object, boolean)} for this
-	 * instance but implementations may override this to return a different
-	 * {@link Relatable} (typically some {@link RelatedObject} instance).
+	 * the same container as {@link ObjectRelations#getRelatable(Object)} for
+	 * this instance but implementations may override this to return a
+	 * different {@link Relatable} (typically some {@link RelatedObject}
+	 * instance, e.g. from a {@link ContainerHandle}). In that case {@link
+	 * ObjectRelations#getRelatable(Object)} will still return the container
+	 * that is associated with this instance in the global map, so that
+	 * implementations can continue to delegate to it.
 	 *
 	 * @return The relation container
 	 */
 	default Relatable getRelationContainer() {
-		return ObjectRelations.getRelatable(this);
+		return ObjectRelations.getRelationContainer(this, true);
 	}
 
 	/**
@@ -83,6 +115,14 @@ public interface RelatableMixin extends Relatable {
 		return getRelationContainer().getRelations(filter);
 	}
 
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	default Spliterator<Relation<?>> relationSpliterator() {
+		return getRelationContainer().relationSpliterator();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -109,4 +149,51 @@ public interface RelatableMixin extends Relatable {
 		InvertibleFunction<T, D> transformation) {
 		return getRelationContainer().transform(type, transformation);
 	}
+
+	/**
+	 * A holder for the relation container of a mixin implementation that
+	 * creates the container on the first access. Implementations that store
+	 * an instance in a final field and return {@link #get()} from {@link
+	 * #getRelationContainer()} access their relations without the lookup in
+	 * the global container map of {@link ObjectRelations}.
+	 *
+	 * @author eso
+	 */
+	final class ContainerHandle {
+
+		private volatile RelatedObject container;
+
+		/**
+		 * Returns the relation container of this handle and creates it if
+		 * necessary.
+		 *
+		 * @return The relation container
+		 */
+		public RelatedObject get() {
+			RelatedObject result = container;
+
+			if (result == null) {
+				synchronized (this) {
+					result = container;
+
+					if (result == null) {
+						result = new RelatedObject();
+						container = result;
+					}
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Checks whether the relation container of this handle has already
+		 * been created.
+		 *
+		 * @return TRUE if the container exists
+		 */
+		public boolean isInitialized() {
+			return container != null;
+		}
+	}
 }
@@ -17,21 +17,29 @@
 package org.obrel.core;
 
 import de.esoco.lib.event.ElementEvent.EventType;
+import de.esoco.lib.event.EventDispatcher;
 import de.esoco.lib.expression.Function;
 import de.esoco.lib.expression.InvertibleFunction;
 import de.esoco.lib.expression.Predicate;
 import org.obrel.type.ListenerTypes;
+import org.obrel.type.MetaTypes;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
 
 /**
  * The base class for all relation-enabled objects. It can be used as a base
@@ -43,65 +51,220 @@ import java.util.Set;
  * of the method {@link #toString()} and the addition of the protected method
  * {@link #deleteRelation(Relation)}.</p>
  *
+ * <p>To reduce the memory footprint of objects with many plain relations a
+ * subclass can override {@link #usesInlineTargets()} to return TRUE. In that
+ * case the targets of direct relations with a plain {@link RelationType} and
+ * without meta-relations are stored without a relation object. Methods that
+ * return relations (like {@link #getRelation(RelationType)}, {@link
+ * #set(RelationType, Object)} or {@link #getRelations(Predicate)}) return
+ * lightweight relations for inline targets that only create (materialize)
+ * the actual relation object if they are modified, e.g. by annotating them.
+ * Read access to relations with inline targets therefore never modifies the
+ * object.</p>
+ *
  * @author eso
  */
 public class RelatedObject implements Relatable {
 
-	private static final Map<RelationType<?>, Relation<?>> NO_RELATIONS =
+	private static final Map<RelationType<?>, Object> NO_RELATIONS =
 		Collections.emptyMap();
 
-	transient Map<RelationType<?>, Relation<?>> relations = NO_RELATIONS;
+	private static final Object NULL_TARGET = new Object();
+
+	transient Map<RelationType<?>, Object> relations = NO_RELATIONS;
+
+	transient int modificationCount;
+
+	/**
+	 * Converts a value from a relation map into a relation target. The value
+	 * must not be a relation.
+	 *
+	 * @param value The map value
+	 * @return The relation target
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> T inlineTarget(Object value) {
+		return value != NULL_TARGET ? (T) value : null;
+	}
+
+	/**
+	 * Overridden to iterate over the relations without allocations. Inline
+	 * targets are passed to the filter through a single reusable view (see
+	 * {@link Relatable#forEachRelation(Predicate, Consumer)}).
+	 *
+	 * @see Relatable#anyRelation(Predicate)
+	 */
+	@Override
+	public boolean anyRelation(Predicate<? super Relation<?>> filter) {
+		InlineRelation<?> view = newIterationView();
+
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			if (!type.isPrivate() &&
+				filter.test(relationOf(type, entry.getValue(), view))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Deletes all public relations that match a certain filter in a single
+	 * operation. Other than {@link #deleteRelations(Predicate)} this method
+	 * checks whether all matching relations can be deleted before the first
+	 * relation is removed. Instead of notifying the relation listeners of
+	 * each removal a single {@link RelationBatchEvent} will be sent to the
+	 * batch listeners before the relations are removed (see {@link
+	 * #notifyRelationBatch(List)}).
+	 *
+	 * @param filter The relation filter or NULL for all public relations
+	 * @throws UnsupportedOperationException If a matching relation cannot be
+	 *                                       deleted
+	 */
+	public void deleteAll(Predicate<? super Relation<?>> filter) {
+		List<Relation<?>> deleted = new ArrayList<>();
+		boolean notify = hasRelation(ListenerTypes.RELATION_BATCH_LISTENERS);
+
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			if (!type.isPrivate()) {
+				Relation<?> relation = toRelation(type, entry.getValue());
+
+				if (filter == null || filter.test(relation)) {
+					type.checkUpdateAllowed();
+					deleted.add(relation);
+					notify |= hasBatchListeners(relation);
+				}
+			}
+		}
+
+		if (!deleted.isEmpty()) {
+			if (notify) {
+				List<RelationEvent<?>> events =
+					new ArrayList<>(deleted.size());
+
+				for (Relation<?> relation : deleted) {
+					events.add(newEvent(EventType.REMOVE, relation, null));
+				}
+
+				notifyRelationBatch(events);
+			}
+
+			for (Relation<?> relation : deleted) {
+				discardRelation(relation, false);
+			}
+		}
+	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
 	public void deleteRelation(Relation<?> relation) {
-		RelationType<?> type = relation.getType();
+		removeRelation(relation, true);
+	}
 
-		// notify type and listeners before removing so that they may
-		// prevent it
-		// by throwing an exception
-		type.checkUpdateAllowed();
-		type.deleteRelation(this, relation);
-		notifyRelationListeners(EventType.REMOVE, relation, null);
+	/**
+	 * Overridden to iterate over the relations without allocations. Inline
+	 * targets are passed to the filter and the action through a single
+	 * reusable view.
+	 *
+	 * @see Relatable#forEachRelation(Predicate, Consumer)
+	 */
+	@Override
+	public void forEachRelation(Predicate<? super Relation<?>> filter,
+		Consumer<? super Relation<?>> action) {
+		InlineRelation<?> view = newIterationView();
 
-		relations.remove(type);
-		relation.removed();
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			if (!type.isPrivate()) {
+				Relation<?> relation =
+					relationOf(type, entry.getValue(), view);
+
+				if (filter == null || filter.test(relation)) {
+					action.accept(relation);
+				}
+			}
+		}
 	}
 
 	/**
 	 * {@inheritDoc}
 	 */
 	@Override
+	@SuppressWarnings("unchecked")
 	public <T> T get(RelationType<T> type) {
 		assert type.getName() != RelationType.INIT_TYPE :
 			"Uninitialized relation type";
 
-		Relation<T> relation = getRelation(type);
+		Object value = relations.get(type);
+
+		if (value == null) {
+			if (type.isLazy() && type.hasInitialValue()) {
+				T view = LazyCollections.newView(this, type);
+
+				if (view != null) {
+					return view;
+				}
+			}
 
-		if (relation == null) {
 			T initialValue = type.initialValue(this);
 
 			if (initialValue == null) {
 				return type.defaultValue(this);
 			} else {
-				relation = type.newRelation(this, initialValue);
-
-				addRelation(relation, true);
+				return addRelation(type.newRelation(this, initialValue),
+					true).getTarget();
 			}
+		} else if (value instanceof Relation) {
+			return ((Relation<T>) value).getTarget();
+		} else {
+			return inlineTarget(value);
 		}
-
-		return relation.getTarget();
 	}
 
 	/**
+	 * Returns the relation with the given type. If the relation target is
+	 * stored inline (see {@link #usesInlineTargets()}) a lightweight view of
+	 * the relation will be returned that only materializes the relation
+	 * object if it is modified.
+	 *
 	 * @see Relatable#getRelation(RelationType)
 	 */
 	@Override
-	@SuppressWarnings("unchecked")
 	public <T> Relation<T> getRelation(RelationType<T> type) {
-		return (Relation<T>) relations.get(type);
+		Object value = relations.get(type);
+
+		return value != null ? relationOf(type, value) : null;
+	}
+
+	/**
+	 * Overridden to count the relations without allocations. Inline targets
+	 * are passed to the filter through a single reusable view (see {@link
+	 * Relatable#forEachRelation(Predicate, Consumer)}).
+	 *
+	 * @see Relatable#getRelationCount(Predicate)
+	 */
+	@Override
+	public int getRelationCount(Predicate<? super Relation<?>> filter) {
+		InlineRelation<?> view = newIterationView();
+		int count = 0;
+
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			if (!type.isPrivate() && (filter == null ||
+				filter.test(relationOf(type, entry.getValue(), view)))) {
+				count++;
+			}
+		}
+
+		return count;
 	}
 
 	/**
@@ -113,16 +276,47 @@ public class RelatedObject implements Relatable {
 		Predicate<? super Relation<?>> filter) {
 		List<Relation<?>> result = new ArrayList<Relation<?>>();
 
-		for (Relation<?> relation : relations.values()) {
-			if (!relation.getType().isPrivate() &&
-				(filter == null || filter.test(relation))) {
-				result.add(relation);
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			if (!type.isPrivate()) {
+				Relation<?> relation = relationOf(type, entry.getValue());
+
+				if (filter == null || filter.test(relation)) {
+					result.add(relation);
+				}
 			}
 		}
 
 		return result;
 	}
 
+	/**
+	 * Overridden to not materialize relations with inline targets.
+	 *
+	 * @see Relatable#hasFlag(RelationType)
+	 */
+	@Override
+	public boolean hasFlag(RelationType<Boolean> type) {
+		Object value = relations.get(type);
+
+		if (value instanceof Relation) {
+			return Relatable.super.hasFlag(type);
+		} else {
+			return value == Boolean.TRUE;
+		}
+	}
+
+	/**
+	 * Overridden to not materialize relations with inline targets.
+	 *
+	 * @see Relatable#hasRelation(RelationType)
+	 */
+	@Override
+	public boolean hasRelation(RelationType<?> type) {
+		return relations.containsKey(type);
+	}
+
 	/**
 	 * Compares this instance's relations for equality with another related
 	 * object. This method should be invoked by subclasses that implement the
@@ -135,7 +329,32 @@ public class RelatedObject implements Relatable {
 	 * object
 	 */
 	public final boolean relationsEqual(RelatedObject other) {
-		return relations.equals(other.relations);
+		if (relations.size() != other.relations.size()) {
+			return false;
+		} else if (!usesInlineTargets() && !other.usesInlineTargets()) {
+			return relations.equals(other.relations);
+		}
+
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+			Object otherValue = other.relations.get(type);
+
+			if (otherValue == null ||
+				!toRelation(type, entry.getValue()).equals(
+					toRelation(type, otherValue))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Spliterator<Relation<?>> relationSpliterator() {
+		return new RelationSpliterator();
 	}
 
 	/**
@@ -152,30 +371,30 @@ public class RelatedObject implements Relatable {
 	}
 
 	/**
-	 * @see Relatable#set(RelationType, Object)
+	 * Overridden to look up the relation only once.
+	 *
+	 * @see Relatable#peek(RelationType)
 	 */
 	@Override
-	public <T> Relation<T> set(RelationType<T> type, T target) {
-		Relation<T> relation = getRelation(type);
+	@SuppressWarnings("unchecked")
+	public <T> T peek(RelationType<T> type) {
+		Object value = relations.get(type);
 
-		if (relation != null) {
-			// notify type and listeners before updating so that they may
-			// prevent the update by throwing an exception
-			type.checkUpdateAllowed();
-			type.prepareRelationUpdate(relation, target);
-			notifyRelationListeners(EventType.UPDATE, relation, target);
-			relation.updateTarget(target);
+		if (value == null) {
+			return Relatable.super.peek(type);
+		} else if (value instanceof Relation) {
+			return ((Relation<T>) value).getTarget();
 		} else {
-			if (!type.isInitialized()) {
-				RelationTypes.init(getClass());
-			}
-
-			type.checkReadonly();
-			relation = new DirectRelation<T>(type, target);
-			addRelation(relation, true);
+			return inlineTarget(value);
 		}
+	}
 
-		return relation;
+	/**
+	 * @see Relatable#set(RelationType, Object)
+	 */
+	@Override
+	public <T> Relation<T> set(RelationType<T> type, T target) {
+		return updateRelation(type, target, true);
 	}
 
 	/**
@@ -201,6 +420,66 @@ public class RelatedObject implements Relatable {
 		return relation;
 	}
 
+	/**
+	 * Sets multiple relations in a single operation.
+	 *
+	 * @see #setAll(Collection)
+	 */
+	public void setAll(RelationData<?>... relationData) {
+		setAll(Arrays.asList(relationData));
+	}
+
+	/**
+	 * Sets multiple relations in a single operation. Other than setting the
+	 * relations individually with {@link #set(RelationType, Object)} this
+	 * method validates all relations before the first relation is modified
+	 * and reserves the storage for the new relations in advance. Instead of
+	 * notifying the relation listeners of each modification a single {@link
+	 * RelationBatchEvent} will be sent to the batch listeners before the
+	 * relations are set (see {@link #notifyRelationBatch(List)}). A batch
+	 * listener may therefore prevent all modifications by throwing an
+	 * exception.
+	 *
+	 * @param relationData The types and targets of the relations to set
+	 * @throws IllegalArgumentException      If a target is invalid for it's
+	 *                                       relation type
+	 * @throws UnsupportedOperationException If a relation cannot be set
+	 */
+	public void setAll(Collection<? extends RelationData<?>> relationData) {
+		boolean initialized = false;
+		boolean notify = hasRelation(ListenerTypes.RELATION_BATCH_LISTENERS);
+
+		for (RelationData<?> data : relationData) {
+			if (!initialized && !data.first().isInitialized()) {
+				RelationTypes.init(getClass());
+				initialized = true;
+			}
+
+			notify |= checkData(data);
+		}
+
+		if (notify) {
+			List<RelationEvent<?>> events =
+				new ArrayList<>(relationData.size());
+
+			for (RelationData<?> data : relationData) {
+				if (!data.first().isPrivate()) {
+					events.add(newDataEvent(data));
+				}
+			}
+
+			if (!events.isEmpty()) {
+				notifyRelationBatch(events);
+			}
+		}
+
+		reserveCapacity(relationData.size());
+
+		for (RelationData<?> data : relationData) {
+			applyData(data);
+		}
+	}
+
 	/**
 	 * Returns a string representation of this instance. The returned string
 	 * will be composed of the simple class name followed by a comma-separated
@@ -316,7 +595,48 @@ public class RelatedObject implements Relatable {
 	 * @return The hash code of this instance's relations
 	 */
 	protected final int relationsHashCode() {
-		return relations.hashCode();
+		if (!usesInlineTargets()) {
+			return relations.hashCode();
+		}
+
+		int hashCode = 0;
+
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			hashCode += type.hashCode() ^
+				toRelation(type, entry.getValue()).hashCode();
+		}
+
+		return hashCode;
+	}
+
+	/**
+	 * Defines whether the targets of plain relations will be stored inline
+	 * without a relation object (see the class documentation for details).
+	 * The default implementation returns FALSE. Subclasses with a large number
+	 * of instances should consider to override this method to return TRUE.
+	 *
+	 * @return TRUE if relation targets are stored inline
+	 */
+	protected boolean usesInlineTargets() {
+		return false;
+	}
+
+	/**
+	 * Defines whether the relations of this instance will be stored in a
+	 * persistent data structure that allows to fork the relations into other
+	 * objects in constant time (see {@link
+	 * ObjectRelations#forkRelations(RelatedObject, RelatedObject)}). The
+	 * default implementation returns FALSE. Persistent relations don't
+	 * preserve the order in which relations have been added. Subclasses that
+	 * are used as templates for many other objects should consider to
+	 * override this method and {@link #usesInlineTargets()} to return TRUE.
+	 *
+	 * @return TRUE if relations are stored in a persistent data structure
+	 */
+	protected boolean usesPersistentRelations() {
+		return false;
 	}
 
 	/**
@@ -333,46 +653,328 @@ public class RelatedObject implements Relatable {
 		throws IOException {
 		int count = 0;
 
-		for (Relation<?> relation : relations.values()) {
-			if (!relation.getType().isTransient()) {
+		for (RelationType<?> type : relations.keySet()) {
+			if (!type.isTransient()) {
 				count++;
 			}
 		}
 
 		out.writeInt(count);
 
-		for (Relation<?> relation : relations.values()) {
-			if (!relation.getType().isTransient()) {
-				out.writeObject(relation);
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			RelationType<?> type = entry.getKey();
+
+			if (!type.isTransient()) {
+				out.writeObject(toRelation(type, entry.getValue()));
 			}
 		}
 	}
 
 	/**
-	 * Adds a relation to this object.
+	 * Adds a new relation with the initial value of it's type. This is used
+	 * for the materialization of lazy relations and is therefore not checked
+	 * for readonly types, like the creation of initial values in {@link
+	 * #get(RelationType)}.
+	 *
+	 * @param type The relation type
+	 * @return The new relation
+	 */
+	<T> Relation<T> addInitialRelation(RelationType<T> type) {
+		return addRelation(type.newRelation(this, type.initialValue(this)),
+			true);
+	}
+
+	/**
+	 * Adds a relation to this object. If the relation target can be stored
+	 * inline the returned relation will be a lightweight relation that refers
+	 * to the inline target.
 	 *
 	 * @param relation The relation to add
 	 * @param notify   TRUE if the relation type and listeners shall be
 	 *                    notified
 	 *                 of the added relation; FALSE if the call is for internal
 	 *                 relation management only
+	 * @return The relation that has been added
 	 */
-	<T> void addRelation(Relation<T> relation, boolean notify) {
+	<T> Relation<T> addRelation(Relation<T> relation, boolean notify) {
 		RelationType<T> type = relation.getType();
 
 		relation = type.addRelation(this, relation);
 
+		if (relations == NO_RELATIONS) {
+			relations = usesPersistentRelations() ? new PersistentRelations() :
+			            new LinkedHashMap<RelationType<?>, Object>();
+		} else {
+			copySharedRelations();
+		}
+
+		if (isInlineCandidate(relation)) {
+			T target = relation.getTarget();
+			Object previous =
+				relations.put(type, target != null ? target : NULL_TARGET);
+
+			relation = new InlineRelation<T>(this, type);
+
+			if (notify) {
+				// the inline target must be available to listeners, therefore
+				// revert the addition if a listener throws an exception
+				try {
+					notifyRelationListeners(EventType.ADD, relation, null);
+				} catch (RuntimeException e) {
+					if (previous != null) {
+						relations.put(type, previous);
+					} else {
+						relations.remove(type);
+					}
+
+					throw e;
+				}
+			}
+		} else {
+			if (notify) {
+				// notify listeners before adding so that they may prevent it
+				// by throwing an exception
+				notifyRelationListeners(EventType.ADD, relation, null);
+			}
+
+			relations.put(type, relation);
+		}
+
+		modificationCount++;
+
+		return relation;
+	}
+
+	/**
+	 * Removes a relation from this object without checking whether the
+	 * relation may be removed. This is used by bulk modifications that check
+	 * all relations in advance and to revert additions.
+	 *
+	 * @param relation The relation to remove
+	 * @param notify   TRUE to notify relation listeners of the removal
+	 */
+	void discardRelation(Relation<?> relation, boolean notify) {
+		RelationType<?> type = relation.getType();
+
+		// notify type and listeners before removing so that they may
+		// prevent it by throwing an exception
+		type.deleteRelation(this, relation);
+
 		if (notify) {
-			// notify listeners before adding so that they may prevent it
-			// by throwing an exception
-			notifyRelationListeners(EventType.ADD, relation, null);
+			notifyRelationListeners(EventType.REMOVE, relation, null);
 		}
 
-		if (relations == NO_RELATIONS) {
-			relations = new LinkedHashMap<RelationType<?>, Relation<?>>();
+		copySharedRelations();
+		relations.remove(type);
+		modificationCount++;
+		relation.removed();
+	}
+
+	/**
+	 * Replaces the relations of this instance with copies of the relations of
+	 * another object. If the other object stores it's relations in a {@link
+	 * PersistentRelations} map this instance will receive a snapshot of that
+	 * map. In that case only relations that are stored as relation objects
+	 * need to be copied individually because they are mutable. Relations
+	 * with inline targets (see {@link #usesInlineTargets()}) are shared
+	 * until they are modified in either object.
+	 *
+	 * @param source The object to fork the relations of
+	 */
+	void forkRelations(RelatedObject source) {
+		Map<RelationType<?>, Object> sourceRelations = source.relations;
+		boolean snapshot = sourceRelations instanceof PersistentRelations;
+
+		relations = snapshot ?
+		            ((PersistentRelations) sourceRelations).snapshot() :
+		            NO_RELATIONS;
+
+		if (!snapshot ||
+			((PersistentRelations) sourceRelations).hasRelationObjects()) {
+			for (Map.Entry<RelationType<?>, Object> entry :
+				sourceRelations.entrySet()) {
+				RelationType<?> type = entry.getKey();
+				Object value = entry.getValue();
+
+				if (!snapshot || value instanceof Relation) {
+					if (snapshot) {
+						// remove the shared relation object before copying so
+						// that the copying doesn't update it
+						relations.remove(type);
+					}
+
+					source.relationOf(type, value).copyTo(this, true);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the current target of a relation without materializing inline
+	 * targets.
+	 *
+	 * @param type The relation type
+	 * @return The relation target or NULL if no such relation exists
+	 */
+	@SuppressWarnings("unchecked")
+	<T> T getCurrentTarget(RelationType<T> type) {
+		Object value = relations.get(type);
+
+		if (value instanceof Relation) {
+			return ((Relation<T>) value).getTarget();
+		} else {
+			return inlineTarget(value);
 		}
+	}
 
+	/**
+	 * Returns the stored relation object for a certain type without
+	 * materializing inline targets.
+	 *
+	 * @param type The relation type
+	 * @return The relation or NULL if no relation object exists
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Relation<T> getStoredRelation(RelationType<T> type) {
+		Object value = relations.get(type);
+
+		return value instanceof Relation ? (Relation<T>) value : null;
+	}
+
+	/**
+	 * Checks whether the target of a relation is currently stored inline.
+	 *
+	 * @param type The relation type
+	 * @return TRUE if the relation target is stored inline
+	 */
+	boolean isInline(RelationType<?> type) {
+		Object value = relations.get(type);
+
+		return value != null && !(value instanceof Relation);
+	}
+
+	/**
+	 * Replaces an inline relation target with a relation object. This is
+	 * invoked by {@link InlineRelation} before the relation is modified.
+	 *
+	 * @param type The relation type
+	 * @return The stored relation or NULL if no relation exists
+	 */
+	@SuppressWarnings("unchecked")
+	<T> Relation<T> materializeRelation(RelationType<T> type) {
+		Object value = relations.get(type);
+
+		if (value == null || value instanceof Relation) {
+			return (Relation<T>) value;
+		}
+
+		Relation<T> relation = new DirectRelation<T>(type, inlineTarget(value));
+
+		copySharedRelations();
 		relations.put(type, relation);
+
+		return relation;
+	}
+
+	/**
+	 * Notifies the batch listeners of a batch of relation modifications
+	 * before they are applied. A single {@link RelationBatchEvent} will be
+	 * dispatched to the {@link ListenerTypes#RELATION_BATCH_LISTENERS} of this
+	 * object and to each distinct {@link
+	 * ListenerTypes#RELATION_TYPE_BATCH_LISTENERS} of the modified relation
+	 * types. Because they are specific to a single relation the {@link
+	 * ListenerTypes#RELATION_UPDATE_LISTENERS} of the modified relations
+	 * receive their relation event instead. The other relation listeners are
+	 * not notified.
+	 *
+	 * @param events The events of the relation modifications
+	 */
+	void notifyRelationBatch(List<RelationEvent<?>> events) {
+		RelationBatchEvent batch = new RelationBatchEvent(this, events);
+		Set<EventDispatcher<RelationBatchEvent>> typeListeners = null;
+
+		if (hasRelation(ListenerTypes.RELATION_BATCH_LISTENERS)) {
+			get(ListenerTypes.RELATION_BATCH_LISTENERS).dispatch(batch);
+		}
+
+		for (RelationEvent<?> event : events) {
+			Relation<?> relation = event.getElement();
+			RelationType<?> type = relation.getType();
+
+			if (relation.hasRelation(ListenerTypes.RELATION_UPDATE_LISTENERS)) {
+				notifyUpdateListeners(event);
+			}
+
+			if (type.hasRelation(ListenerTypes.RELATION_TYPE_BATCH_LISTENERS)) {
+				EventDispatcher<RelationBatchEvent> listeners =
+					type.get(ListenerTypes.RELATION_TYPE_BATCH_LISTENERS);
+
+				if (typeListeners == null) {
+					typeListeners =
+						Collections.newSetFromMap(new IdentityHashMap<>());
+				}
+
+				if (typeListeners.add(listeners)) {
+					listeners.dispatch(batch);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes a relation from this object. This is the implementation of
+	 * {@link #deleteRelation(Relation)} that also allows to suppress the
+	 * notification of relation listeners, e.g. to defer it to the end of a
+	 * {@link RelationTransaction}.
+	 *
+	 * @param relation The relation to remove
+	 * @param notify   TRUE to notify relation listeners of the removal
+	 */
+	void removeRelation(Relation<?> relation, boolean notify) {
+		relation.getType().checkUpdateAllowed();
+		discardRelation(relation, notify);
+	}
+
+	/**
+	 * Stores a new relation target for an existing relation. This is invoked
+	 * by {@link InlineRelation} after the update has been validated.
+	 *
+	 * @param type   The relation type
+	 * @param target The new target
+	 */
+	@SuppressWarnings("unchecked")
+	<T> void setCurrentTarget(RelationType<T> type, T target) {
+		Object value = relations.get(type);
+
+		if (value instanceof Relation) {
+			((Relation<T>) value).setTarget(target);
+		} else if (value != null) {
+			copySharedRelations();
+
+			if (target instanceof Relation) {
+				relations.put(type, new DirectRelation<T>(type, target));
+			} else {
+				relations.put(type, target != null ? target : NULL_TARGET);
+			}
+		}
+
+		modificationCount++;
+	}
+
+	/**
+	 * Replaces the relations of this instance with an equal relation map that
+	 * is shared with other objects if possible. The shared map will be
+	 * replaced with a private copy on the next modification of this object's
+	 * relations. See {@link SharedRelations} for details.
+	 */
+	void shareRelations() {
+		if (!relations.isEmpty() && !(relations instanceof SharedRelations)) {
+			SharedRelations shared = SharedRelations.intern(relations);
+
+			if (shared != null) {
+				relations = shared;
+			}
+		}
 	}
 
 	/**
@@ -390,9 +992,8 @@ public class RelatedObject implements Relatable {
 		Set<Object> excludedObjects) {
 		StringBuilder stringBuilder = new StringBuilder();
 
-		for (Relation<?> relation : relations.values()) {
-			RelationType<?> type = relation.getType();
-			Object target = relation.getTarget();
+		for (RelationType<?> type : relations.keySet()) {
+			Object target = getCurrentTarget(type);
 
 			excludedObjects.add(this);
 
@@ -450,8 +1051,366 @@ public class RelatedObject implements Relatable {
 	 *               relation management only
 	 */
 	void transferRelationsFrom(RelatedObject source, boolean notify) {
-		for (Relation<?> relation : source.relations.values()) {
-			addRelation(relation, notify);
+		source.copySharedRelations();
+
+		for (Map.Entry<RelationType<?>, Object> entry :
+			source.relations.entrySet()) {
+			addRelation(toRelation(entry.getKey(), entry.getValue()), notify);
+		}
+	}
+
+	/**
+	 * Sets a relation target in this object. This is the implementation of
+	 * {@link #set(RelationType, Object)} that also allows to suppress the
+	 * notification of relation listeners, e.g. to defer it to the end of a
+	 * {@link RelationTransaction}.
+	 *
+	 * @param type   The relation type
+	 * @param target The relation target
+	 * @param notify TRUE to notify relation listeners of the change
+	 * @return The added or updated relation
+	 */
+	<T> Relation<T> updateRelation(RelationType<T> type, T target,
+		boolean notify) {
+		Relation<T> relation;
+
+		if (relations.containsKey(type)) {
+			copySharedRelations();
+			relation = relationOf(type, relations.get(type));
+
+			// notify type and listeners before updating so that they may
+			// prevent the update by throwing an exception
+			type.checkUpdateAllowed();
+			type.prepareRelationUpdate(relation, target);
+
+			if (notify) {
+				notifyRelationListeners(EventType.UPDATE, relation, target);
+			}
+
+			relation.updateTarget(target);
+			modificationCount++;
+		} else {
+			if (!type.isInitialized()) {
+				RelationTypes.init(getClass());
+			}
+
+			type.checkReadonly();
+			relation =
+				addRelation(new DirectRelation<T>(type, target), notify);
+		}
+
+		return relation;
+	}
+
+	/**
+	 * Applies relation data that has been checked with {@link
+	 * #checkData(RelationData)} without notifying relation listeners.
+	 *
+	 * @param data The relation data
+	 */
+	private <T> void applyData(RelationData<T> data) {
+		RelationType<T> type = data.first();
+
+		if (relations.containsKey(type)) {
+			setCurrentTarget(type, data.second());
+		} else {
+			addRelation(new DirectRelation<T>(type, data.second()), false);
+		}
+	}
+
+	/**
+	 * Checks whether relation data can be applied to this object.
+	 *
+	 * @param data The relation data
+	 * @return TRUE if the modification needs to be notified to batch
+	 * listeners of the relation type or update listeners of the relation
+	 * @throws IllegalArgumentException      If the target is invalid for the
+	 *                                       relation type
+	 * @throws UnsupportedOperationException If the relation cannot be set
+	 */
+	private <T> boolean checkData(RelationData<T> data) {
+		RelationType<T> type = data.first();
+		T target = data.second();
+		Object value = relations.get(type);
+
+		if (!type.isValidTarget(target)) {
+			throw new IllegalArgumentException(
+				String.format("Invalid target for type '%s': %s", type,
+					target));
+		}
+
+		if (value == null) {
+			type.checkReadonly();
+
+			return !type.isPrivate() &&
+				type.hasRelation(ListenerTypes.RELATION_TYPE_BATCH_LISTENERS);
+		} else {
+			Relation<T> relation = relationOf(type, value);
+
+			type.checkUpdateAllowed();
+
+			if (relation.hasFlag(MetaTypes.IMMUTABLE)) {
+				throw new UnsupportedOperationException(
+					"Relation is immutable: " + type);
+			}
+
+			type.prepareRelationUpdate(relation, target);
+
+			return hasBatchListeners(relation);
+		}
+	}
+
+	/**
+	 * Replaces shared relations of this instance with a private copy before
+	 * they are modified.
+	 */
+	private void copySharedRelations() {
+		if (relations instanceof SharedRelations) {
+			relations = ((SharedRelations) relations).copy();
+		}
+	}
+
+	/**
+	 * Checks whether the modification of a relation needs to be notified to
+	 * batch listeners of the relation type or update listeners of the
+	 * relation.
+	 *
+	 * @param relation The relation to check
+	 * @return TRUE if listeners need to be notified
+	 */
+	private boolean hasBatchListeners(Relation<?> relation) {
+		RelationType<?> type = relation.getType();
+
+		return !type.isPrivate() &&
+			(type.hasRelation(ListenerTypes.RELATION_TYPE_BATCH_LISTENERS) ||
+				relation.hasRelation(ListenerTypes.RELATION_UPDATE_LISTENERS));
+	}
+
+	/**
+	 * Checks whether the target of a relation can be stored inline.
+	 *
+	 * @param relation The relation to check
+	 * @return TRUE if the relation target can be stored inline
+	 */
+	private boolean isInlineCandidate(Relation<?> relation) {
+		return usesInlineTargets() &&
+			relation.getClass() == DirectRelation.class &&
+			relation.getType().getClass() == RelationType.class &&
+			relation.relations.isEmpty() &&
+			!(relation.getTarget() instanceof Relation);
+	}
+
+	/**
+	 * Creates the event of a modification by relation data before it is
+	 * applied. Like for single relation events the relation of an update
+	 * event contains the previous target and the update value the new
+	 * target.
+	 *
+	 * @param data The relation data
+	 * @return The new event
+	 */
+	private <T> RelationEvent<T> newDataEvent(RelationData<T> data) {
+		RelationType<T> type = data.first();
+		Object value = relations.get(type);
+
+		if (value == null) {
+			return newEvent(EventType.ADD,
+				new DirectRelation<T>(type, data.second()), null);
+		} else {
+			return newEvent(EventType.UPDATE, toRelation(type, value),
+				data.second());
+		}
+	}
+
+	/**
+	 * Creates a new relation event with this instance as the source.
+	 *
+	 * @param eventType   The event type
+	 * @param relation    The affected relation
+	 * @param updateValue The update value
+	 * @return The new event
+	 */
+	private <T> RelationEvent<T> newEvent(EventType eventType,
+		Relation<T> relation, T updateValue) {
+		return new RelationEvent<>(eventType, this, relation, updateValue,
+			this);
+	}
+
+	/**
+	 * Returns a new view of inline targets that can be reused while
+	 * iterating over the relations of this instance.
+	 *
+	 * @return The new view or NULL if this instance doesn't use inline
+	 * targets
+	 */
+	private InlineRelation<?> newIterationView() {
+		return usesInlineTargets() ? new InlineRelation<>(this, null) : null;
+	}
+
+	/**
+	 * Notifies the update listeners of a relation of a batch modification.
+	 *
+	 * @param event The event of the relation modification
+	 */
+	private <T> void notifyUpdateListeners(RelationEvent<T> event) {
+		Relation<T> relation = event.getElement();
+
+		relation
+			.get(ListenerTypes.RELATION_UPDATE_LISTENERS)
+			.dispatch(new RelationEvent<T>(event.getType(), this, relation,
+				event.getUpdateValue(), relation));
+	}
+
+	/**
+	 * Returns the relation for a value from the relation map. For inline
+	 * targets a lightweight relation will be returned that materializes the
+	 * actual relation if modified.
+	 *
+	 * @param type  The relation type
+	 * @param value The map value
+	 * @return The relation
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Relation<T> relationOf(RelationType<T> type, Object value) {
+		if (value instanceof Relation) {
+			return (Relation<T>) value;
+		} else {
+			return new InlineRelation<T>(this, type);
+		}
+	}
+
+	/**
+	 * Returns the relation for a value from the relation map while iterating
+	 * over the relations. Other than {@link #relationOf(RelationType, Object)}
+	 * an inline target will be returned through the given view which is
+	 * reused for all inline targets of an iteration.
+	 *
+	 * @param type  The relation type
+	 * @param value The map value
+	 * @param view  The view for inline targets or NULL to create a new one
+	 * @return The relation
+	 */
+	private Relation<?> relationOf(RelationType<?> type, Object value,
+		InlineRelation<?> view) {
+		if (value instanceof Relation || view == null) {
+			return relationOf(type, value);
+		} else {
+			return view.reassign(type);
+		}
+	}
+
+	/**
+	 * Reserves the storage for additional relations. The relation map will
+	 * be replaced with an adequately sized map if it is empty or if the
+	 * number of additional relations exceeds the current size.
+	 *
+	 * @param additional The number of additional relations
+	 */
+	private void reserveCapacity(int additional) {
+		if (relations == NO_RELATIONS) {
+			relations = usesPersistentRelations() ? new PersistentRelations() :
+			            new LinkedHashMap<RelationType<?>, Object>(
+				            additional * 4 / 3 + 1);
+		} else {
+			copySharedRelations();
+
+			int size = relations.size();
+
+			if (additional > size && relations instanceof LinkedHashMap) {
+				Map<RelationType<?>, Object> resized =
+					new LinkedHashMap<>((size + additional) * 4 / 3 + 1);
+
+				resized.putAll(relations);
+				relations = resized;
+			}
+		}
+	}
+
+	/**
+	 * Returns the relation for a value from the relation map. For inline
+	 * targets a new detached relation will be returned.
+	 *
+	 * @param type  The relation type
+	 * @param value The map value
+	 * @return The relation
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Relation<T> toRelation(RelationType<T> type,
+		Object value) {
+		if (value instanceof Relation) {
+			return (Relation<T>) value;
+		} else {
+			return new DirectRelation<T>(type, inlineTarget(value));
+		}
+	}
+
+	/**
+	 * A sized spliterator over the public relations of this instance.
+	 *
+	 * @author eso
+	 */
+	private class RelationSpliterator implements Spliterator<Relation<?>> {
+
+		private final Iterator<Map.Entry<RelationType<?>, Object>> entries =
+			relations.entrySet().iterator();
+
+		private long remaining = 0;
+
+		/**
+		 * Creates a new instance.
+		 */
+		RelationSpliterator() {
+			for (RelationType<?> type : relations.keySet()) {
+				if (!type.isPrivate()) {
+					remaining++;
+				}
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | NONNULL;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super Relation<?>> action) {
+			while (entries.hasNext()) {
+				Map.Entry<RelationType<?>, Object> entry = entries.next();
+				RelationType<?> type = entry.getKey();
+
+				if (!type.isPrivate()) {
+					remaining--;
+					action.accept(relationOf(type, entry.getValue()));
+
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Returns NULL because relations are not split.
+		 *
+		 * @see Spliterator#trySplit()
+		 */
+		@Override
+		public Spliterator<Relation<?>> trySplit() {
+			return null;
 		}
 	}
 }
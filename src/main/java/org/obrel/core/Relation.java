@@ -54,7 +54,7 @@ public abstract class Relation<T> extends SerializableRelatedObject {
 	/**
 	 *
 	 */
-	private final RelationType<T> type;
+	private RelationType<T> type;
 
 	/**
 	 * Package-internal constructor that creates a new relation instance.
@@ -122,7 +122,7 @@ public abstract class Relation<T> extends SerializableRelatedObject {
 	public final <A> Relation<A> aliasAs(RelationType<A> aliasType,
 		Relatable inParent, InvertibleFunction<T, A> aliasConversion) {
 		return addAlias(
-			new RelationAlias<A, T>(inParent, aliasType, this,
+			new RelationAlias<A, T>(inParent, aliasType, attached(),
 				aliasConversion),
 			inParent);
 	}
@@ -370,6 +370,29 @@ public abstract class Relation<T> extends SerializableRelatedObject {
 		}
 	}
 
+	/**
+	 * Replaces the annotations of this relation with a shared instance if
+	 * other relations have identical annotations. This can considerably
+	 * reduce the memory footprint if many relations have the same
+	 * annotations, e.g. in relation-based metadata models. The sharing is
+	 * transparent: if the annotations of this relation are modified later,
+	 * this relation will receive a private copy of the annotations first.
+	 *
+	 * <p>Only annotations which are direct relations without own annotations
+	 * and with immutable values like strings, numbers, enums, or relation
+	 * types can be shared. If this relation contains other annotations or
+	 * meta-relations (like event listeners) this call has no effect. Shared
+	 * annotation relations must not be modified directly, e.g. by annotating
+	 * them.</p>
+	 *
+	 * @return This instance to allow concatenation with annotation calls
+	 */
+	public final Relation<T> shareAnnotations() {
+		shareRelations();
+
+		return this;
+	}
+
 	/**
 	 * Returns a string representation of this relation.
 	 *
@@ -419,7 +442,8 @@ public abstract class Relation<T> extends SerializableRelatedObject {
 	public final <V> Relation<V> viewAs(RelationType<V> viewType,
 		Relatable inParent, Function<T, V> viewConversion) {
 		return addAlias(
-			new RelationView<V, T>(inParent, viewType, this, viewConversion),
+			new RelationView<V, T>(inParent, viewType, attached(),
+				viewConversion),
 			inParent);
 	}
 
@@ -446,6 +470,18 @@ public abstract class Relation<T> extends SerializableRelatedObject {
 		return alias;
 	}
 
+	/**
+	 * Returns the relation instance that is actually stored in the parent
+	 * object. This is used for relations that refer to another relation
+	 * instance, like {@link InlineRelation}. The default implementation
+	 * returns this instance.
+	 *
+	 * @return The attached relation
+	 */
+	Relation<T> attached() {
+		return this;
+	}
+
 	/**
 	 * Must be implemented by a subclass to create a correctly typed copy of
 	 * this relation instance. A subclass may prevent the creation of a copy by
@@ -506,6 +542,18 @@ public abstract class Relation<T> extends SerializableRelatedObject {
 	 */
 	abstract void setTarget(T newTarget);
 
+	/**
+	 * Package-internal method to change the type of this relation. This is
+	 * only intended for reusable relation views (see {@link
+	 * InlineRelation#reassign(RelationType)}) and must never be invoked on a
+	 * relation that is stored in a parent object.
+	 *
+	 * @param newType The new relation type
+	 */
+	void setType(RelationType<T> newType) {
+		type = newType;
+	}
+
 	/**
 	 * Package-internal method that will be invoked by the relation type to
 	 * modify the reference to the target object.
@@ -0,0 +1,197 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import de.esoco.lib.event.EventHandler;
+import de.esoco.lib.event.GenericEvent;
+import org.obrel.type.ListenerTypes;
+
+import java.io.Serializable;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An event that combines multiple relation events of a single relatable
+ * object. It is dispatched to the listeners that are registered with {@link
+ * ListenerTypes#RELATION_BATCH_LISTENERS} or {@link
+ * ListenerTypes#RELATION_TYPE_BATCH_LISTENERS} before a batch of relation
+ * modifications is applied, e.g. by {@link RelatedObject#setAll(Collection)}
+ * or on the commit of a {@link RelationTransaction}. Like for single relation
+ * events a listener can prevent all modifications of the batch by throwing
+ * an exception.
+ *
+ * <p>The single relation listeners are not notified of batch modifications.
+ * To receive them anyway a relation event handler can be registered as a
+ * batch listener with {@link #forwardTo(EventHandler)} or {@link
+ * #forwardTo(RelationType, EventHandler)}.</p>
+ *
+ * @author eso
+ */
+public class RelationBatchEvent extends GenericEvent<Relatable> {
+
+	private final List<RelationEvent<?>> events;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param source The relatable on which the relations have been modified
+	 * @param events The events of the single relation modifications
+	 */
+	public RelationBatchEvent(Relatable source,
+		List<RelationEvent<?>> events) {
+		super(source);
+
+		this.events = Collections.unmodifiableList(events);
+	}
+
+	/**
+	 * Returns a batch event handler that forwards the single relation events
+	 * of a batch to a relation event handler. The returned handler can be
+	 * registered with {@link ListenerTypes#RELATION_BATCH_LISTENERS} to
+	 * notify an existing relation listener of bulk modifications. Handlers
+	 * for the same relation event handler are equal so that they can also be
+	 * removed by invoking this method again.
+	 *
+	 * @param handler The relation event handler to forward the events to
+	 * @return The batch event handler
+	 */
+	public static EventHandler<RelationBatchEvent> forwardTo(
+		EventHandler<? super RelationEvent<?>> handler) {
+		return new EventForwarder(null, handler);
+	}
+
+	/**
+	 * Returns a batch event handler that forwards the relation events of a
+	 * certain relation type to a relation event handler. The returned handler
+	 * can be registered with {@link
+	 * ListenerTypes#RELATION_TYPE_BATCH_LISTENERS} on the given type to
+	 * notify an existing relation type listener of bulk modifications. Like
+	 * for relation type listeners the forwarded events have the relation type
+	 * as their scope. Handlers for the same arguments are equal so that they
+	 * can also be removed by invoking this method again.
+	 *
+	 * @param type    The relation type to forward the events of
+	 * @param handler The relation event handler to forward the events to
+	 * @return The batch event handler
+	 */
+	public static EventHandler<RelationBatchEvent> forwardTo(
+		RelationType<?> type, EventHandler<? super RelationEvent<?>> handler) {
+		return new EventForwarder(type, handler);
+	}
+
+	/**
+	 * Returns the events of the single relation modifications in the order
+	 * in which they will be applied. Each relation is contained only once
+	 * with the final result of it's modifications. Like for single relation
+	 * events the relations of update events still contain the previous
+	 * target and the update value is the new target.
+	 *
+	 * @return The unmodifiable list of relation events
+	 */
+	public final List<RelationEvent<?>> getEvents() {
+		return events;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected String paramString() {
+		return super.paramString() + "," + events;
+	}
+
+	/**
+	 * A batch event handler that forwards single relation events.
+	 *
+	 * @author eso
+	 */
+	private static class EventForwarder
+		implements EventHandler<RelationBatchEvent>, Serializable {
+
+		private static final long serialVersionUID = 1L;
+
+		private final RelationType<?> type;
+
+		private final EventHandler<? super RelationEvent<?>> handler;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type    The relation type to forward the events of or NULL
+		 *                for all events
+		 * @param handler The relation event handler
+		 */
+		EventForwarder(RelationType<?> type,
+			EventHandler<? super RelationEvent<?>> handler) {
+			this.type = type;
+			this.handler = handler;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object other) {
+			if (this == other) {
+				return true;
+			}
+
+			if (!(other instanceof EventForwarder)) {
+				return false;
+			}
+
+			EventForwarder forwarder = (EventForwarder) other;
+
+			return type == forwarder.type &&
+				handler.equals(forwarder.handler);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void handleEvent(RelationBatchEvent batch) {
+			for (RelationEvent<?> event : batch.getEvents()) {
+				if (type == null) {
+					handler.handleEvent(event);
+				} else if (event.getElement().getType() == type) {
+					handler.handleEvent(rescope(event));
+				}
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(type) + handler.hashCode();
+		}
+
+		/**
+		 * Returns a copy of an event with the relation type as the scope.
+		 *
+		 * @param event The event to copy
+		 * @return The new event
+		 */
+		private <T> RelationEvent<T> rescope(RelationEvent<T> event) {
+			return new RelationEvent<>(event.getType(), event.getSource(),
+				event.getElement(), event.getUpdateValue(), type);
+		}
+	}
+}
@@ -0,0 +1,1433 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import de.esoco.lib.expression.Function;
+import de.esoco.lib.expression.InvertibleFunction;
+import de.esoco.lib.expression.Predicate;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.DoubleSummaryStatistics;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.DoublePredicate;
+import java.util.function.IntPredicate;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+/**
+ * A table that stores the relations of many objects with the same structure
+ * in columns instead of separate objects. Each column holds the relation
+ * targets of a certain relation type for all rows in a single array. Columns
+ * of the datatypes {@link Integer}, {@link Long}, {@link Double}, and {@link
+ * Boolean} are stored as arrays of the corresponding primitive values (or a
+ * bit set for booleans), all other datatypes as object arrays. Compared to
+ * individual {@link RelatedObject RelatedObjects} this saves the maps and
+ * relation objects of each object and allows to scan, aggregate, and filter
+ * whole columns without accessing the rows.
+ *
+ * <p>The rows of a table are available as instances of the inner class
+ * {@link Row} which implement the {@link Relatable} interface. Rows are
+ * lightweight views that are created on access and therefore must be compared
+ * with {@link Row#equals(Object)} instead of by identity. Relations of rows
+ * are views of the table cells which cannot hold annotations and rows only
+ * support relations with the column types of the table. Rows don't notify
+ * relation listeners and don't support intermediate or transformed relations.
+ * Rows cannot be removed individually.</p>
+ *
+ * <p>This class is not thread-safe. Concurrent modifications of a table must
+ * be synchronized by the application.</p>
+ *
+ * @author eso
+ */
+public class RelationTable extends AbstractList<RelationTable.Row> {
+
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private final Map<RelationType<?>, Column<?>> columns =
+		new LinkedHashMap<>();
+
+	private int capacity;
+
+	private int size = 0;
+
+	/**
+	 * Creates a new instance with certain relation type columns.
+	 *
+	 * @param columnTypes The relation types of the table columns
+	 * @throws IllegalArgumentException If no column types are given
+	 */
+	public RelationTable(RelationType<?>... columnTypes) {
+		this(DEFAULT_CAPACITY, Arrays.asList(columnTypes));
+	}
+
+	/**
+	 * Creates a new instance with certain relation type columns and an initial
+	 * row capacity.
+	 *
+	 * @param initialCapacity The initial number of rows to allocate
+	 * @param columnTypes     The relation types of the table columns
+	 * @throws IllegalArgumentException If no column types are given
+	 */
+	public RelationTable(int initialCapacity,
+		Collection<RelationType<?>> columnTypes) {
+		if (columnTypes.isEmpty()) {
+			throw new IllegalArgumentException("No column types");
+		}
+
+		capacity = Math.max(1, initialCapacity);
+
+		for (RelationType<?> type : columnTypes) {
+			columns.put(type, newColumn(type, capacity));
+		}
+	}
+
+	/**
+	 * Creates a new column for a certain relation type.
+	 *
+	 * @param type     The relation type
+	 * @param capacity The initial capacity
+	 * @return The new column
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private static Column<?> newColumn(RelationType<?> type, int capacity) {
+		Class<?> datatype = type.getTargetType();
+		Column<?> column;
+
+		if (datatype == Integer.class) {
+			column = new IntColumn((RelationType<Integer>) type, capacity);
+		} else if (datatype == Long.class) {
+			column = new LongColumn((RelationType<Long>) type, capacity);
+		} else if (datatype == Double.class) {
+			column = new DoubleColumn((RelationType<Double>) type, capacity);
+		} else if (datatype == Boolean.class) {
+			column = new BooleanColumn((RelationType<Boolean>) type);
+		} else {
+			column = new ObjectColumn(type, capacity);
+		}
+
+		return column;
+	}
+
+	/**
+	 * Adds a new empty row to this table.
+	 *
+	 * @return The new row
+	 */
+	public Row addRow() {
+		if (size == capacity) {
+			capacity = Math.max(capacity + (capacity >> 1), capacity + 1);
+
+			for (Column<?> column : columns.values()) {
+				column.resize(capacity);
+			}
+		}
+
+		modCount++;
+
+		return new Row(size++);
+	}
+
+	/**
+	 * Adds a new row to this table that contains the relations of another
+	 * object with the column types of this table.
+	 *
+	 * @param source The object to copy the relations from
+	 * @return The new row
+	 */
+	@SuppressWarnings("unchecked")
+	public Row addRow(Relatable source) {
+		Row row = addRow();
+
+		for (RelationType<?> type : columns.keySet()) {
+			if (source.hasRelation(type)) {
+				row.set((RelationType<Object>) type, source.get(type));
+			}
+		}
+
+		return row;
+	}
+
+	/**
+	 * Removes all rows from this table but keeps the allocated capacity.
+	 */
+	@Override
+	public void clear() {
+		for (Column<?> column : columns.values()) {
+			column.clear(size);
+		}
+
+		size = 0;
+		modCount++;
+	}
+
+	/**
+	 * Returns a stream of the values in a certain column. Rows without a
+	 * relation of the column type are omitted.
+	 *
+	 * @param type The column type
+	 * @return The column values
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public <T> Stream<T> column(RelationType<T> type) {
+		Column<T> column = getColumn(type);
+
+		return rowsWith(column).mapToObj(column::get);
+	}
+
+	/**
+	 * Returns a stream of the values in a numeric column as double values.
+	 * Rows without a relation of the column type or with a NULL value are
+	 * omitted.
+	 *
+	 * @param type The column type
+	 * @return The column values
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public DoubleStream doubleColumn(RelationType<? extends Number> type) {
+		Column<? extends Number> column = getColumn(type);
+
+		return rowsWithValue(column).mapToDouble(column::getDouble);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Row get(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Invalid row: " + row);
+		}
+
+		return new Row(row);
+	}
+
+	/**
+	 * Returns the relation types of the columns of this table.
+	 *
+	 * @return The column types in the order of their definition
+	 */
+	public Collection<RelationType<?>> getColumnTypes() {
+		return Collections.unmodifiableSet(columns.keySet());
+	}
+
+	/**
+	 * Returns a stream of the values in an integer column. Rows without a
+	 * relation of the column type or with a NULL value are omitted.
+	 *
+	 * @param type The column type
+	 * @return The column values
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public IntStream intColumn(RelationType<Integer> type) {
+		Column<Integer> column = getColumn(type);
+
+		if (column instanceof IntColumn) {
+			int[] values = ((IntColumn) column).values;
+
+			return rowsWithValue(column).map(row -> values[row]);
+		} else {
+			return rowsWithValue(column).map(row -> column.get(row));
+		}
+	}
+
+	/**
+	 * Returns a stream of the values in a long column. Rows without a
+	 * relation of the column type or with a NULL value are omitted.
+	 *
+	 * @param type The column type
+	 * @return The column values
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public LongStream longColumn(RelationType<Long> type) {
+		Column<Long> column = getColumn(type);
+
+		if (column instanceof LongColumn) {
+			long[] values = ((LongColumn) column).values;
+
+			return rowsWithValue(column).mapToLong(row -> values[row]);
+		} else {
+			return rowsWithValue(column).mapToLong(row -> column.get(row));
+		}
+	}
+
+	/**
+	 * Returns the rows with a relation of a certain column type that matches
+	 * a predicate. The predicate will be evaluated directly on the column
+	 * values.
+	 *
+	 * @param type      The column type
+	 * @param predicate The predicate to evaluate the column values with
+	 * @return A bit set containing the numbers of the matching rows
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public <T> BitSet match(RelationType<T> type,
+		Predicate<? super T> predicate) {
+		Column<T> column = getColumn(type);
+		BitSet result = new BitSet(size);
+
+		rowsWith(column)
+			.filter(row -> predicate.test(column.get(row)))
+			.forEach(result::set);
+
+		return result;
+	}
+
+	/**
+	 * Returns the rows with a double relation that matches a predicate. The
+	 * predicate will be evaluated on the primitive column values without
+	 * boxing. Rows with a NULL value don't match.
+	 *
+	 * @param type      The column type
+	 * @param predicate The predicate to evaluate the column values with
+	 * @return A bit set containing the numbers of the matching rows
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public BitSet matchDoubles(RelationType<Double> type,
+		DoublePredicate predicate) {
+		Column<Double> column = getColumn(type);
+		BitSet result = new BitSet(size);
+
+		rowsWithValue(column)
+			.filter(row -> predicate.test(column.getDouble(row)))
+			.forEach(result::set);
+
+		return result;
+	}
+
+	/**
+	 * Returns the rows with an integer relation that matches a predicate.
+	 *
+	 * @param type      The column type
+	 * @param predicate The predicate to evaluate the column values with
+	 * @return A bit set containing the numbers of the matching rows
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 * @see #matchDoubles(RelationType, DoublePredicate)
+	 */
+	public BitSet matchInts(RelationType<Integer> type,
+		IntPredicate predicate) {
+		Column<Integer> column = getColumn(type);
+		int[] values = ((IntColumn) column).values;
+		BitSet result = new BitSet(size);
+
+		rowsWithValue(column)
+			.filter(row -> predicate.test(values[row]))
+			.forEach(result::set);
+
+		return result;
+	}
+
+	/**
+	 * Returns the rows with a long relation that matches a predicate.
+	 *
+	 * @param type      The column type
+	 * @param predicate The predicate to evaluate the column values with
+	 * @return A bit set containing the numbers of the matching rows
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 * @see #matchDoubles(RelationType, DoublePredicate)
+	 */
+	public BitSet matchLongs(RelationType<Long> type,
+		LongPredicate predicate) {
+		Column<Long> column = getColumn(type);
+		long[] values = ((LongColumn) column).values;
+		BitSet result = new BitSet(size);
+
+		rowsWithValue(column)
+			.filter(row -> predicate.test(values[row]))
+			.forEach(result::set);
+
+		return result;
+	}
+
+	/**
+	 * Returns the rows with certain row numbers, e.g. from the result of a
+	 * method like {@link #match(RelationType, Predicate)}. Multiple match
+	 * results can be combined with the methods of {@link BitSet} before.
+	 *
+	 * @param rowNumbers The row numbers
+	 * @return A new list containing the rows
+	 */
+	public List<Row> rows(BitSet rowNumbers) {
+		return rowNumbers
+			.stream()
+			.filter(row -> row < size)
+			.mapToObj(Row::new)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns all rows that match a certain predicate.
+	 *
+	 * @param criteria The predicate to evaluate the rows with
+	 * @return A new list containing the matching rows
+	 */
+	public List<Row> select(Predicate<? super Row> criteria) {
+		return stream().filter(criteria).collect(Collectors.toList());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the statistics of the values in a numeric column.
+	 *
+	 * @param type The column type
+	 * @return The statistics of all non-NULL values
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	public DoubleSummaryStatistics summarize(
+		RelationType<? extends Number> type) {
+		return doubleColumn(type).summaryStatistics();
+	}
+
+	/**
+	 * Returns the column of a certain relation type.
+	 *
+	 * @param type The relation type
+	 * @return The column
+	 * @throws IllegalArgumentException If the type is not a column of this
+	 *                                  table
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Column<T> getColumn(RelationType<T> type) {
+		Column<T> column = (Column<T>) columns.get(type);
+
+		if (column == null) {
+			throw new IllegalArgumentException("No table column: " + type);
+		}
+
+		return column;
+	}
+
+	/**
+	 * Returns the numbers of the rows that have a relation in a certain
+	 * column.
+	 *
+	 * @param column The column
+	 * @return The row numbers
+	 */
+	private IntStream rowsWith(Column<?> column) {
+		return column.present.stream().filter(row -> row < size);
+	}
+
+	/**
+	 * Returns the numbers of the rows that have a relation with a value other
+	 * than NULL in a certain column.
+	 *
+	 * @param column The column
+	 * @return The row numbers
+	 */
+	private IntStream rowsWithValue(Column<?> column) {
+		return rowsWith(column).filter(row -> !column.isNull(row));
+	}
+
+	/**
+	 * A relation that provides access to a table cell.
+	 *
+	 * @author eso
+	 */
+	private static final class Cell<T> extends Relation<T> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final transient Row row;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param row  The row of the cell
+		 * @param type The column type
+		 */
+		Cell(Row row, RelationType<T> type) {
+			super(type);
+
+			this.row = row;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public T getTarget() {
+			return row.get(getType());
+		}
+
+		/**
+		 * Overridden to throw an exception because cells cannot be
+		 * annotated.
+		 *
+		 * @see Relation#set(RelationType, Object)
+		 */
+		@Override
+		public <R> Relation<R> set(RelationType<R> type, R target) {
+			throw new UnsupportedOperationException(
+				"Table cells cannot be annotated");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Relation<T> copyTo(Relatable target) {
+			return target.set(getType(), getTarget());
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		boolean dataEqual(Relation<?> other) {
+			T target = getTarget();
+
+			if (target == null) {
+				return other.getTarget() == null;
+			} else {
+				return target.equals(other.getTarget());
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		int dataHashCode() {
+			T target = getTarget();
+
+			return 17 + (target != null ? target.hashCode() : 0);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void setTarget(T newTarget) {
+			row.set(getType(), newTarget);
+		}
+
+		/**
+		 * Replaces this instance with a detached relation on serialization.
+		 *
+		 * @return The replacement relation
+		 */
+		private Object writeReplace() {
+			return new DirectRelation<T>(getType(), getTarget());
+		}
+	}
+
+	/**
+	 * A sized spliterator over the public cells of a table row.
+	 *
+	 * @author eso
+	 */
+	private static class CellSpliterator implements Spliterator<Relation<?>> {
+
+		private final Row row;
+
+		private final Iterator<Column<?>> columns;
+
+		private long remaining = 0;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param row The row to iterate the cells of
+		 */
+		CellSpliterator(Row row) {
+			this.row = row;
+
+			Collection<Column<?>> rowColumns = row.getTable().columns.values();
+
+			for (Column<?> column : rowColumns) {
+				if (isPublicCell(column)) {
+					remaining++;
+				}
+			}
+
+			columns = rowColumns.iterator();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int characteristics() {
+			return ORDERED | SIZED | NONNULL;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public long estimateSize() {
+			return remaining;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean tryAdvance(Consumer<? super Relation<?>> action) {
+			while (columns.hasNext()) {
+				Column<?> column = columns.next();
+
+				if (isPublicCell(column)) {
+					remaining--;
+					action.accept(new Cell<>(row, column.type));
+
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		/**
+		 * Returns NULL because cells are not split.
+		 *
+		 * @see Spliterator#trySplit()
+		 */
+		@Override
+		public Spliterator<Relation<?>> trySplit() {
+			return null;
+		}
+
+		/**
+		 * Checks whether the row has a public cell in a certain column.
+		 *
+		 * @param column The column to check
+		 * @return TRUE for a public cell
+		 */
+		private boolean isPublicCell(Column<?> column) {
+			return !column.type.isPrivate() && column.present.get(row.index);
+		}
+	}
+
+	/**
+	 * The base class for table columns.
+	 *
+	 * @author eso
+	 */
+	private abstract static class Column<T> {
+
+		final RelationType<T> type;
+
+		final BitSet present = new BitSet();
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type The column type
+		 */
+		Column(RelationType<T> type) {
+			this.type = type;
+		}
+
+		/**
+		 * Returns the value of a row.
+		 *
+		 * @param row The row number
+		 * @return The value
+		 */
+		abstract T get(int row);
+
+		/**
+		 * Resizes the value storage of this column.
+		 *
+		 * @param capacity The new capacity
+		 */
+		abstract void resize(int capacity);
+
+		/**
+		 * Sets the value of a row.
+		 *
+		 * @param row   The row number
+		 * @param value The new value (may be NULL)
+		 */
+		abstract void set(int row, T value);
+
+		/**
+		 * Clears all values of this column.
+		 *
+		 * @param size The current table size
+		 */
+		void clear(int size) {
+			present.clear();
+		}
+
+		/**
+		 * Returns the value of a row as a double value.
+		 *
+		 * @param row The row number
+		 * @return The double value (zero for NULL)
+		 */
+		double getDouble(int row) {
+			Number value = (Number) get(row);
+
+			return value != null ? value.doubleValue() : 0;
+		}
+
+		/**
+		 * Checks whether a row has a NULL value in this column.
+		 *
+		 * @param row The row number
+		 * @return TRUE if the value is NULL
+		 */
+		boolean isNull(int row) {
+			return get(row) == null;
+		}
+	}
+
+	/**
+	 * A column that stores boolean values in a bit set.
+	 *
+	 * @author eso
+	 */
+	private static class BooleanColumn extends PrimitiveColumn<Boolean> {
+
+		final BitSet values = new BitSet();
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type The column type
+		 */
+		BooleanColumn(RelationType<Boolean> type) {
+			super(type);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void resize(int capacity) {
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Boolean getValue(int row) {
+			return Boolean.valueOf(values.get(row));
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void setValue(int row, Boolean value) {
+			values.set(row, value.booleanValue());
+		}
+	}
+
+	/**
+	 * A column that stores double values.
+	 *
+	 * @author eso
+	 */
+	private static class DoubleColumn extends PrimitiveColumn<Double> {
+
+		double[] values;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type     The column type
+		 * @param capacity The initial capacity
+		 */
+		DoubleColumn(RelationType<Double> type, int capacity) {
+			super(type);
+
+			values = new double[capacity];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		double getDouble(int row) {
+			return values[row];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Double getValue(int row) {
+			return Double.valueOf(values[row]);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void setValue(int row, Double value) {
+			values[row] = value.doubleValue();
+		}
+	}
+
+	/**
+	 * A column that stores integer values.
+	 *
+	 * @author eso
+	 */
+	private static class IntColumn extends PrimitiveColumn<Integer> {
+
+		int[] values;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type     The column type
+		 * @param capacity The initial capacity
+		 */
+		IntColumn(RelationType<Integer> type, int capacity) {
+			super(type);
+
+			values = new int[capacity];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		double getDouble(int row) {
+			return values[row];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Integer getValue(int row) {
+			return Integer.valueOf(values[row]);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void setValue(int row, Integer value) {
+			values[row] = value.intValue();
+		}
+	}
+
+	/**
+	 * A column that stores long values.
+	 *
+	 * @author eso
+	 */
+	private static class LongColumn extends PrimitiveColumn<Long> {
+
+		long[] values;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type     The column type
+		 * @param capacity The initial capacity
+		 */
+		LongColumn(RelationType<Long> type, int capacity) {
+			super(type);
+
+			values = new long[capacity];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		double getDouble(int row) {
+			return values[row];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		Long getValue(int row) {
+			return Long.valueOf(values[row]);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void setValue(int row, Long value) {
+			values[row] = value.longValue();
+		}
+	}
+
+	/**
+	 * A column that stores arbitrary objects.
+	 *
+	 * @author eso
+	 */
+	private static class ObjectColumn<T> extends Column<T> {
+
+		Object[] values;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type     The column type
+		 * @param capacity The initial capacity
+		 */
+		ObjectColumn(RelationType<T> type, int capacity) {
+			super(type);
+
+			values = new Object[capacity];
+		}
+
+		/**
+		 * Overridden to also release the references to the values.
+		 *
+		 * @see Column#clear(int)
+		 */
+		@Override
+		void clear(int size) {
+			super.clear(size);
+			Arrays.fill(values, 0, size, null);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		T get(int row) {
+			return (T) values[row];
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void resize(int capacity) {
+			values = Arrays.copyOf(values, capacity);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void set(int row, T value) {
+			values[row] = value;
+			present.set(row);
+		}
+	}
+
+	/**
+	 * The base class for columns that store primitive values. NULL values are
+	 * recorded in a separate bit set.
+	 *
+	 * @author eso
+	 */
+	private abstract static class PrimitiveColumn<T> extends Column<T> {
+
+		final BitSet nulls = new BitSet();
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param type The column type
+		 */
+		PrimitiveColumn(RelationType<T> type) {
+			super(type);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		void clear(int size) {
+			super.clear(size);
+			nulls.clear();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		final T get(int row) {
+			return nulls.get(row) ? null : getValue(row);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		final boolean isNull(int row) {
+			return nulls.get(row);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		final void set(int row, T value) {
+			if (value == null) {
+				nulls.set(row);
+			} else {
+				nulls.clear(row);
+				setValue(row, value);
+			}
+
+			present.set(row);
+		}
+
+		/**
+		 * Returns the (non-NULL) value of a row.
+		 *
+		 * @param row The row number
+		 * @return The value
+		 */
+		abstract T getValue(int row);
+
+		/**
+		 * Sets the (non-NULL) value of a row.
+		 *
+		 * @param row   The row number
+		 * @param value The new value
+		 */
+		abstract void setValue(int row, T value);
+	}
+
+	/**
+	 * A view of a table row that provides access to the column values as
+	 * relations.
+	 *
+	 * @author eso
+	 */
+	public final class Row implements Relatable {
+
+		private final int index;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param index The row index
+		 */
+		Row(int index) {
+			this.index = index;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public void deleteRelation(Relation<?> relation) {
+			RelationType<?> type = relation.getType();
+			Column<?> column = columns.get(type);
+
+			if (column != null && column.present.get(index)) {
+				type.checkUpdateAllowed();
+				column.present.clear(index);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+
+			if (!(obj instanceof Row)) {
+				return false;
+			}
+
+			Row other = (Row) obj;
+
+			return index == other.index && getTable() == other.getTable();
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public <T> T get(RelationType<T> type) {
+			Column<T> column = (Column<T>) columns.get(type);
+
+			if (column != null) {
+				if (column.present.get(index)) {
+					return column.get(index);
+				} else if (type.hasInitialValue()) {
+					T initialValue = type.initialValue(this);
+
+					// like in RelatedObject an initial value is also stored
+					// for readonly types
+					if (initialValue != null) {
+						column.set(index, initialValue);
+
+						return initialValue;
+					}
+				}
+			}
+
+			return type.defaultValue(this);
+		}
+
+		/**
+		 * Overridden to read the column value without boxing.
+		 *
+		 * @see Relatable#getDouble(RelationType)
+		 */
+		@Override
+		public double getDouble(RelationType<Double> type) {
+			Column<?> column = columns.get(type);
+
+			if (column instanceof DoubleColumn && column.present.get(index)) {
+				return ((DoubleColumn) column).values[index];
+			}
+
+			return Relatable.super.getDouble(type);
+		}
+
+		/**
+		 * Returns the index of this row in the table.
+		 *
+		 * @return The row index
+		 */
+		public int getIndex() {
+			return index;
+		}
+
+		/**
+		 * Overridden to read the column value without boxing.
+		 *
+		 * @see Relatable#getInt(RelationType)
+		 */
+		@Override
+		public int getInt(RelationType<Integer> type) {
+			Column<?> column = columns.get(type);
+
+			if (column instanceof IntColumn && column.present.get(index)) {
+				return ((IntColumn) column).values[index];
+			}
+
+			return Relatable.super.getInt(type);
+		}
+
+		/**
+		 * Overridden to read the column value without boxing.
+		 *
+		 * @see Relatable#getLong(RelationType)
+		 */
+		@Override
+		public long getLong(RelationType<Long> type) {
+			Column<?> column = columns.get(type);
+
+			if (column instanceof LongColumn && column.present.get(index)) {
+				return ((LongColumn) column).values[index];
+			}
+
+			return Relatable.super.getLong(type);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public <T> Relation<T> getRelation(RelationType<T> type) {
+			return hasRelation(type) ? new Cell<>(this, type) : null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public List<Relation<?>> getRelations(
+			Predicate<? super Relation<?>> filter) {
+			List<Relation<?>> relations = new ArrayList<>(columns.size());
+
+			for (Column<?> column : columns.values()) {
+				if (!column.type.isPrivate() && column.present.get(index)) {
+					Relation<?> relation = new Cell(this, column.type);
+
+					if (filter == null || filter.test(relation)) {
+						relations.add(relation);
+					}
+				}
+			}
+
+			return relations;
+		}
+
+		/**
+		 * Returns the table of this row.
+		 *
+		 * @return The table
+		 */
+		public RelationTable getTable() {
+			return RelationTable.this;
+		}
+
+		/**
+		 * Overridden to read the column value without creating a relation.
+		 *
+		 * @see Relatable#hasFlag(RelationType)
+		 */
+		@Override
+		public boolean hasFlag(RelationType<Boolean> type) {
+			return hasRelation(type) && Boolean.TRUE.equals(get(type));
+		}
+
+		/**
+		 * Overridden to check the column without creating a relation.
+		 *
+		 * @see Relatable#hasRelation(RelationType)
+		 */
+		@Override
+		public boolean hasRelation(RelationType<?> type) {
+			Column<?> column = columns.get(type);
+
+			return column != null && column.present.get(index);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * System.identityHashCode(getTable()) + index;
+		}
+
+		/**
+		 * Sets the value of a column in this row.
+		 *
+		 * @param type   The column type
+		 * @param target The new value
+		 * @return A relation view of the table cell
+		 * @throws IllegalArgumentException If the type is not a column of
+		 *                                  the table
+		 */
+		@Override
+		public <T> Relation<T> set(RelationType<T> type, T target) {
+			setValue(type, target);
+
+			return new Cell<>(this, type);
+		}
+
+		/**
+		 * Overridden to throw an {@link UnsupportedOperationException}
+		 * because
+		 * table rows don't support intermediate relations.
+		 *
+		 * @see Relatable#set(RelationType, Function, Object)
+		 */
+		@Override
+		public <T, I> Relation<T> set(RelationType<T> type,
+			Function<I, T> targetResolver, I intermediateTarget) {
+			throw new UnsupportedOperationException(
+				"Intermediate relations not supported by table rows");
+		}
+
+		/**
+		 * Overridden to write the column value without boxing.
+		 *
+		 * @see Relatable#setDouble(RelationType, double)
+		 */
+		@Override
+		public Relation<Double> setDouble(RelationType<Double> type,
+			double value) {
+			Column<Double> column = checkUpdate(type);
+
+			if (column instanceof DoubleColumn) {
+				((DoubleColumn) column).values[index] = value;
+				((DoubleColumn) column).nulls.clear(index);
+				column.present.set(index);
+			} else {
+				column.set(index, Double.valueOf(value));
+			}
+
+			return new Cell<>(this, type);
+		}
+
+		/**
+		 * Overridden to write the column value without boxing.
+		 *
+		 * @see Relatable#setInt(RelationType, int)
+		 */
+		@Override
+		public Relation<Integer> setInt(RelationType<Integer> type,
+			int value) {
+			Column<Integer> column = checkUpdate(type);
+
+			if (column instanceof IntColumn) {
+				((IntColumn) column).values[index] = value;
+				((IntColumn) column).nulls.clear(index);
+				column.present.set(index);
+			} else {
+				column.set(index, Integer.valueOf(value));
+			}
+
+			return new Cell<>(this, type);
+		}
+
+		/**
+		 * Overridden to write the column value without boxing.
+		 *
+		 * @see Relatable#setLong(RelationType, long)
+		 */
+		@Override
+		public Relation<Long> setLong(RelationType<Long> type, long value) {
+			Column<Long> column = checkUpdate(type);
+
+			if (column instanceof LongColumn) {
+				((LongColumn) column).values[index] = value;
+				((LongColumn) column).nulls.clear(index);
+				column.present.set(index);
+			} else {
+				column.set(index, Long.valueOf(value));
+			}
+
+			return new Cell<>(this, type);
+		}
+
+		/**
+		 * Overridden to iterate over the table columns without copying the
+		 * cells into a list.
+		 *
+		 * @see Relatable#relationSpliterator()
+		 */
+		@Override
+		public Spliterator<Relation<?>> relationSpliterator() {
+			return new CellSpliterator(this);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			StringBuilder result = new StringBuilder("Row[");
+
+			result.append(index);
+
+			for (Column<?> column : columns.values()) {
+				if (column.present.get(index)) {
+					result.append(", ");
+					result.append(column.type.getSimpleName());
+					result.append('=');
+					result.append(column.get(index));
+				}
+			}
+
+			return result.append(']').toString();
+		}
+
+		/**
+		 * Overridden to throw an {@link UnsupportedOperationException}
+		 * because
+		 * table rows don't support transformed relations.
+		 *
+		 * @see Relatable#transform(RelationType, InvertibleFunction)
+		 */
+		@Override
+		public <T, D> TransformedRelation<T, D> transform(RelationType<T> type,
+			InvertibleFunction<T, D> transformation) {
+			throw new UnsupportedOperationException(
+				"Transformed relations not supported by table rows");
+		}
+
+		/**
+		 * Returns the column for a type after checking that the value of this
+		 * row may be set.
+		 *
+		 * @param type The column type
+		 * @return The column
+		 * @throws IllegalArgumentException If the type is not a column of
+		 *                                  the table
+		 */
+		private <T> Column<T> checkUpdate(RelationType<T> type) {
+			Column<T> column = getColumn(type);
+
+			if (column.present.get(index)) {
+				type.checkUpdateAllowed();
+			} else {
+				type.checkReadonly();
+			}
+
+			return column;
+		}
+
+		/**
+		 * Sets the value of a column in this row.
+		 *
+		 * @param type   The column type
+		 * @param target The new value
+		 */
+		private <T> void setValue(RelationType<T> type, T target) {
+			checkUpdate(type).set(index, target);
+		}
+	}
+}
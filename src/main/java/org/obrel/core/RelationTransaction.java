@@ -0,0 +1,572 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import de.esoco.lib.event.ElementEvent.EventType;
+import org.obrel.type.ListenerTypes;
+import org.obrel.type.MetaTypes;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A lightweight transaction that buffers relation modifications of multiple
+ * relatable objects and applies them together on {@link #commit()}. Until
+ * then the modifications are not visible in the modified objects and can be
+ * discarded with {@link #rollback()}. Multiple modifications of the same
+ * relation are combined so that only the final state is applied.
+ *
+ * <p>Like for bulk modifications with {@link RelatedObject#setAll(Collection)}
+ * the relation listeners of {@link RelatedObject RelatedObjects} are not
+ * notified of the single modifications. Instead each modified object sends a
+ * single {@link RelationBatchEvent} with the final state of all modified
+ * relations to it's batch listeners when the transaction is committed (see
+ * {@link ListenerTypes#RELATION_BATCH_LISTENERS}). The batch events are sent
+ * before the modifications are applied so that a batch listener may prevent
+ * the commit by throwing an exception. In that case none of the
+ * modifications will be applied and the batch listeners of objects that have
+ * already been notified receive a batch of the inverse modifications. If
+ * applying a modification fails nevertheless, all modifications of the
+ * transaction that have already been applied are reverted in the same way
+ * and the exception is re-thrown. Other implementations of {@link Relatable}
+ * will be modified through their public API and therefore notify their
+ * listeners during the application of the modifications.</p>
+ *
+ * <p>If created with {@link RelationVersions} a transaction publishes all
+ * modified related objects in a single version on commit so that snapshot
+ * readers will see either all or none of the modifications. A transaction
+ * should be used with try-with-resources so that it will be rolled back if
+ * it isn't committed. Transactions are not thread-safe.</p>
+ *
+ * @author eso
+ */
+public class RelationTransaction implements AutoCloseable {
+
+	private static final Object DELETED = new Object();
+
+	private final RelationVersions versions;
+
+	private final Map<Relatable, Map<RelationType<?>, Object>> changes =
+		new IdentityHashMap<>();
+
+	private final List<Relatable> modifiedObjects = new ArrayList<>();
+
+	private boolean active = true;
+
+	/**
+	 * Creates a new instance.
+	 */
+	public RelationTransaction() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new instance that publishes the modified related objects on
+	 * commit.
+	 *
+	 * @param versions The relation versions to publish to or NULL for none
+	 */
+	public RelationTransaction(RelationVersions versions) {
+		this.versions = versions;
+	}
+
+	/**
+	 * Rolls back this transaction if it has not been committed.
+	 */
+	@Override
+	public void close() {
+		if (active) {
+			rollback();
+		}
+	}
+
+	/**
+	 * Applies all modifications of this transaction. The batch listeners of
+	 * the modified objects will be notified before the modifications are
+	 * applied. After this call the transaction can no longer be used.
+	 *
+	 * @throws IllegalStateException         If the transaction is not active
+	 * @throws UnsupportedOperationException If a relation cannot be modified
+	 * @throws RuntimeException              Any exception that occurred while
+	 *                                       notifying listeners or applying a
+	 *                                       modification; all modifications
+	 *                                       will have been reverted
+	 */
+	public void commit() {
+		checkActive();
+		active = false;
+
+		List<Change<?>> planned = new ArrayList<>();
+
+		for (Relatable object : modifiedObjects) {
+			for (Map.Entry<RelationType<?>, Object> modification :
+				changes.get(object).entrySet()) {
+				Change<?> change =
+					prepare(object, modification.getKey(),
+						modification.getValue());
+
+				if (change != null) {
+					planned.add(change);
+				}
+			}
+		}
+
+		List<List<Change<?>>> batches = getBatches(planned);
+		int notified = 0;
+		int applied = 0;
+
+		try {
+			for (List<Change<?>> batch : batches) {
+				notifyBatchListeners(batch, false);
+				notified++;
+			}
+
+			for (Change<?> change : planned) {
+				change.apply();
+				applied++;
+			}
+		} catch (RuntimeException e) {
+			while (applied > 0) {
+				planned.get(--applied).revert();
+			}
+
+			try {
+				while (notified > 0) {
+					notifyBatchListeners(batches.get(--notified), true);
+				}
+			} catch (RuntimeException revertError) {
+				e.addSuppressed(revertError);
+			}
+
+			throw e;
+		}
+
+		if (versions != null) {
+			publish();
+		}
+	}
+
+	/**
+	 * Buffers the deletion of a relation.
+	 *
+	 * @param object The object to delete the relation from
+	 * @param type   The type of the relation to delete
+	 * @return This instance for fluent invocation
+	 * @throws IllegalStateException         If the transaction is not active
+	 * @throws UnsupportedOperationException If the relation cannot be
+	 *                                       deleted
+	 */
+	public RelationTransaction delete(Relatable object, RelationType<?> type) {
+		checkActive();
+
+		if (object.hasRelation(type)) {
+			type.checkUpdateAllowed();
+		}
+
+		getChanges(object).put(type, DELETED);
+
+		return this;
+	}
+
+	/**
+	 * Returns a relation target as seen by this transaction. If the relation
+	 * has been modified in this transaction the buffered target will be
+	 * returned, else the current target of the object.
+	 *
+	 * @param object The object to query
+	 * @param type   The relation type
+	 * @return The relation target
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(Relatable object, RelationType<T> type) {
+		Map<RelationType<?>, Object> objectChanges = changes.get(object);
+		Object value = objectChanges != null ? objectChanges.get(type) : null;
+
+		if (value == DELETED) {
+			return type.defaultValue(object);
+		} else if (value != null || (objectChanges != null &&
+			objectChanges.containsKey(type))) {
+			return (T) value;
+		} else {
+			return object.get(type);
+		}
+	}
+
+	/**
+	 * Returns the number of relation modifications in this transaction.
+	 *
+	 * @return The modification count
+	 */
+	public int getModificationCount() {
+		int count = 0;
+
+		for (Map<RelationType<?>, Object> objectChanges : changes.values()) {
+			count += objectChanges.size();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Checks whether an object has a relation as seen by this transaction.
+	 *
+	 * @param object The object to check
+	 * @param type   The relation type
+	 * @return TRUE if the relation exists
+	 */
+	public boolean hasRelation(Relatable object, RelationType<?> type) {
+		Map<RelationType<?>, Object> objectChanges = changes.get(object);
+
+		if (objectChanges != null && objectChanges.containsKey(type)) {
+			return objectChanges.get(type) != DELETED;
+		} else {
+			return object.hasRelation(type);
+		}
+	}
+
+	/**
+	 * Checks whether this transaction can still be used, i.e. has neither
+	 * been committed nor rolled back.
+	 *
+	 * @return TRUE if the transaction is active
+	 */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Discards all modifications of this transaction. After this call the
+	 * transaction can no longer be used.
+	 *
+	 * @throws IllegalStateException If the transaction is not active
+	 */
+	public void rollback() {
+		checkActive();
+		active = false;
+		changes.clear();
+		modifiedObjects.clear();
+	}
+
+	/**
+	 * Buffers the setting of a relation target.
+	 *
+	 * @param object The object to set the relation in
+	 * @param type   The relation type
+	 * @param target The relation target
+	 * @return This instance for fluent invocation
+	 * @throws IllegalStateException         If the transaction is not active
+	 * @throws IllegalArgumentException      If the target is invalid for the
+	 *                                       type
+	 * @throws UnsupportedOperationException If the relation cannot be
+	 *                                       modified
+	 */
+	public <T> RelationTransaction set(Relatable object, RelationType<T> type,
+		T target) {
+		checkActive();
+
+		if (object.hasRelation(type)) {
+			type.checkUpdateAllowed();
+		} else {
+			type.checkReadonly();
+		}
+
+		if (!type.isValidTarget(target)) {
+			throw new IllegalArgumentException(
+				String.format("Invalid target for type '%s': %s", type,
+					target));
+		}
+
+		getChanges(object).put(type, target);
+
+		return this;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s[%s]", getClass().getSimpleName(), changes);
+	}
+
+	/**
+	 * Throws an exception if this transaction is not active.
+	 */
+	private void checkActive() {
+		if (!active) {
+			throw new IllegalStateException("Transaction not active");
+		}
+	}
+
+	/**
+	 * Returns the buffered modifications of an object.
+	 *
+	 * @param object The object
+	 * @return The modifications, mapped from relation types to targets
+	 */
+	private Map<RelationType<?>, Object> getChanges(Relatable object) {
+		Map<RelationType<?>, Object> objectChanges = changes.get(object);
+
+		if (objectChanges == null) {
+			objectChanges = new LinkedHashMap<>();
+			changes.put(object, objectChanges);
+			modifiedObjects.add(object);
+		}
+
+		return objectChanges;
+	}
+
+	/**
+	 * Groups the planned changes of related objects into the batches of the
+	 * single objects.
+	 *
+	 * @param planned The planned changes, ordered by object
+	 * @return The batches of changes per related object
+	 */
+	private List<List<Change<?>>> getBatches(List<Change<?>> planned) {
+		List<List<Change<?>>> batches = new ArrayList<>(modifiedObjects.size());
+		int count = planned.size();
+		int start = 0;
+
+		while (start < count) {
+			Relatable object = planned.get(start).object;
+			int end = start;
+
+			while (end < count && planned.get(end).object == object) {
+				end++;
+			}
+
+			if (object instanceof RelatedObject) {
+				batches.add(planned.subList(start, end));
+			}
+
+			start = end;
+		}
+
+		return batches;
+	}
+
+	/**
+	 * Notifies the batch listeners of a related object of the changes that
+	 * will be applied to it or of the inverse changes if a commit fails.
+	 *
+	 * @param batch   The changes of a single related object
+	 * @param inverse TRUE to notify the inverse changes
+	 */
+	private void notifyBatchListeners(List<Change<?>> batch,
+		boolean inverse) {
+		List<RelationEvent<?>> events = new ArrayList<>(batch.size());
+
+		for (Change<?> change : batch) {
+			if (!change.type.isPrivate()) {
+				events.add(inverse ? change.toInverseEvent() : change.toEvent());
+			}
+		}
+
+		if (!events.isEmpty()) {
+			((RelatedObject) batch.get(0).object).notifyRelationBatch(events);
+		}
+	}
+
+	/**
+	 * Prepares a single modification by checking whether it can be applied.
+	 *
+	 * @param object The object to modify
+	 * @param type   The relation type
+	 * @param value  The new target or {@link #DELETED}
+	 * @return The prepared change or NULL if nothing needs to be changed
+	 * @throws UnsupportedOperationException If the relation cannot be
+	 *                                       modified
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> Change<T> prepare(Relatable object, RelationType<T> type,
+		Object value) {
+		Relation<T> relation = object.getRelation(type);
+		Change<T> change = null;
+
+		if (relation instanceof InlineRelation) {
+			// keep the current target for events and reverting
+			relation = new DirectRelation<>(type, relation.getTarget());
+		}
+
+		if (value == DELETED) {
+			if (relation != null) {
+				type.checkUpdateAllowed();
+				change = new Change<>(EventType.REMOVE, object, type, relation,
+					null, relation.getTarget());
+			}
+		} else if (relation != null) {
+			type.checkUpdateAllowed();
+
+			if (relation.hasFlag(MetaTypes.IMMUTABLE)) {
+				throw new UnsupportedOperationException(
+					"Relation is immutable: " + type);
+			}
+
+			if (object instanceof RelatedObject) {
+				type.prepareRelationUpdate(relation, (T) value);
+			}
+
+			change = new Change<>(EventType.UPDATE, object, type, relation,
+				(T) value, relation.getTarget());
+		} else {
+			type.checkReadonly();
+			change = new Change<>(EventType.ADD, object, type,
+				new DirectRelation<>(type, (T) value), (T) value, null);
+		}
+
+		return change;
+	}
+
+	/**
+	 * Publishes all modified related objects.
+	 */
+	private void publish() {
+		List<RelatedObject> relatedObjects =
+			new ArrayList<>(modifiedObjects.size());
+
+		for (Relatable object : modifiedObjects) {
+			if (object instanceof RelatedObject) {
+				relatedObjects.add((RelatedObject) object);
+			}
+		}
+
+		versions.publish(relatedObjects);
+	}
+
+	/**
+	 * Describes a relation modification of a commit.
+	 *
+	 * @author eso
+	 */
+	private static class Change<T> {
+
+		final EventType eventType;
+
+		final Relatable object;
+
+		final RelationType<T> type;
+
+		final T target;
+
+		final T previous;
+
+		Relation<T> relation;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param eventType The event type of the change
+		 * @param object    The object to modify
+		 * @param type      The relation type
+		 * @param relation  The existing relation or the new relation to add
+		 * @param target    The new target
+		 * @param previous  The previous target in the case of updates and
+		 *                  removals
+		 */
+		Change(EventType eventType, Relatable object, RelationType<T> type,
+			Relation<T> relation, T target, T previous) {
+			this.eventType = eventType;
+			this.object = object;
+			this.type = type;
+			this.relation = relation;
+			this.target = target;
+			this.previous = previous;
+		}
+
+		/**
+		 * Applies this change without notifying the listeners of related
+		 * objects.
+		 */
+		void apply() {
+			if (object instanceof RelatedObject) {
+				RelatedObject relatedObject = (RelatedObject) object;
+
+				if (eventType == EventType.ADD) {
+					relation = relatedObject.addRelation(relation, false);
+				} else if (eventType == EventType.UPDATE) {
+					relatedObject.setCurrentTarget(type, target);
+				} else {
+					relatedObject.discardRelation(relation, false);
+				}
+			} else if (eventType == EventType.REMOVE) {
+				object.deleteRelation(relation);
+			} else {
+				relation = object.set(type, target);
+			}
+		}
+
+		/**
+		 * Reverts this change without notifying listeners.
+		 */
+		void revert() {
+			if (object instanceof RelatedObject) {
+				RelatedObject relatedObject = (RelatedObject) object;
+
+				if (eventType == EventType.ADD) {
+					relatedObject.discardRelation(relation, false);
+				} else if (eventType == EventType.UPDATE) {
+					relatedObject.setCurrentTarget(type, previous);
+				} else {
+					relatedObject.addRelation(relation, false);
+				}
+			} else if (eventType == EventType.ADD) {
+				object.deleteRelation(type);
+			} else {
+				object.set(type, previous);
+			}
+		}
+
+		/**
+		 * Creates a relation event that describes this change for batch
+		 * listeners before it is applied. Like for single relation events
+		 * the relation of an update event contains the previous target and
+		 * the update value is the new target.
+		 *
+		 * @return The relation event
+		 */
+		RelationEvent<T> toEvent() {
+			T updateValue = eventType == EventType.UPDATE ? target : null;
+
+			return new RelationEvent<>(eventType, object, relation,
+				updateValue, object);
+		}
+
+		/**
+		 * Creates a relation event that describes the inverse of this change
+		 * for batch listeners that have already been notified of it.
+		 *
+		 * @return The relation event of the inverse change
+		 */
+		RelationEvent<T> toInverseEvent() {
+			if (eventType == EventType.ADD) {
+				return new RelationEvent<>(EventType.REMOVE, object,
+					new DirectRelation<>(type, target), null, object);
+			} else if (eventType == EventType.UPDATE) {
+				return new RelationEvent<>(EventType.UPDATE, object,
+					new DirectRelation<>(type, target), previous, object);
+			} else {
+				return new RelationEvent<>(EventType.ADD, object, relation,
+					null, object);
+			}
+		}
+	}
+}
@@ -548,6 +548,21 @@ public class RelationType<T> extends RelatedObject
 		return name != INIT_TYPE;
 	}
 
+	/**
+	 * Checks the {@link RelationTypeModifier#LAZY} modifier of this type. If
+	 * this modifier is set and the type has an initial value with a list,
+	 * set, map, or collection datatype, querying a non-existing relation with
+	 * {@link Relatable#get(RelationType)} will not create the relation but
+	 * return a view of an empty collection instead. The relation
+	 * will only be created when the view is modified for the first time.
+	 * Until then each query will return a new view instance.
+	 *
+	 * @return TRUE if relations with this type are lazy
+	 */
+	public final boolean isLazy() {
+		return hasModifier(RelationTypeModifier.LAZY);
+	}
+
 	/**
 	 * Checks the {@link RelationTypeModifier#PRIVATE} modifier of this type .
 	 * If this modifier is set relations of this type will not be listed when
@@ -772,6 +787,16 @@ public class RelationType<T> extends RelatedObject
 		}
 	}
 
+	/**
+	 * Package-internal method to check whether this type has an initial value
+	 * function.
+	 *
+	 * @return TRUE if an initial value function has been set
+	 */
+	boolean hasInitialValue() {
+		return initialValue != null;
+	}
+
 	/**
 	 * Internal method to throw an {@link UnsupportedOperationException} if
 	 * this
@@ -0,0 +1,149 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import java.util.List;
+
+/**
+ * An index of the relation type constants that are declared in a class or
+ * it's superclasses. Implementations are generated at compile time by the
+ * {@link RelationTypeIndexProcessor} as a class in the package of the indexed
+ * class with the binary name of that class and the suffix {@link
+ * #CLASS_SUFFIX}. If such an index exists {@link
+ * RelationTypes#initRelationTypesOf(Class)} will use it instead of the
+ * reflective analysis of the class fields.
+ *
+ * @author eso
+ */
+@FunctionalInterface
+public interface RelationTypeIndex {
+
+	/**
+	 * The suffix that is appended to the name of an indexed class to create
+	 * the name of the generated index class.
+	 */
+	String CLASS_SUFFIX = "_RelationTypeIndex";
+
+	/**
+	 * Returns the entries for all final static relation type fields of the
+	 * indexed class, in the same order as they would be returned by the
+	 * reflective field lookup.
+	 *
+	 * @return The list of relation type entries
+	 */
+	List<Entry> getRelationTypes();
+
+	/**
+	 * Contains the compile-time information about a single relation type
+	 * field.
+	 *
+	 * @author eso
+	 */
+	final class Entry {
+
+		private final Class<?> declaringClass;
+
+		private final String fieldName;
+
+		private final RelationType<?> relationType;
+
+		private final Class<?> datatype;
+
+		private final boolean checkName;
+
+		private final Class<?>[] elementTypes;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param declaringClass The class that declares the relation type
+		 *                       field
+		 * @param fieldName      The name of the relation type field
+		 * @param relationType   The relation type referenced by the field
+		 * @param datatype       The raw target datatype of the relation type
+		 * @param checkName      FALSE if the field is annotated with {@link
+		 *                       Annotations.NoRelationNameCheck}
+		 * @param elementTypes   The raw element datatypes of collection or
+		 *                       map targets
+		 */
+		public Entry(Class<?> declaringClass, String fieldName,
+			RelationType<?> relationType, Class<?> datatype, boolean checkName,
+			Class<?>... elementTypes) {
+			this.declaringClass = declaringClass;
+			this.fieldName = fieldName;
+			this.relationType = relationType;
+			this.datatype = datatype;
+			this.checkName = checkName;
+			this.elementTypes = elementTypes;
+		}
+
+		/**
+		 * Returns the raw target datatype of the relation type.
+		 *
+		 * @return The datatype
+		 */
+		public Class<?> getDatatype() {
+			return datatype;
+		}
+
+		/**
+		 * Returns the class that declares the relation type field.
+		 *
+		 * @return The declaring class
+		 */
+		public Class<?> getDeclaringClass() {
+			return declaringClass;
+		}
+
+		/**
+		 * Returns the raw element datatypes of collection or map targets.
+		 *
+		 * @return The element datatypes (empty for other targets)
+		 */
+		public Class<?>[] getElementTypes() {
+			return elementTypes.clone();
+		}
+
+		/**
+		 * Returns the name of the relation type field.
+		 *
+		 * @return The field name
+		 */
+		public String getFieldName() {
+			return fieldName;
+		}
+
+		/**
+		 * Returns the relation type that is referenced by the field.
+		 *
+		 * @return The relation type
+		 */
+		public RelationType<?> getRelationType() {
+			return relationType;
+		}
+
+		/**
+		 * Checks whether the field name needs to be checked against the name
+		 * of an already initialized relation type.
+		 *
+		 * @return TRUE if the name should be checked
+		 */
+		public boolean isNameChecked() {
+			return checkName;
+		}
+	}
+}
@@ -0,0 +1,466 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic.Kind;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An annotation processor that generates a {@link RelationTypeIndex} for each
+ * compiled class that declares or inherits final static relation type fields.
+ * The generated index allows {@link RelationTypes#initRelationTypesOf(Class)}
+ * to initialize the relation types without analyzing the class with
+ * reflection.
+ *
+ * <p>The processor is not registered as a service because it would otherwise
+ * be applied to all code that is compiled with this library on the classpath.
+ * Projects that want to use relation type indexes need to enable it
+ * explicitly, e.g. with the javac options {@code -processorpath} (with this
+ * library) and {@code -processor org.obrel.core.RelationTypeIndexProcessor},
+ * by adding the library to the {@code annotationProcessor} configuration in
+ * Gradle, or to the {@code annotationProcessorPaths} of the Maven compiler
+ * plugin together with the processor class in {@code
+ * annotationProcessors}.</p>
+ *
+ * <p>An index will only be generated if all relation type fields and their
+ * datatypes are accessible from the package of the indexed class and if the
+ * target datatypes can be resolved at compile time. Otherwise no index is
+ * created and the relation types will be initialized by reflection as
+ * before.</p>
+ *
+ * @author eso
+ */
+public class RelationTypeIndexProcessor extends AbstractProcessor {
+
+	private static final String INDEX_CLASS =
+		RelationTypeIndex.class.getCanonicalName();
+
+	private static final String NO_NAME_CHECK_ANNOTATION =
+		Annotations.NoRelationNameCheck.class.getCanonicalName();
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<String> getSupportedAnnotationTypes() {
+		return Collections.singleton("*");
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations,
+		RoundEnvironment roundEnv) {
+		TypeElement relationType = processingEnv
+			.getElementUtils()
+			.getTypeElement(RelationType.class.getCanonicalName());
+
+		if (relationType != null) {
+			for (TypeElement type : ElementFilter.typesIn(
+				roundEnv.getRootElements())) {
+				processType(type, relationType);
+			}
+		}
+
+		// never claim annotations so that other processors are not affected
+		return false;
+	}
+
+	/**
+	 * Creates the index entry for a relation type field.
+	 *
+	 * @param field        The relation type field
+	 * @param relationType The relation type element
+	 * @param packageName  The package of the generated index
+	 * @return The source code of the entry or NULL if the field cannot be
+	 * indexed
+	 */
+	private String createEntry(VariableElement field, TypeElement relationType,
+		String packageName) {
+		TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+		TypeMirror targetType =
+			getTargetType(field.asType(), relationType.asType());
+		String datatype = getClassLiteral(targetType, packageName);
+
+		if (datatype == null || !isAccessible(field, packageName)) {
+			return null;
+		}
+
+		StringBuilder entry = new StringBuilder("new ");
+		String declaringClass = declaringType.getQualifiedName().toString();
+
+		entry.append(INDEX_CLASS).append(".Entry(");
+		entry.append(declaringClass).append(".class, \"");
+		entry.append(field.getSimpleName()).append("\", ");
+		entry.append(declaringClass).append('.').append(field.getSimpleName());
+		entry.append(", ").append(datatype).append(", ");
+		entry.append(!hasNoNameCheck(field));
+
+		if (isElementContainer(targetType)) {
+			List<? extends TypeMirror> typeArgs =
+				((DeclaredType) targetType).getTypeArguments();
+			List<String> elementTypes = new ArrayList<>();
+
+			for (TypeMirror typeArg : typeArgs) {
+				if (typeArg.getKind() == TypeKind.TYPEVAR) {
+					// element types of generic subclasses remain unknown
+					elementTypes.clear();
+
+					break;
+				}
+
+				String elementType = getClassLiteral(typeArg, packageName);
+
+				if (elementType == null) {
+					return null;
+				}
+
+				elementTypes.add(elementType);
+			}
+
+			for (String elementType : elementTypes) {
+				entry.append(", ").append(elementType);
+			}
+		}
+
+		return entry.append(')').toString();
+	}
+
+	/**
+	 * Returns the source code of the class literal for the raw type of a type
+	 * in the same way as the reflective raw type lookup.
+	 *
+	 * @param type        The type to return the class literal for
+	 * @param packageName The package in which the literal will be used
+	 * @return The class literal or NULL if the type has no accessible raw
+	 * type
+	 */
+	private String getClassLiteral(TypeMirror type, String packageName) {
+		String literal = null;
+
+		if (type == null) {
+			return null;
+		}
+
+		switch (type.getKind()) {
+			case DECLARED:
+				TypeElement element =
+					(TypeElement) ((DeclaredType) type).asElement();
+
+				if (isAccessible(element, packageName)) {
+					literal = element.getQualifiedName() + ".class";
+				}
+
+				break;
+
+			case ARRAY:
+				String component = getClassLiteral(
+					((ArrayType) type).getComponentType(), packageName);
+
+				if (component != null) {
+					literal = component.substring(0,
+						component.length() - ".class".length()) + "[].class";
+				}
+
+				break;
+
+			case WILDCARD:
+				TypeMirror bound = ((WildcardType) type).getExtendsBound();
+
+				literal = bound != null ?
+				          getClassLiteral(bound, packageName) :
+				          "java.lang.Object.class";
+
+				break;
+
+			default:
+				if (type.getKind().isPrimitive()) {
+					literal = type + ".class";
+				}
+		}
+
+		return literal;
+	}
+
+	/**
+	 * Returns the target type of a relation type field by resolving the type
+	 * argument of {@link RelationType} through the supertypes of the field
+	 * type.
+	 *
+	 * @param fieldType    The type of the relation type field
+	 * @param relationType The type of the relation type class
+	 * @return The target type or NULL if it cannot be resolved
+	 */
+	private TypeMirror getTargetType(TypeMirror fieldType,
+		TypeMirror relationType) {
+		Types types = processingEnv.getTypeUtils();
+
+		if (types.isSameType(types.erasure(fieldType),
+			types.erasure(relationType))) {
+			List<? extends TypeMirror> typeArgs =
+				((DeclaredType) fieldType).getTypeArguments();
+
+			if (typeArgs.size() == 1 &&
+				typeArgs.get(0).getKind() != TypeKind.TYPEVAR) {
+				return typeArgs.get(0);
+			} else {
+				return null;
+			}
+		}
+
+		for (TypeMirror superType : types.directSupertypes(fieldType)) {
+			if (types.isAssignable(types.erasure(superType),
+				types.erasure(relationType))) {
+				return getTargetType(superType, relationType);
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Checks whether a field is annotated with {@link
+	 * Annotations.NoRelationNameCheck}.
+	 *
+	 * @param field The field to check
+	 * @return TRUE if the annotation is present
+	 */
+	private boolean hasNoNameCheck(VariableElement field) {
+		for (AnnotationMirror annotation : field.getAnnotationMirrors()) {
+			TypeElement annotationType =
+				(TypeElement) annotation.getAnnotationType().asElement();
+
+			if (annotationType
+				.getQualifiedName()
+				.contentEquals(NO_NAME_CHECK_ANNOTATION)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Checks whether an element can be accessed from a certain package. For
+	 * types this includes all enclosing types.
+	 *
+	 * @param element     The element to check
+	 * @param packageName The name of the accessing package
+	 * @return TRUE if the element is accessible
+	 */
+	private boolean isAccessible(Element element, String packageName) {
+		Elements elements = processingEnv.getElementUtils();
+		Set<Modifier> modifiers = element.getModifiers();
+		String elementPackage =
+			elements.getPackageOf(element).getQualifiedName().toString();
+		boolean accessible = !modifiers.contains(Modifier.PRIVATE) &&
+			(modifiers.contains(Modifier.PUBLIC) ||
+				elementPackage.equals(packageName) ||
+				element.getEnclosingElement().getKind().isInterface());
+
+		if (accessible) {
+			Element enclosing = element.getEnclosingElement();
+
+			if (enclosing instanceof TypeElement) {
+				accessible = isAccessible(enclosing, packageName);
+			} else if (!(enclosing instanceof PackageElement)) {
+				// local and anonymous classes
+				accessible = false;
+			}
+		}
+
+		return accessible;
+	}
+
+	/**
+	 * Checks whether a target type is a collection or map for which the
+	 * element datatypes need to be stored.
+	 *
+	 * @param targetType The target type
+	 * @return TRUE for collection and map types
+	 */
+	private boolean isElementContainer(TypeMirror targetType) {
+		Elements elements = processingEnv.getElementUtils();
+		Types types = processingEnv.getTypeUtils();
+
+		if (targetType.getKind() != TypeKind.DECLARED ||
+			((DeclaredType) targetType).getTypeArguments().isEmpty()) {
+			return false;
+		}
+
+		TypeMirror rawType = types.erasure(targetType);
+		TypeMirror collection = types.erasure(
+			elements.getTypeElement("java.util.Collection").asType());
+		TypeMirror map =
+			types.erasure(elements.getTypeElement("java.util.Map").asType());
+
+		return types.isAssignable(rawType, collection) ||
+			types.isAssignable(rawType, map);
+	}
+
+	/**
+	 * Checks whether a field is a final static relation type field.
+	 *
+	 * @param field        The field to check
+	 * @param relationType The relation type element
+	 * @return TRUE if the field needs to be indexed
+	 */
+	private boolean isRelationTypeField(VariableElement field,
+		TypeElement relationType) {
+		Types types = processingEnv.getTypeUtils();
+		Set<Modifier> modifiers = field.getModifiers();
+
+		return modifiers.contains(Modifier.STATIC) &&
+			modifiers.contains(Modifier.FINAL) &&
+			types.isAssignable(types.erasure(field.asType()),
+				types.erasure(relationType.asType()));
+	}
+
+	/**
+	 * Processes a type and it's member types and generates the relation type
+	 * index for it if possible.
+	 *
+	 * @param type         The type to process
+	 * @param relationType The relation type element
+	 */
+	private void processType(TypeElement type, TypeElement relationType) {
+		for (TypeElement memberType : ElementFilter.typesIn(
+			type.getEnclosedElements())) {
+			processType(memberType, relationType);
+		}
+
+		Elements elements = processingEnv.getElementUtils();
+		String packageName =
+			elements.getPackageOf(type).getQualifiedName().toString();
+		List<String> entries = new ArrayList<>();
+		TypeElement currentType = type;
+
+		if (!isAccessible(type, packageName)) {
+			return;
+		}
+
+		// same order as in ReflectUtil.getAllFields()
+		while (currentType != null) {
+			for (VariableElement field : ElementFilter.fieldsIn(
+				currentType.getEnclosedElements())) {
+				if (isRelationTypeField(field, relationType)) {
+					String entry =
+						createEntry(field, relationType, packageName);
+
+					if (entry == null) {
+						return;
+					}
+
+					entries.add(entry);
+				}
+			}
+
+			TypeMirror superclass = currentType.getSuperclass();
+
+			if (superclass.getKind() == TypeKind.DECLARED) {
+				currentType =
+					(TypeElement) ((DeclaredType) superclass).asElement();
+			} else {
+				currentType = null;
+			}
+		}
+
+		if (!entries.isEmpty()) {
+			writeIndex(type, packageName, entries);
+		}
+	}
+
+	/**
+	 * Writes the source file of a relation type index.
+	 *
+	 * @param type        The indexed type
+	 * @param packageName The package of the type
+	 * @param entries     The source code of the index entries
+	 */
+	private void writeIndex(TypeElement type, String packageName,
+		List<String> entries) {
+		String binaryName =
+			processingEnv.getElementUtils().getBinaryName(type).toString();
+		String indexName = binaryName + RelationTypeIndex.CLASS_SUFFIX;
+		String simpleName = indexName.substring(indexName.lastIndexOf('.') + 1);
+
+		try {
+			JavaFileObject file =
+				processingEnv.getFiler().createSourceFile(indexName, type);
+
+			try (PrintWriter out = new PrintWriter(file.openWriter())) {
+				if (!packageName.isEmpty()) {
+					out.printf("package %s;%n%n", packageName);
+				}
+
+				out.printf("/** Generated by %s. */%n",
+					getClass().getSimpleName());
+				out.printf("public final class %s implements %s {%n%n",
+					simpleName, INDEX_CLASS);
+				out.printf("\t@Override%n");
+				out.printf("\tpublic java.util.List<%s.Entry> " +
+					"getRelationTypes() {%n", INDEX_CLASS);
+				out.printf("\t\treturn java.util.Arrays.asList(");
+
+				for (int i = 0; i < entries.size(); i++) {
+					out.printf("%s%n\t\t\t%s", i > 0 ? "," : "",
+						entries.get(i));
+				}
+
+				out.printf(");%n\t}%n}%n");
+			}
+		} catch (IOException e) {
+			processingEnv
+				.getMessager()
+				.printMessage(Kind.WARNING,
+					"Could not create relation type index: " + e, type);
+		}
+	}
+}
@@ -66,5 +66,9 @@ public enum RelationTypeModifier {
 	/**
 	 * Not visible without access to the relation type.
 	 */
-	PRIVATE
+	PRIVATE,
+	/**
+	 * Creates initial collection values only on the first modification.
+	 */
+	LAZY
 }
@@ -28,6 +28,7 @@ import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -54,6 +55,19 @@ import static org.obrel.type.MetaTypes.ORDERED;
  */
 public class RelationTypes {
 
+	private static final Class<?>[] NO_ELEMENT_TYPES = new Class<?>[0];
+
+	private static final RelationTypeIndex NO_RELATION_TYPE_INDEX =
+		Collections::emptyList;
+
+	private static final ClassValue<RelationTypeIndex> RELATION_TYPE_INDEXES =
+		new ClassValue<RelationTypeIndex>() {
+			@Override
+			protected RelationTypeIndex computeValue(Class<?> type) {
+				return getRelationTypeIndex(type);
+			}
+		};
+
 	// types declared because they are needed during relation type
 	// initialization
 
@@ -127,6 +141,141 @@ public class RelationTypes {
 		return classNamespace;
 	}
 
+	/**
+	 * Checks whether one of the given types is a type variable.
+	 *
+	 * @param types The types to check
+	 * @return TRUE if at least one type variable has been found
+	 */
+	private static boolean containsTypeVariable(Type[] types) {
+		for (Type type : types) {
+			if (type instanceof TypeVariable) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Determines the raw element datatypes of a collection or map target
+	 * type.
+	 *
+	 * @param datatype   The raw target datatype
+	 * @param targetType The (possibly generic) target type
+	 * @return The element datatypes or an empty array if not available
+	 */
+	private static Class<?>[] getElementTypes(Class<?> datatype,
+		Type targetType) {
+		Class<?>[] elementTypes = NO_ELEMENT_TYPES;
+
+		if (targetType instanceof ParameterizedType &&
+			(Collection.class.isAssignableFrom(datatype) ||
+				Map.class.isAssignableFrom(datatype))) {
+			Type[] typeArgs =
+				((ParameterizedType) targetType).getActualTypeArguments();
+
+			if (!containsTypeVariable(typeArgs)) {
+				elementTypes = new Class<?>[typeArgs.length];
+
+				for (int i = 0; i < typeArgs.length; i++) {
+					elementTypes[i] = ReflectUtil.getRawType(typeArgs[i]);
+				}
+			}
+		}
+
+		return elementTypes;
+	}
+
+	/**
+	 * Looks up the generated relation type index of a class.
+	 *
+	 * @param datatype The class to look up the index for
+	 * @return The index or {@link #NO_RELATION_TYPE_INDEX} if none exists
+	 */
+	private static RelationTypeIndex getRelationTypeIndex(Class<?> datatype) {
+		ClassLoader classLoader = datatype.getClassLoader();
+		RelationTypeIndex index = NO_RELATION_TYPE_INDEX;
+
+		if (classLoader != null) {
+			String indexClassName =
+				datatype.getName() + RelationTypeIndex.CLASS_SUFFIX;
+
+			try {
+				index = (RelationTypeIndex) Class
+					.forName(indexClassName, true, classLoader)
+					.getDeclaredConstructor()
+					.newInstance();
+			} catch (ClassNotFoundException e) {
+				// no index generated, fall back to reflection
+			} catch (ReflectiveOperationException | ClassCastException e) {
+				throw new IllegalStateException(
+					"Invalid relation type index " + indexClassName, e);
+			}
+		}
+
+		return index;
+	}
+
+	/**
+	 * Determines the target datatype of a relation type from the generic type
+	 * of a relation type field. If the field is declared with a subclass of
+	 * {@link RelationType} the target type is resolved from the generic
+	 * superclass hierarchy (e.g. {@code RelationType<Long>} for a field that is
+	 * declared as a subclass that extends {@code RelationType<Long>}).
+	 *
+	 * @param fieldType The generic type of the relation type field
+	 * @return The target datatype
+	 */
+	private static Type getTargetType(Type fieldType) {
+		Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+		Type type = fieldType;
+
+		while (true) {
+			Class<?> rawType = ReflectUtil.getRawType(type);
+			TypeVariable<?>[] typeParams = rawType.getTypeParameters();
+
+			if (type instanceof ParameterizedType) {
+				Type[] args =
+					((ParameterizedType) type).getActualTypeArguments();
+
+				for (int i = 0; i < args.length; i++) {
+					Type arg = args[i];
+
+					if (typeArguments.containsKey(arg)) {
+						arg = typeArguments.get(arg);
+					}
+
+					typeArguments.put(typeParams[i], arg);
+				}
+			}
+
+			if (rawType == RelationType.class) {
+				Type targetType = typeArguments.get(typeParams[0]);
+
+				if (targetType == null || targetType instanceof TypeVariable) {
+					throw new IllegalArgumentException(
+						"Undefined relation type datatype: " + fieldType);
+				}
+
+				return targetType;
+			}
+
+			type = rawType.getGenericSuperclass();
+		}
+	}
+
+	/**
+	 * Package-internal method to check whether the relation types of a class
+	 * are initialized from a generated {@link RelationTypeIndex}.
+	 *
+	 * @param datatype The class to check
+	 * @return TRUE if an index has been generated for the class
+	 */
+	static boolean hasRelationTypeIndex(Class<?> datatype) {
+		return RELATION_TYPE_INDEXES.get(datatype) != NO_RELATION_TYPE_INDEX;
+	}
+
 	/**
 	 * Initializes the relation type constants of certain classes.
 	 *
@@ -145,26 +294,21 @@ public class RelationTypes {
 	 *
 	 * @param relationType The relation type
 	 * @param name         The name of the type
-	 * @param targetType   field The (possibly generic) type information
+	 * @param datatype     The raw target datatype
+	 * @param elementTypes The raw element datatypes of collection or map
+	 *                     targets
 	 */
 	@SuppressWarnings("unchecked")
 	private static <T> void initRelationType(RelationType<T> relationType,
-		String name, Type targetType) {
-		Class<T> datatype = (Class<T>) ReflectUtil.getRawType(targetType);
-
-		if (targetType instanceof ParameterizedType) {
-			ParameterizedType type = (ParameterizedType) targetType;
-			Type[] elemTypes = type.getActualTypeArguments();
-
-			if (Collection.class.isAssignableFrom(datatype)) {
-				relationType.set(ELEMENT_DATATYPE,
-					ReflectUtil.getRawType(elemTypes[0]));
-			} else if (Map.class.isAssignableFrom(datatype)) {
-				relationType.set(KEY_DATATYPE,
-					ReflectUtil.getRawType(elemTypes[0]));
-				relationType.set(VALUE_DATATYPE,
-					ReflectUtil.getRawType(elemTypes[1]));
-			}
+		String name, Class<?> datatype, Class<?>[] elementTypes) {
+		if (elementTypes.length == 0) {
+			// element types are unknown if declared by a generic subclass
+			// of RelationType which must then set them by itself
+		} else if (Collection.class.isAssignableFrom(datatype)) {
+			relationType.set(ELEMENT_DATATYPE, elementTypes[0]);
+		} else if (Map.class.isAssignableFrom(datatype)) {
+			relationType.set(KEY_DATATYPE, elementTypes[0]);
+			relationType.set(VALUE_DATATYPE, elementTypes[1]);
 		}
 
 		Action<RelationType<?>> initAction =
@@ -172,32 +316,33 @@ public class RelationTypes {
 
 		relationType.deleteRelation(RELATION_TYPE_INIT_ACTION);
 
-		relationType.init(name, datatype, initAction);
+		relationType.init(name, (Class<T>) datatype, initAction);
 	}
 
 	/**
 	 * Initializes a final static field that refers to a relation type.
 	 *
-	 * @param field          The final static relation type field
+	 * @param declaringClass The class that declares the field
+	 * @param fieldName      The name of the field
 	 * @param relationType   The relation type referenced by the field
+	 * @param datatype       The raw target datatype of the relation type
+	 * @param elementTypes   The raw element datatypes of collection or map
+	 *                       targets
+	 * @param checkName      TRUE to check the field name against the name of
+	 *                       an initialized relation type
 	 * @param classNamespace The class relation type namespace
 	 */
-	private static void initRelationTypeField(Field field,
-		RelationType<?> relationType, String classNamespace) {
-		String fieldName = field.getName();
-
+	private static void initRelationTypeField(Class<?> declaringClass,
+		String fieldName, RelationType<?> relationType, Class<?> datatype,
+		Class<?>[] elementTypes, boolean checkName, String classNamespace) {
 		if (relationType == null) {
 			throw new IllegalArgumentException(
 				"Unitialized relation type " + fieldName);
 		}
 
-		Class<?> declaringClass = field.getDeclaringClass();
 		String typeName = relationType.getName();
 		String typeNamespace = relationType.get(RELATION_TYPE_NAMESPACE);
 
-		Type targetType =
-			((ParameterizedType) field.getGenericType()).getActualTypeArguments()[0];
-
 		if (typeName == RelationType.INIT_TYPE) {
 			String name;
 
@@ -207,21 +352,20 @@ public class RelationTypes {
 				name = classNamespace + fieldName;
 			}
 
-			initRelationType(relationType, name, targetType);
+			initRelationType(relationType, name, datatype, elementTypes);
 		} else {
-			assert ReflectUtil.getRawType(targetType) ==
-				relationType.getTargetType() : String.format(
+			assert datatype == relationType.getTargetType() : String.format(
 				"Invalid target type for RelationType %s: %s (expected: %s)",
-				typeName, relationType.getTargetType(), field.getType());
+				typeName, relationType.getTargetType(), datatype);
 
-			assert field.isAnnotationPresent(NoRelationNameCheck.class) ||
+			assert !checkName ||
 				fieldName.equals(relationType.getSimpleName()) :
 				String.format("RelationType name mismatch for %s.%s: %s",
 					declaringClass.getName(), fieldName, typeName);
 
 			if (typeNamespace != null && !typeName.startsWith(typeNamespace)) {
 				initRelationType(relationType, typeNamespace + "." + fieldName,
-					targetType);
+					datatype, elementTypes);
 			}
 		}
 
@@ -233,12 +377,15 @@ public class RelationTypes {
 	}
 
 	/**
-	 * Initializes the relation type constants of a certain class.
+	 * Initializes the relation type constants of a certain class. If a
+	 * {@link RelationTypeIndex} has been generated for the class at compile
+	 * time the relation types will be initialized from the index. Otherwise
+	 * the fields of the class will be analyzed by reflection.
 	 *
 	 * @param datatype The class to initialize
 	 */
 	public static void initRelationTypesOf(Class<?> datatype) {
-		List<Field> fields = ReflectUtil.getAllFields(datatype);
+		RelationTypeIndex index = RELATION_TYPE_INDEXES.get(datatype);
 		String classNamespace = getRelationTypeNamespace(datatype);
 
 		List<RelationType<?>> declaredTypes = new ArrayList<>();
@@ -247,6 +394,46 @@ public class RelationTypes {
 			classNamespace += ".";
 		}
 
+		if (index != NO_RELATION_TYPE_INDEX) {
+			for (RelationTypeIndex.Entry entry : index.getRelationTypes()) {
+				RelationType<?> relationType = entry.getRelationType();
+
+				initRelationTypeField(entry.getDeclaringClass(),
+					entry.getFieldName(), relationType, entry.getDatatype(),
+					entry.getElementTypes(), entry.isNameChecked(),
+					classNamespace);
+
+				if (!relationType.hasModifier(RelationTypeModifier.PRIVATE)) {
+					declaredTypes.add(relationType);
+				}
+			}
+		} else {
+			initRelationTypeFields(datatype, classNamespace, declaredTypes);
+		}
+
+		if (!declaredTypes.isEmpty()) {
+			Relatable datatypeRelatable =
+				ObjectRelations.getRelatable(datatype);
+
+			if (!datatypeRelatable.hasRelation(DECLARED_RELATION_TYPES)) {
+				datatypeRelatable.set(DECLARED_RELATION_TYPES,
+					Collections.unmodifiableList(declaredTypes));
+			}
+		}
+	}
+
+	/**
+	 * Initializes the relation type constants of a class by analyzing it's
+	 * fields with reflection.
+	 *
+	 * @param datatype       The class to initialize
+	 * @param classNamespace The class relation type namespace
+	 * @param declaredTypes  The list to add the declared relation types to
+	 */
+	private static void initRelationTypeFields(Class<?> datatype,
+		String classNamespace, List<RelationType<?>> declaredTypes) {
+		List<Field> fields = ReflectUtil.getAllFields(datatype);
+
 		for (Field field : fields) {
 			try {
 				int modifiers = field.getModifiers();
@@ -259,7 +446,16 @@ public class RelationTypes {
 							(RelationType<?>) field.get(null);
 
 						if (Modifier.isFinal(modifiers)) {
-							initRelationTypeField(field, relationType,
+							Type targetType =
+								getTargetType(field.getGenericType());
+							Class<?> rawType =
+								ReflectUtil.getRawType(targetType);
+
+							initRelationTypeField(field.getDeclaringClass(),
+								field.getName(), relationType, rawType,
+								getElementTypes(rawType, targetType),
+								!field.isAnnotationPresent(
+									NoRelationNameCheck.class),
 								classNamespace);
 
 							if (!relationType.hasModifier(
@@ -282,16 +478,6 @@ public class RelationTypes {
 				throw new IllegalArgumentException(message, e);
 			}
 		}
-
-		if (!declaredTypes.isEmpty()) {
-			Relatable datatypeRelatable =
-				ObjectRelations.getRelatable(datatype);
-
-			if (!datatypeRelatable.hasRelation(DECLARED_RELATION_TYPES)) {
-				datatypeRelatable.set(DECLARED_RELATION_TYPES,
-					Collections.unmodifiableList(declaredTypes));
-			}
-		}
 	}
 
 	/**
@@ -0,0 +1,621 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import de.esoco.lib.expression.Function;
+import de.esoco.lib.expression.InvertibleFunction;
+import de.esoco.lib.expression.Predicate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Provides consistent point-in-time views of graphs of related objects that
+ * are modified concurrently (multi-version concurrency control). Writers
+ * modify the objects of a graph as usual and then {@link #publish(Collection)
+ * publish} the modified objects. Each publication creates a new version that
+ * contains immutable copies of the relations of the published objects.
+ * Readers obtain a {@link Snapshot} that provides access to the relations of
+ * all published objects as they were at the time the snapshot was created.
+ * Reading a snapshot doesn't require any locks and is not affected by
+ * subsequent publications. Snapshots must be closed after use so that old
+ * versions of the objects can be reclaimed as soon as no snapshot refers to
+ * them anymore.
+ *
+ * <p>Relation targets are stored by reference and should therefore be
+ * immutable or be related objects that are published too. The objects in a
+ * graph can be navigated by reading the relation targets from the snapshot
+ * with {@link Snapshot#get(RelatedObject, RelationType)}, which returns the
+ * state of the target objects at the version of the snapshot. Publishing is
+ * synchronized but the modification of the published objects isn't, so
+ * concurrent writers must coordinate their modifications.</p>
+ *
+ * <p>Publishing an object takes constant time if it stores it's relations in
+ * a persistent data structure and all targets inline (see {@link
+ * RelatedObject#usesPersistentRelations()} and {@link
+ * RelatedObject#usesInlineTargets()}). Otherwise the relations will be
+ * copied when they are published.</p>
+ *
+ * @author eso
+ */
+public class RelationVersions {
+
+	private final Map<ObjectKey, Version> versions =
+		new ConcurrentHashMap<>();
+
+	private final Set<Snapshot> openSnapshots =
+		ConcurrentHashMap.newKeySet();
+
+	private final Set<ObjectKey> versionChains = new HashSet<>();
+
+	private final Lock publishLock = new ReentrantLock();
+
+	private volatile long currentVersion = 0;
+
+	/**
+	 * Converts the relations of an object into an immutable map of relation
+	 * types to relation targets.
+	 *
+	 * @param object The object
+	 * @return The immutable relation state
+	 */
+	private static PersistentRelations freeze(RelatedObject object) {
+		Map<RelationType<?>, Object> relations = object.relations;
+		PersistentRelations state;
+		boolean copy = !(relations instanceof PersistentRelations);
+
+		if (copy) {
+			state = new PersistentRelations();
+		} else {
+			state = ((PersistentRelations) relations).snapshot();
+
+			if (!state.hasRelationObjects()) {
+				return state;
+			}
+		}
+
+		for (Map.Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			Object value = entry.getValue();
+
+			if (value instanceof Relation) {
+				state.put(entry.getKey(), ((Relation<?>) value).getTarget());
+			} else if (copy) {
+				state.put(entry.getKey(), value);
+			}
+		}
+
+		return state;
+	}
+
+	/**
+	 * Returns the number of the last published version.
+	 *
+	 * @return The current version number
+	 */
+	public long getVersion() {
+		return currentVersion;
+	}
+
+	/**
+	 * Publishes the current state of related objects as a new version.
+	 *
+	 * @see #publish(Collection)
+	 */
+	public long publish(RelatedObject... objects) {
+		return publish(Arrays.asList(objects));
+	}
+
+	/**
+	 * Publishes the current state of related objects as a new version. The
+	 * new state of all objects will become visible atomically to snapshots
+	 * that are created after this call.
+	 *
+	 * @param objects The objects to publish
+	 * @return The number of the published version
+	 */
+	public long publish(Collection<? extends RelatedObject> objects) {
+		List<PersistentRelations> states = new ArrayList<>(objects.size());
+
+		for (RelatedObject object : objects) {
+			states.add(freeze(object));
+		}
+
+		return addVersion(objects, states);
+	}
+
+	/**
+	 * Removes related objects from the published graph. The objects will
+	 * still be available from snapshots of previous versions.
+	 *
+	 * @param objects The objects to remove
+	 * @return The number of the published version
+	 */
+	public long remove(RelatedObject... objects) {
+		List<PersistentRelations> states = new ArrayList<>(objects.length);
+
+		for (int i = 0; i < objects.length; i++) {
+			states.add(null);
+		}
+
+		return addVersion(Arrays.asList(objects), states);
+	}
+
+	/**
+	 * Returns a snapshot of the current version of the published objects.
+	 * The snapshot must be closed after use, typically in a try-with-resources
+	 * block, to allow the reclaiming of old versions.
+	 *
+	 * @return The new snapshot
+	 */
+	public Snapshot snapshot() {
+		Snapshot snapshot = new Snapshot(currentVersion);
+
+		openSnapshots.add(snapshot);
+
+		// re-validate so that a concurrent publication either sees the
+		// registered snapshot or has been published before it's version
+		while (snapshot.version != currentVersion) {
+			snapshot.version = currentVersion;
+		}
+
+		return snapshot;
+	}
+
+	/**
+	 * Returns the number of versions that are currently stored for an
+	 * object.
+	 *
+	 * @param object The object
+	 * @return The version count
+	 */
+	int getVersionCount(RelatedObject object) {
+		int count = 0;
+
+		for (Version version = versions.get(new ObjectKey(object));
+			version != null; version = version.previous) {
+			count++;
+		}
+
+		return count;
+	}
+
+	/**
+	 * Adds new states of certain objects as a new version.
+	 *
+	 * @param objects The objects
+	 * @param states  The new object states (NULL for removed objects)
+	 * @return The new version number
+	 */
+	private long addVersion(Collection<? extends RelatedObject> objects,
+		List<PersistentRelations> states) {
+		publishLock.lock();
+
+		try {
+			long version = currentVersion + 1;
+			Iterator<PersistentRelations> state = states.iterator();
+
+			for (RelatedObject object : objects) {
+				ObjectKey key = new ObjectKey(object);
+				Version previous = versions.get(key);
+
+				if (previous != null && previous.number == version) {
+					previous = previous.previous;
+				}
+
+				Version current = new Version(version, state.next(), previous);
+
+				versions.put(key, current);
+
+				if (previous != null || current.state == null) {
+					versionChains.add(key);
+				}
+			}
+
+			currentVersion = version;
+			reclaim();
+
+			return version;
+		} finally {
+			publishLock.unlock();
+		}
+	}
+
+	/**
+	 * Discards all object versions that are not visible to open snapshots.
+	 * A version is visible to a snapshot if it is the newest version of the
+	 * object that is not newer than the snapshot. Must be invoked with the
+	 * publish lock held.
+	 */
+	private void reclaim() {
+		NavigableSet<Long> snapshotVersions = new TreeSet<>();
+
+		for (Snapshot snapshot : openSnapshots) {
+			snapshotVersions.add(snapshot.version);
+		}
+
+		long oldest = snapshotVersions.isEmpty() ? currentVersion :
+		              Math.min(snapshotVersions.first(), currentVersion);
+
+		for (Iterator<ObjectKey> i = versionChains.iterator(); i.hasNext(); ) {
+			ObjectKey key = i.next();
+			Version head = versions.get(key);
+			Version retained = head;
+			Version newer = head;
+
+			for (Version version = head.previous; version != null;
+				version = version.previous) {
+				Long reader = snapshotVersions.ceiling(version.number);
+
+				if (reader != null && reader < newer.number) {
+					if (retained.previous != version) {
+						retained.previous = version;
+					}
+
+					retained = version;
+				}
+
+				newer = version;
+			}
+
+			retained.previous = null;
+
+			if (head.previous == null) {
+				if (head.state != null) {
+					i.remove();
+				} else if (head.number <= oldest) {
+					i.remove();
+					versions.remove(key);
+				}
+			}
+		}
+	}
+
+	/**
+	 * An identity-based map key for related objects.
+	 *
+	 * @author eso
+	 */
+	private static final class ObjectKey {
+
+		private final RelatedObject object;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param object The object
+		 */
+		ObjectKey(RelatedObject object) {
+			this.object = object;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof ObjectKey &&
+				((ObjectKey) obj).object == object;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return System.identityHashCode(object);
+		}
+	}
+
+	/**
+	 * A single version of an object. Versions form a chain from the newest to
+	 * the oldest version that is still needed by open snapshots.
+	 *
+	 * @author eso
+	 */
+	private static final class Version {
+
+		final long number;
+
+		final PersistentRelations state;
+
+		volatile Version previous;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param number   The version number
+		 * @param state    The object state or NULL if the object has been
+		 *                 removed
+		 * @param previous The previous version or NULL for none
+		 */
+		Version(long number, PersistentRelations state, Version previous) {
+			this.number = number;
+			this.state = state;
+			this.previous = previous;
+		}
+	}
+
+	/**
+	 * A read-only view of the state of an object in a snapshot.
+	 *
+	 * @author eso
+	 */
+	private static final class VersionView implements Relatable {
+
+		private final PersistentRelations state;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param state The object state
+		 */
+		VersionView(PersistentRelations state) {
+			this.state = state;
+		}
+
+		/**
+		 * Overridden to throw an {@link UnsupportedOperationException}.
+		 *
+		 * @see Relatable#deleteRelation(Relation)
+		 */
+		@Override
+		public void deleteRelation(Relation<?> relation) {
+			throw new UnsupportedOperationException("Snapshot is read-only");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public <T> T get(RelationType<T> type) {
+			return state.containsKey(type) ?
+			       RelatedObject.inlineTarget(state.get(type)) :
+			       type.defaultValue(this);
+		}
+
+		/**
+		 * Returns a detached relation with the target from the snapshot.
+		 *
+		 * @see Relatable#getRelation(RelationType)
+		 */
+		@Override
+		public <T> Relation<T> getRelation(RelationType<T> type) {
+			return state.containsKey(type) ?
+			       new DirectRelation<>(type,
+				       RelatedObject.inlineTarget(state.get(type))) :
+			       null;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		public List<Relation<?>> getRelations(
+			Predicate<? super Relation<?>> filter) {
+			List<Relation<?>> relations = new ArrayList<>(state.size());
+
+			for (Map.Entry<RelationType<?>, Object> entry : state.entrySet()) {
+				RelationType type = entry.getKey();
+
+				if (!type.isPrivate()) {
+					Relation<?> relation = new DirectRelation(type,
+						RelatedObject.inlineTarget(entry.getValue()));
+
+					if (filter == null || filter.test(relation)) {
+						relations.add(relation);
+					}
+				}
+			}
+
+			return relations;
+		}
+
+		/**
+		 * Overridden to check the state without creating a relation.
+		 *
+		 * @see Relatable#hasRelation(RelationType)
+		 */
+		@Override
+		public boolean hasRelation(RelationType<?> type) {
+			return state.containsKey(type);
+		}
+
+		/**
+		 * Overridden to throw an {@link UnsupportedOperationException}.
+		 *
+		 * @see Relatable#set(RelationType, Object)
+		 */
+		@Override
+		public <T> Relation<T> set(RelationType<T> type, T target) {
+			throw new UnsupportedOperationException("Snapshot is read-only");
+		}
+
+		/**
+		 * Overridden to throw an {@link UnsupportedOperationException}.
+		 *
+		 * @see Relatable#set(RelationType, Function, Object)
+		 */
+		@Override
+		public <T, I> Relation<T> set(RelationType<T> type,
+			Function<I, T> targetResolver, I intermediateTarget) {
+			throw new UnsupportedOperationException("Snapshot is read-only");
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "VersionView" + state;
+		}
+
+		/**
+		 * Overridden to throw an {@link UnsupportedOperationException}.
+		 *
+		 * @see Relatable#transform(RelationType, InvertibleFunction)
+		 */
+		@Override
+		public <T, D> TransformedRelation<T, D> transform(RelationType<T> type,
+			InvertibleFunction<T, D> transformation) {
+			throw new UnsupportedOperationException("Snapshot is read-only");
+		}
+	}
+
+	/**
+	 * A consistent view of the published objects at a certain version. All
+	 * methods of a snapshot can be invoked concurrently to publications and
+	 * from multiple threads.
+	 *
+	 * @author eso
+	 */
+	public final class Snapshot implements AutoCloseable {
+
+		private volatile long version;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param version The version number of this snapshot
+		 */
+		Snapshot(long version) {
+			this.version = version;
+		}
+
+		/**
+		 * Closes this snapshot and allows to reclaim the object versions that
+		 * are only visible to it. If a publication is in progress the
+		 * reclaiming will be performed by the next publication instead.
+		 */
+		@Override
+		public void close() {
+			if (openSnapshots.remove(this) && publishLock.tryLock()) {
+				try {
+					reclaim();
+				} finally {
+					publishLock.unlock();
+				}
+			}
+		}
+
+		/**
+		 * Checks whether an object had been published at the version of this
+		 * snapshot.
+		 *
+		 * @param object The object to check
+		 * @return TRUE if the object is part of this snapshot
+		 */
+		public boolean contains(RelatedObject object) {
+			return getState(object) != null;
+		}
+
+		/**
+		 * Returns the target of a relation of an object at the version of
+		 * this snapshot. If the relation didn't exist the default value of
+		 * the relation type will be returned.
+		 *
+		 * @param object The object
+		 * @param type   The relation type
+		 * @return The relation target or default value
+		 * @throws IllegalArgumentException If the object is not part of this
+		 *                                  snapshot
+		 */
+		public <T> T get(RelatedObject object, RelationType<T> type) {
+			return view(object).get(type);
+		}
+
+		/**
+		 * Returns the version number of this snapshot.
+		 *
+		 * @return The version number
+		 */
+		public long getVersion() {
+			return version;
+		}
+
+		/**
+		 * Checks whether an object had a certain relation at the version of
+		 * this snapshot.
+		 *
+		 * @param object The object
+		 * @param type   The relation type
+		 * @return TRUE if the relation existed
+		 */
+		public boolean hasRelation(RelatedObject object, RelationType<?> type) {
+			PersistentRelations state = getState(object);
+
+			return state != null && state.containsKey(type);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return "Snapshot[" + version + "]";
+		}
+
+		/**
+		 * Returns a read-only view of the relations of an object at the
+		 * version of this snapshot. Modifications of the view will throw an
+		 * {@link UnsupportedOperationException} and relations that are
+		 * queried from it are detached copies.
+		 *
+		 * @param object The object
+		 * @return The read-only object view
+		 * @throws IllegalArgumentException If the object is not part of this
+		 *                                  snapshot
+		 */
+		public Relatable view(RelatedObject object) {
+			PersistentRelations state = getState(object);
+
+			if (state == null) {
+				throw new IllegalArgumentException(
+					"Object not in " + this + ": " + object);
+			}
+
+			return new VersionView(state);
+		}
+
+		/**
+		 * Returns the state of an object at the version of this snapshot.
+		 *
+		 * @param object The object
+		 * @return The object state or NULL if not available
+		 */
+		private PersistentRelations getState(RelatedObject object) {
+			Version state = versions.get(new ObjectKey(object));
+
+			while (state != null && state.number > version) {
+				state = state.previous;
+			}
+
+			return state != null ? state.state : null;
+		}
+	}
+}
@@ -0,0 +1,197 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * An immutable relation map that is shared between multiple related objects
+ * with identical relations. This is used to store the annotations of
+ * relations as flyweights (see {@link Relation#shareAnnotations()}). Shared
+ * relation maps are interned in a global pool that only keeps weak references
+ * to them so that they will be garbage collected when they are no longer
+ * used.
+ *
+ * <p>A related object that contains a shared map will replace it with a
+ * private copy before the first modification of it's relations (copy on
+ * write). Only maps that contain direct relations with value-like targets
+ * (strings, numbers, booleans, characters, enums, classes, and relation
+ * types) and without meta-relations can be shared because other relations or
+ * targets could be modified without the knowledge of the containing
+ * object. Inline relation targets (see {@link
+ * RelatedObject#usesInlineTargets()}) are shared if they are value-like.</p>
+ *
+ * @author eso
+ */
+final class SharedRelations
+	extends AbstractMap<RelationType<?>, Object> {
+
+	private static final Map<SharedRelations,
+		WeakReference<SharedRelations>>
+		sharedRelationsPool = new WeakHashMap<>();
+
+	private final Map<RelationType<?>, Object> relations;
+
+	private final int hashCode;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param relations The relations to share
+	 */
+	private SharedRelations(Map<RelationType<?>, Object> relations) {
+		this.relations = new LinkedHashMap<>(relations);
+
+		hashCode = relations.hashCode();
+	}
+
+	/**
+	 * Returns a shared relation map with the same content as the argument
+	 * map. If the pool doesn't contain such a map yet a new shared map will
+	 * be created from the argument and added to the pool.
+	 *
+	 * @param relations The relations to share
+	 * @return The shared relation map or NULL if the relations cannot be
+	 * shared
+	 */
+	static SharedRelations intern(Map<RelationType<?>, Object> relations) {
+		for (Object value : relations.values()) {
+			if (!isShareable(value)) {
+				return null;
+			}
+		}
+
+		SharedRelations key = new SharedRelations(relations);
+
+		synchronized (sharedRelationsPool) {
+			WeakReference<SharedRelations> reference =
+				sharedRelationsPool.get(key);
+
+			SharedRelations shared =
+				reference != null ? reference.get() : null;
+
+			if (shared == null) {
+				shared = key;
+				sharedRelationsPool.put(shared, new WeakReference<>(shared));
+			}
+
+			return shared;
+		}
+	}
+
+	/**
+	 * Checks whether a relation or an inline relation target can be shared
+	 * between multiple parents.
+	 *
+	 * @param value The relation or inline target to check
+	 * @return TRUE if the value is shareable
+	 */
+	private static boolean isShareable(Object value) {
+		Object target;
+
+		if (value instanceof Relation) {
+			Relation<?> relation = (Relation<?>) value;
+
+			if (relation.getClass() != DirectRelation.class ||
+				!relation.relations.isEmpty()) {
+				return false;
+			}
+
+			target = relation.getTarget();
+		} else {
+			target = RelatedObject.inlineTarget(value);
+		}
+
+		return (target == null || target instanceof String ||
+				target instanceof Number || target instanceof Boolean ||
+				target instanceof Character || target instanceof Enum ||
+				target instanceof Class || target instanceof RelationType);
+	}
+
+	/**
+	 * Returns a modifiable copy of this map that contains copies of the
+	 * shared relations. Inline targets are copied unchanged.
+	 *
+	 * @return The new relation map
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	Map<RelationType<?>, Object> copy() {
+		Map<RelationType<?>, Object> copy =
+			new LinkedHashMap<>(relations.size());
+
+		for (Entry<RelationType<?>, Object> entry : relations.entrySet()) {
+			Object value = entry.getValue();
+
+			if (value instanceof Relation) {
+				Relation<?> relation = (Relation<?>) value;
+
+				value = new DirectRelation(relation.getType(),
+					relation.getTarget());
+			}
+
+			copy.put(entry.getKey(), value);
+		}
+
+		return copy;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean containsKey(Object key) {
+		return relations.containsKey(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Set<Entry<RelationType<?>, Object>> entrySet() {
+		return Collections.unmodifiableMap(relations).entrySet();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Object get(Object key) {
+		return relations.get(key);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int hashCode() {
+		return hashCode;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return relations.size();
+	}
+}
@@ -191,8 +191,7 @@ public class RelationCoupling<T> {
 	private static Stream<Set<RelationCoupling<?>>> couplings(
 		Relatable relatable, Collection<RelationType<?>> types) {
 		Stream<Set<RelationCoupling<?>>> couplings = relatable
-			.getRelations()
-			.stream()
+			.streamRelations()
 			.filter(
 				r -> types.contains(r.getType()) && r.hasRelation(COUPLINGS))
 			.map(r -> r.get(COUPLINGS));
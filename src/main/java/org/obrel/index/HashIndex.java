@@ -0,0 +1,151 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import org.obrel.core.Relatable;
+import org.obrel.core.RelationType;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A relation index that is backed by a hash map and provides lookups of
+ * values in constant time. To minimize the memory footprint of indexes with
+ * mostly distinct values, values that are mapped to a single object store
+ * that object directly. Only values that are mapped to multiple objects
+ * require an additional set.
+ *
+ * @author eso
+ */
+public class HashIndex<O extends Relatable, T> extends RelationIndex<O, T> {
+
+	private final Map<T, Object> entries = new HashMap<>();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @see RelationIndex#RelationIndex(RelationType, boolean)
+	 */
+	public HashIndex(RelationType<T> type, boolean unique) {
+		super(type, unique);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public Collection<O> find(T value) {
+		Object entry = value != null ? entries.get(value) : null;
+
+		if (entry == null) {
+			return Collections.emptySet();
+		} else if (entry instanceof Bucket) {
+			return Collections.unmodifiableSet(((Bucket<O>) entry).objects);
+		} else {
+			return Collections.singleton((O) entry);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getValueCount() {
+		return entries.size();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void add(O object, T value) {
+		if (value != null) {
+			Object entry = entries.get(value);
+
+			if (entry == null) {
+				entries.put(value, object);
+			} else if (entry != object) {
+				checkUnique(object, value);
+
+				if (entry instanceof Bucket) {
+					((Bucket<O>) entry).objects.add(object);
+				} else {
+					entries.put(value, new Bucket<>((O) entry, object));
+				}
+			}
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void clear() {
+		entries.clear();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	protected void remove(O object, T value) {
+		if (value != null) {
+			Object entry = entries.get(value);
+
+			if (entry == object) {
+				entries.remove(value);
+			} else if (entry instanceof Bucket) {
+				Set<O> objects = ((Bucket<O>) entry).objects;
+
+				objects.remove(object);
+
+				if (objects.size() == 1) {
+					entries.put(value, objects.iterator().next());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Holds the objects that are mapped to the same value.
+	 *
+	 * @author eso
+	 */
+	private static class Bucket<O> {
+
+		final Set<O> objects =
+			Collections.newSetFromMap(new IdentityHashMap<>());
+
+		/**
+		 * Creates a new instance with two objects.
+		 *
+		 * @param first  The first object
+		 * @param second The second object
+		 */
+		Bucket(O first, O second) {
+			objects.add(first);
+			objects.add(second);
+		}
+	}
+}
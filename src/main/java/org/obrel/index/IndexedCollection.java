@@ -0,0 +1,638 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import de.esoco.lib.datatype.Range;
+import de.esoco.lib.event.EventHandler;
+import de.esoco.lib.expression.Predicate;
+import org.obrel.core.Relatable;
+import org.obrel.core.Relation;
+import org.obrel.core.RelationBatchEvent;
+import org.obrel.core.RelationEvent;
+import org.obrel.core.RelationType;
+import org.obrel.type.ListenerTypes;
+import org.obrel.type.MetaTypes;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.Spliterator;
+
+/**
+ * A collection of relatable objects that maintains indexes of the values of
+ * certain relation types. This allows to find objects by relation values with
+ * {@link #findBy(RelationType, Object)} without scanning the collection.
+ * Objects are compared by identity and the collection doesn't preserve the
+ * insertion order.
+ *
+ * <p>The indexed relation types can either be given explicitly or, by using
+ * the default constructor, all registered types with the flag {@link
+ * MetaTypes#INDEXED} or {@link MetaTypes#UNIQUE} will be indexed. If a type
+ * has the flag {@link MetaTypes#UNIQUE} the index will reject objects and
+ * relation updates that would map a value to multiple objects by throwing an
+ * {@link IllegalStateException}. Types that also have the flag {@link
+ * MetaTypes#ORDERED} and a comparable datatype will be indexed with a {@link
+ * SortedIndex} which also supports range queries with {@link
+ * #findRange(RelationType, Range)}.</p>
+ *
+ * <p>The indexes are updated incrementally through listeners on the indexed
+ * relation types (see {@link ListenerTypes#RELATION_TYPE_LISTENERS} and, for
+ * bulk modifications, {@link ListenerTypes#RELATION_TYPE_BATCH_LISTENERS}).
+ * Therefore relation updates are only tracked if the objects in the
+ * collection are the sources of their relation events (which is the case for
+ * subclasses of {@link org.obrel.core.RelatedObject}) and relations of private
+ * types cannot be indexed. Because the listeners keep a reference to the
+ * collection, {@link #close()} must be invoked if an instance is no longer
+ * used. Like the standard collections this class performs no thread
+ * synchronization.</p>
+ *
+ * @author eso
+ */
+public class IndexedCollection<O extends Relatable>
+	extends AbstractCollection<O> implements AutoCloseable {
+
+	private final Set<O> objects =
+		Collections.newSetFromMap(new IdentityHashMap<>());
+
+	private final Map<RelationType<?>, RelationIndex<O, ?>> indexes =
+		new LinkedHashMap<>();
+
+	private final EventHandler<RelationEvent<?>> indexUpdater =
+		this::updateIndex;
+
+	private final Map<RelationType<?>, EventHandler<RelationBatchEvent>>
+		batchUpdaters = new HashMap<>();
+
+	/**
+	 * Creates a new instance that indexes all currently registered relation
+	 * types with the flags {@link MetaTypes#INDEXED} or {@link
+	 * MetaTypes#UNIQUE}.
+	 */
+	public IndexedCollection() {
+		this(RelationType.getRelationTypes(
+			t -> t.hasFlag(MetaTypes.INDEXED) || t.hasFlag(MetaTypes.UNIQUE)));
+	}
+
+	/**
+	 * Creates a new instance that indexes certain relation types.
+	 *
+	 * @param indexedTypes The relation types to index
+	 */
+	public IndexedCollection(RelationType<?>... indexedTypes) {
+		this(Arrays.asList(indexedTypes));
+	}
+
+	/**
+	 * Creates a new instance that indexes certain relation types.
+	 *
+	 * @param indexedTypes The relation types to index
+	 */
+	public IndexedCollection(Collection<RelationType<?>> indexedTypes) {
+		for (RelationType<?> type : indexedTypes) {
+			addIndex(type);
+		}
+	}
+
+	/**
+	 * Adds an object to this collection and to all indexes. If adding the
+	 * object to an index fails it will not be added at all.
+	 *
+	 * @see AbstractCollection#add(Object)
+	 */
+	@Override
+	public boolean add(O object) {
+		if (objects.contains(object)) {
+			return false;
+		}
+
+		List<RelationIndex<O, ?>> added = new ArrayList<>(indexes.size());
+
+		try {
+			for (RelationIndex<O, ?> index : indexes.values()) {
+				addToIndex(index, object);
+				added.add(index);
+			}
+		} catch (RuntimeException e) {
+			for (RelationIndex<O, ?> index : added) {
+				removeFromIndex(index, object);
+			}
+
+			throw e;
+		}
+
+		objects.add(object);
+
+		return true;
+	}
+
+	/**
+	 * Adds an index for a certain relation type. If the type is already
+	 * indexed the existing index will be returned. Otherwise the new index
+	 * will be filled with the values of all objects in this collection.
+	 *
+	 * @param type The relation type to index
+	 * @return The index for the given type
+	 * @throws IllegalArgumentException If the type is private
+	 * @throws IllegalStateException    If the type is unique but the
+	 *                                  collection contains duplicate values
+	 */
+	public <T> RelationIndex<O, T> addIndex(RelationType<T> type) {
+		RelationIndex<O, T> index = getIndex(type);
+
+		if (index == null) {
+			index = newIndex(type);
+			registerIndex(index);
+		}
+
+		return index;
+	}
+
+	/**
+	 * Adds a sorted index for a certain relation type. If the type is already
+	 * indexed with a sorted index the existing index will be returned.
+	 *
+	 * @param type The relation type to index
+	 * @return The sorted index for the given type
+	 * @throws IllegalArgumentException If the type is private
+	 * @throws IllegalStateException    If the type is already indexed with
+	 *                                  an index that is not sorted or if the
+	 *                                  type is unique but the collection
+	 *                                  contains duplicate values
+	 */
+	public <T extends Comparable<T>> SortedIndex<O, T> addSortedIndex(
+		RelationType<T> type) {
+		RelationIndex<O, T> index = getIndex(type);
+
+		if (index == null) {
+			index =
+				new SortedIndex<>(type, type.hasFlag(MetaTypes.UNIQUE));
+			registerIndex(index);
+		} else if (!(index instanceof SortedIndex)) {
+			throw new IllegalStateException(
+				"Type has unsorted index: " + type);
+		}
+
+		return (SortedIndex<O, T>) index;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void clear() {
+		objects.clear();
+
+		for (RelationIndex<O, ?> index : indexes.values()) {
+			index.clear();
+		}
+	}
+
+	/**
+	 * Removes the listeners on the indexed relation types. The collection
+	 * will still contain all objects but the indexes will no longer be
+	 * updated on relation changes.
+	 */
+	@Override
+	public void close() {
+		for (RelationType<?> type : indexes.keySet()) {
+			type.get(ListenerTypes.RELATION_TYPE_LISTENERS).remove(indexUpdater);
+			type
+				.get(ListenerTypes.RELATION_TYPE_BATCH_LISTENERS)
+				.remove(batchUpdaters.get(type));
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public boolean contains(Object object) {
+		return objects.contains(object);
+	}
+
+	/**
+	 * Returns all objects in this collection that have a relation of a
+	 * certain type with a certain value. If the type is indexed this will be
+	 * an index lookup, else the collection will be scanned.
+	 *
+	 * @param type  The relation type
+	 * @param value The value to search
+	 * @return An unmodifiable collection of the matching objects (empty for
+	 * none)
+	 */
+	public <T> Collection<O> findBy(RelationType<T> type, T value) {
+		RelationIndex<O, T> index = getIndex(type);
+
+		if (index != null) {
+			return index.find(value);
+		}
+
+		List<O> result = new ArrayList<>();
+
+		if (value != null) {
+			for (O object : objects) {
+				if (object.hasRelation(type) &&
+					value.equals(object.get(type))) {
+					result.add(object);
+				}
+			}
+		}
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Returns all objects in this collection with a relation of a certain type
+	 * that has a value in a certain range. The range bounds are inclusive and
+	 * the result is sorted in the range direction. If the type has a {@link
+	 * SortedIndex} this will be an index lookup, else the collection will be
+	 * scanned and the result sorted.
+	 *
+	 * @param type  The relation type
+	 * @param range The range to search
+	 * @return An unmodifiable list of the matching objects
+	 */
+	public <T extends Comparable<T>> List<O> findRange(RelationType<T> type,
+		Range<T> range) {
+		RelationIndex<O, T> index = getIndex(type);
+
+		if (index instanceof SortedIndex) {
+			return ((SortedIndex<O, T>) index).findRange(range);
+		}
+
+		List<O> result = new ArrayList<>();
+
+		for (O object : objects) {
+			if (object.hasRelation(type)) {
+				T value = object.get(type);
+
+				if (value != null && range.contains(value)) {
+					result.add(object);
+				}
+			}
+		}
+
+		Comparator<T> order = range.isAscending() ?
+		                      Comparator.naturalOrder() :
+		                      Comparator.reverseOrder();
+
+		result.sort(Comparator.comparing(o -> o.get(type), order));
+
+		return Collections.unmodifiableList(result);
+	}
+
+	/**
+	 * Returns the single object in this collection that has a relation of a
+	 * certain type with a certain value. This is intended for lookups with
+	 * unique relation types.
+	 *
+	 * @param type  The relation type
+	 * @param value The value to search
+	 * @return The matching object or NULL for none
+	 * @throws IllegalStateException If multiple objects match
+	 */
+	public <T> O findUnique(RelationType<T> type, T value) {
+		Collection<O> result = findBy(type, value);
+
+		if (result.size() > 1) {
+			throw new IllegalStateException(
+				String.format("Multiple objects with %s=%s", type, value));
+		}
+
+		return result.isEmpty() ? null : result.iterator().next();
+	}
+
+	/**
+	 * Returns the index for a certain relation type.
+	 *
+	 * @param type The relation type
+	 * @return The index or NULL if the type is not indexed
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> RelationIndex<O, T> getIndex(RelationType<T> type) {
+		return (RelationIndex<O, T>) indexes.get(type);
+	}
+
+	/**
+	 * Returns the relation types that are indexed by this collection.
+	 *
+	 * @return An unmodifiable collection of the indexed types
+	 */
+	public Collection<RelationType<?>> getIndexedTypes() {
+		return Collections.unmodifiableSet(indexes.keySet());
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<O> iterator() {
+		Iterator<O> iterator = objects.iterator();
+
+		return new Iterator<O>() {
+			private O current;
+
+			@Override
+			public boolean hasNext() {
+				return iterator.hasNext();
+			}
+
+			@Override
+			public O next() {
+				current = iterator.next();
+
+				return current;
+			}
+
+			@Override
+			public void remove() {
+				iterator.remove();
+				removeFromIndexes(current);
+			}
+		};
+	}
+
+	/**
+	 * Creates a plan for a query of the objects in this collection that match
+	 * a certain predicate. The plan is based on the current indexes and index
+	 * statistics of this collection. It can be executed multiple times with
+	 * {@link QueryPlan#execute()} but should be recreated after significant
+	 * modifications of this collection.
+	 *
+	 * @param criteria The predicate that objects must match
+	 * @return The query plan
+	 * @see QueryPlan
+	 */
+	public QueryPlan<O> plan(Predicate<? super O> criteria) {
+		return new QueryPlan<>(this, criteria);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public boolean remove(Object object) {
+		boolean removed = objects.remove(object);
+
+		if (removed) {
+			removeFromIndexes((O) object);
+		}
+
+		return removed;
+	}
+
+	/**
+	 * Returns all objects in this collection that match a certain predicate.
+	 * Indexes will be used to evaluate the predicate where possible. See
+	 * {@link QueryPlan} for details.
+	 *
+	 * @param criteria The predicate that objects must match
+	 * @return A new list containing the matching objects
+	 */
+	public List<O> select(Predicate<? super O> criteria) {
+		return plan(criteria).execute();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int size() {
+		return objects.size();
+	}
+
+	/**
+	 * Overridden to return the spliterator of the internal set which (other
+	 * than the default implementation) supports efficient parallel streams.
+	 *
+	 * @see AbstractCollection#spliterator()
+	 */
+	@Override
+	public Spliterator<O> spliterator() {
+		return objects.spliterator();
+	}
+
+	/**
+	 * Creates a new index for a certain relation type. The default
+	 * implementation returns a {@link SortedIndex} if the type has the flag
+	 * {@link MetaTypes#ORDERED} and a comparable datatype and a {@link
+	 * HashIndex} otherwise. The index will be unique if the type has the flag
+	 * {@link MetaTypes#UNIQUE}. Subclasses can override this method to create
+	 * other index implementations.
+	 *
+	 * @param type The relation type to create the index for
+	 * @return The new index
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	protected <T> RelationIndex<O, T> newIndex(RelationType<T> type) {
+		boolean unique = type.hasFlag(MetaTypes.UNIQUE);
+
+		if (type.hasFlag(MetaTypes.ORDERED) &&
+			Comparable.class.isAssignableFrom(type.getTargetType())) {
+			return new SortedIndex(type, unique);
+		} else {
+			return new HashIndex<>(type, unique);
+		}
+	}
+
+	/**
+	 * Adds the relation value of an object to an index.
+	 *
+	 * @param index  The index
+	 * @param object The object
+	 */
+	private <T> void addToIndex(RelationIndex<O, T> index, O object) {
+		RelationType<T> type = index.getType();
+
+		if (object.hasRelation(type)) {
+			index.add(object, object.get(type));
+		}
+	}
+
+	/**
+	 * Registers a new index and fills it with the values of all objects in
+	 * this collection.
+	 *
+	 * @param index The index to register
+	 * @throws IllegalArgumentException If the index type is private
+	 */
+	private <T> void registerIndex(RelationIndex<O, T> index) {
+		RelationType<T> type = index.getType();
+
+		if (type.isPrivate()) {
+			throw new IllegalArgumentException(
+				"Private types cannot be indexed: " + type);
+		}
+
+		for (O object : objects) {
+			addToIndex(index, object);
+		}
+
+		EventHandler<RelationBatchEvent> batchUpdater =
+			batch -> updateIndexes(type, batch);
+
+		indexes.put(type, index);
+		batchUpdaters.put(type, batchUpdater);
+		type.get(ListenerTypes.RELATION_TYPE_LISTENERS).add(indexUpdater);
+		type.get(ListenerTypes.RELATION_TYPE_BATCH_LISTENERS).add(batchUpdater);
+	}
+
+	/**
+	 * Removes the relation value of an object from an index.
+	 *
+	 * @param index  The index
+	 * @param object The object
+	 */
+	private <T> void removeFromIndex(RelationIndex<O, T> index, O object) {
+		RelationType<T> type = index.getType();
+
+		if (object.hasRelation(type)) {
+			index.remove(object, object.get(type));
+		}
+	}
+
+	/**
+	 * Removes the relation values of an object from all indexes.
+	 *
+	 * @param object The object
+	 */
+	private void removeFromIndexes(O object) {
+		for (RelationIndex<O, ?> index : indexes.values()) {
+			removeFromIndex(index, object);
+		}
+	}
+
+	/**
+	 * Updates the index of a relation type from a relation event. This is
+	 * invoked before the relation is modified and will therefore prevent the
+	 * modification if the index rejects it.
+	 *
+	 * @param event The relation event
+	 */
+	@SuppressWarnings("unchecked")
+	private <T> void updateIndex(RelationEvent<T> event) {
+		Relatable source = event.getSource();
+
+		if (objects.contains(source)) {
+			updateIndex((O) source, event, false);
+		}
+	}
+
+	/**
+	 * Updates or reverts the update of the index of a relation type from a
+	 * relation event.
+	 *
+	 * @param object The object the event has occurred on
+	 * @param event  The relation event
+	 * @param revert TRUE to revert a previous update from the event
+	 */
+	private <T> void updateIndex(O object, RelationEvent<T> event,
+		boolean revert) {
+		Relation<T> relation = event.getElement();
+		RelationIndex<O, T> index = getIndex(relation.getType());
+		T target = relation.getTarget();
+
+		switch (event.getType()) {
+			case ADD:
+				if (revert) {
+					index.remove(object, target);
+				} else {
+					index.add(object, target);
+				}
+
+				break;
+
+			case UPDATE:
+				if (revert) {
+					index.update(object, event.getUpdateValue(), target);
+				} else {
+					index.update(object, target, event.getUpdateValue());
+				}
+
+				break;
+
+			case REMOVE:
+				if (revert) {
+					index.add(object, target);
+				} else {
+					index.remove(object, target);
+				}
+
+				break;
+
+			default:
+				// REMOVE_ALL is not used for relations
+		}
+	}
+
+	/**
+	 * Updates the indexes from the events of a bulk modification before it
+	 * is applied. The batch is dispatched to the batch listeners of each
+	 * modified indexed type but will only be processed for the first of
+	 * these types. If an index rejects a modification the updates of all
+	 * indexes from the batch will be reverted so that the modification is
+	 * prevented completely.
+	 *
+	 * @param type  The indexed type the batch has been dispatched for
+	 * @param batch The batch event
+	 */
+	@SuppressWarnings("unchecked")
+	private void updateIndexes(RelationType<?> type,
+		RelationBatchEvent batch) {
+		Relatable source = batch.getSource();
+
+		if (objects.contains(source)) {
+			O object = (O) source;
+			List<RelationEvent<?>> events = new ArrayList<>();
+
+			for (RelationEvent<?> event : batch.getEvents()) {
+				if (indexes.containsKey(event.getElement().getType())) {
+					events.add(event);
+				}
+			}
+
+			if (!events.isEmpty() &&
+				events.get(0).getElement().getType() == type) {
+				int updated = 0;
+
+				try {
+					for (RelationEvent<?> event : events) {
+						updateIndex(object, event, false);
+						updated++;
+					}
+				} catch (RuntimeException e) {
+					while (updated > 0) {
+						updateIndex(object, events.get(--updated), true);
+					}
+
+					throw e;
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,766 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import de.esoco.lib.expression.Predicate;
+import de.esoco.lib.expression.Predicates.And;
+import de.esoco.lib.expression.Predicates.Or;
+import de.esoco.lib.expression.predicate.Comparison;
+import de.esoco.lib.expression.predicate.Comparison.ElementOf;
+import de.esoco.lib.expression.predicate.Comparison.EqualTo;
+import de.esoco.lib.expression.predicate.Comparison.GreaterOrEqual;
+import de.esoco.lib.expression.predicate.Comparison.GreaterThan;
+import de.esoco.lib.expression.predicate.Comparison.LessOrEqual;
+import de.esoco.lib.expression.predicate.Comparison.LessThan;
+import de.esoco.lib.expression.predicate.Comparison.SameAs;
+import de.esoco.lib.expression.predicate.ElementPredicate;
+import de.esoco.lib.expression.predicate.PredicateJoin;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelationType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static de.esoco.lib.expression.Predicates.ifRelation;
+
+/**
+ * The execution plan of a query for the objects in an {@link
+ * IndexedCollection} that match a certain predicate. Instances are created
+ * with {@link IndexedCollection#plan(Predicate)}. The plan inspects the
+ * predicate tree and recognizes the following elements:
+ *
+ * <ul>
+ *   <li>{@link ElementPredicate ElementPredicates} for relation types (e.g.
+ *     created by {@link RelationType#is(Predicate)}) that evaluate the
+ *     relation value with a {@link Comparison}: equality and {@link ElementOf}
+ *     comparisons are resolved with any index of the type, the comparisons
+ *     {@link GreaterThan}, {@link GreaterOrEqual}, {@link LessThan}, and
+ *     {@link LessOrEqual} with a {@link SortedIndex}. Multiple range
+ *     comparisons of the same type are merged into a single range query.</li>
+ *   <li>{@link And} joins which are split into separate conjuncts.</li>
+ *   <li>{@link Or} joins which are resolved as the union of the index lookups
+ *     of both sides if both can be resolved from indexes.</li>
+ * </ul>
+ *
+ * <p>From the index lookups of all conjuncts the one with the smallest
+ * estimated result size will be used to determine the candidate objects. The
+ * remaining conjuncts are then evaluated on the candidates in the order of
+ * their estimated selectivity so that the most restrictive conditions are
+ * tested first. If no index can be used the collection will be scanned, in
+ * parallel if it has at least {@link #PARALLEL_SCAN_THRESHOLD} elements.
+ * Parallel scans require that the evaluation of the query predicate doesn't
+ * modify the scanned objects. This is not the case for relation types with
+ * an initial value which create relations on access. Therefore a scan will
+ * only be parallel if the predicate consists solely of the elements above
+ * and doesn't refer to relation types with an initial value.</p>
+ *
+ * <p>Only the exact classes of the recognized predicates are resolved with
+ * indexes. Subclasses may override the evaluation and will therefore always
+ * be evaluated as filters.</p>
+ *
+ * <p>Because indexes don't contain objects without the indexed relation,
+ * indexes will only be used for relation types without a default or initial
+ * value. The result of a query is always the same as that of filtering the
+ * collection with the query predicate although the order of the result may
+ * differ.</p>
+ *
+ * @author eso
+ */
+public class QueryPlan<O extends Relatable> {
+
+	/**
+	 * The minimum collection size for which unindexed queries will be
+	 * performed as a parallel scan.
+	 */
+	public static final int PARALLEL_SCAN_THRESHOLD = 10_000;
+
+	private static final double EQUALITY_SELECTIVITY = 0.1;
+
+	private static final double RANGE_SELECTIVITY = 1.0 / 3;
+
+	private static final double DEFAULT_SELECTIVITY = 0.5;
+
+	private final IndexedCollection<O> collection;
+
+	private final Predicate<? super O> criteria;
+
+	private final Access<O> access;
+
+	private final boolean parallel;
+
+	private final List<Predicate<? super O>> filters = new ArrayList<>();
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param collection The collection to query
+	 * @param criteria   The predicate that objects must match
+	 */
+	QueryPlan(IndexedCollection<O> collection, Predicate<? super O> criteria) {
+		this.collection = collection;
+		this.criteria = criteria;
+
+		List<Predicate<? super O>> conjuncts = new ArrayList<>();
+
+		addConjuncts(criteria, conjuncts);
+		access = selectAccess(conjuncts);
+
+		for (Predicate<? super O> conjunct : conjuncts) {
+			if (access == null || !access.exact ||
+				!access.covered.contains(conjunct)) {
+				filters.add(conjunct);
+			}
+		}
+
+		Map<Predicate<?>, Double> selectivities = new IdentityHashMap<>();
+
+		for (Predicate<? super O> filter : filters) {
+			selectivities.put(filter, estimateSelectivity(filter));
+		}
+
+		filters.sort(Comparator.comparing(selectivities::get));
+
+		parallel = access == null &&
+			collection.size() >= PARALLEL_SCAN_THRESHOLD &&
+			isParallelSafe(criteria);
+	}
+
+	/**
+	 * Executes this query plan.
+	 *
+	 * @return A new list containing the matching objects
+	 */
+	public List<O> execute() {
+		Stream<O> candidates;
+
+		if (access != null) {
+			candidates = access.lookup.get().stream();
+		} else if (parallel) {
+			candidates = collection.parallelStream();
+		} else {
+			candidates = collection.stream();
+		}
+
+		if (!filters.isEmpty()) {
+			candidates = candidates.filter(this::matchesFilters);
+		}
+
+		return candidates.collect(Collectors.toList());
+	}
+
+	/**
+	 * Returns the query predicate.
+	 *
+	 * @return The query predicate
+	 */
+	public final Predicate<? super O> getCriteria() {
+		return criteria;
+	}
+
+	/**
+	 * Returns the estimated number of candidate objects that will be
+	 * evaluated by this plan.
+	 *
+	 * @return The estimated candidate count
+	 */
+	public int getEstimatedCandidates() {
+		return access != null ? access.estimate : collection.size();
+	}
+
+	/**
+	 * Returns the predicates that will be evaluated on the candidate objects
+	 * in the order of evaluation.
+	 *
+	 * @return The filter predicates
+	 */
+	public List<Predicate<? super O>> getFilters() {
+		return Collections.unmodifiableList(filters);
+	}
+
+	/**
+	 * Checks whether this plan uses indexes to determine the candidate
+	 * objects.
+	 *
+	 * @return TRUE for an index lookup, FALSE for a collection scan
+	 */
+	public boolean isIndexed() {
+		return access != null;
+	}
+
+	/**
+	 * Checks whether this plan scans the collection in parallel.
+	 *
+	 * @return TRUE for a parallel collection scan
+	 */
+	public boolean isParallel() {
+		return parallel;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s[%s, filter %s]",
+			getClass().getSimpleName(),
+			access != null ? access :
+			(parallel ? "parallel scan " : "scan ") + collection.size(),
+			filters);
+	}
+
+	/**
+	 * Adds the conjuncts of a predicate to a list by splitting logical AND
+	 * joins. This includes joins in the value predicates of relation element
+	 * predicates.
+	 *
+	 * @param predicate The predicate to split
+	 * @param conjuncts The list of conjuncts
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void addConjuncts(Predicate<? super O> predicate,
+		List<Predicate<? super O>> conjuncts) {
+		RelationType<?> type = relationTypeOf(predicate);
+
+		if (is(predicate, And.class)) {
+			And<? super O> and = (And<? super O>) predicate;
+
+			addConjuncts((Predicate<? super O>) and.getLeft(), conjuncts);
+			addConjuncts((Predicate<? super O>) and.getRight(), conjuncts);
+		} else if (type != null && is(valuePredicateOf(predicate), And.class)) {
+			And<?> and = (And<?>) valuePredicateOf(predicate);
+
+			addConjuncts(ifRelation((RelationType) type, and.getLeft()),
+				conjuncts);
+			addConjuncts(ifRelation((RelationType) type, and.getRight()),
+				conjuncts);
+		} else {
+			conjuncts.add(predicate);
+		}
+	}
+
+	/**
+	 * Creates the index access for a single conjunct.
+	 *
+	 * @param predicate The predicate to create the access for
+	 * @return The index access or NULL if the predicate cannot be resolved
+	 * with indexes
+	 */
+	private Access<O> analyze(Predicate<?> predicate) {
+		RelationType<?> type = relationTypeOf(predicate);
+		Access<O> result = null;
+
+		if (type != null) {
+			result = analyzeValue(predicate, type, valuePredicateOf(predicate));
+		} else if (is(predicate, Or.class)) {
+			Or<?> or = (Or<?>) predicate;
+			Access<O> left = analyze(or.getLeft());
+			Access<O> right = analyze(or.getRight());
+
+			if (left != null && right != null) {
+				result = new Access<>(predicate, left + " | " + right,
+					left.estimate + right.estimate, left.exact && right.exact,
+					() -> union(left.lookup.get(), right.lookup.get()));
+			}
+		} else if (is(predicate, And.class)) {
+			And<?> and = (And<?>) predicate;
+			Access<O> left = analyze(and.getLeft());
+			Access<O> right = analyze(and.getRight());
+
+			result = left == null || (right != null &&
+				right.estimate < left.estimate) ? right : left;
+
+			if (result != null) {
+				result = new Access<>(predicate, result.description,
+					result.estimate, false, result.lookup);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Creates the index access for the comparison of a relation value.
+	 *
+	 * @param predicate  The element predicate
+	 * @param type       The relation type
+	 * @param comparison The comparison of the relation value
+	 * @return The index access or NULL if no index can be used
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private <T> Access<O> analyzeValue(Predicate<?> predicate,
+		RelationType<T> type, Predicate<?> comparison) {
+		RelationIndex<O, T> index = usableIndex(type);
+		Access<O> result = null;
+
+		if (index != null) {
+			int perValue = estimatePerValue(index);
+
+			if (is(comparison, EqualTo.class)) {
+				T value = (T) ((EqualTo<?>) comparison).getRightValue();
+
+				if (value != null) {
+					result = new Access<>(predicate, predicate.toString(),
+						perValue, true, () -> index.find(value));
+				}
+			} else if (is(comparison, ElementOf.class)) {
+				Collection<T> values =
+					(Collection<T>) ((ElementOf<?>) comparison).getRightValue();
+
+				if (!containsNull(values)) {
+					result = new Access<>(predicate, predicate.toString(),
+						perValue * values.size(), true, () -> {
+						Set<O> objects = newIdentitySet();
+
+						for (T value : values) {
+							objects.addAll(index.find(value));
+						}
+
+						return objects;
+					});
+				}
+			} else {
+				Map<RelationType<?>, RangeBounds<?>> range =
+					new LinkedHashMap<>();
+
+				if (addRangeBound(predicate, range)) {
+					result = range.get(type).toAccess();
+				}
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Tries to add a conjunct to the range queries of sorted indexes.
+	 *
+	 * @param conjunct The conjunct
+	 * @param ranges   The range bounds of the relation types
+	 * @return TRUE if the conjunct has been added as a range bound
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private boolean addRangeBound(Predicate<?> conjunct,
+		Map<RelationType<?>, RangeBounds<?>> ranges) {
+		RelationType<?> type = relationTypeOf(conjunct);
+
+		if (type == null || !(usableIndex(type) instanceof SortedIndex)) {
+			return false;
+		}
+
+		Predicate<?> comparison = valuePredicateOf(conjunct);
+
+		if (!(comparison instanceof Comparison)) {
+			return false;
+		}
+
+		Comparable value =
+			(Comparable) ((Comparison<?, ?>) comparison).getRightValue();
+		boolean lower = is(comparison, GreaterThan.class) ||
+			is(comparison, GreaterOrEqual.class);
+		boolean upper = is(comparison, LessThan.class) ||
+			is(comparison, LessOrEqual.class);
+
+		if (value == null || !(lower || upper)) {
+			return false;
+		}
+
+		RangeBounds bounds = ranges.computeIfAbsent(type,
+			t -> new RangeBounds((SortedIndex) usableIndex(t)));
+
+		bounds.add(conjunct, value, lower,
+			is(comparison, GreaterOrEqual.class) ||
+				is(comparison, LessOrEqual.class));
+
+		return true;
+	}
+
+	/**
+	 * Checks whether a collection contains NULL values. Other than {@link
+	 * Collection#contains(Object)} this also works with collections that
+	 * reject NULL queries.
+	 *
+	 * @param values The collection to check
+	 * @return TRUE if the collection contains NULL
+	 */
+	private boolean containsNull(Collection<?> values) {
+		for (Object value : values) {
+			if (value == null) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Estimates the average number of objects per value in an index.
+	 *
+	 * @param index The index
+	 * @return The estimated number of objects
+	 */
+	private int estimatePerValue(RelationIndex<O, ?> index) {
+		int values = index.getValueCount();
+
+		return index.isUnique() || values == 0 ? 1 :
+		       (collection.size() + values - 1) / values;
+	}
+
+	/**
+	 * Estimates the fraction of objects that match a certain predicate.
+	 *
+	 * @param predicate The predicate
+	 * @return The estimated selectivity from 0 to 1
+	 */
+	private double estimateSelectivity(Predicate<?> predicate) {
+		double selectivity = DEFAULT_SELECTIVITY;
+
+		if (is(predicate, And.class)) {
+			And<?> and = (And<?>) predicate;
+
+			selectivity = estimateSelectivity(and.getLeft()) *
+				estimateSelectivity(and.getRight());
+		} else if (is(predicate, Or.class)) {
+			Or<?> or = (Or<?>) predicate;
+			double left = estimateSelectivity(or.getLeft());
+			double right = estimateSelectivity(or.getRight());
+
+			selectivity = left + right - left * right;
+		} else if (relationTypeOf(predicate) != null) {
+			RelationType<?> type = relationTypeOf(predicate);
+			Predicate<?> comparison = valuePredicateOf(predicate);
+			RelationIndex<O, ?> index = collection.getIndex(type);
+			double equality = EQUALITY_SELECTIVITY;
+
+			if (index != null && collection.size() > 0) {
+				equality = (double) estimatePerValue(index) / collection.size();
+			}
+
+			if (is(comparison, EqualTo.class) || is(comparison, SameAs.class)) {
+				selectivity = equality;
+			} else if (is(comparison, ElementOf.class)) {
+				selectivity = Math.min(1, equality *
+					((ElementOf<?>) comparison).getRightValue().size());
+			} else if (is(comparison, GreaterThan.class) ||
+				is(comparison, GreaterOrEqual.class) ||
+				is(comparison, LessThan.class) ||
+				is(comparison, LessOrEqual.class)) {
+				selectivity = RANGE_SELECTIVITY;
+			}
+		}
+
+		return selectivity;
+	}
+
+	/**
+	 * Checks whether a predicate is an instance of exactly a certain class.
+	 * Subclasses are not accepted because they may override the evaluation.
+	 *
+	 * @param predicate      The predicate to check
+	 * @param predicateClass The predicate class
+	 * @return TRUE if the predicate has exactly the given class
+	 */
+	private boolean is(Predicate<?> predicate, Class<?> predicateClass) {
+		return predicate != null && predicate.getClass() == predicateClass;
+	}
+
+	/**
+	 * Checks whether a predicate can be evaluated in parallel without
+	 * modifying the evaluated objects. This is only the case for joins of
+	 * relation predicates with types that have no initial value.
+	 *
+	 * @param predicate The predicate to check
+	 * @return TRUE if the predicate can be evaluated in parallel
+	 */
+	private boolean isParallelSafe(Predicate<?> predicate) {
+		RelationType<?> type = relationTypeOf(predicate);
+		boolean safe;
+
+		if (type != null) {
+			safe = type.getInitialValueFunction() == null;
+		} else if (is(predicate, And.class) || is(predicate, Or.class)) {
+			PredicateJoin<?> join = (PredicateJoin<?>) predicate;
+
+			safe = isParallelSafe(join.getLeft()) &&
+				isParallelSafe(join.getRight());
+		} else {
+			safe = false;
+		}
+
+		return safe;
+	}
+
+	/**
+	 * Evaluates the filter predicates of this plan on an object.
+	 *
+	 * @param object The object to evaluate
+	 * @return TRUE if all filters match
+	 */
+	private boolean matchesFilters(O object) {
+		for (Predicate<? super O> filter : filters) {
+			if (!filter.evaluate(object)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns a new set with identity comparison of objects.
+	 *
+	 * @return The new set
+	 */
+	private Set<O> newIdentitySet() {
+		return Collections.newSetFromMap(new IdentityHashMap<>());
+	}
+
+	/**
+	 * Returns the relation type of a relation element predicate.
+	 *
+	 * @param predicate The predicate
+	 * @return The relation type or NULL if the predicate is not a relation
+	 * element predicate
+	 */
+	private RelationType<?> relationTypeOf(Predicate<?> predicate) {
+		if (is(predicate, ElementPredicate.class)) {
+			Object element =
+				((ElementPredicate<?, ?>) predicate).getElementDescriptor();
+
+			if (element instanceof RelationType) {
+				return (RelationType<?>) element;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * Selects the index access with the smallest estimated result from a list
+	 * of conjuncts.
+	 *
+	 * @param conjuncts The conjuncts
+	 * @return The selected access or NULL if no index can be used
+	 */
+	@SuppressWarnings("unchecked")
+	private Access<O> selectAccess(List<Predicate<? super O>> conjuncts) {
+		Map<RelationType<?>, RangeBounds<?>> ranges = new LinkedHashMap<>();
+		List<Access<O>> accesses = new ArrayList<>();
+
+		for (Predicate<? super O> conjunct : conjuncts) {
+			if (!addRangeBound(conjunct, ranges)) {
+				Access<O> conjunctAccess = analyze(conjunct);
+
+				if (conjunctAccess != null) {
+					accesses.add(conjunctAccess);
+				}
+			}
+		}
+
+		for (RangeBounds<?> bounds : ranges.values()) {
+			accesses.add(bounds.toAccess());
+		}
+
+		return accesses
+			.stream()
+			.min(Comparator.comparingInt(a -> a.estimate))
+			.orElse(null);
+	}
+
+	/**
+	 * Returns the union of two object collections.
+	 *
+	 * @param first  The first collection
+	 * @param second The second collection
+	 * @return A new set containing the objects of both collections
+	 */
+	private Collection<O> union(Collection<O> first, Collection<O> second) {
+		Set<O> objects = newIdentitySet();
+
+		objects.addAll(first);
+		objects.addAll(second);
+
+		return objects;
+	}
+
+	/**
+	 * Returns the index of a relation type if it can be used for queries.
+	 *
+	 * @param type The relation type
+	 * @return The index or NULL if the type has no index or a default or
+	 * initial value
+	 */
+	private <T> RelationIndex<O, T> usableIndex(RelationType<T> type) {
+		if (type.getDefaultValueFunction() != null ||
+			type.getInitialValueFunction() != null) {
+			return null;
+		}
+
+		return collection.getIndex(type);
+	}
+
+	/**
+	 * Returns the value predicate of a relation element predicate.
+	 *
+	 * @param predicate The element predicate
+	 * @return The value predicate
+	 */
+	private Predicate<?> valuePredicateOf(Predicate<?> predicate) {
+		return ((ElementPredicate<?, ?>) predicate).getPredicate();
+	}
+
+	/**
+	 * Describes the lookup of candidate objects from indexes.
+	 *
+	 * @author eso
+	 */
+	private static class Access<O> {
+
+		final List<Predicate<?>> covered = new ArrayList<>();
+
+		final String description;
+
+		final int estimate;
+
+		final boolean exact;
+
+		final Supplier<Collection<O>> lookup;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param predicate   The predicate resolved by this access
+		 * @param description The access description
+		 * @param estimate    The estimated number of resulting objects
+		 * @param exact       TRUE if the lookup result exactly matches the
+		 *                    predicate, FALSE if it is a superset
+		 * @param lookup      Performs the index lookup
+		 */
+		Access(Predicate<?> predicate, String description, int estimate,
+			boolean exact, Supplier<Collection<O>> lookup) {
+			this.description = description;
+			this.estimate = estimate;
+			this.exact = exact;
+			this.lookup = lookup;
+
+			if (predicate != null) {
+				covered.add(predicate);
+			}
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return String.format("index %s ~%d", description, estimate);
+		}
+	}
+
+	/**
+	 * Collects the range bounds of a relation type with a sorted index.
+	 *
+	 * @author eso
+	 */
+	private class RangeBounds<T extends Comparable<T>> {
+
+		private final SortedIndex<O, T> index;
+
+		private final List<Predicate<?>> conjuncts = new ArrayList<>();
+
+		private T from = null;
+
+		private T to = null;
+
+		private boolean fromInclusive = true;
+
+		private boolean toInclusive = true;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param index The sorted index
+		 */
+		RangeBounds(SortedIndex<O, T> index) {
+			this.index = index;
+		}
+
+		/**
+		 * Adds a bound and keeps the most restrictive one.
+		 *
+		 * @param conjunct  The conjunct that defines the bound
+		 * @param value     The bound value
+		 * @param lower     TRUE for a lower, FALSE for an upper bound
+		 * @param inclusive TRUE if the bound is inclusive
+		 */
+		void add(Predicate<?> conjunct, T value, boolean lower,
+			boolean inclusive) {
+			conjuncts.add(conjunct);
+
+			if (lower) {
+				int c = from != null ? value.compareTo(from) : 1;
+
+				if (c > 0 || (c == 0 && !inclusive)) {
+					from = value;
+					fromInclusive = inclusive;
+				}
+			} else {
+				int c = to != null ? value.compareTo(to) : -1;
+
+				if (c < 0 || (c == 0 && !inclusive)) {
+					to = value;
+					toInclusive = inclusive;
+				}
+			}
+		}
+
+		/**
+		 * Creates the index access for the range.
+		 *
+		 * @return The index access
+		 */
+		Access<O> toAccess() {
+			double selectivity = RANGE_SELECTIVITY;
+
+			if (from != null && to != null) {
+				selectivity *= RANGE_SELECTIVITY;
+			}
+
+			String description =
+				String.format("%s%s, %s%s %s", fromInclusive ? "[" : "(",
+					from != null ? from : "", to != null ? to : "",
+					toInclusive ? "]" : ")", index.getType());
+
+			Access<O> access = new Access<>(null, description,
+				(int) Math.ceil(collection.size() * selectivity), true,
+				() -> index.findRange(from, fromInclusive, to, toInclusive));
+
+			access.covered.addAll(conjuncts);
+
+			return access;
+		}
+	}
+}
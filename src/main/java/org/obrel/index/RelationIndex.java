@@ -0,0 +1,154 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import org.obrel.core.Relatable;
+import org.obrel.core.RelationType;
+
+import java.util.Collection;
+
+/**
+ * The base class for indexes that map the target values of relations with a
+ * certain type to the objects that contain these relations. Indexes are
+ * maintained by an {@link IndexedCollection} and should not be modified
+ * directly. NULL values are not indexed.
+ *
+ * <p>If an index is unique it will reject the indexing of a value that is
+ * already mapped to another object by throwing an {@link
+ * IllegalStateException}.</p>
+ *
+ * @author eso
+ */
+public abstract class RelationIndex<O extends Relatable, T> {
+
+	private final RelationType<T> type;
+
+	private final boolean unique;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param type   The relation type to index
+	 * @param unique TRUE if each value may only be mapped to a single object
+	 */
+	protected RelationIndex(RelationType<T> type, boolean unique) {
+		this.type = type;
+		this.unique = unique;
+	}
+
+	/**
+	 * Returns all objects that are mapped to a certain value.
+	 *
+	 * @param value The value to search
+	 * @return An unmodifiable collection of the matching objects (empty for
+	 * none)
+	 */
+	public abstract Collection<O> find(T value);
+
+	/**
+	 * Returns the number of distinct values in this index.
+	 *
+	 * @return The value count
+	 */
+	public abstract int getValueCount();
+
+	/**
+	 * Returns the relation type of this index.
+	 *
+	 * @return The relation type
+	 */
+	public final RelationType<T> getType() {
+		return type;
+	}
+
+	/**
+	 * Checks whether this index maps each value to only a single object.
+	 *
+	 * @return TRUE if this is a unique index
+	 */
+	public final boolean isUnique() {
+		return unique;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return String.format("%s[%s, %d values]", getClass().getSimpleName(),
+			type, getValueCount());
+	}
+
+	/**
+	 * Adds the mapping of a value to an object.
+	 *
+	 * @param object The object
+	 * @param value  The value (NULL will be ignored)
+	 * @throws IllegalStateException If the index is unique and the value is
+	 *                               already mapped to another object
+	 */
+	protected abstract void add(O object, T value);
+
+	/**
+	 * Removes all mappings from this index.
+	 */
+	protected abstract void clear();
+
+	/**
+	 * Removes the mapping of a value to an object.
+	 *
+	 * @param object The object
+	 * @param value  The value (NULL will be ignored)
+	 */
+	protected abstract void remove(O object, T value);
+
+	/**
+	 * Throws an exception if this index is unique and already contains a
+	 * mapping of a value to another object. This is invoked before updates so
+	 * that invalid updates can be rejected.
+	 *
+	 * @param object The object to be mapped to the value
+	 * @param value  The value
+	 * @throws IllegalStateException If the unique constraint is violated
+	 */
+	protected void checkUnique(O object, T value) {
+		if (unique && value != null) {
+			for (O existing : find(value)) {
+				if (existing != object) {
+					throw new IllegalStateException(
+						String.format("Duplicate value for unique type %s: %s",
+							type, value));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Updates the mapping of an object from one value to another.
+	 *
+	 * @param object   The object
+	 * @param oldValue The previous value
+	 * @param newValue The new value
+	 * @throws IllegalStateException If the index is unique and the new value
+	 *                               is already mapped to another object
+	 */
+	protected void update(O object, T oldValue, T newValue) {
+		checkUnique(object, newValue);
+		remove(object, oldValue);
+		add(object, newValue);
+	}
+}
@@ -0,0 +1,310 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import de.esoco.lib.datatype.Range;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelationType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * A relation index that keeps the relation values in sorted order. Besides
+ * lookups of single values in logarithmic time it supports range queries
+ * that return the matching objects in the order of their values with a
+ * complexity of O(log n + k) for k results. It is backed by a {@link
+ * ConcurrentSkipListMap} that contains a separate entry for each indexed
+ * object. The entries are sorted by value and then by the order in which
+ * the objects have been indexed. Therefore adding or removing an object
+ * takes logarithmic time, independent of the number of objects that share
+ * the same value, and queries can be performed concurrently to
+ * (single-threaded) modifications of the index.
+ *
+ * @author eso
+ */
+public class SortedIndex<O extends Relatable, T extends Comparable<T>>
+	extends RelationIndex<O, T> {
+
+	private final NavigableMap<Key<T>, O> entries =
+		new ConcurrentSkipListMap<>();
+
+	private final Map<O, Key<T>> keys = new IdentityHashMap<>();
+
+	private long nextSequence = 0;
+
+	private int valueCount = 0;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @see RelationIndex#RelationIndex(RelationType, boolean)
+	 */
+	public SortedIndex(RelationType<T> type, boolean unique) {
+		super(type, unique);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Collection<O> find(T value) {
+		if (value == null) {
+			return Collections.emptyList();
+		}
+
+		return Collections.unmodifiableList(new ArrayList<>(
+			entries.subMap(first(value), true, last(value), true).values()));
+	}
+
+	/**
+	 * Returns all objects with a value in a certain range. The range bounds
+	 * are inclusive, independent of the range direction. The result will be
+	 * in the range direction while objects with the same value keep the order
+	 * in which they have been indexed.
+	 *
+	 * @param range The range to search
+	 * @return An unmodifiable list of the matching objects
+	 */
+	public List<O> findRange(Range<T> range) {
+		T start = range.getStart();
+		T end = range.getEnd();
+
+		if (range.isAscending()) {
+			return findRange(start, true, end, true);
+		} else {
+			NavigableMap<Key<T>, O> matches =
+				entries.subMap(first(end), true, last(start), true);
+			List<O> result = new ArrayList<>();
+			Key<T> key = matches.isEmpty() ? null : matches.lastKey();
+
+			while (key != null) {
+				Key<T> first = first(key.value);
+
+				result.addAll(matches.subMap(first, true, key, true).values());
+				key = matches.lowerKey(first);
+			}
+
+			return Collections.unmodifiableList(result);
+		}
+	}
+
+	/**
+	 * Returns all objects with a value between certain bounds in ascending
+	 * order of their values.
+	 *
+	 * @param from          The lower bound or NULL for no lower bound
+	 * @param fromInclusive TRUE if the lower bound is inclusive
+	 * @param to            The upper bound or NULL for no upper bound
+	 * @param toInclusive   TRUE if the upper bound is inclusive
+	 * @return An unmodifiable list of the matching objects
+	 */
+	public List<O> findRange(T from, boolean fromInclusive, T to,
+		boolean toInclusive) {
+		NavigableMap<Key<T>, O> range = entries;
+
+		if (from != null && to != null) {
+			int comparison = from.compareTo(to);
+
+			if (comparison > 0 ||
+				comparison == 0 && !(fromInclusive && toInclusive)) {
+				return Collections.emptyList();
+			}
+		}
+
+		if (from != null) {
+			range = range.tailMap(fromInclusive ? first(from) : last(from),
+				fromInclusive);
+		}
+
+		if (to != null) {
+			range = range.headMap(toInclusive ? last(to) : first(to),
+				toInclusive);
+		}
+
+		return Collections.unmodifiableList(new ArrayList<>(range.values()));
+	}
+
+	/**
+	 * Returns the largest value in this index.
+	 *
+	 * @return The maximum value or NULL if the index is empty
+	 */
+	public T getMaximum() {
+		Map.Entry<Key<T>, O> last = entries.lastEntry();
+
+		return last != null ? last.getKey().value : null;
+	}
+
+	/**
+	 * Returns the smallest value in this index.
+	 *
+	 * @return The minimum value or NULL if the index is empty
+	 */
+	public T getMinimum() {
+		Map.Entry<Key<T>, O> first = entries.firstEntry();
+
+		return first != null ? first.getKey().value : null;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public int getValueCount() {
+		return valueCount;
+	}
+
+	/**
+	 * Returns all indexed objects in the order of their values.
+	 *
+	 * @return An unmodifiable list of all indexed objects
+	 */
+	public List<O> sorted() {
+		return findRange(null, true, null, true);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void add(O object, T value) {
+		if (value != null) {
+			Key<T> key = keys.get(object);
+
+			if (key != null && key.value.compareTo(value) == 0) {
+				return;
+			}
+
+			checkUnique(object, value);
+
+			if (key != null) {
+				remove(object, key.value);
+			}
+
+			if (!containsValue(value)) {
+				valueCount++;
+			}
+
+			key = new Key<>(value, nextSequence++);
+			keys.put(object, key);
+			entries.put(key, object);
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void clear() {
+		entries.clear();
+		keys.clear();
+		valueCount = 0;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void remove(O object, T value) {
+		Key<T> key = keys.get(object);
+
+		if (value != null && key != null && key.value.compareTo(value) == 0) {
+			keys.remove(object);
+			entries.remove(key);
+
+			if (!containsValue(value)) {
+				valueCount--;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether this index contains at least one object with a certain
+	 * value.
+	 *
+	 * @param value The value to check
+	 * @return TRUE if the value is mapped to an object
+	 */
+	private boolean containsValue(T value) {
+		Key<T> key = entries.ceilingKey(first(value));
+
+		return key != null && key.value.compareTo(value) == 0;
+	}
+
+	/**
+	 * Returns a key that is sorted before all entries with a certain value.
+	 *
+	 * @param value The value
+	 * @return The lower bound key of the value
+	 */
+	private Key<T> first(T value) {
+		return new Key<>(value, Long.MIN_VALUE);
+	}
+
+	/**
+	 * Returns a key that is sorted after all entries with a certain value.
+	 *
+	 * @param value The value
+	 * @return The upper bound key of the value
+	 */
+	private Key<T> last(T value) {
+		return new Key<>(value, Long.MAX_VALUE);
+	}
+
+	/**
+	 * The key of an index entry that orders the entries by their value and
+	 * then by the sequence in which they have been added.
+	 *
+	 * @author eso
+	 */
+	private static final class Key<T extends Comparable<T>>
+		implements Comparable<Key<T>> {
+
+		final T value;
+
+		final long sequence;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param value    The indexed value
+		 * @param sequence The sequence number of the entry
+		 */
+		Key(T value, long sequence) {
+			this.value = value;
+			this.sequence = sequence;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int compareTo(Key<T> other) {
+			int comparison = value.compareTo(other.value);
+
+			return comparison != 0 ? comparison :
+			       Long.compare(sequence, other.sequence);
+		}
+	}
+}
@@ -228,8 +228,7 @@ public class HtmlSpace extends RelationSpace<String> {
 		StringBuilder html = new StringBuilder();
 
 		relatable
-			.getRelations(null)
-			.stream()
+			.streamRelations()
 			.filter(r -> r.getType() != NAME)
 			.forEach(relation -> {
 				String rendered = renderRelation(url, relation);
@@ -21,6 +21,7 @@ import de.esoco.lib.event.EventHandler;
 import de.esoco.lib.expression.Function;
 import org.obrel.core.Relatable;
 import org.obrel.core.Relation;
+import org.obrel.core.RelationBatchEvent;
 import org.obrel.core.RelationEvent;
 import org.obrel.core.RelationType;
 import org.obrel.core.RelationTypeModifier;
@@ -195,13 +196,22 @@ public abstract class AutomaticType<T> extends RelationType<T>
 	 * this relation type. Depending on the type of the parent object the
 	 * listener will either be registered as a relation type listener, a
 	 * relation update listener, or a relation listener for all other relatable
-	 * objects.
+	 * objects. Relation type listeners and relation listeners will also be
+	 * registered as batch listeners to be notified of bulk modifications.
 	 *
 	 * @param parent   The parent relatable to register the listener on
 	 * @param listener The listener to register
 	 */
 	protected void registerRelationListener(Relatable parent,
 		EventHandler<RelationEvent<?>> listener) {
+		// register the batch listener first because creating it would
+		// otherwise notify the relation listener
+		if (!(parent instanceof Relation)) {
+			parent
+				.get(getBatchListenerType(parent))
+				.add(getBatchForwarder(parent, listener));
+		}
+
 		parent.get(getListenerType(parent)).add(listener);
 	}
 
@@ -215,5 +225,41 @@ public abstract class AutomaticType<T> extends RelationType<T>
 	protected void removeRelationListener(Relatable parent,
 		EventHandler<RelationEvent<?>> listener) {
 		parent.get(getListenerType(parent)).remove(listener);
+
+		if (!(parent instanceof Relation)) {
+			parent
+				.get(getBatchListenerType(parent))
+				.remove(getBatchForwarder(parent, listener));
+		}
+	}
+
+	/**
+	 * Returns the handler that forwards the batch events of bulk
+	 * modifications to a relation listener.
+	 *
+	 * @param parent   The parent relatable of the listener
+	 * @param listener The relation listener
+	 * @return The batch event handler
+	 */
+	private EventHandler<RelationBatchEvent> getBatchForwarder(
+		Relatable parent, EventHandler<RelationEvent<?>> listener) {
+		return parent instanceof RelationType ?
+		       RelationBatchEvent.forwardTo((RelationType<?>) parent,
+			       listener) : RelationBatchEvent.forwardTo(listener);
+	}
+
+	/**
+	 * Returns the batch listener relation type for a parent object that is
+	 * not a relation. Relation update listeners are also notified of bulk
+	 * modifications and therefore need no batch listener.
+	 *
+	 * @param parent The parent relatable
+	 * @return The corresponding batch listener relation type
+	 */
+	private RelationType<EventDispatcher<RelationBatchEvent>>
+	getBatchListenerType(Relatable parent) {
+		return parent instanceof RelationType ?
+		       ListenerTypes.RELATION_TYPE_BATCH_LISTENERS :
+		       ListenerTypes.RELATION_BATCH_LISTENERS;
 	}
 }
@@ -16,8 +16,10 @@
 //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
 package org.obrel.type;
 
-import de.esoco.lib.collection.CollectionUtil;
+import de.esoco.lib.collection.BoundedCollection;
+import de.esoco.lib.collection.BoundedSet;
 import de.esoco.lib.collection.ImmutableCollection;
+import de.esoco.lib.collection.RingBuffer;
 import de.esoco.lib.event.ElementEvent.EventType;
 import de.esoco.lib.expression.BinaryFunction;
 import org.obrel.core.Relatable;
@@ -33,6 +35,9 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
 
+import static org.obrel.core.RelationTypeModifier.PRIVATE;
+import static org.obrel.core.RelationTypeModifier.TRANSIENT;
+import static org.obrel.core.RelationTypes.newType;
 import static org.obrel.type.StandardTypes.MAXIMUM;
 
 /**
@@ -59,7 +64,20 @@ import static org.obrel.type.StandardTypes.MAXIMUM;
  * annotation with the type {@link StandardTypes#MAXIMUM} on the collector
  * relation. The collection will then be limited to the given (positive) number
  * of elements by dropping the oldest (first) element from the collection if the
- * limit is exceeded.</p>
+ * limit is exceeded. To make this a constant-time operation the collected
+ * values will then be stored in a {@link BoundedCollection} (a {@link
+ * RingBuffer} or a {@link BoundedSet} for distinct values). If the limit is
+ * already known when the type is declared the factory methods {@link
+ * #newBoundedCollector(Class, int, BinaryFunction, RelationTypeModifier...)}
+ * and {@link #newBoundedDistinctCollector(Class, int, BinaryFunction,
+ * RelationTypeModifier...)} can be used instead to create bounded collections
+ * from the start.</p>
+ *
+ * <p>If the collected values are numbers aggregate values like the sum or the
+ * average of the current collection can be queried with {@link
+ * #getStatistics(Relatable)}. The statistics are created on the first query
+ * and are then updated incrementally whenever a value is collected or
+ * evicted.</p>
  *
  * <p>If a collector type is set on a particular relation it will collect all
  * values that are set into the relation and are matched by the collector
@@ -81,10 +99,29 @@ public class CollectorType<T> extends AutomaticType<Collection<T>> {
 
 	private static final long serialVersionUID = 1L;
 
+	private static final RelationType<Statistics> STATISTICS =
+		newType(PRIVATE, TRANSIENT);
+
+	static {
+		RelationTypes.init(CollectorType.class);
+	}
+
 	private final BinaryFunction<Relation<?>, Object, T> collector;
 
 	private final boolean distinctValues;
 
+	/**
+	 * Creates a new instance with an unbounded collection.
+	 *
+	 * @see #CollectorType(String, Class, BinaryFunction, boolean, int,
+	 * RelationTypeModifier...)
+	 */
+	public CollectorType(String name, Class<? super T> collectedType,
+		BinaryFunction<Relation<?>, Object, T> collector,
+		boolean distinctValues, RelationTypeModifier... modifiers) {
+		this(name, collectedType, collector, distinctValues, 0, modifiers);
+	}
+
 	/**
 	 * Creates a new instance.
 	 *
@@ -95,16 +132,18 @@ public class CollectorType<T> extends AutomaticType<Collection<T>> {
 	 *                       if it returns NULL no value will be collected
 	 * @param distinctValues TRUE to collect only distinct values; FALSE to
 	 *                       collect all values that are added to the object
+	 * @param capacity       The maximum number of values to collect or zero
+	 *                       for an unbounded collection
 	 * @param modifiers      The relation type modifiers
 	 */
 	@SuppressWarnings("unchecked")
 	public CollectorType(String name, Class<? super T> collectedType,
 		BinaryFunction<Relation<?>, Object, T> collector,
-		boolean distinctValues, RelationTypeModifier... modifiers) {
+		boolean distinctValues, int capacity,
+		RelationTypeModifier... modifiers) {
 		super(name,
 			(Class<Collection<T>>) (distinctValues ? Set.class : List.class),
-			o -> distinctValues ? new LinkedHashSet<>() : new ArrayList<>(),
-			modifiers);
+			o -> newCollection(distinctValues, capacity), modifiers);
 
 		this.collector = collector;
 		this.distinctValues = distinctValues;
@@ -112,6 +151,46 @@ public class CollectorType<T> extends AutomaticType<Collection<T>> {
 		set(MetaTypes.ELEMENT_DATATYPE, collectedType);
 	}
 
+	/**
+	 * Factory method for an instance that collects the given number of most
+	 * recent values in a {@link RingBuffer} and is initialized by
+	 * {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param collectedType The datatype of the collected values
+	 * @param capacity      The maximum number of values to collect
+	 * @param collector     The function that determines the values to be
+	 *                      collected from relation types and target values
+	 * @param modifiers     The relation type modifiers
+	 * @return The new instance
+	 */
+	public static <T> CollectorType<T> newBoundedCollector(
+		Class<? super T> collectedType, int capacity,
+		BinaryFunction<Relation<?>, Object, T> collector,
+		RelationTypeModifier... modifiers) {
+		return new CollectorType<>(null, collectedType, collector, false,
+			capacity, modifiers);
+	}
+
+	/**
+	 * Factory method for an instance that collects the given number of most
+	 * recent distinct values in a {@link BoundedSet} and is initialized by
+	 * {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param collectedType The datatype of the collected values
+	 * @param capacity      The maximum number of values to collect
+	 * @param collector     The function that determines the values to be
+	 *                      collected from relation types and target values
+	 * @param modifiers     The relation type modifiers
+	 * @return The new instance
+	 */
+	public static <T> CollectorType<T> newBoundedDistinctCollector(
+		Class<? super T> collectedType, int capacity,
+		BinaryFunction<Relation<?>, Object, T> collector,
+		RelationTypeModifier... modifiers) {
+		return new CollectorType<>(null, collectedType, collector, true,
+			capacity, modifiers);
+	}
+
 	/**
 	 * Factory method for an instance that collects all values of the given
 	 * type
@@ -149,6 +228,60 @@ public class CollectorType<T> extends AutomaticType<Collection<T>> {
 			modifiers);
 	}
 
+	/**
+	 * Creates a new collection for the collected values.
+	 *
+	 * @param distinct TRUE for a collection of distinct values
+	 * @param capacity The maximum size of the collection or zero for an
+	 *                 unbounded collection
+	 * @return The new collection
+	 */
+	private static <T> Collection<T> newCollection(boolean distinct,
+		int capacity) {
+		if (capacity > 0) {
+			return distinct ?
+			       new BoundedSet<>(capacity) :
+			       new RingBuffer<>(capacity);
+		} else {
+			return distinct ? new LinkedHashSet<>() : new ArrayList<>();
+		}
+	}
+
+	/**
+	 * Returns the aggregate statistics of the numeric values that have been
+	 * collected by this type in a certain object. The statistics will be
+	 * created on the first invocation and then updated incrementally when
+	 * values are collected or evicted.
+	 *
+	 * @param scope The object, relation, or relation type this collector has
+	 *              been set on
+	 * @return The statistics or NULL if the scope has no relation with this
+	 * type
+	 * @throws IllegalStateException If the collected values are not numbers
+	 */
+	public Statistics getStatistics(Relatable scope) {
+		Relation<Collection<T>> collectRelation = scope.getRelation(this);
+		Statistics statistics = null;
+
+		if (collectRelation != null) {
+			statistics = collectRelation.get(STATISTICS);
+
+			if (statistics == null) {
+				Class<?> datatype = get(MetaTypes.ELEMENT_DATATYPE);
+
+				if (!Number.class.isAssignableFrom(datatype)) {
+					throw new IllegalStateException(
+						"Collected values are not numeric: " + this);
+				}
+
+				statistics = new Statistics(getValues(collectRelation));
+				collectRelation.set(STATISTICS, statistics);
+			}
+		}
+
+		return statistics;
+	}
+
 	/**
 	 * Evaluates the event relation and collects the value if the collector
 	 * function returns a non-NULL value.
@@ -171,29 +304,36 @@ public class CollectorType<T> extends AutomaticType<Collection<T>> {
 			Relation<Collection<T>> collectRelation =
 				event.getEventScope().getRelation(this);
 
-			Collection<T> values = collectRelation.getTarget();
-
-			if (values instanceof CollectionWrapper) {
-				values = ((CollectionWrapper<T>) values).collection;
-			}
+			Collection<T> values = getValues(collectRelation);
+			Statistics statistics = collectRelation.get(STATISTICS);
 
 			if (eventType == EventType.ADD || eventType == EventType.UPDATE) {
-				values.add(collectValue);
-
 				if (collectRelation.hasRelation(MAXIMUM)) {
-					int maxSize = collectRelation.getAnnotation(MAXIMUM);
-
-					while (values.size() > maxSize) {
-						if (values instanceof List) {
-							((List<?>) values).remove(0);
-						} else {
-							values.remove(
-								CollectionUtil.firstElementOf(values));
-						}
+					values = applyMaximum(collectRelation, values,
+						collectRelation.getAnnotation(MAXIMUM));
+				}
+
+				boolean add =
+					!(distinctValues && values.contains(collectValue));
+
+				if (values instanceof BoundedCollection) {
+					T evicted =
+						((BoundedCollection<T>) values).push(collectValue);
+
+					if (statistics != null && evicted != null) {
+						statistics.remove(evicted);
 					}
+				} else {
+					values.add(collectValue);
+				}
+
+				if (statistics != null && add) {
+					statistics.add(collectValue);
 				}
 			} else if (distinctValues && eventType == EventType.REMOVE) {
-				values.remove(collectValue);
+				if (values.remove(collectValue) && statistics != null) {
+					statistics.remove(collectValue);
+				}
 			}
 		}
 	}
@@ -210,6 +350,230 @@ public class CollectorType<T> extends AutomaticType<Collection<T>> {
 			new CollectionWrapper<>(relation.getTarget()));
 	}
 
+	/**
+	 * Makes sure that the collected values are stored in a bounded collection
+	 * with the given maximum size. If that is not the case already a new
+	 * {@link BoundedCollection} will be created that contains the most recent
+	 * values and is then set as the target of the collector relation.
+	 *
+	 * @param collectRelation The collector relation
+	 * @param values          The current collection of values
+	 * @param maxSize         The maximum number of values
+	 * @return The bounded collection of values
+	 */
+	private Collection<T> applyMaximum(Relation<Collection<T>> collectRelation,
+		Collection<T> values, int maxSize) {
+		if (!(values instanceof BoundedCollection &&
+			((BoundedCollection<T>) values).getCapacity() == maxSize)) {
+			Collection<T> target = collectRelation.getTarget();
+
+			values = distinctValues ?
+			         new BoundedSet<>(maxSize, values) :
+			         new RingBuffer<>(maxSize, values);
+
+			setRelationTarget(collectRelation,
+				target instanceof CollectionWrapper ?
+				new CollectionWrapper<>(values) :
+				values);
+
+			Statistics statistics = collectRelation.get(STATISTICS);
+
+			if (statistics != null) {
+				statistics.reset(values);
+			}
+		}
+
+		return values;
+	}
+
+	/**
+	 * Returns the modifiable collection of collected values from a collector
+	 * relation.
+	 *
+	 * @param collectRelation The collector relation
+	 * @return The collection of values
+	 */
+	private Collection<T> getValues(Relation<Collection<T>> collectRelation) {
+		Collection<T> values = collectRelation.getTarget();
+
+		if (values instanceof CollectionWrapper) {
+			values = ((CollectionWrapper<T>) values).collection;
+		}
+
+		return values;
+	}
+
+	/**
+	 * Aggregate statistics of the numeric values in a collection that are
+	 * updated incrementally. The sum is updated on each addition or removal.
+	 * The minimum and maximum are only recalculated from the collection if the
+	 * current extreme value has been removed.
+	 *
+	 * @author eso
+	 */
+	public static class Statistics {
+
+		private Collection<?> values;
+
+		private double sum;
+
+		private double minimum;
+
+		private double maximum;
+
+		private boolean extremesValid;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param values The collection of numbers to calculate the
+		 *               statistics of
+		 */
+		Statistics(Collection<?> values) {
+			reset(values);
+		}
+
+		/**
+		 * Returns the average of the collected values.
+		 *
+		 * @return The average or {@link Double#NaN} if no values have been
+		 * collected
+		 */
+		public double getAverage() {
+			int count = values.size();
+
+			return count > 0 ? sum / count : Double.NaN;
+		}
+
+		/**
+		 * Returns the number of collected values.
+		 *
+		 * @return The value count
+		 */
+		public int getCount() {
+			return values.size();
+		}
+
+		/**
+		 * Returns the maximum of the collected values.
+		 *
+		 * @return The maximum or {@link Double#NaN} if no values have been
+		 * collected
+		 */
+		public double getMaximum() {
+			updateExtremes();
+
+			return maximum;
+		}
+
+		/**
+		 * Returns the minimum of the collected values.
+		 *
+		 * @return The minimum or {@link Double#NaN} if no values have been
+		 * collected
+		 */
+		public double getMinimum() {
+			updateExtremes();
+
+			return minimum;
+		}
+
+		/**
+		 * Returns the sum of the collected values.
+		 *
+		 * @return The sum
+		 */
+		public double getSum() {
+			return sum;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public String toString() {
+			return String.format("%s[count=%d, sum=%s, min=%s, max=%s]",
+				getClass().getSimpleName(), getCount(), sum, getMinimum(),
+				getMaximum());
+		}
+
+		/**
+		 * Adds a value to these statistics.
+		 *
+		 * @param value The value to add
+		 */
+		void add(Object value) {
+			double number = ((Number) value).doubleValue();
+
+			sum += number;
+
+			if (extremesValid) {
+				if (values.size() == 1) {
+					minimum = number;
+					maximum = number;
+				} else {
+					minimum = Math.min(minimum, number);
+					maximum = Math.max(maximum, number);
+				}
+			}
+		}
+
+		/**
+		 * Removes a value from these statistics.
+		 *
+		 * @param value The value to remove
+		 */
+		void remove(Object value) {
+			double number = ((Number) value).doubleValue();
+
+			sum -= number;
+
+			if (number <= minimum || number >= maximum) {
+				extremesValid = false;
+			}
+		}
+
+		/**
+		 * Recalculates these statistics from a collection of values.
+		 *
+		 * @param newValues The new values to calculate the statistics of
+		 */
+		void reset(Collection<?> newValues) {
+			values = newValues;
+			sum = 0;
+
+			for (Object value : values) {
+				sum += ((Number) value).doubleValue();
+			}
+
+			extremesValid = false;
+		}
+
+		/**
+		 * Recalculates the minimum and maximum if necessary.
+		 */
+		private void updateExtremes() {
+			if (!extremesValid) {
+				minimum = Double.NaN;
+				maximum = Double.NaN;
+
+				for (Object value : values) {
+					double number = ((Number) value).doubleValue();
+
+					if (Double.isNaN(minimum)) {
+						minimum = number;
+						maximum = number;
+					} else {
+						minimum = Math.min(minimum, number);
+						maximum = Math.max(maximum, number);
+					}
+				}
+
+				extremesValid = true;
+			}
+		}
+	}
+
 	/**
 	 * An internal wrapper for the collection of final or readonly connections
 	 * that provides access to the wrapped collection to allow it's internal
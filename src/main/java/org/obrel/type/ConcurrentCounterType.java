@@ -0,0 +1,231 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.type;
+
+import de.esoco.lib.event.EventHandler;
+import de.esoco.lib.expression.Predicate;
+import org.obrel.core.CounterRelation;
+import org.obrel.core.Relatable;
+import org.obrel.core.Relation;
+import org.obrel.core.RelationEvent;
+import org.obrel.core.RelationTypeModifier;
+import org.obrel.core.RelationTypes;
+import org.obrel.core.RelationWrapper;
+
+import static de.esoco.lib.expression.Functions.value;
+
+/**
+ * A counter relation type that stores it's value in a {@link CounterRelation}
+ * which is backed by a striped primitive counter. Other than {@link
+ * CounterType} it doesn't create a new boxed value on each increment and
+ * supports concurrent increments from multiple threads without contention.
+ *
+ * <p>Like {@link CounterType} it can count relation events that are matched
+ * by a predicate. If no such predicate is given the counter can only be
+ * incremented explicitly through {@link #increment(Relatable)} or {@link
+ * #add(Relatable, long)}. In that case no relation listener will be
+ * registered on the parent object. The current value can be queried without
+ * boxing with {@link #getAsLong(Relatable)}. Through the generic relation API
+ * (e.g. {@link Relatable#get(org.obrel.core.RelationType)} or JSON
+ * conversion) relations of this type appear as regular relations with a
+ * {@link Long} value.</p>
+ *
+ * <p>If a counter relation doesn't exist yet it will be created on the first
+ * increment. To prevent the creation of multiple relations by concurrent
+ * threads this is synchronized on the parent object. But because the
+ * relations of related objects are not thread-safe in general it is
+ * recommended to initialize counter relations on shared objects before they
+ * are accessed concurrently, e.g. with {@link Relatable#init(
+ *org.obrel.core.RelationType)}.</p>
+ *
+ * @author eso
+ */
+public class ConcurrentCounterType extends AutomaticType<Long> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Predicate<RelationEvent<?>> count;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param name         The name of this type
+	 * @param initialValue The value to start counting at
+	 * @param count        A predicate that determines which relation events
+	 *                     to count or NULL to only count explicitly
+	 * @param modifiers    The relation type modifiers
+	 */
+	public ConcurrentCounterType(String name, long initialValue,
+		Predicate<RelationEvent<?>> count, RelationTypeModifier... modifiers) {
+		super(name, Long.class, value(Long.valueOf(initialValue)), modifiers);
+
+		this.count = count;
+	}
+
+	/**
+	 * Factory method for a counter that starts at zero, can only be
+	 * incremented explicitly, and is initialized by
+	 * {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The relation type modifiers
+	 * @return The new instance
+	 */
+	public static ConcurrentCounterType newConcurrentCounter(
+		RelationTypeModifier... modifiers) {
+		return newConcurrentCounter(null, modifiers);
+	}
+
+	/**
+	 * Factory method for a counter of relation events that starts at zero and
+	 * is initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param count     A predicate that determines which relation events to
+	 *                  count or NULL to only count explicitly
+	 * @param modifiers The relation type modifiers
+	 * @return The new instance
+	 */
+	public static ConcurrentCounterType newConcurrentCounter(
+		Predicate<RelationEvent<?>> count, RelationTypeModifier... modifiers) {
+		return new ConcurrentCounterType(null, 0, count, modifiers);
+	}
+
+	/**
+	 * Adds a value to the counter in a certain parent object.
+	 *
+	 * @param parent The parent object of the counter relation
+	 * @param value  The value to add
+	 */
+	public void add(Relatable parent, long value) {
+		getCounter(parent).add(value);
+	}
+
+	/**
+	 * Returns the current value of the counter in a certain parent object
+	 * without boxing. If no counter relation exists the initial value of this
+	 * type will be returned without creating a new relation.
+	 *
+	 * @param parent The parent object of the counter relation
+	 * @return The counter value
+	 */
+	public long getAsLong(Relatable parent) {
+		Relation<Long> relation = parent.getRelation(this);
+
+		if (relation instanceof CounterRelation) {
+			return ((CounterRelation) relation).getAsLong();
+		} else if (relation != null) {
+			return relation.getTarget().longValue();
+		} else {
+			return initialValue(parent).longValue();
+		}
+	}
+
+	/**
+	 * Returns the counter relation in a certain parent object and creates it
+	 * if it doesn't exist yet.
+	 *
+	 * @param parent The parent object of the counter relation
+	 * @return The counter relation
+	 * @throws IllegalStateException If the parent contains a view or alias of
+	 *                               another relation for this type
+	 */
+	public CounterRelation getCounter(Relatable parent) {
+		Relation<Long> relation = parent.getRelation(this);
+
+		if (relation == null) {
+			synchronized (parent) {
+				relation = parent.getRelation(this);
+
+				if (relation == null) {
+					relation = parent.init(this);
+				}
+			}
+		}
+
+		if (!(relation instanceof CounterRelation)) {
+			throw new IllegalStateException(
+				"Not a counter relation: " + relation);
+		}
+
+		return (CounterRelation) relation;
+	}
+
+	/**
+	 * Increments the counter in a certain parent object by one.
+	 *
+	 * @param parent The parent object of the counter relation
+	 */
+	public void increment(Relatable parent) {
+		getCounter(parent).increment();
+	}
+
+	/**
+	 * Overridden to replace the relation with a {@link CounterRelation}.
+	 *
+	 * @see AutomaticType#addRelation(Relatable, Relation)
+	 */
+	@Override
+	protected Relation<Long> addRelation(Relatable parent,
+		Relation<Long> relation) {
+		if (!(relation instanceof CounterRelation ||
+			relation instanceof RelationWrapper)) {
+			Long value = relation.getTarget();
+
+			relation =
+				new CounterRelation(this, value != null ? value : 0);
+		}
+
+		return super.addRelation(parent, relation);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processEvent(RelationEvent<?> event) {
+		if (count.test(event)) {
+			((CounterRelation) event.getEventScope().getRelation(this))
+				.increment();
+		}
+	}
+
+	/**
+	 * Overridden to only register the listener if relation events are
+	 * counted.
+	 *
+	 * @see AutomaticType#registerRelationListener(Relatable, EventHandler)
+	 */
+	@Override
+	protected void registerRelationListener(Relatable parent,
+		EventHandler<RelationEvent<?>> listener) {
+		if (count != null) {
+			super.registerRelationListener(parent, listener);
+		}
+	}
+
+	/**
+	 * Overridden to only remove the listener if relation events are counted.
+	 *
+	 * @see AutomaticType#removeRelationListener(Relatable, EventHandler)
+	 */
+	@Override
+	protected void removeRelationListener(Relatable parent,
+		EventHandler<RelationEvent<?>> listener) {
+		if (count != null) {
+			super.removeRelationListener(parent, listener);
+		}
+	}
+}
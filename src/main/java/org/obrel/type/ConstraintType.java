@@ -20,6 +20,7 @@ import de.esoco.lib.event.EventHandler;
 import de.esoco.lib.expression.Predicate;
 import org.obrel.core.Relatable;
 import org.obrel.core.Relation;
+import org.obrel.core.RelationBatchEvent;
 import org.obrel.core.RelationEvent;
 import org.obrel.core.RelationType;
 import org.obrel.core.RelationTypeModifier;
@@ -68,8 +69,8 @@ public class ConstraintType<T> extends RelationType<T>
 	}
 
 	/**
-	 * Overridden to add this instance as a relation listener to the target
-	 * object of the new relation.
+	 * Overridden to add this instance as a relation and batch listener to the
+	 * target object of the new relation.
 	 *
 	 * @see RelationType#addRelation(Relatable, Relation)
 	 */
@@ -78,19 +79,25 @@ public class ConstraintType<T> extends RelationType<T>
 		super.addRelation(parent, relation);
 
 		parent.get(ListenerTypes.RELATION_LISTENERS).add(this);
+		parent
+			.get(ListenerTypes.RELATION_BATCH_LISTENERS)
+			.add(RelationBatchEvent.forwardTo(this));
 
 		return relation;
 	}
 
 	/**
-	 * Overridden to remove this instance as an relation listener from the
-	 * target object of the deleted relation.
+	 * Overridden to remove this instance as a relation and batch listener
+	 * from the target object of the deleted relation.
 	 *
 	 * @see RelationType#deleteRelation(Relatable, Relation)
 	 */
 	@Override
 	protected void deleteRelation(Relatable parent, Relation<?> relation) {
 		parent.get(ListenerTypes.RELATION_LISTENERS).remove(this);
+		parent
+			.get(ListenerTypes.RELATION_BATCH_LISTENERS)
+			.remove(RelationBatchEvent.forwardTo(this));
 		super.deleteRelation(parent, relation);
 	}
 }
@@ -0,0 +1,211 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.type;
+
+import de.esoco.lib.expression.BinaryFunction;
+import de.esoco.lib.expression.Function;
+import org.obrel.core.DerivedRelation;
+import org.obrel.core.Relatable;
+import org.obrel.core.Relation;
+import org.obrel.core.RelationEvent;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypeModifier;
+import org.obrel.core.RelationTypes;
+import org.obrel.core.RelationWrapper;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * An automatic relation type that derives it's value from other relations of
+ * the parent object. Other than most automatic types it doesn't update it's
+ * value on each change of the parent. Instead the derived value is memoized
+ * in a {@link DerivedRelation} and only invalidated if a relation with one of
+ * the declared dependency types is added, updated, or removed. The value will
+ * then be derived again lazily on the next query. Multiple changes of
+ * dependencies will therefore only cause a single re-evaluation.
+ *
+ * <p>A derived type may depend on other derived types. In that case it also
+ * depends on all their dependencies so that a change of any relation in the
+ * dependency graph invalidates all affected values at once. Because invalid
+ * values are re-evaluated on demand, a derived value will always read the
+ * current values of the derived values it depends on, i.e. the values are
+ * evaluated in topological order of the dependency graph. Dependency types
+ * must therefore be initialized before the types that depend on them, e.g.
+ * by declaring them first.</p>
+ *
+ * <p>Setting the value of a derived relation explicitly will override it
+ * until the next change of a dependency.</p>
+ *
+ * @author eso
+ */
+public class DerivedType<T> extends AutomaticType<T> {
+
+	private static final long serialVersionUID = 1L;
+
+	private final transient Set<RelationType<?>> dependencies;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param name         The name of this type
+	 * @param targetType   The target datatype
+	 * @param derivation   The function that derives the value from the parent
+	 *                     object
+	 * @param dependencies The relation types the derived value depends on
+	 * @param modifiers    The relation type modifiers
+	 * @throws IllegalArgumentException If a dependency type is NULL, e.g.
+	 *                                  because it is declared after this type
+	 */
+	public DerivedType(String name, Class<? super T> targetType,
+		Function<? super Relatable, ? super T> derivation,
+		Collection<RelationType<?>> dependencies,
+		RelationTypeModifier... modifiers) {
+		super(name, targetType, derivation, modifiers);
+
+		Set<RelationType<?>> allDependencies = new LinkedHashSet<>();
+
+		for (RelationType<?> dependency : dependencies) {
+			if (dependency == null) {
+				throw new IllegalArgumentException(
+					"Dependency type not initialized (check declaration " +
+						"order)");
+			}
+
+			allDependencies.add(dependency);
+
+			if (dependency instanceof DerivedType) {
+				allDependencies.addAll(
+					((DerivedType<?>) dependency).dependencies);
+			}
+		}
+
+		this.dependencies = Collections.unmodifiableSet(allDependencies);
+	}
+
+	/**
+	 * Factory method for a type that derives it's value from a single other
+	 * relation and is initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param dependency The relation type the value depends on
+	 * @param derivation The function that derives the value from the
+	 *                   dependency value
+	 * @param modifiers  The relation type modifiers
+	 * @return The new instance
+	 */
+	public static <T, D> DerivedType<T> newDerivedType(
+		RelationType<D> dependency,
+		Function<? super D, ? extends T> derivation,
+		RelationTypeModifier... modifiers) {
+		return newDerivedType(o -> derivation.evaluate(o.get(dependency)),
+			Collections.singleton(dependency), modifiers);
+	}
+
+	/**
+	 * Factory method for a type that derives it's value from two other
+	 * relations and is initialized by {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param first      The first relation type the value depends on
+	 * @param second     The second relation type the value depends on
+	 * @param derivation The function that derives the value from the two
+	 *                   dependency values
+	 * @param modifiers  The relation type modifiers
+	 * @return The new instance
+	 */
+	public static <T, A, B> DerivedType<T> newDerivedType(RelationType<A> first,
+		RelationType<B> second,
+		BinaryFunction<? super A, ? super B, ? extends T> derivation,
+		RelationTypeModifier... modifiers) {
+		return newDerivedType(
+			o -> derivation.evaluate(o.get(first), o.get(second)),
+			Arrays.asList(first, second), modifiers);
+	}
+
+	/**
+	 * Factory method for a type that derives it's value from an arbitrary
+	 * number of other relations and is initialized by
+	 * {@link RelationTypes#init(Class...)}. The derivation function receives
+	 * the parent object and must only query the relations with the given
+	 * dependency types from it.
+	 *
+	 * @param derivation   The function that derives the value from the parent
+	 *                     object
+	 * @param dependencies The relation types the value depends on
+	 * @param modifiers    The relation type modifiers
+	 * @return The new instance
+	 */
+	public static <T> DerivedType<T> newDerivedType(
+		Function<? super Relatable, ? super T> derivation,
+		Collection<RelationType<?>> dependencies,
+		RelationTypeModifier... modifiers) {
+		return new DerivedType<>(null, null, derivation, dependencies,
+			modifiers);
+	}
+
+	/**
+	 * Returns all relation types that this type depends on, including the
+	 * transitive dependencies of derived dependency types.
+	 *
+	 * @return The unmodifiable set of dependency types
+	 */
+	public final Set<RelationType<?>> getDependencies() {
+		return dependencies;
+	}
+
+	/**
+	 * Invalidates the derived value of this type in a certain parent object
+	 * so that it will be re-evaluated on the next query.
+	 *
+	 * @param parent The parent object
+	 */
+	public void invalidate(Relatable parent) {
+		Relation<T> relation = parent.getRelation(this);
+
+		if (relation instanceof DerivedRelation) {
+			((DerivedRelation<T>) relation).invalidate();
+		}
+	}
+
+	/**
+	 * Overridden to replace the relation with a {@link DerivedRelation}.
+	 *
+	 * @see AutomaticType#addRelation(Relatable, Relation)
+	 */
+	@Override
+	protected Relation<T> addRelation(Relatable parent, Relation<T> relation) {
+		if (!(relation instanceof DerivedRelation ||
+			relation instanceof RelationWrapper)) {
+			relation =
+				new DerivedRelation<>(this, parent, relation.getTarget());
+		}
+
+		return super.addRelation(parent, relation);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	protected void processEvent(RelationEvent<?> event) {
+		if (dependencies.contains(event.getElement().getType())) {
+			invalidate(event.getEventScope());
+		}
+	}
+}
@@ -0,0 +1,143 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.type;
+
+import de.esoco.lib.logging.LatencyHistogram;
+import org.obrel.core.Relatable;
+import org.obrel.core.Relation;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypeModifier;
+import org.obrel.core.RelationTypes;
+
+/**
+ * A relation type that records latencies of it's parent object into a {@link
+ * LatencyHistogram}. The histogram has a fixed size and allows to query
+ * percentiles of the recorded values. Recording values is lock-free and can
+ * be performed concurrently.
+ *
+ * <p>If a histogram relation doesn't exist yet it will be created on the
+ * first recording. To prevent the creation of multiple histograms by
+ * concurrent threads this is synchronized on the parent object.</p>
+ *
+ * @author eso
+ */
+public class HistogramType extends RelationType<LatencyHistogram> {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Creates a new instance.
+	 *
+	 * @param name      The relation type name
+	 * @param precision The precision of the histogram (see {@link
+	 *                  LatencyHistogram#LatencyHistogram(int)})
+	 * @param modifiers The optional modifiers
+	 */
+	public HistogramType(String name, int precision,
+		RelationTypeModifier... modifiers) {
+		super(name, LatencyHistogram.class,
+			o -> new LatencyHistogram(precision), modifiers);
+	}
+
+	/**
+	 * Creates a new partially initialized histogram type with the default
+	 * precision for use in conjunction with {@link
+	 * RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The optional modifiers
+	 * @return The new histogram type
+	 */
+	public static HistogramType newHistogram(
+		RelationTypeModifier... modifiers) {
+		return newHistogram(LatencyHistogram.DEFAULT_PRECISION, modifiers);
+	}
+
+	/**
+	 * Creates a new partially initialized histogram type for use in
+	 * conjunction with {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param precision The precision of the histogram (see {@link
+	 *                  LatencyHistogram#LatencyHistogram(int)})
+	 * @param modifiers The optional modifiers
+	 * @return The new histogram type
+	 */
+	public static HistogramType newHistogram(int precision,
+		RelationTypeModifier... modifiers) {
+		return new HistogramType(null, precision, modifiers);
+	}
+
+	/**
+	 * Returns the histogram of this type in a certain parent object and
+	 * creates it if it doesn't exist yet.
+	 *
+	 * @param parent The parent object of the histogram relation
+	 * @return The histogram
+	 */
+	public LatencyHistogram getHistogram(Relatable parent) {
+		Relation<LatencyHistogram> relation = parent.getRelation(this);
+
+		if (relation == null) {
+			synchronized (parent) {
+				return parent.get(this);
+			}
+		}
+
+		return relation.getTarget();
+	}
+
+	/**
+	 * Measures the execution time of a runnable in nanoseconds and records it
+	 * in the histogram of a certain parent object.
+	 *
+	 * @param parent    The parent object of the histogram relation
+	 * @param execution The runnable to execute
+	 * @return The measured nanoseconds
+	 */
+	public long measure(Relatable parent, Runnable execution) {
+		long start = System.nanoTime();
+
+		execution.run();
+
+		return getHistogram(parent).recordSince(start);
+	}
+
+	/**
+	 * Records a value in the histogram of a certain parent object.
+	 *
+	 * @param parent The parent object of the histogram relation
+	 * @param value  The value to record
+	 */
+	public void record(Relatable parent, long value) {
+		getHistogram(parent).record(value);
+	}
+
+	/**
+	 * Records the time that has elapsed since the last restart of a timer in
+	 * the histogram of a certain parent object and restarts the timer.
+	 *
+	 * @param parent The parent object of the histogram and timer relations
+	 * @param timer  The timer type (typically a high-resolution timer)
+	 * @return The recorded elapsed time
+	 */
+	public long recordLap(Relatable parent, TimerType timer) {
+		long elapsed = timer.restart(parent);
+
+		record(parent, elapsed);
+
+		return elapsed;
+	}
+}
@@ -83,7 +83,7 @@ public class ListenerType<L, E> extends RelationType<List<L>> {
 	 * @param event  The event object to send to the listeners
 	 */
 	public final void notifyListeners(Object source, E event) {
-		Relatable relatable = ObjectRelations.getRelatable(source);
+		Relatable relatable = getRelatable(source);
 
 		if (relatable.hasRelation(this)) {
 			for (L listener : relatable.get(this)) {
@@ -106,7 +106,7 @@ public class ListenerType<L, E> extends RelationType<List<L>> {
 	 */
 	public final void notifyListeners(Object source, E event,
 		BiConsumer<L, E> dispatcher) {
-		Relatable relatable = ObjectRelations.getRelatable(source);
+		Relatable relatable = getRelatable(source);
 
 		if (relatable.hasRelation(this)) {
 			for (L listener : relatable.get(this)) {
@@ -114,4 +114,19 @@ public class ListenerType<L, E> extends RelationType<List<L>> {
 			}
 		}
 	}
+
+	/**
+	 * Returns the relatable that contains the listeners of an event source.
+	 * Relatable sources are used directly so that the listeners of {@link
+	 * org.obrel.core.RelatableMixin} implementations are looked up in the
+	 * container that is returned by their implementation of {@link
+	 * org.obrel.core.RelatableMixin#getRelationContainer()}.
+	 *
+	 * @param source The event source
+	 * @return The relatable that contains the listeners
+	 */
+	private Relatable getRelatable(Object source) {
+		return source instanceof Relatable ? (Relatable) source :
+		       ObjectRelations.getRelatable(source);
+	}
 }
@@ -17,7 +17,11 @@
 package org.obrel.type;
 
 import de.esoco.lib.event.EventDispatcher;
+import de.esoco.lib.event.EventHandler;
+import org.obrel.core.RelatedObject;
+import org.obrel.core.RelationBatchEvent;
 import org.obrel.core.RelationEvent;
+import org.obrel.core.RelationTransaction;
 import org.obrel.core.RelationType;
 import org.obrel.core.RelationTypeModifier;
 import org.obrel.core.RelationTypes;
@@ -43,6 +47,23 @@ public class ListenerTypes {
 	public static final RelationType<EventDispatcher<RelationEvent<?>>>
 		RELATION_LISTENERS = newType(r -> new EventDispatcher<>());
 
+	/**
+	 * A relation type for the registration of batch listeners on relatable
+	 * objects. A batch listener is notified once with all changes of a bulk
+	 * modification of the relations of the parent object, e.g. by {@link
+	 * RelatedObject#setAll(java.util.Collection)} or the commit of a {@link
+	 * RelationTransaction}. The notification occurs before the changes are
+	 * applied so that a listener may prevent all of them by throwing an
+	 * exception. Bulk modifications don't notify {@link #RELATION_LISTENERS}
+	 * and {@link #RELATION_TYPE_LISTENERS}. Such listeners can receive the
+	 * single changes by registering them as batch listeners with {@link
+	 * RelationBatchEvent#forwardTo(EventHandler)}. Will be initialized
+	 * automatically so it is not necessary to check for existence before
+	 * accessing the relation.
+	 */
+	public static final RelationType<EventDispatcher<RelationBatchEvent>>
+		RELATION_BATCH_LISTENERS = newType(r -> new EventDispatcher<>());
+
 	/**
 	 * A relation type for the registration of event listeners on relation
 	 * types. A relation type listener is notified of all changes to relations
@@ -61,6 +82,21 @@ public class ListenerTypes {
 	public static final RelationType<EventDispatcher<RelationEvent<?>>>
 		RELATION_TYPE_LISTENERS = newType(r -> new EventDispatcher<>());
 
+	/**
+	 * A relation type for the registration of batch listeners on relation
+	 * types. Like {@link #RELATION_BATCH_LISTENERS} on an object a relation
+	 * type batch listener is notified before a bulk modification is applied.
+	 * It receives the complete batch of each object in which a relation with
+	 * the type it is set on is modified, but each batch only once per type
+	 * batch listener. Relation type listeners can receive the changes of a
+	 * certain type by registering them with {@link
+	 * RelationBatchEvent#forwardTo(RelationType, EventHandler)}. Will be
+	 * initialized automatically so it is not necessary to check for existence
+	 * before accessing the relation.
+	 */
+	public static final RelationType<EventDispatcher<RelationBatchEvent>>
+		RELATION_TYPE_BATCH_LISTENERS = newType(r -> new EventDispatcher<>());
+
 	/**
 	 * A relation type for the registration of update listeners on relations. A
 	 * relation update listener is notified of all changes to the relation
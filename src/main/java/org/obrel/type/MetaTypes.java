@@ -19,12 +19,14 @@ package org.obrel.type;
 import de.esoco.lib.event.EventDispatcher;
 import de.esoco.lib.event.EventHandler;
 import de.esoco.lib.expression.Action;
+import de.esoco.lib.logging.LatencyHistogram;
 import de.esoco.lib.property.ErrorHandling;
 import de.esoco.lib.property.Immutability;
 import de.esoco.lib.property.SortDirection;
 import org.obrel.core.Annotations.RelationTypeNamespace;
 import org.obrel.core.Relatable;
 import org.obrel.core.Relation;
+import org.obrel.core.RelationBatchEvent;
 import org.obrel.core.RelationEvent;
 import org.obrel.core.RelationType;
 import org.obrel.core.RelationTypeModifier;
@@ -335,6 +337,15 @@ public class MetaTypes {
 	public static final RelationType<ErrorHandling> ERROR_HANDLING =
 		RelationTypes.newType();
 
+	/**
+	 * A histogram of the nanoseconds that have been needed to resolve the
+	 * targets of intermediate relations. If set on a relation type (e.g. with
+	 * {@link Relatable#init(RelationType)}) the resolution times of all
+	 * intermediate relations with that type will be recorded.
+	 */
+	public static final RelationType<LatencyHistogram> RESOLUTION_TIME =
+		HistogramType.newHistogram();
+
 	static {
 		RelationTypes.init(MetaTypes.class);
 	}
@@ -348,9 +359,9 @@ public class MetaTypes {
 	/**
 	 * Inner class for the {@link #IMMUTABLE} relation type that marks the
 	 * parent object of a relation with this type as immutable. It registers
-	 * itself as an event handler for relation events of the parent object and
-	 * subsequently prevents the modification of any of the parent's relations
-	 * by throwing an exception.
+	 * itself as an event handler for single and batch relation events of the
+	 * parent object and subsequently prevents the modification of any of the
+	 * parent's relations by throwing an exception.
 	 */
 	private static class ImmutableFlagType extends RelationType<Boolean>
 		implements EventHandler<RelationEvent<?>> {
@@ -394,9 +405,13 @@ public class MetaTypes {
 			// activate by adding listener after all changes have been made
 			EventDispatcher<RelationEvent<?>> listeners =
 				parent.get(ListenerTypes.RELATION_LISTENERS);
+			EventDispatcher<RelationBatchEvent> batchListeners =
+				parent.get(ListenerTypes.RELATION_BATCH_LISTENERS);
 
 			listeners.add(this);
 			listeners.setImmutable();
+			batchListeners.add(RelationBatchEvent.forwardTo(this));
+			batchListeners.setImmutable();
 
 			return newRelation;
 		}
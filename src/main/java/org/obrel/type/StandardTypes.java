@@ -198,6 +198,13 @@ public class StandardTypes {
 	 */
 	public static final RelationType<Long> UPTIME = TimerType.newTimer(FINAL);
 
+	/**
+	 * A high-resolution variant of {@link #TIMER} that returns the number of
+	 * nanoseconds since it's creation.
+	 */
+	public static final RelationType<Long> NANO_TIMER =
+		TimerType.newNanoTimer();
+
 	/**
 	 * The start date from which an element will be valid.
 	 */
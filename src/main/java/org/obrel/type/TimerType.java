@@ -23,9 +23,14 @@ import org.obrel.core.RelationType;
 import org.obrel.core.RelationTypeModifier;
 import org.obrel.core.RelationTypes;
 
+import java.util.function.LongSupplier;
+
 /**
  * A relation type that returns the milliseconds since the creation of a
- * relation with this type.
+ * relation with this type. High-resolution timers that are created with
+ * {@link #newNanoTimer(RelationTypeModifier...)} return nanoseconds instead.
+ * These are based on {@link System#nanoTime()} and can therefore only be
+ * used to measure elapsed time, not to determine the current time.
  *
  * @author eso
  */
@@ -33,15 +38,59 @@ public class TimerType extends RelationType<Long> {
 
 	private static final long serialVersionUID = 1L;
 
+	private final transient LongSupplier clock;
+
+	/**
+	 * Creates a new instance that measures milliseconds.
+	 *
+	 * @param name      The relation type name
+	 * @param modifiers The optional modifiers
+	 */
+	public TimerType(String name, RelationTypeModifier... modifiers) {
+		this(name, false, modifiers);
+	}
+
 	/**
 	 * Creates a new instance.
 	 *
+	 * @param name           The relation type name
+	 * @param highResolution TRUE to measure nanoseconds, FALSE for
+	 *                       milliseconds
+	 * @param modifiers      The optional modifiers
+	 */
+	@SuppressWarnings("boxing")
+	public TimerType(String name, boolean highResolution,
+		RelationTypeModifier... modifiers) {
+		this(name,
+			highResolution ? System::nanoTime : System::currentTimeMillis,
+			modifiers);
+	}
+
+	/**
+	 * Internal constructor with an explicit clock function.
+	 *
 	 * @param name      The relation type name
+	 * @param clock     The function that returns the current clock value
 	 * @param modifiers The optional modifiers
 	 */
 	@SuppressWarnings("boxing")
-	public TimerType(String name, RelationTypeModifier... modifiers) {
-		super(name, Long.class, o -> System.currentTimeMillis(), modifiers);
+	private TimerType(String name, LongSupplier clock,
+		RelationTypeModifier... modifiers) {
+		super(name, Long.class, o -> clock.getAsLong(), modifiers);
+
+		this.clock = clock;
+	}
+
+	/**
+	 * Creates a new partially initialized high-resolution timer type that
+	 * returns the nanoseconds since creation for use in conjunction with
+	 * {@link RelationTypes#init(Class...)}.
+	 *
+	 * @param modifiers The optional modifiers
+	 * @return The new timer type
+	 */
+	public static TimerType newNanoTimer(RelationTypeModifier... modifiers) {
+		return new TimerType(null, true, modifiers);
 	}
 
 	/**
@@ -55,18 +104,81 @@ public class TimerType extends RelationType<Long> {
 		return new TimerType(null, modifiers);
 	}
 
+	/**
+	 * Restarts the timer of this type in a certain parent object and returns
+	 * the time that had elapsed until then. If no timer relation exists it
+	 * will be created and zero will be returned. This can be used to measure
+	 * consecutive intervals, e.g. to record them in a {@link HistogramType}.
+	 *
+	 * @param parent The parent object of the timer relation
+	 * @return The elapsed time before the restart
+	 */
+	@SuppressWarnings("boxing")
+	public long restart(Relatable parent) {
+		long now = clock.getAsLong();
+		long elapsed = 0;
+		Relation<Long> relation = parent.getRelation(this);
+
+		// use the same clock sample for the elapsed time and the new start
+		if (relation instanceof TimerRelation) {
+			elapsed = ((TimerRelation) relation).getElapsed(now);
+		} else if (relation != null) {
+			elapsed = relation.getTarget();
+		}
+
+		parent.set(this, now);
+
+		return elapsed;
+	}
+
 	/**
 	 * @see RelationType#addRelation(Relatable, Relation)
 	 */
 	@Override
-	@SuppressWarnings({ "boxing", "serial" })
 	protected Relation<Long> addRelation(Relatable parent,
 		Relation<Long> relation) {
-		return new DirectRelation<Long>(this, relation.getTarget()) {
-			@Override
-			public Long getTarget() {
-				return System.currentTimeMillis() - super.getTarget();
-			}
-		};
+		return new TimerRelation(relation.getTarget());
+	}
+
+	/**
+	 * The relation of a timer that stores the start time and returns the
+	 * time elapsed since then as it's target.
+	 *
+	 * @author eso
+	 */
+	@SuppressWarnings("serial")
+	private class TimerRelation extends DirectRelation<Long> {
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param start The start time
+		 */
+		TimerRelation(Long start) {
+			super(TimerType.this, start);
+		}
+
+		/**
+		 * Returns the time elapsed since the start.
+		 *
+		 * @see DirectRelation#getTarget()
+		 */
+		@Override
+		@SuppressWarnings("boxing")
+		public Long getTarget() {
+			return getElapsed(clock.getAsLong());
+		}
+
+		/**
+		 * Returns the time elapsed between the start and a certain clock
+		 * value.
+		 *
+		 * @param now The current clock value
+		 * @return The elapsed time
+		 */
+		@SuppressWarnings("boxing")
+		long getElapsed(long now) {
+			return now - super.getTarget();
+		}
 	}
 }
@@ -0,0 +1,95 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.collection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link WeakIdentityMap}.
+ *
+ * @author eso
+ */
+public class WeakIdentityMapTest {
+
+	/**
+	 * Test of the expunging of collected keys.
+	 */
+	@Test
+	public void testExpunge() throws InterruptedException {
+		WeakIdentityMap<Object, Integer> map = new WeakIdentityMap<>();
+		List<Object> keys = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			Object key = new Object();
+
+			keys.add(key);
+			map.put(key, i);
+		}
+
+		Object retained = keys.get(42);
+
+		keys.clear();
+
+		for (int i = 0; i < 50 && map.size() > 1; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+
+		assertEquals(1, map.size());
+		assertEquals(42, map.get(retained));
+	}
+
+	/**
+	 * Test of the identity semantics of the map.
+	 */
+	@Test
+	public void testIdentity() {
+		WeakIdentityMap<String, List<String>> map = new WeakIdentityMap<>();
+		String key1 = new String("key");
+		String key2 = new String("key");
+
+		List<String> value1 = map.computeIfAbsent(key1, k -> new ArrayList<>());
+		List<String> value2 = map.computeIfAbsent(key2, k -> new ArrayList<>());
+
+		assertEquals(key1, key2);
+		assertFalse(value1 == value2);
+		assertSame(value1, map.computeIfAbsent(key1, k -> null));
+		assertSame(value2, map.get(key2));
+		assertEquals(2, map.size());
+
+		assertSame(value1, map.put(key1, value2));
+		assertSame(value2, map.get(key1));
+		assertEquals(2, map.size());
+
+		assertSame(value2, map.remove(key2));
+		assertFalse(map.containsKey(key2));
+		assertTrue(map.containsKey(key1));
+		assertNull(map.get(null));
+
+		map.clear();
+		assertEquals(0, map.size());
+	}
+}
@@ -16,17 +16,35 @@
 //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
 package de.esoco.lib.expression;
 
+import static de.esoco.lib.expression.Predicates.compile;
 import static de.esoco.lib.expression.Predicates.equalTo;
 import static de.esoco.lib.expression.Predicates.greaterOrEqual;
 import static de.esoco.lib.expression.Predicates.greaterThan;
 import static de.esoco.lib.expression.Predicates.ifField;
+import static de.esoco.lib.expression.Predicates.ifRelation;
+import static de.esoco.lib.expression.Predicates.isNull;
 import static de.esoco.lib.expression.Predicates.lessOrEqual;
 import static de.esoco.lib.expression.Predicates.lessThan;
 import static de.esoco.lib.expression.Predicates.matching;
+import static de.esoco.lib.expression.Predicates.not;
+import static de.esoco.lib.expression.Predicates.notNull;
+import static de.esoco.lib.expression.Predicates.sameAs;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.type.StandardTypes.INFO;
+import static org.obrel.type.StandardTypes.NAME;
+import static org.obrel.type.StandardTypes.ORDINAL;
+import static org.obrel.type.StandardTypes.PARENT;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.Test;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelatedObject;
 
 /**
  * Test of predicates
@@ -65,6 +83,58 @@ public class PredicateTest {
 		assertFalse(equals.evaluate(6));
 	}
 
+	/**
+	 * Test of compiled predicate trees.
+	 */
+	@Test
+	void testCompile() {
+		AtomicInteger opaqueCount = new AtomicInteger();
+		RelatedObject parent = new RelatedObject();
+		List<Relatable> objects = Arrays.asList(new RelatedObject(),
+			new RelatedObject(), new RelatedObject(), new RelatedObject());
+		Predicate<Relatable> opaque = r -> {
+			opaqueCount.incrementAndGet();
+
+			return r.get(ORDINAL) > 2;
+		};
+
+		Predicate<Relatable> tree = Predicates
+			.<Relatable>and(ifRelation(NAME, matching("A.*")),
+				ifRelation(ORDINAL, greaterOrEqual(2)))
+			.or(not(ifRelation(INFO, isNull())).and(opaque))
+			.or(equalTo("Parent").from(PARENT.then(NAME)))
+			.or(ifRelation(PARENT, sameAs(objects.get(0))).and(notNull()));
+
+		parent.set(NAME, "Parent");
+		setRelations(objects.get(0), "Alpha", 3);
+		setRelations(objects.get(1), "Alpha", 1);
+		setRelations(objects.get(2), "Gamma", 5);
+		setRelations(objects.get(3), "Beta", 0);
+		objects.get(2).set(INFO, "Info");
+		objects.get(3).set(PARENT, parent);
+
+		Predicate<Relatable> compiled = compile(tree);
+
+		assertSame(compiled, compile(compiled));
+		assertEquals(tree.toString(), compiled.toString());
+
+		for (Relatable object : objects) {
+			opaqueCount.set(0);
+
+			boolean expected = tree.test(object);
+			int expectedCount = opaqueCount.getAndSet(0);
+
+			assertEquals(expected, compiled.test(object));
+			assertEquals(expected, compiled.evaluate(object));
+			assertEquals(2 * expectedCount, opaqueCount.get());
+		}
+
+		assertTrue(compiled.test(objects.get(0)));
+		assertFalse(compiled.test(objects.get(1)));
+		assertTrue(compiled.test(objects.get(2)));
+		assertTrue(compiled.test(objects.get(3)));
+	}
+
 	/**
 	 * Test logical and.
 	 */
@@ -104,4 +174,16 @@ public class PredicateTest {
 		assertFalse(
 			ifField("nReflectionTestField", lessThan(20)).evaluate(this));
 	}
+
+	/**
+	 * Sets the relations that are evaluated by the compiled predicate test.
+	 *
+	 * @param object  The target object
+	 * @param name    The name
+	 * @param ordinal The ordinal
+	 */
+	private void setRelations(Relatable object, String name, int ordinal) {
+		object.set(NAME, name);
+		object.set(ORDINAL, ordinal);
+	}
 }
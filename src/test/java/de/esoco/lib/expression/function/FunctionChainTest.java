@@ -0,0 +1,83 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package de.esoco.lib.expression.function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.type.StandardTypes.NAME;
+import static org.obrel.type.StandardTypes.PARENT;
+
+import de.esoco.lib.expression.Function;
+import de.esoco.lib.expression.Predicate;
+import de.esoco.lib.expression.Predicates;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelatedObject;
+
+/**
+ * Test of {@link FunctionChain}.
+ *
+ * @author eso
+ */
+public class FunctionChainTest {
+
+	/**
+	 * Test of the flattening of nested chains and the fusion of relation
+	 * types.
+	 */
+	@Test
+	public void testCompiledChain() {
+		RelatedObject root = new RelatedObject();
+		RelatedObject child = new RelatedObject();
+		RelatedObject grandChild = new RelatedObject();
+		Function<String, Integer> length = String::length;
+
+		root.set(NAME, "Root");
+		child.set(PARENT, root);
+		grandChild.set(PARENT, child);
+
+		Function<Relatable, String> rootName = PARENT.then(PARENT).then(NAME);
+		Function<Relatable, Integer> nameLength = rootName.then(length);
+		Function<Integer, Integer> twice = i -> i * 2;
+		Function<Relatable, Integer> doubled = twice.from(nameLength);
+		List<Function<?, ?>> steps =
+			((FunctionChain<?, ?, ?>) doubled).getSteps();
+
+		assertEquals("Root", rootName.evaluate(grandChild));
+		assertEquals(Integer.valueOf(8), doubled.evaluate(grandChild));
+		assertNull(rootName.evaluate(child));
+		assertEquals(1, ((FunctionChain<?, ?, ?>) rootName).getSteps().size());
+		assertEquals(3, steps.size());
+		assertEquals(PARENT + "." + PARENT + "." + NAME,
+			steps.get(0).toString());
+		assertSame(length, steps.get(1));
+		assertSame(twice, steps.get(2));
+
+		Predicate<Relatable> isRoot =
+			Predicates.<String>equalTo("Root").from(rootName);
+
+		assertTrue(isRoot.test(grandChild));
+		assertFalse(isRoot.test(child));
+		assertEquals(2, ((FunctionChain<?, ?, ?>) isRoot).getSteps().size());
+	}
+}
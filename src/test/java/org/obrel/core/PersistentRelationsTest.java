@@ -0,0 +1,192 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.type.StandardTypes.NAME;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test of {@link PersistentRelations}.
+ *
+ * @author eso
+ */
+public class PersistentRelationsTest {
+
+	/**
+	 * Test of colliding hash codes.
+	 */
+	@Test
+	public void testCollisions() {
+		PersistentRelations map = new PersistentRelations();
+		List<RelationType<?>> types = new ArrayList<>();
+
+		for (int i = 0; i < 6; i++) {
+			types.add(new HashType(i < 3 ? 42 : 42 + (1 << 20)));
+		}
+
+		for (int i = 0; i < types.size(); i++) {
+			map.put(types.get(i), i);
+		}
+
+		PersistentRelations snapshot = map.snapshot();
+
+		assertEquals(6, map.size());
+
+		for (int i = 0; i < types.size(); i++) {
+			assertEquals(i, map.get(types.get(i)));
+		}
+
+		map.remove(types.get(1));
+		map.remove(types.get(4));
+		assertFalse(map.containsKey(types.get(1)));
+		assertEquals(2, map.get(types.get(2)));
+		assertEquals(5, map.get(types.get(5)));
+		assertEquals(4, map.size());
+		assertEquals(6, snapshot.size());
+		assertEquals(1, snapshot.get(types.get(1)));
+		assertEquals(new HashMap<>(map), map);
+	}
+
+	/**
+	 * Test of random modifications compared to a hash map.
+	 */
+	@Test
+	public void testModifications() {
+		PersistentRelations map = new PersistentRelations();
+		Map<RelationType<?>, Object> reference = new HashMap<>();
+		List<RelationType<?>> types = new ArrayList<>();
+		Random random = new Random(42);
+
+		for (int i = 0; i < 500; i++) {
+			types.add(new HashType(random.nextInt()));
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			RelationType<?> type = types.get(random.nextInt(types.size()));
+
+			if (random.nextInt(3) == 0) {
+				assertEquals(reference.remove(type), map.remove(type));
+			} else {
+				assertEquals(reference.put(type, i), map.put(type, i));
+			}
+		}
+
+		assertEquals(reference.size(), map.size());
+		assertEquals(reference, map);
+		assertEquals(reference.hashCode(), map.hashCode());
+
+		map.clear();
+		assertTrue(map.isEmpty());
+		assertNull(map.get(types.get(0)));
+	}
+
+	/**
+	 * Test of snapshots and iteration.
+	 */
+	@Test
+	public void testSnapshots() {
+		PersistentRelations map = new PersistentRelations();
+		List<RelationType<?>> types = new ArrayList<>();
+
+		for (int i = 0; i < 100; i++) {
+			RelationType<?> type = new HashType(i * 31);
+
+			types.add(type);
+			map.put(type, i);
+		}
+
+		PersistentRelations snapshot = map.snapshot();
+		Map<RelationType<?>, Object> original = new HashMap<>(map);
+
+		map.put(types.get(0), "changed");
+		snapshot.remove(types.get(1));
+		snapshot.put(new HashType(7), "added");
+
+		assertEquals("changed", map.get(types.get(0)));
+		assertEquals(0, snapshot.get(types.get(0)));
+		assertEquals(1, map.get(types.get(1)));
+		assertEquals(100, map.size());
+		assertEquals(100, snapshot.size());
+
+		int count = 0;
+
+		// iteration is performed on the state at the start of the iteration
+		for (Iterator<Entry<RelationType<?>, Object>> i =
+			 snapshot.entrySet().iterator(); i.hasNext(); ) {
+			i.next();
+			snapshot.remove(types.get(99 - count));
+			i.remove();
+			count++;
+		}
+
+		assertEquals(100, count);
+		assertTrue(snapshot.isEmpty());
+		assertFalse(snapshot.hasRelationObjects());
+
+		map.put(types.get(0), 0);
+		assertEquals(original, map);
+
+		map.put(types.get(2), new DirectRelation<>(NAME, "R"));
+		assertTrue(map.hasRelationObjects());
+		assertFalse(map.snapshot().remove(types.get(2)) == null);
+		assertTrue(map.hasRelationObjects());
+		map.put(types.get(2), 2);
+		assertFalse(map.hasRelationObjects());
+	}
+
+	/**
+	 * A relation type with a fixed hash code.
+	 *
+	 * @author eso
+	 */
+	static class HashType extends RelationType<Object> {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int hash;
+
+		/**
+		 * Creates a new instance.
+		 *
+		 * @param hash The hash code
+		 */
+		HashType(int hash) {
+			this.hash = hash;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+}
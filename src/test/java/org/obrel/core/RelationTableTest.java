@@ -0,0 +1,212 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import static de.esoco.lib.expression.Predicates.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.type.StandardTypes.NAME;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.DoubleSummaryStatistics;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.RelationTable.Row;
+
+/**
+ * Test of {@link RelationTable}.
+ *
+ * @author eso
+ */
+public class RelationTableTest {
+	private static final RelationType<Integer> QUANTITY =
+		RelationTypes.newType();
+
+	private static final RelationType<Double> PRICE = RelationTypes.newType();
+
+	private static final RelationType<Long> STOCK = RelationTypes.newType();
+
+	private static final RelationType<Boolean> ACTIVE =
+		RelationTypes.newType();
+
+	private static final RelationType<String> NOTE = RelationTypes.newType();
+
+	private static final RelationType<String> CODE =
+		RelationTypes.newInitialValueType("Code",
+			RelationTypeModifier.READONLY);
+
+	private static final RelationType<String> LABEL =
+		RelationTypes.newType(r -> "Default", r -> null);
+
+	static {
+		RelationTypes.init(RelationTableTest.class);
+	}
+
+	/**
+	 * Test of the growth of tables with a small initial capacity.
+	 */
+	@Test
+	public void testCapacity() {
+		for (int initialCapacity = 0; initialCapacity < 3; initialCapacity++) {
+			RelationTable table = new RelationTable(initialCapacity,
+				Arrays.asList(QUANTITY, NOTE));
+
+			for (int i = 0; i < 5; i++) {
+				table.addRow().setInt(QUANTITY, i);
+			}
+
+			assertEquals(5, table.size());
+			assertEquals(10, table.intColumn(QUANTITY).sum());
+		}
+	}
+
+	/**
+	 * Test of column scans, aggregation, and filtering.
+	 */
+	@Test
+	public void testColumns() {
+		RelationTable table = newTable(100);
+
+		assertEquals(100, table.size());
+		assertEquals(4950, table.intColumn(QUANTITY).sum());
+		assertEquals(50, table.longColumn(STOCK).count());
+		assertEquals(99.0, table.doubleColumn(QUANTITY).max().getAsDouble());
+
+		DoubleSummaryStatistics prices = table.summarize(PRICE);
+
+		assertEquals(100, prices.getCount());
+		assertEquals(0.5, prices.getMin());
+
+		BitSet cheap = table.matchDoubles(PRICE, p -> p < 5);
+		BitSet active = table.match(ACTIVE, Boolean.TRUE::equals);
+
+		assertEquals(9, cheap.cardinality());
+		cheap.and(active);
+		assertEquals(Arrays.asList(0, 2, 4, 6, 8),
+			table
+				.rows(cheap)
+				.stream()
+				.map(Row::getIndex)
+				.collect(Collectors.toList()));
+		assertEquals(5, table.matchInts(QUANTITY, q -> q >= 95).cardinality());
+		assertEquals(1, table.matchLongs(STOCK, s -> s == 4).cardinality());
+		assertEquals(2, table
+			.select(QUANTITY.is(equalTo(42)).or(PRICE.is(equalTo(1.5))))
+			.size());
+		assertThrows(IllegalArgumentException.class, () -> table.column(NAME));
+
+		table.clear();
+		assertEquals(0, table.size());
+		assertEquals(0, table.intColumn(QUANTITY).count());
+		assertFalse(table.addRow().hasRelation(QUANTITY));
+	}
+
+	/**
+	 * Test of row views.
+	 */
+	@Test
+	public void testRows() {
+		RelationTable table = newTable(20);
+		Row row = table.get(4);
+
+		assertEquals(row, table.get(4));
+		assertEquals(4, row.getInt(QUANTITY));
+		assertEquals(4, row.get(QUANTITY));
+		assertEquals(2.5, row.getDouble(PRICE));
+		assertTrue(row.hasFlag(ACTIVE));
+		assertFalse(table.get(3).hasFlag(ACTIVE));
+		assertFalse(row.hasRelation(STOCK));
+		assertNull(row.get(STOCK));
+		assertEquals(0, row.getLong(STOCK));
+		assertEquals(3, row.getRelations(null).size());
+
+		row.setLong(STOCK, 42);
+		row.set(NOTE, null);
+		assertEquals(42L, row.get(STOCK));
+		assertTrue(row.hasRelation(NOTE));
+		assertNull(row.get(NOTE));
+
+		Relation<Integer> quantity = row.getRelation(QUANTITY);
+
+		quantity.setTarget(7);
+		assertEquals(7, table.get(4).get(QUANTITY));
+		assertEquals(7, quantity.getTarget());
+		assertThrows(UnsupportedOperationException.class,
+			() -> quantity.set(NAME, "Test"));
+
+		row.deleteRelation(QUANTITY);
+		assertFalse(row.hasRelation(QUANTITY));
+
+		Row initialized = new RelationTable(CODE, LABEL).addRow();
+
+		assertEquals("Code", initialized.get(CODE));
+		assertTrue(initialized.hasRelation(CODE));
+		assertThrows(UnsupportedOperationException.class,
+			() -> initialized.set(CODE, "Changed"));
+		assertEquals("Default", initialized.get(LABEL));
+		assertFalse(initialized.hasRelation(LABEL));
+		assertNull(row.get(QUANTITY));
+		assertThrows(IllegalArgumentException.class, () -> row.set(NAME, ""));
+
+		RelatedObject object = new RelatedObject();
+
+		object.set(QUANTITY, 5);
+		object.set(NOTE, "Copy");
+		object.set(NAME, "Ignored");
+
+		Row copy = table.addRow(object);
+
+		assertEquals(20, copy.getIndex());
+		assertEquals("Copy", copy.get(NOTE));
+		assertEquals(2, copy.getRelationCount(null));
+		assertEquals(2, copy.relationSpliterator().getExactSizeIfKnown());
+		assertEquals(Arrays.asList(QUANTITY, NOTE), copy
+			.streamRelations()
+			.map(Relation::getType)
+			.collect(Collectors.toList()));
+	}
+
+	/**
+	 * Creates a new test table.
+	 *
+	 * @param rows The number of rows
+	 * @return The new table
+	 */
+	private RelationTable newTable(int rows) {
+		RelationTable table =
+			new RelationTable(QUANTITY, PRICE, STOCK, ACTIVE, NOTE);
+
+		for (int i = 0; i < rows; i++) {
+			Row row = table.addRow();
+
+			row.setInt(QUANTITY, i);
+			row.setDouble(PRICE, i / 2.0 + 0.5);
+			row.setFlag(ACTIVE, i % 2 == 0);
+
+			if (i % 2 == 1) {
+				row.setLong(STOCK, i + 1);
+			}
+		}
+
+		return table;
+	}
+}
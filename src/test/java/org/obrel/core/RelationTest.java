@@ -16,27 +16,42 @@
 //++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
 package org.obrel.core;
 
+import de.esoco.lib.event.ElementEvent.EventType;
 import de.esoco.lib.event.EventHandler;
 import de.esoco.lib.expression.Conversions;
+import de.esoco.lib.expression.Function;
 import de.esoco.lib.expression.InvertibleFunction;
 import org.junit.jupiter.api.Test;
 import org.obrel.core.Annotations.NoRelationNameCheck;
 import org.obrel.core.Annotations.RelationTypeNamespace;
 import org.obrel.filter.RelationFilters;
+import org.obrel.type.ListenerType;
 import org.obrel.type.ListenerTypes;
 import org.obrel.type.MetaTypes;
 import org.obrel.type.StandardTypes;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 import static de.esoco.lib.expression.Functions.invert;
 import static de.esoco.lib.expression.StringFunctions.toByteArray;
@@ -44,6 +59,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -84,6 +100,15 @@ public class RelationTest {
 
 	static final RelationType<List<String>> ELEMENTS = newListType();
 
+	static final RelationType<List<String>> LAZY_ELEMENTS =
+		newListType(RelationTypeModifier.LAZY);
+
+	static final RelationType<Set<String>> LAZY_SET =
+		newSetType(false, RelationTypeModifier.LAZY);
+
+	static final RelationType<List<String>> LAZY_READONLY_ELEMENTS =
+		newListType(RelationTypeModifier.LAZY, RelationTypeModifier.READONLY);
+
 	static final RelationType<String[]> TEST_ARRAY = newType();
 
 	static final RelationType<List<?>[]> TEST_GENERIC_ARRAY = newType();
@@ -107,6 +132,21 @@ public class RelationTest {
 	static final RelationType<Integer> TEST_ANNOTATED =
 		RelationTypes.<Integer>newType().annotate(MetaTypes.ORDERED);
 
+	static final RelationType<Integer> TEST_INT =
+		PrimitiveType.newPrimitiveInt();
+
+	static final RelationType<Long> TEST_LONG =
+		PrimitiveType.newPrimitiveLong();
+
+	static final RelationType<Double> TEST_DOUBLE =
+		PrimitiveType.newPrimitiveDouble();
+
+	static final RelationType<Boolean> TEST_PRIMITIVE_FLAG =
+		PrimitiveType.newPrimitiveFlag();
+
+	static final ListenerType<Consumer<String>, String> MIXIN_LISTENERS =
+		ListenerTypes.newListenerType(Consumer::accept);
+
 	// test if name check annotation works
 	@NoRelationNameCheck
 	static final RelationType<String> TEST_NAME = StandardTypes.NAME;
@@ -251,6 +291,95 @@ public class RelationTest {
 		assertFalse(o.hasFlag(TEST_FLAG));
 	}
 
+	/**
+	 * Test of {@link RelatedObject#setAll(RelationData...)} and {@link
+	 * RelatedObject#deleteAll(de.esoco.lib.expression.Predicate)}.
+	 */
+	@Test
+	public void testBulkRelations() {
+		RelatedObject o = new RelatedObject();
+		List<RelationEvent<?>> events = new ArrayList<>();
+		List<RelationEvent<?>> forwarded = new ArrayList<>();
+		List<RelationBatchEvent> batches = new ArrayList<>();
+
+		o.get(ListenerTypes.RELATION_BATCH_LISTENERS).add(batches::add);
+		o
+			.get(ListenerTypes.RELATION_BATCH_LISTENERS)
+			.add(RelationBatchEvent.forwardTo(forwarded::add));
+		o.get(ListenerTypes.RELATION_LISTENERS).add(events::add);
+		o.set(NAME, "Name");
+		events.clear();
+
+		o.setAll(RelationData.r(NAME, "New"), RelationData.r(TEST_ID, 1),
+			RelationData.r(INFO, "Info"), RelationData.r(FINAL_TEST_FLAG,
+				true));
+		assertEquals("New", o.get(NAME));
+		assertEquals(1, o.get(TEST_ID));
+		assertTrue(o.hasFlag(FINAL_TEST_FLAG));
+		assertTrue(events.isEmpty());
+		assertEquals(1, batches.size());
+		assertEquals(4, batches.get(0).getEvents().size());
+		assertEquals(batches.get(0).getEvents(), forwarded);
+		assertEquals(EventType.UPDATE, forwarded.get(0).getType());
+		assertEquals("New", forwarded.get(0).getUpdateValue());
+		assertEquals(EventType.ADD, forwarded.get(1).getType());
+
+		try {
+			o.setAll(RelationData.r(DESCRIPTION, "Description"),
+				RelationData.r(FINAL_TEST_FLAG, false));
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		assertFalse(o.hasRelation(DESCRIPTION));
+		assertEquals(1, batches.size());
+
+		o.get(ListenerTypes.RELATION_BATCH_LISTENERS).add(b -> {
+			if (o.get(NAME).equals("New")) {
+				throw new IllegalStateException();
+			}
+		});
+
+		try {
+			o.setAll(RelationData.r(DESCRIPTION, "Description"),
+				RelationData.r(NAME, "Vetoed"));
+			fail();
+		} catch (IllegalStateException e) {
+			// expected
+		}
+
+		assertFalse(o.hasRelation(DESCRIPTION));
+		assertEquals("New", o.get(NAME));
+		o.set(NAME, "Name");
+
+		try {
+			o.deleteAll(r -> r.getType() != NAME &&
+				r.getType() != ListenerTypes.RELATION_LISTENERS &&
+				r.getType() != ListenerTypes.RELATION_BATCH_LISTENERS);
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		assertTrue(o.hasRelation(INFO));
+		events.clear();
+		forwarded.clear();
+		o.deleteAll(r -> r.getType() == INFO || r.getType() == TEST_ID);
+		assertFalse(o.hasRelation(INFO));
+		assertFalse(o.hasRelation(TEST_ID));
+		assertTrue(events.isEmpty());
+		assertEquals(2, forwarded.size());
+		assertEquals("Info", forwarded.get(1).getElement().getTarget());
+		assertEquals(3, batches.size());
+
+		Params params = Params.params(RelationData.r(NAME, "Param"),
+			RelationData.r(ORDINAL, 2));
+
+		assertEquals("Param", params.get(NAME));
+		assertEquals(2, params.get(ORDINAL));
+	}
+
 	/**
 	 * Test of
 	 * {@link ObjectRelations#copyRelations(Relatable, Relatable, boolean)}.
@@ -368,6 +497,20 @@ public class RelationTest {
 			assertTrue(o.hasRelation(NAME));
 		}
 
+		try {
+			o.setAll(RelationData.r(DESCRIPTION, "test"));
+			fail();
+		} catch (Exception e) {
+			assertFalse(o.hasRelation(DESCRIPTION));
+		}
+
+		try {
+			o.deleteAll(r -> r.getType() == NAME);
+			fail();
+		} catch (Exception e) {
+			assertTrue(o.hasRelation(NAME));
+		}
+
 		try {
 			o.get(ELEMENTS).add("E2");
 			fail();
@@ -437,6 +580,260 @@ public class RelationTest {
 		}
 	}
 
+	/**
+	 * Test of the batch resolution of intermediate relations.
+	 */
+	@Test
+	public void testIntermediateRelationBatch() {
+		List<Collection<Integer>> batches = new ArrayList<>();
+		List<Relatable> objects = new ArrayList<>();
+
+		BatchResolver<Integer, String> resolver = ids -> {
+			Map<Integer, String> result = new HashMap<>();
+
+			batches.add(new ArrayList<>(ids));
+			ids.forEach(id -> result.put(id, "Name" + id));
+
+			return result;
+		};
+
+		for (int i = 0; i < 10; i++) {
+			RelatedObject o = new RelatedObject();
+
+			o.set(NAME, resolver, i % 5);
+			objects.add(o);
+		}
+
+		objects.get(0).deleteRelation(NAME);
+		objects.get(1).deleteRelation(NAME);
+		objects.get(1).set(NAME, "Direct");
+
+		assertEquals(8, ObjectRelations.prefetch(NAME, objects));
+		assertEquals(1, batches.size());
+		assertEquals(Arrays.asList(2, 3, 4, 0, 1), batches.get(0));
+		assertTrue(
+			((IntermediateRelation<?, ?>) objects.get(9).getRelation(NAME))
+				.isResolved());
+		assertEquals("Name4", objects.get(9).get(NAME));
+		assertEquals("Direct", objects.get(1).get(NAME));
+		assertEquals(0, ObjectRelations.prefetch(NAME, objects));
+		assertEquals(1, batches.size());
+
+		RelatedObject single = new RelatedObject();
+
+		single.set(NAME, resolver, 42);
+		assertEquals("Name42", single.get(NAME));
+		assertEquals(Arrays.asList(42), batches.get(1));
+	}
+
+	/**
+	 * Test of relations with a future target.
+	 */
+	@Test
+	public void testFutureRelation() {
+		RelatedObject o = new RelatedObject();
+		CompletableFuture<String> future = new CompletableFuture<>();
+		List<String> updates = new ArrayList<>();
+
+		o.setFuture(NAME, future);
+		o.get(ListenerTypes.RELATION_LISTENERS).add(e -> {
+			if (e.getType() == EventType.UPDATE) {
+				updates.add((String) e.getUpdateValue());
+			}
+		});
+
+		assertFalse(o.getIfAvailable(NAME).exists());
+		assertTrue(o.hasRelation(NAME));
+
+		future.complete("Done");
+
+		assertEquals(Arrays.asList("Done"), updates);
+		assertEquals("Done", o.getIfAvailable(NAME).orFail());
+		assertEquals("Done", o.get(NAME));
+
+		RelatedObject failed = new RelatedObject();
+		CompletableFuture<String> failure = new CompletableFuture<>();
+
+		failed.setFuture(NAME, failure);
+		failure.completeExceptionally(new IllegalStateException());
+		assertFalse(failed.getIfAvailable(NAME).exists());
+
+		try {
+			failed.get(NAME);
+			fail();
+		} catch (CompletionException e) {
+			// expected
+		}
+	}
+
+	/**
+	 * Test of the concurrent resolution of intermediate relations.
+	 *
+	 * @throws Exception If the concurrent execution fails
+	 */
+	@Test
+	public void testIntermediateRelationConcurrency() throws Exception {
+		AtomicInteger resolutions = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		RelatedObject o = new RelatedObject();
+		List<Future<String>> results = new ArrayList<>();
+
+		Function<Integer, String> resolver = id -> {
+			resolutions.incrementAndGet();
+
+			try {
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			return "Name" + id;
+		};
+
+		try {
+			RelationType<String> type = StandardTypes.DESCRIPTION;
+			IntermediateRelation<String, Integer> relation =
+				(IntermediateRelation<String, Integer>) o.set(type, resolver,
+					42);
+
+			type.init(MetaTypes.RESOLUTION_TIME);
+
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> o.get(type)));
+			}
+
+			for (Future<String> result : results) {
+				assertEquals("Name42", result.get());
+			}
+
+			assertEquals(1, resolutions.get());
+			assertTrue(relation.isResolved());
+			assertEquals(1, type.get(MetaTypes.RESOLUTION_TIME).getCount());
+			assertTrue(type.get(MetaTypes.RESOLUTION_TIME).getMinimum() >=
+				TimeUnit.MILLISECONDS.toNanos(50));
+
+			RelatedObject other = new RelatedObject();
+
+			other.set(type, resolver, 43);
+			assertEquals("Name43",
+				((IntermediateRelation<String, Integer>) other.getRelation(
+					type))
+					.resolveAsync(executor)
+					.get());
+			assertEquals(2, resolutions.get());
+		} finally {
+			StandardTypes.DESCRIPTION.deleteRelation(MetaTypes.RESOLUTION_TIME);
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * Test of {@link ObjectRelations#forkRelations(RelatedObject,
+	 * RelatedObject)}.
+	 */
+	@Test
+	public void testForkRelations() {
+		RelatedObject template = new PersistentObject();
+		RelatedObject fork = new PersistentObject();
+		RelatedObject plain = new RelatedObject();
+
+		template.set(NAME, "Template");
+		template.set(TEST_ID, 1);
+		template.set(PRIVATE_TEST_FLAG);
+		template.set(INFO, "Info").annotate(DESCRIPTION, "Annotated");
+
+		ObjectRelations.forkRelations(fork, template);
+		assertTrue(fork.relationsEqual(template));
+		assertTrue(fork.hasFlag(PRIVATE_TEST_FLAG));
+		assertNotSame(template.getRelation(INFO), fork.getRelation(INFO));
+		assertEquals("Annotated", fork.getRelation(INFO).get(DESCRIPTION));
+
+		fork.set(NAME, "Fork");
+		fork.deleteRelation(TEST_ID);
+		fork.getRelation(INFO).annotate(DESCRIPTION, "Changed");
+		template.set(ORDINAL, 1);
+		assertEquals("Template", template.get(NAME));
+		assertEquals(1, template.get(TEST_ID));
+		assertEquals("Annotated", template.getRelation(INFO).get(DESCRIPTION));
+		assertFalse(fork.hasRelation(TEST_ID));
+		assertFalse(fork.hasRelation(ORDINAL));
+
+		ObjectRelations.forkRelations(plain, template);
+		assertTrue(plain.relationsEqual(template));
+		ObjectRelations.forkRelations(fork, plain);
+		assertTrue(fork.relationsEqual(template));
+		plain.set(NAME, "Plain");
+		assertEquals("Template", fork.get(NAME));
+	}
+
+	/**
+	 * Test of relations with inline targets.
+	 */
+	@Test
+	public void testInlineTargets() {
+		RelatedObject o1 = new InlineObject();
+		RelatedObject o2 = new RelatedObject();
+		List<Object> updates = new ArrayList<>();
+
+		Relation<Object> relation = o1.set(TEST_ID, "ID");
+
+		o2.set(TEST_ID, "ID");
+		assertInstanceOf(InlineRelation.class, relation);
+		assertEquals("ID", o1.relations.get(TEST_ID));
+		assertEquals("ID", relation.getTarget());
+		assertTrue(o1.hasRelation(TEST_ID));
+		assertTrue(o1.relationsEqual(o2));
+		assertEquals(o1.relationsHashCode(), o2.relationsHashCode());
+
+		o1.set(TEST_ID, null);
+		assertTrue(o1.hasRelation(TEST_ID));
+		assertEquals(null, o1.get(TEST_ID));
+		o1.set(TEST_ID, 42);
+		assertEquals(42, relation.getTarget());
+		assertFalse(o1.relations.get(TEST_ID) instanceof Relation);
+
+		relation.annotate(DESCRIPTION, "Inline");
+		assertInstanceOf(DirectRelation.class, o1.relations.get(TEST_ID));
+		assertEquals("Inline", o1.getRelation(TEST_ID).get(DESCRIPTION));
+		assertEquals("Inline", relation.get(DESCRIPTION));
+		assertEquals(1, relation.getRelations(null).size());
+		assertEquals(1, relation.getRelationCount(null));
+		assertTrue(relation.hasRelations(null));
+		assertTrue(relation.anyRelation(r -> r.getType() == DESCRIPTION));
+		assertEquals(1, relation.streamRelations().count());
+
+		relation.addUpdateListener(e -> updates.add(e.getUpdateValue()));
+		o1.set(TEST_ID, 43);
+		assertEquals(Arrays.asList(43), updates);
+		assertEquals(43, relation.getTarget());
+
+		o1.set(NAME, "Name");
+		assertEquals("Name", o1.relations.get(NAME));
+
+		Relation<String> name = o1.getRelation(NAME);
+
+		assertInstanceOf(InlineRelation.class, name);
+		assertEquals("Name", name.getTarget());
+		assertEquals(null, name.get(DESCRIPTION));
+		assertFalse(name.hasRelations(null));
+		assertEquals("Name", o1.relations.get(NAME));
+		assertEquals(2, o1.getRelations(null).size());
+
+		name.annotate(DESCRIPTION, "Named");
+		assertInstanceOf(DirectRelation.class, o1.relations.get(NAME));
+		assertSame(o1.relations.get(NAME), o1.getRelation(NAME));
+		assertEquals("Named", name.get(DESCRIPTION));
+
+		o1.set(INFO, "Info").aliasAs(DESCRIPTION, o2);
+		assertEquals("Info", o2.get(DESCRIPTION));
+		o1.set(INFO, "Changed");
+		assertEquals("Changed", o2.get(DESCRIPTION));
+
+		o1.deleteRelation(INFO);
+		assertFalse(o1.hasRelation(INFO));
+		assertEquals(null, o1.get(INFO));
+	}
+
 	/**
 	 * Test setting list relations with vararg method.
 	 */
@@ -452,6 +849,276 @@ public class RelationTest {
 		assertEquals(1, o.getRelationCount(ALL_RELATIONS));
 	}
 
+	/**
+	 * Test of relation containers for {@link RelatableMixin} implementations.
+	 */
+	@Test
+	public void testMixinContainers() {
+		MappedMixin mapped = new MappedMixin();
+		HandleMixin handled = new HandleMixin();
+		List<RelationEvent<?>> events = new ArrayList<>();
+
+		DelegatingMixin delegating = new DelegatingMixin();
+
+		delegating.set(NAME, "Delegating");
+		assertEquals("Delegating",
+			ObjectRelations.getRelatable(delegating).get(NAME));
+
+		mapped.set(NAME, "Mapped");
+		assertEquals("Mapped", mapped.get(NAME));
+		assertSame(mapped.getRelationContainer(),
+			ObjectRelations.getRelatable(mapped));
+
+		assertFalse(handled.relations.isInitialized());
+		assertFalse(handled.hasRelation(NAME));
+		assertTrue(handled.relations.isInitialized());
+
+		handled.get(ListenerTypes.RELATION_LISTENERS).add(events::add);
+		handled.set(NAME, "Handled");
+		assertEquals("Handled", handled.get(NAME));
+		assertSame(handled.relations.get(), handled.getRelationContainer());
+		assertEquals(1, events.size());
+		assertSame(handled.relations.get(), events.get(0).getSource());
+
+		List<String> notified = new ArrayList<>();
+
+		handled.get(MIXIN_LISTENERS).add(notified::add);
+		MIXIN_LISTENERS.notifyListeners(handled, "Event");
+		assertEquals(Arrays.asList("Event"), notified);
+	}
+
+	/**
+	 * Test of shared relation annotations.
+	 */
+	@Test
+	public void testSharedAnnotations() {
+		RelatedObject o1 = new RelatedObject();
+		RelatedObject o2 = new RelatedObject();
+
+		Relation<String> r1 = o1
+			.set(NAME, "A")
+			.annotate(MetaTypes.MANDATORY)
+			.annotate(DESCRIPTION, "Name")
+			.shareAnnotations();
+		Relation<String> r2 = o2
+			.set(NAME, "B")
+			.annotate(MetaTypes.MANDATORY)
+			.annotate(DESCRIPTION, "Name")
+			.shareAnnotations();
+
+		assertSame(r1.relations, r2.relations);
+		assertTrue(r2.hasFlag(MetaTypes.MANDATORY));
+		assertEquals("Name", r2.get(DESCRIPTION));
+
+		r1.set(DESCRIPTION, "Changed");
+		assertNotSame(r1.relations, r2.relations);
+		assertEquals("Changed", r1.get(DESCRIPTION));
+		assertEquals("Name", r2.get(DESCRIPTION));
+
+		r1.set(DESCRIPTION, "Name");
+		r1.shareAnnotations();
+		assertSame(r1.relations, r2.relations);
+
+		r2.deleteRelation(MetaTypes.MANDATORY);
+		assertFalse(r2.hasFlag(MetaTypes.MANDATORY));
+		assertTrue(r1.hasFlag(MetaTypes.MANDATORY));
+
+		r2.annotate(MetaTypes.MANDATORY);
+		ObjectRelations.shareAnnotations(o2);
+		assertSame(r1.relations, r2.relations);
+
+		Relation<List<String>> r3 =
+			o1.set(ELEMENTS, new ArrayList<>()).annotate(TEST_SET,
+				new HashSet<>());
+
+		r3.shareAnnotations();
+		assertInstanceOf(LinkedHashMap.class, r3.relations);
+	}
+
+	/**
+	 * Test of {@link Relatable#peek(RelationType)} and lazy relation types.
+	 */
+	@Test
+	public void testPeekAndLazyTypes() {
+		RelatedObject o = new RelatedObject();
+		List<Object> events = new ArrayList<>();
+
+		o.get(ListenerTypes.RELATION_LISTENERS).add(events::add);
+
+		assertSame(Collections.emptyList(), o.peek(ELEMENTS));
+		assertSame(Collections.emptyMap(), o.peek(TEST_MAP));
+		assertEquals(null, o.peek(NAME));
+		assertFalse(o.hasRelation(ELEMENTS));
+		assertFalse(o.hasRelation(TEST_MAP));
+
+		o.set(NAME, "Peek");
+		o.get(ELEMENTS).add("A");
+		assertEquals("Peek", o.peek(NAME));
+		assertEquals(Arrays.asList("A"), o.peek(ELEMENTS));
+		events.clear();
+
+		List<String> lazyList = o.get(LAZY_ELEMENTS);
+		Set<String> lazySet = o.get(LAZY_SET);
+
+		assertTrue(lazyList.isEmpty());
+		assertFalse(lazySet.contains("A"));
+		assertFalse(o.hasRelation(LAZY_ELEMENTS));
+		assertFalse(o.hasRelation(LAZY_SET));
+		assertTrue(events.isEmpty());
+
+		try {
+			lazyList.remove(0);
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+
+		try {
+			lazyList.set(0, "X");
+			fail();
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+
+		assertFalse(o.hasRelation(LAZY_ELEMENTS));
+		assertTrue(events.isEmpty());
+
+		lazyList.add("X");
+		assertTrue(o.hasRelation(LAZY_ELEMENTS));
+		assertEquals(Arrays.asList("X"), o.get(LAZY_ELEMENTS));
+		assertEquals(Arrays.asList("X"), lazyList);
+		assertEquals(1, events.size());
+
+		lazySet.add("Y");
+		assertEquals(Collections.singleton("Y"), o.get(LAZY_SET));
+
+		List<String> readonlyList = o.get(LAZY_READONLY_ELEMENTS);
+
+		readonlyList.add("Z");
+		assertEquals(Arrays.asList("Z"), o.get(LAZY_READONLY_ELEMENTS));
+
+		try {
+			o.set(LAZY_READONLY_ELEMENTS, new ArrayList<>());
+			fail();
+		} catch (UnsupportedOperationException e) {
+			// expected
+		}
+
+		RelatedObject o2 = new RelatedObject();
+
+		assertInstanceOf(ArrayList.class, o2.init(LAZY_ELEMENTS).getTarget());
+	}
+
+	/**
+	 * Test of the relation iteration methods.
+	 */
+	@Test
+	public void testRelationIteration() {
+		RelatedObject o = new RelatedObject();
+		List<Object> targets = new ArrayList<>();
+
+		o.set(NAME, "Name");
+		o.set(INFO, "Info");
+		o.set(PRIVATE_TEST_FLAG);
+		o.set(ORDINAL, 1);
+
+		o.forEachRelation(null, r -> targets.add(r.getTarget()));
+		assertEquals(Arrays.asList("Name", "Info", 1), targets);
+		assertEquals(targets, o.getAll(null));
+		assertEquals(3, o.getRelationCount(null));
+		assertEquals(2,
+			o.getRelationCount(r -> r.getTarget() instanceof String));
+		assertTrue(o.anyRelation(r -> r.getType() == INFO));
+		assertFalse(o.anyRelation(r -> r.getType() == PRIVATE_TEST_FLAG));
+		assertTrue(o.hasRelations(null));
+		assertFalse(o.hasRelations(r -> r.getTarget() == null));
+
+		Spliterator<Relation<?>> relations = o.relationSpliterator();
+
+		assertEquals(3, relations.getExactSizeIfKnown());
+		assertTrue(relations.tryAdvance(r -> assertEquals(NAME, r.getType())));
+		assertEquals(2, relations.estimateSize());
+		assertEquals(2, o.streamRelations().filter(
+			r -> r.getTarget() instanceof String).count());
+		assertEquals(0, new RelatedObject().relationSpliterator().estimateSize());
+
+		RelatedObject inline = new InlineObject();
+		Set<Relation<?>> views = Collections.newSetFromMap(
+			new IdentityHashMap<>());
+
+		targets.clear();
+		inline.set(NAME, "Name");
+		inline.set(INFO, "Info");
+		inline.forEachRelation(null, r -> {
+			views.add(r);
+			targets.add(r.getType() == NAME ? r.getTarget() : r.getType());
+		});
+		assertEquals(Arrays.asList("Name", INFO), targets);
+		assertEquals(1, views.size());
+		assertTrue(inline.anyRelation(r -> "Info".equals(r.getTarget())));
+		assertEquals(1, inline.getRelationCount(r -> r.getType() == INFO));
+		assertEquals(2, inline.streamRelations().distinct().count());
+	}
+
+	/**
+	 * Test of relations with primitive types.
+	 */
+	@Test
+	public void testPrimitiveRelations() {
+		RelatedObject o = new RelatedObject();
+		List<Object> updates = new ArrayList<>();
+
+		assertEquals(0, o.getInt(TEST_INT));
+		assertEquals(0L, o.getLong(TEST_LONG));
+		assertEquals(0.0, o.getDouble(TEST_DOUBLE));
+		assertFalse(o.hasFlag(TEST_PRIMITIVE_FLAG));
+		assertInstanceOf(PrimitiveRelation.class, o.getRelation(TEST_INT));
+
+		o.setInt(TEST_INT, 42);
+		o.setLong(TEST_LONG, Long.MAX_VALUE);
+		o.setDouble(TEST_DOUBLE, -1.5);
+		o.setFlag(TEST_PRIMITIVE_FLAG, true);
+
+		assertEquals(42, o.getInt(TEST_INT));
+		assertEquals(Long.MAX_VALUE, o.getLong(TEST_LONG));
+		assertEquals(-1.5, o.getDouble(TEST_DOUBLE));
+		assertTrue(o.hasFlag(TEST_PRIMITIVE_FLAG));
+		assertEquals(Integer.valueOf(42), o.get(TEST_INT));
+		assertEquals(Double.valueOf(-1.5), o.get(TEST_DOUBLE));
+		assertEquals(Boolean.TRUE, o.get(TEST_PRIMITIVE_FLAG));
+		assertEquals(4, o.getRelations().size());
+
+		o.set(TEST_INT, Integer.valueOf(7));
+		assertEquals(7, o.getInt(TEST_INT));
+
+		int modifications = o.modificationCount;
+
+		o.setInt(TEST_INT, 9);
+		assertEquals(modifications + 1, o.modificationCount);
+		assertInstanceOf(PrimitiveRelation.class, o.getRelation(TEST_INT));
+
+		o.get(ListenerTypes.RELATION_LISTENERS)
+		 .add(e -> updates.add(e.getUpdateValue()));
+		o.setInt(TEST_INT, 8);
+		o.setDouble(TEST_DOUBLE, 2.5);
+		assertEquals(Arrays.asList(8, 2.5), updates);
+		assertEquals(8, o.getInt(TEST_INT));
+
+		RelatedObject copy = new RelatedObject();
+
+		ObjectRelations.copyRelations(o, copy, true);
+		assertEquals(8, copy.getInt(TEST_INT));
+		assertInstanceOf(PrimitiveRelation.class, copy.getRelation(TEST_INT));
+		assertTrue(o.getRelation(TEST_INT).equals(copy.getRelation(TEST_INT)));
+
+		try {
+			o.set(TEST_INT, null);
+			fail();
+		} catch (IllegalArgumentException e) {
+			// expected
+		}
+	}
+
 	/**
 	 * Test private relation type.
 	 */
@@ -697,4 +1364,76 @@ public class RelationTest {
 		urlDelete(o1, "/name");
 		assertFalse(o1.hasRelation(NAME));
 	}
+
+	/**
+	 * A related object that stores relation targets inline.
+	 */
+	static class InlineObject extends RelatedObject {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean usesInlineTargets() {
+			return true;
+		}
+	}
+
+	/**
+	 * A related object that stores inline targets in persistent relations.
+	 */
+	static class PersistentObject extends RelatedObject {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean usesInlineTargets() {
+			return true;
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		protected boolean usesPersistentRelations() {
+			return true;
+		}
+	}
+
+	/**
+	 * A mixin that delegates to the relatable of the global map.
+	 */
+	static class DelegatingMixin implements RelatableMixin {
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Relatable getRelationContainer() {
+			return ObjectRelations.getRelatable(this);
+		}
+	}
+
+	/**
+	 * A mixin that stores it's relations in a container handle.
+	 */
+	static class HandleMixin implements RelatableMixin {
+
+		final ContainerHandle relations = new ContainerHandle();
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		public Relatable getRelationContainer() {
+			return relations.get();
+		}
+	}
+
+	/**
+	 * A mixin that uses the default relation container lookup.
+	 */
+	static class MappedMixin implements RelatableMixin {
+	}
 }
@@ -0,0 +1,186 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.core.RelationTest.TEST_FLAG;
+import static org.obrel.type.StandardTypes.DESCRIPTION;
+import static org.obrel.type.StandardTypes.INFO;
+import static org.obrel.type.StandardTypes.NAME;
+import static org.obrel.type.StandardTypes.ORDINAL;
+
+import de.esoco.lib.event.ElementEvent.EventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.RelationVersions.Snapshot;
+import org.obrel.type.ListenerTypes;
+import org.obrel.type.MetaTypes;
+
+/**
+ * Test of {@link RelationTransaction}.
+ *
+ * @author eso
+ */
+public class RelationTransactionTest {
+
+	/**
+	 * Test of a transaction commit with deferred notifications.
+	 */
+	@Test
+	public void testCommit() {
+		RelatedObject o1 = new RelatedObject();
+		RelatedObject o2 = new RelatedObject();
+		List<String> events = new ArrayList<>();
+		List<RelationEvent<?>> singleEvents = new ArrayList<>();
+		List<RelationBatchEvent> batches = new ArrayList<>();
+
+		o1.set(NAME, "Old");
+		o1.set(DESCRIPTION, "Description");
+		o1.get(ListenerTypes.RELATION_BATCH_LISTENERS).add(batches::add);
+		o1
+			.get(ListenerTypes.RELATION_BATCH_LISTENERS)
+			.add(RelationBatchEvent.forwardTo(
+				e -> events.add(e.getType() + ":" + e.getUpdateValue())));
+		o1.get(ListenerTypes.RELATION_LISTENERS).add(singleEvents::add);
+
+		try (RelationTransaction tx = new RelationTransaction()) {
+			tx.set(o1, NAME, "A").set(o1, NAME, "B").set(o1, NAME, "C");
+			tx.set(o1, INFO, "Info").delete(o1, DESCRIPTION);
+			tx.set(o2, NAME, "Two").set(o2, INFO, "Temp").delete(o2, INFO);
+
+			assertEquals("C", tx.get(o1, NAME));
+			assertFalse(tx.hasRelation(o1, DESCRIPTION));
+			assertEquals("Old", o1.get(NAME));
+			assertFalse(o2.hasRelation(NAME));
+			assertTrue(events.isEmpty());
+			assertEquals(5, tx.getModificationCount());
+
+			tx.commit();
+			assertFalse(tx.isActive());
+		}
+
+		assertEquals("C", o1.get(NAME));
+		assertEquals("Info", o1.get(INFO));
+		assertFalse(o1.hasRelation(DESCRIPTION));
+		assertEquals("Two", o2.get(NAME));
+		assertFalse(o2.hasRelation(INFO));
+		assertEquals(Arrays.asList("UPDATE:C", "ADD:null", "REMOVE:null"),
+			events);
+		assertTrue(singleEvents.isEmpty());
+		assertEquals(1, batches.size());
+		assertEquals(3, batches.get(0).getEvents().size());
+		assertEquals(EventType.REMOVE,
+			batches.get(0).getEvents().get(2).getType());
+	}
+
+	/**
+	 * Test of publishing a transaction to relation versions.
+	 */
+	@Test
+	public void testPublish() {
+		RelationVersions versions = new RelationVersions();
+		RelatedObject o1 = new RelatedObject();
+		RelatedObject o2 = new RelatedObject();
+
+		versions.publish(o1, o2);
+
+		try (Snapshot before = versions.snapshot();
+			RelationTransaction tx = new RelationTransaction(versions)) {
+			tx.set(o1, NAME, "One").set(o2, NAME, "Two").commit();
+
+			try (Snapshot after = versions.snapshot()) {
+				assertEquals(before.getVersion() + 1, after.getVersion());
+				assertEquals("One", after.get(o1, NAME));
+				assertEquals("Two", after.get(o2, NAME));
+				assertFalse(before.hasRelation(o1, NAME));
+			}
+		}
+	}
+
+	/**
+	 * Test of the reverting of a failed commit and of rollbacks.
+	 */
+	@Test
+	public void testRollback() {
+		RelatedObject o1 = new RelatedObject();
+		RelatedObject o2 = new RelatedObject();
+		List<RelationEvent<?>> events = new ArrayList<>();
+
+		o1.set(NAME, "Name");
+		o1.set(INFO, "Info");
+		o2.set(TEST_FLAG);
+		o1.get(ListenerTypes.RELATION_LISTENERS).add(events::add);
+
+		RelationTransaction tx = new RelationTransaction();
+
+		assertThrows(UnsupportedOperationException.class,
+			() -> tx.set(o2, TEST_FLAG, false));
+		tx.set(o1, NAME, "Changed").delete(o1, INFO);
+		tx.set(o2, NAME, "Added").set(o2, DESCRIPTION, "Final");
+		o2.set(DESCRIPTION, "Concurrent");
+		o2.getRelation(DESCRIPTION).annotate(MetaTypes.IMMUTABLE);
+		assertThrows(UnsupportedOperationException.class, tx::commit);
+
+		assertEquals("Name", o1.get(NAME));
+		assertEquals("Info", o1.get(INFO));
+		assertFalse(o2.hasRelation(NAME));
+		assertEquals("Concurrent", o2.get(DESCRIPTION));
+		assertTrue(events.isEmpty());
+		assertThrows(IllegalStateException.class, tx::rollback);
+
+		List<RelationBatchEvent> batches = new ArrayList<>();
+
+		o1.get(ListenerTypes.RELATION_BATCH_LISTENERS).add(batches::add);
+
+		try (RelationTransaction failing = new RelationTransaction()) {
+			failing.set(o1, ORDINAL, 1).set(o2, MetaTypes.IMMUTABLE, false);
+			assertThrows(IllegalArgumentException.class, failing::commit);
+		}
+
+		assertFalse(o1.hasRelation(ORDINAL));
+		assertEquals(2, batches.size());
+		assertEquals(EventType.REMOVE,
+			batches.get(1).getEvents().get(0).getType());
+
+		o2.get(ListenerTypes.RELATION_BATCH_LISTENERS).add(b -> {
+			throw new IllegalStateException();
+		});
+
+		try (RelationTransaction vetoed = new RelationTransaction()) {
+			vetoed.set(o1, NAME, "Vetoed").set(o2, NAME, "Vetoed");
+			assertThrows(IllegalStateException.class, vetoed::commit);
+		}
+
+		assertEquals("Name", o1.get(NAME));
+		assertFalse(o2.hasRelation(NAME));
+		assertEquals(4, batches.size());
+		assertEquals("Name", batches.get(3).getEvents().get(0).getUpdateValue());
+
+		try (RelationTransaction rollback = new RelationTransaction()) {
+			rollback.set(o1, NAME, "Discarded");
+		}
+
+		assertEquals("Name", o1.get(NAME));
+	}
+}
@@ -0,0 +1,179 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaCompiler.CompilationTask;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.obrel.type.MetaTypes;
+
+/**
+ * Test of {@link RelationTypeIndexProcessor} and the initialization of
+ * relation types from a {@link RelationTypeIndex}.
+ *
+ * @author eso
+ */
+public class RelationTypeIndexTest {
+
+	private static final String TEST_SOURCE =
+		"package test.index;\n" + "import java.util.List;\n" +
+			"import java.util.Map;\n" + "import org.obrel.core.*;\n" +
+			"import static org.obrel.core.RelationTypes.*;\n" +
+			"public class IndexedTypes {\n" +
+			"  public static final RelationType<String> TEXT = newType();\n" +
+			"  public static final RelationType<List<String>> NAMES =\n" +
+			"    newListType();\n" +
+			"  static final RelationType<Map<String, Integer>> COUNTS =\n" +
+			"    newMapType(false);\n" +
+			"  public static final RelationType<int[]> VALUES = newType();\n" +
+			"  static { RelationTypes.init(IndexedTypes.class); }\n" +
+			"  public static class Sub extends IndexedTypes {\n" +
+			"    public static final RelationType<Boolean> FLAG =\n" +
+			"      newFlagType();\n" +
+			"    static { RelationTypes.init(Sub.class); }\n" + "  }\n" +
+			"  private static class Hidden {\n" +
+			"    static final RelationType<String> HIDDEN = newType();\n" +
+			"  }\n" + "}\n";
+
+	@TempDir
+	Path tempDir;
+
+	/**
+	 * Test of the generation of relation type indexes and the
+	 * initialization of relation types from them.
+	 */
+	@Test
+	public void testGeneratedIndex() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+
+		assumeTrue(compiler != null, "No system Java compiler");
+
+		Path sourceDir = tempDir.resolve("src/test/index");
+		Path generatedDir = Files.createDirectory(tempDir.resolve("gen"));
+		Path classesDir = Files.createDirectory(tempDir.resolve("classes"));
+		Path sourceFile = sourceDir.resolve("IndexedTypes.java");
+		String classPath = new File(RelationType.class
+			.getProtectionDomain()
+			.getCodeSource()
+			.getLocation()
+			.toURI()).getPath();
+
+		Files.createDirectories(sourceDir);
+		Files.write(sourceFile, TEST_SOURCE.getBytes(StandardCharsets.UTF_8));
+
+		try (StandardJavaFileManager fileManager =
+			compiler.getStandardFileManager(null, null, null)) {
+			CompilationTask task = compiler.getTask(null, fileManager, null,
+				Arrays.asList("-classpath", classPath, "-d",
+					classesDir.toString(), "-s", generatedDir.toString()),
+				null, fileManager.getJavaFileObjects(sourceFile.toFile()));
+
+			task.setProcessors(
+				Collections.singleton(new RelationTypeIndexProcessor()));
+			assertTrue(task.call());
+		}
+
+		Path generatedPackage = generatedDir.resolve("test/index");
+
+		assertTrue(Files.exists(
+			generatedPackage.resolve("IndexedTypes_RelationTypeIndex.java")));
+		assertTrue(Files.exists(generatedPackage.resolve(
+			"IndexedTypes$Sub_RelationTypeIndex.java")));
+		assertFalse(Files.exists(generatedPackage.resolve(
+			"IndexedTypes$Hidden_RelationTypeIndex.java")));
+
+		try (URLClassLoader classLoader = new URLClassLoader(
+			new URL[] { classesDir.toUri().toURL() },
+			getClass().getClassLoader())) {
+			Class<?> sub =
+				Class.forName("test.index.IndexedTypes$Sub", true, classLoader);
+			Class<?> base = sub.getSuperclass();
+			RelationTypeIndex index = (RelationTypeIndex) Class
+				.forName(sub.getName() + RelationTypeIndex.CLASS_SUFFIX, true,
+					classLoader)
+				.getDeclaredConstructor()
+				.newInstance();
+
+			assertTrue(RelationTypes.hasRelationTypeIndex(sub));
+			assertTrue(RelationTypes.hasRelationTypeIndex(base));
+			assertFalse(RelationTypes.hasRelationTypeIndex(getClass()));
+
+			List<RelationTypeIndex.Entry> entries = index.getRelationTypes();
+			RelationTypeIndex.Entry counts = entries.get(3);
+
+			assertEquals(5, entries.size());
+			assertSame(sub, entries.get(0).getDeclaringClass());
+			assertSame(base, counts.getDeclaringClass());
+			assertEquals("COUNTS", counts.getFieldName());
+			assertSame(Map.class, counts.getDatatype());
+			assertArrayEquals(new Class<?>[] { String.class, Integer.class },
+				counts.getElementTypes());
+			assertSame(int[].class, entries.get(4).getDatatype());
+
+			RelationType<?> names = getType(base, "NAMES");
+			RelationType<?> countsType = counts.getRelationType();
+
+			assertEquals("test.index.IndexedTypes.NAMES", names.getName());
+			assertSame(List.class, names.getTargetType());
+			assertSame(String.class, names.get(MetaTypes.ELEMENT_DATATYPE));
+			assertSame(String.class, countsType.get(MetaTypes.KEY_DATATYPE));
+			assertSame(Integer.class,
+				countsType.get(MetaTypes.VALUE_DATATYPE));
+			assertSame(base, countsType.get(MetaTypes.DECLARING_CLASS));
+			assertEquals("test.index.IndexedTypes$Sub.FLAG",
+				getType(sub, "FLAG").getName());
+			assertEquals(5, ObjectRelations
+				.getRelatable(sub)
+				.get(MetaTypes.DECLARED_RELATION_TYPES)
+				.size());
+		}
+	}
+
+	/**
+	 * Returns the relation type from a public static field.
+	 *
+	 * @param type  The declaring class
+	 * @param field The field name
+	 * @return The relation type
+	 */
+	private RelationType<?> getType(Class<?> type, String field)
+		throws ReflectiveOperationException {
+		return (RelationType<?>) type.getField(field).get(null);
+	}
+}
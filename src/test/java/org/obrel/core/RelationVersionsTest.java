@@ -0,0 +1,169 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.type.StandardTypes.DESCRIPTION;
+import static org.obrel.type.StandardTypes.NAME;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.RelationTest.PersistentObject;
+import org.obrel.core.RelationVersions.Snapshot;
+
+/**
+ * Test of {@link RelationVersions}.
+ *
+ * @author eso
+ */
+public class RelationVersionsTest {
+
+	private static final RelationType<Integer> BALANCE =
+		RelationTypes.newType();
+
+	private static final RelationType<RelatedObject> PARENT =
+		RelationTypes.newType();
+
+	static {
+		RelationTypes.init(RelationVersionsTest.class);
+	}
+
+	/**
+	 * Test of consistent snapshots during concurrent publications.
+	 */
+	@Test
+	public void testConcurrentSnapshots() throws Exception {
+		RelationVersions versions = new RelationVersions();
+		RelatedObject a = new PersistentObject();
+		RelatedObject b = new PersistentObject();
+		AtomicInteger errors = new AtomicInteger();
+
+		a.set(BALANCE, 100);
+		b.set(BALANCE, 0);
+		versions.publish(a, b);
+
+		Thread reader = new Thread(() -> {
+			for (int i = 0; i < 10_000; i++) {
+				try (Snapshot snapshot = versions.snapshot()) {
+					if (snapshot.get(a, BALANCE) + snapshot.get(b, BALANCE) !=
+						100) {
+						errors.incrementAndGet();
+					}
+				}
+			}
+		});
+
+		reader.start();
+
+		for (int i = 0; i < 10_000; i++) {
+			a.set(BALANCE, a.get(BALANCE) - 1);
+			b.set(BALANCE, b.get(BALANCE) + 1);
+			versions.publish(a, b);
+			a.set(BALANCE, a.get(BALANCE) + 1);
+			b.set(BALANCE, b.get(BALANCE) - 1);
+			versions.publish(a, b);
+		}
+
+		reader.join();
+		assertEquals(0, errors.get());
+		assertEquals(1, versions.getVersionCount(a));
+	}
+
+	/**
+	 * Test of the reclaiming of old versions.
+	 */
+	@Test
+	public void testReclaim() {
+		RelationVersions versions = new RelationVersions();
+		RelatedObject o = new RelatedObject();
+
+		o.set(NAME, "1");
+		versions.publish(o);
+
+		Snapshot first = versions.snapshot();
+
+		o.set(NAME, "2");
+		versions.publish(o);
+		o.set(NAME, "3");
+		versions.publish(o);
+
+		Snapshot second = versions.snapshot();
+
+		assertEquals(2, versions.getVersionCount(o));
+		versions.remove(o);
+		assertEquals(3, versions.getVersionCount(o));
+		assertEquals("1", first.get(o, NAME));
+		assertEquals("3", second.get(o, NAME));
+
+		first.close();
+		assertEquals(2, versions.getVersionCount(o));
+		second.close();
+		assertEquals(0, versions.getVersionCount(o));
+	}
+
+	/**
+	 * Test of snapshot isolation.
+	 */
+	@Test
+	public void testSnapshots() {
+		RelationVersions versions = new RelationVersions();
+		RelatedObject parent = new RelatedObject();
+		RelatedObject child = new PersistentObject();
+
+		parent.set(NAME, "Parent");
+		parent.set(DESCRIPTION, "Annotated").annotate(NAME, "Note");
+		child.set(NAME, "Child");
+		child.set(PARENT, parent);
+		assertEquals(1, versions.publish(parent, child));
+
+		try (Snapshot snapshot = versions.snapshot()) {
+			parent.set(NAME, "Changed");
+			parent.set(DESCRIPTION, "Changed");
+			child.deleteRelation(NAME);
+			versions.publish(parent, child);
+
+			RelatedObject snapshotParent = snapshot.get(child, PARENT);
+
+			assertSame(parent, snapshotParent);
+			assertEquals("Parent", snapshot.get(snapshotParent, NAME));
+			assertEquals("Annotated", snapshot.get(parent, DESCRIPTION));
+			assertEquals("Child", snapshot.get(child, NAME));
+			assertTrue(snapshot.hasRelation(child, NAME));
+			assertEquals(2, snapshot.view(child).getRelations().size());
+			assertThrows(UnsupportedOperationException.class,
+				() -> snapshot.view(child).set(NAME, "Child"));
+		}
+
+		try (Snapshot snapshot = versions.snapshot()) {
+			RelatedObject unpublished = new RelatedObject();
+
+			assertEquals(2, snapshot.getVersion());
+			assertEquals("Changed", snapshot.get(parent, NAME));
+			assertFalse(snapshot.hasRelation(child, NAME));
+			assertNull(snapshot.get(child, NAME));
+			assertFalse(snapshot.contains(unpublished));
+			assertThrows(IllegalArgumentException.class,
+				() -> snapshot.get(unpublished, NAME));
+		}
+	}
+}
@@ -0,0 +1,252 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.core.RelationData.r;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.RelatedObject;
+import org.obrel.core.RelationTransaction;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypes;
+import org.obrel.type.MetaTypes;
+
+/**
+ * Test of {@link IndexedCollection} and {@link HashIndex}.
+ *
+ * @author eso
+ */
+public class IndexedCollectionTest {
+	private static final RelationType<Integer> ID =
+		RelationTypes.<Integer>newType().annotate(MetaTypes.UNIQUE);
+
+	private static final RelationType<String> CITY =
+		RelationTypes.<String>newType().annotate(MetaTypes.INDEXED);
+
+	private static final RelationType<String> REMARK = RelationTypes.newType();
+
+	static {
+		RelationTypes.init(IndexedCollectionTest.class);
+	}
+
+	/**
+	 * Test that closed collections no longer track relation changes.
+	 */
+	@Test
+	public void testClose() {
+		IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>(ID, CITY);
+		RelatedObject a = newObject(1, "Berlin");
+
+		objects.close();
+		a.set(ID, 42);
+		objects.add(a);
+		a.set(ID, 43);
+		assertSame(a, objects.findUnique(ID, 42));
+		assertNull(objects.findUnique(ID, 43));
+	}
+
+	/**
+	 * Test of index lookups and incremental index updates.
+	 */
+	@Test
+	public void testFindBy() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>(ID, CITY)) {
+			RelatedObject a = newObject(1, "Berlin");
+			RelatedObject b = newObject(2, "Berlin");
+			RelatedObject c = newObject(3, "Hamburg");
+
+			objects.addAll(Arrays.asList(a, b, c));
+
+			assertEquals(3, objects.size());
+			assertTrue(objects.getIndex(ID).isUnique());
+			assertFalse(objects.getIndex(CITY).isUnique());
+			assertSame(b, objects.findUnique(ID, 2));
+			assertEquals(new HashSet<>(Arrays.asList(a, b)),
+				new HashSet<>(objects.findBy(CITY, "Berlin")));
+			assertEquals(2, objects.getIndex(CITY).getValueCount());
+
+			b.set(CITY, "Hamburg");
+			assertEquals(Arrays.asList(a),
+				Arrays.asList(objects.findBy(CITY, "Berlin").toArray()));
+			assertEquals(2, objects.findBy(CITY, "Hamburg").size());
+
+			c.deleteRelation(CITY);
+			assertEquals(Arrays.asList(b),
+				Arrays.asList(objects.findBy(CITY, "Hamburg").toArray()));
+
+			c.set(CITY, "Kiel");
+			assertSame(c, objects.findUnique(CITY, "Kiel"));
+
+			a.set(REMARK, "unindexed");
+			assertSame(a, objects.findUnique(REMARK, "unindexed"));
+
+			objects.remove(a);
+			assertNull(objects.findUnique(ID, 1));
+			assertTrue(objects.findBy(CITY, "Berlin").isEmpty());
+
+			Iterator<RelatedObject> iterator = objects.iterator();
+
+			iterator.next();
+			iterator.remove();
+			assertEquals(1, objects.size());
+			assertEquals(1, objects.getIndex(ID).getValueCount());
+		}
+	}
+
+	/**
+	 * Test of the automatic indexing of flagged types.
+	 */
+	@Test
+	public void testFlaggedTypes() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>()) {
+			assertTrue(objects.getIndexedTypes().contains(ID));
+			assertTrue(objects.getIndexedTypes().contains(CITY));
+			assertFalse(objects.getIndexedTypes().contains(REMARK));
+		}
+	}
+
+	/**
+	 * Test of index updates by bulk modifications.
+	 */
+	@Test
+	public void testSetAll() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>(ID, CITY)) {
+			RelatedObject a = newObject(1, "Berlin");
+			RelatedObject b = newObject(2, "Kiel");
+
+			objects.add(a);
+			objects.add(b);
+
+			a.setAll(r(CITY, "Hamburg"), r(REMARK, "moved"));
+			assertTrue(objects.findBy(CITY, "Berlin").isEmpty());
+			assertSame(a, objects.findUnique(CITY, "Hamburg"));
+
+			assertThrows(IllegalStateException.class,
+				() -> b.setAll(r(CITY, "Bremen"), r(ID, 1)));
+			assertEquals(2, b.get(ID));
+			assertEquals("Kiel", b.get(CITY));
+			assertTrue(objects.findBy(CITY, "Bremen").isEmpty());
+			assertSame(b, objects.findUnique(CITY, "Kiel"));
+			assertSame(a, objects.findUnique(ID, 1));
+			assertSame(b, objects.findUnique(ID, 2));
+
+			b.deleteAll(r -> r.getType() == CITY);
+			assertTrue(objects.findBy(CITY, "Bremen").isEmpty());
+			assertTrue(objects.findBy(CITY, "Kiel").isEmpty());
+		}
+	}
+
+	/**
+	 * Test of index updates by the commit of relation transactions.
+	 */
+	@Test
+	public void testTransaction() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>(ID, CITY)) {
+			RelatedObject a = newObject(1, "Berlin");
+			RelatedObject b = newObject(2, "Kiel");
+
+			objects.add(a);
+			objects.add(b);
+
+			try (RelationTransaction tx = new RelationTransaction()) {
+				tx.set(a, CITY, "Hamburg").set(a, CITY, "Bremen");
+				tx.delete(b, CITY).commit();
+			}
+
+			assertTrue(objects.findBy(CITY, "Berlin").isEmpty());
+			assertTrue(objects.findBy(CITY, "Hamburg").isEmpty());
+			assertTrue(objects.findBy(CITY, "Kiel").isEmpty());
+			assertSame(a, objects.findUnique(CITY, "Bremen"));
+
+			try (RelationTransaction tx = new RelationTransaction()) {
+				tx.set(b, CITY, "Flensburg").set(b, ID, 1);
+				assertThrows(IllegalStateException.class, tx::commit);
+			}
+
+			assertFalse(b.hasRelation(CITY));
+			assertTrue(objects.findBy(CITY, "Flensburg").isEmpty());
+			assertEquals(2, b.get(ID));
+			assertSame(a, objects.findUnique(ID, 1));
+			assertSame(b, objects.findUnique(ID, 2));
+		}
+	}
+
+	/**
+	 * Test of the enforcement of unique values.
+	 */
+	@Test
+	public void testUnique() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>(ID, CITY)) {
+			RelatedObject a = newObject(1, "Berlin");
+			RelatedObject b = newObject(2, "Berlin");
+
+			objects.add(a);
+			objects.add(b);
+
+			assertThrows(IllegalStateException.class,
+				() -> objects.add(newObject(1, "Kiel")));
+			assertEquals(2, objects.size());
+			assertTrue(objects.findBy(CITY, "Kiel").isEmpty());
+
+			assertThrows(IllegalStateException.class, () -> b.set(ID, 1));
+			assertEquals(2, b.get(ID));
+			assertSame(b, objects.findUnique(ID, 2));
+
+			b.set(ID, 3);
+			assertSame(b, objects.findUnique(ID, 3));
+			assertNull(objects.findUnique(ID, 2));
+
+			RelatedObject c = new RelatedObject();
+
+			objects.add(c);
+			assertThrows(IllegalStateException.class, () -> c.set(ID, 3));
+			assertFalse(c.hasRelation(ID));
+		}
+	}
+
+	/**
+	 * Creates a new test object.
+	 *
+	 * @param id   The ID
+	 * @param city The city
+	 * @return The new object
+	 */
+	private RelatedObject newObject(int id, String city) {
+		RelatedObject object = new RelatedObject();
+
+		object.set(ID, id);
+		object.set(CITY, city);
+
+		return object;
+	}
+}
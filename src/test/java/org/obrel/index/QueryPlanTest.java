@@ -0,0 +1,187 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import static de.esoco.lib.expression.CollectionPredicates.elementOf;
+import static de.esoco.lib.expression.Predicates.equalTo;
+import static de.esoco.lib.expression.Predicates.greaterOrEqual;
+import static de.esoco.lib.expression.Predicates.greaterThan;
+import static de.esoco.lib.expression.Predicates.lessThan;
+import static de.esoco.lib.expression.Predicates.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.esoco.lib.expression.Predicate;
+import de.esoco.lib.expression.predicate.Comparison.EqualTo;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.RelatedObject;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypes;
+import org.obrel.type.MetaTypes;
+
+/**
+ * Test of {@link QueryPlan}.
+ *
+ * @author eso
+ */
+public class QueryPlanTest {
+	private static final RelationType<String> CITY =
+		RelationTypes.<String>newType().annotate(MetaTypes.INDEXED);
+
+	private static final RelationType<Integer> AGE =
+		RelationTypes.<Integer>newType().annotate(MetaTypes.INDEXED)
+			.annotate(MetaTypes.ORDERED);
+
+	private static final RelationType<Integer> NUMBER =
+		RelationTypes.newType();
+
+	private static final RelationType<Integer> SCORE =
+		RelationTypes.newIntType();
+
+	private static final String[] CITIES =
+		{ "Berlin", "Hamburg", "Kiel", "Munich", "Flensburg" };
+
+	static {
+		RelationTypes.init(QueryPlanTest.class);
+	}
+
+	/**
+	 * Test of queries that are resolved with indexes.
+	 */
+	@Test
+	public void testIndexedQueries() {
+		try (IndexedCollection<RelatedObject> objects = newCollection(200)) {
+			Predicate<RelatedObject> inKiel = CITY.is(equalTo("Kiel"));
+			Predicate<RelatedObject> adult = AGE.is(greaterOrEqual(18));
+			Predicate<RelatedObject> odd = NUMBER.is(n -> n % 2 == 1);
+
+			QueryPlan<RelatedObject> plan =
+				objects.plan(odd.and(adult).and(inKiel));
+
+			assertTrue(plan.isIndexed());
+			assertEquals(40, plan.getEstimatedCandidates());
+			assertEquals(2, plan.getFilters().size());
+			assertTrue(plan.getFilters().get(0).toString().contains("18"));
+			assertQuery(objects, odd.and(adult).and(inKiel));
+
+			plan = objects.plan(AGE.is(greaterThan(20).and(lessThan(30))));
+			assertTrue(plan.isIndexed());
+			assertTrue(plan.getFilters().isEmpty());
+			assertQuery(objects, AGE.is(greaterThan(20).and(lessThan(30))));
+			assertQuery(objects,
+				AGE.is(greaterThan(20)).and(AGE.is(lessThan(20))));
+
+			Predicate<RelatedObject> either =
+				CITY.is(equalTo("Kiel")).or(AGE.is(lessThan(5)));
+
+			assertTrue(objects.plan(either).isIndexed());
+			assertQuery(objects, either);
+			assertQuery(objects, CITY.is(elementOf("Kiel", "Berlin", "Rome")));
+
+			objects.iterator().next().set(CITY, "Rome");
+			assertQuery(objects, CITY.is(elementOf("Kiel", "Berlin", "Rome")));
+
+			Predicate<RelatedObject> sorted = CITY.is(
+				elementOf(new TreeSet<>(Arrays.asList("Kiel", "Rome"))));
+
+			assertTrue(objects.plan(sorted).isIndexed());
+			assertQuery(objects, sorted);
+
+			Predicate<RelatedObject> caseless =
+				CITY.is(new EqualTo<String>("KIEL") {
+					@Override
+					public Boolean evaluate(String city, Object value) {
+						return ((String) value).equalsIgnoreCase(city);
+					}
+				});
+
+			assertFalse(objects.plan(caseless).isIndexed());
+			assertQuery(objects, caseless);
+		}
+	}
+
+	/**
+	 * Test of queries that require a collection scan.
+	 */
+	@Test
+	public void testScanQueries() {
+		try (IndexedCollection<RelatedObject> objects = newCollection(
+			QueryPlan.PARALLEL_SCAN_THRESHOLD)) {
+			Predicate<RelatedObject> notKiel = not(CITY.is(equalTo("Kiel")));
+			Predicate<RelatedObject> either =
+				CITY.is(equalTo("Kiel")).or(NUMBER.is(lessThan(5)));
+
+			Predicate<RelatedObject> scored = SCORE.is(greaterThan(0));
+
+			assertFalse(objects.plan(notKiel).isIndexed());
+			assertFalse(objects.plan(either).isIndexed());
+			assertFalse(objects.plan(notKiel).isParallel());
+			assertTrue(objects.plan(either).isParallel());
+			assertFalse(objects.plan(either.and(scored)).isParallel());
+			assertQuery(objects, notKiel);
+			assertQuery(objects, either);
+			assertQuery(objects, NUMBER.is(greaterThan(9990)));
+			assertQuery(objects, either.and(scored));
+		}
+	}
+
+	/**
+	 * Asserts that the result of a query is the same as that of filtering
+	 * the collection.
+	 *
+	 * @param objects  The collection to query
+	 * @param criteria The query predicate
+	 */
+	private void assertQuery(IndexedCollection<RelatedObject> objects,
+		Predicate<RelatedObject> criteria) {
+		List<RelatedObject> expected =
+			objects.stream().filter(criteria).collect(Collectors.toList());
+		List<RelatedObject> result = objects.select(criteria);
+
+		assertEquals(expected.size(), result.size());
+		assertEquals(new HashSet<>(expected), new HashSet<>(result));
+	}
+
+	/**
+	 * Creates a new collection of test objects.
+	 *
+	 * @param count The number of objects
+	 * @return The new collection
+	 */
+	private IndexedCollection<RelatedObject> newCollection(int count) {
+		IndexedCollection<RelatedObject> objects = new IndexedCollection<>();
+
+		for (int i = 0; i < count; i++) {
+			RelatedObject object = new RelatedObject();
+
+			object.set(NUMBER, i);
+			object.set(CITY, CITIES[i % CITIES.length]);
+			object.set(AGE, i % 100);
+			objects.add(object);
+		}
+
+		return objects;
+	}
+}
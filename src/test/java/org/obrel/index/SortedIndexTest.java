@@ -0,0 +1,164 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.index;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.esoco.lib.datatype.Range;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.RelatedObject;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypes;
+import org.obrel.type.MetaTypes;
+
+/**
+ * Test of {@link SortedIndex} and the range queries of {@link
+ * IndexedCollection}.
+ *
+ * @author eso
+ */
+public class SortedIndexTest {
+	private static final RelationType<Integer> AGE =
+		RelationTypes.<Integer>newType().annotate(MetaTypes.INDEXED)
+			.annotate(MetaTypes.ORDERED);
+
+	private static final RelationType<Integer> RANK =
+		RelationTypes.<Integer>newType().annotate(MetaTypes.UNIQUE)
+			.annotate(MetaTypes.ORDERED);
+
+	private static final RelationType<Integer> SCORE =
+		RelationTypes.newType();
+
+	static {
+		RelationTypes.init(SortedIndexTest.class);
+	}
+
+	/**
+	 * Test of range queries.
+	 */
+	@Test
+	public void testFindRange() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>(AGE, SCORE)) {
+			RelatedObject a = newObject(AGE, 30);
+			RelatedObject b = newObject(AGE, 20);
+			RelatedObject c = newObject(AGE, 40);
+			RelatedObject d = newObject(AGE, 20);
+
+			objects.addAll(Arrays.asList(a, b, c, d));
+
+			assertTrue(objects.getIndex(AGE) instanceof SortedIndex);
+			assertTrue(objects.getIndex(SCORE) instanceof HashIndex);
+
+			SortedIndex<RelatedObject, Integer> index =
+				objects.addSortedIndex(AGE);
+
+			assertEquals(Arrays.asList(b, d, a),
+				objects.findRange(AGE, Range.from(20).to(30)));
+			assertEquals(Arrays.asList(a, b, d),
+				objects.findRange(AGE, Range.from(35).to(20)));
+			assertEquals(Arrays.asList(a),
+				index.findRange(20, false, 40, false));
+			assertEquals(Arrays.asList(a, c), index.findRange(25, true, null,
+				true));
+			assertEquals(Collections.emptyList(),
+				index.findRange(40, true, 20, true));
+			assertEquals(Arrays.asList(b, d, a, c), index.sorted());
+			assertEquals(20, index.getMinimum());
+			assertEquals(40, index.getMaximum());
+
+			b.set(AGE, 50);
+			d.deleteRelation(AGE);
+			assertEquals(Arrays.asList(a, c, b), index.sorted());
+			assertEquals(3, index.getValueCount());
+
+			objects.remove(c);
+			assertEquals(Arrays.asList(a, b),
+				objects.findRange(AGE, Range.from(0).to(100)));
+
+			a.set(SCORE, 7);
+			b.set(SCORE, 3);
+			assertEquals(Arrays.asList(a, b),
+				objects.findRange(SCORE, Range.from(10).to(0)));
+			assertThrows(IllegalStateException.class,
+				() -> objects.addSortedIndex(SCORE));
+
+			List<RelatedObject> equal = new ArrayList<>();
+
+			for (int i = 0; i < 1000; i++) {
+				equal.add(newObject(AGE, 60));
+			}
+
+			objects.addAll(equal);
+			objects.remove(equal.remove(500));
+			assertEquals(equal, index.find(60));
+			assertEquals(equal, index.findRange(Range.from(100).to(55)));
+			assertEquals(3, index.getValueCount());
+		}
+	}
+
+	/**
+	 * Test of unique sorted indexes.
+	 */
+	@Test
+	public void testUnique() {
+		try (IndexedCollection<RelatedObject> objects =
+			new IndexedCollection<>()) {
+			RelatedObject a = newObject(RANK, 1);
+			RelatedObject b = newObject(RANK, 2);
+
+			objects.add(a);
+			objects.add(b);
+
+			SortedIndex<RelatedObject, Integer> index =
+				objects.addSortedIndex(RANK);
+
+			assertTrue(index.isUnique());
+			assertThrows(IllegalStateException.class,
+				() -> objects.add(newObject(RANK, 2)));
+			assertThrows(IllegalStateException.class, () -> a.set(RANK, 2));
+			assertEquals(Arrays.asList(a, b), index.sorted());
+
+			objects.clear();
+			assertNull(index.getMinimum());
+		}
+	}
+
+	/**
+	 * Creates a new test object.
+	 *
+	 * @param type  The relation type to set
+	 * @param value The relation value
+	 * @return The new object
+	 */
+	private RelatedObject newObject(RelationType<Integer> type, int value) {
+		RelatedObject object = new RelatedObject();
+
+		object.set(type, value);
+
+		return object;
+	}
+}
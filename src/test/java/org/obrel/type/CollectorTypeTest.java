@@ -18,6 +18,7 @@ package org.obrel.type;
 
 import static de.esoco.lib.datatype.Pair.t;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.obrel.type.StandardTypes.MAXIMUM;
 
 import java.util.Arrays;
@@ -27,7 +28,9 @@ import org.junit.jupiter.api.Test;
 import org.obrel.core.Relatable;
 import org.obrel.core.RelatedObject;
 import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypes;
 
+import de.esoco.lib.collection.BoundedCollection;
 import de.esoco.lib.collection.CollectionUtil;
 import de.esoco.lib.datatype.Pair;
 
@@ -37,6 +40,81 @@ import de.esoco.lib.datatype.Pair;
  * @author eso
  */
 public class CollectorTypeTest {
+	private static final CollectorType<String> BOUNDED_COLLECTOR =
+		CollectorType.newBoundedCollector(String.class, 3,
+			(r, v) -> v.toString());
+
+	private static final CollectorType<String> BOUNDED_DISTINCT_COLLECTOR =
+		CollectorType.newBoundedDistinctCollector(String.class, 2,
+			(r, v) -> v.toString());
+
+	private static final CollectorType<Integer> INT_COLLECTOR =
+		CollectorType.newBoundedCollector(Integer.class, 3,
+			(r, v) -> v instanceof Integer ? (Integer) v : null);
+
+	static {
+		RelationTypes.init(CollectorTypeTest.class);
+	}
+
+	/**
+	 * Test of bounded collectors.
+	 */
+	@Test
+	public void testBoundedCollector() {
+		Collection<String> values = doCollect(BOUNDED_COLLECTOR, -1,
+			t(StandardTypes.NAME, "1"), t(StandardTypes.DESCRIPTION, "2"),
+			t(StandardTypes.INFO, "3"), t(StandardTypes.NAME, "4"),
+			t(StandardTypes.NAME, "5"));
+
+		assertTrue(values instanceof BoundedCollection);
+		assertEquals(Arrays.asList("3", "4", "5"), values);
+
+		assertEquals(CollectionUtil.orderedSetOf("3", "1"),
+			doCollect(BOUNDED_DISTINCT_COLLECTOR, -1,
+				t(StandardTypes.NAME, "1"), t(StandardTypes.DESCRIPTION, "2"),
+				t(StandardTypes.INFO, "3"), t(StandardTypes.INFO, "3"),
+				t(StandardTypes.NAME, "1")));
+
+		// MAXIMUM annotation overrides the capacity of the type
+		assertEquals(Arrays.asList("4", "5"),
+			doCollect(BOUNDED_COLLECTOR, 2, t(StandardTypes.NAME, "1"),
+				t(StandardTypes.DESCRIPTION, "2"), t(StandardTypes.INFO, "3"),
+				t(StandardTypes.NAME, "4"), t(StandardTypes.NAME, "5")));
+	}
+
+	/**
+	 * Test of collector statistics.
+	 */
+	@Test
+	public void testStatistics() {
+		Relatable o = new RelatedObject();
+
+		o.init(INT_COLLECTOR);
+		o.set(StandardTypes.SIZE, 5);
+		o.set(StandardTypes.SIZE, 1);
+
+		CollectorType.Statistics statistics = INT_COLLECTOR.getStatistics(o);
+
+		assertEquals(6, statistics.getSum());
+		assertEquals(1, statistics.getMinimum());
+		assertEquals(5, statistics.getMaximum());
+
+		o.set(StandardTypes.SIZE, 3);
+		o.set(StandardTypes.SIZE, 2);
+
+		assertEquals(3, statistics.getCount());
+		assertEquals(6, statistics.getSum());
+		assertEquals(2, statistics.getAverage());
+		assertEquals(1, statistics.getMinimum());
+		assertEquals(3, statistics.getMaximum());
+
+		o.set(StandardTypes.SIZE, 4);
+
+		assertEquals(9, statistics.getSum());
+		assertEquals(2, statistics.getMinimum());
+		assertEquals(4, statistics.getMaximum());
+	}
+
 	/**
 	 * Test of standard collector.
 	 */
@@ -17,10 +17,14 @@
 package org.obrel.type;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.obrel.type.StandardTypes.INFO;
 import static org.obrel.type.StandardTypes.NAME;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 import org.obrel.core.Relatable;
 import org.obrel.core.RelatedObject;
@@ -29,6 +33,7 @@ import org.obrel.core.RelationTypeModifier;
 import org.obrel.core.RelationTypes;
 
 import de.esoco.lib.event.ElementEvent.EventType;
+import de.esoco.lib.json.JsonBuilder;
 import de.esoco.lib.expression.Predicates;
 
 /**
@@ -46,10 +51,69 @@ public class CounterTypeTest {
 			.newIntCounter(e -> e.getType() != EventType.REMOVE &&
 					e.getElement().getType() == NAME);
 
+	private static final ConcurrentCounterType HIT_COUNTER = ConcurrentCounterType.newConcurrentCounter();
+
+	@SuppressWarnings("boxing")
+	private static final ConcurrentCounterType UPDATE_COUNTER = ConcurrentCounterType
+			.newConcurrentCounter(e -> e.getType() == EventType.UPDATE);
+
 	static {
 		RelationTypes.init(CounterTypeTest.class);
 	}
 
+	/**
+	 * Test of concurrent counting with a {@link ConcurrentCounterType}.
+	 *
+	 * @throws InterruptedException If waiting for the threads fails
+	 */
+	@Test
+	public void testConcurrentCounter() throws InterruptedException {
+		Relatable o = new RelatedObject();
+		List<Thread> threads = new ArrayList<>();
+
+		assertEquals(0, HIT_COUNTER.getAsLong(o));
+		o.init(HIT_COUNTER);
+
+		for (int i = 0; i < 4; i++) {
+			Thread thread = new Thread(() -> {
+				for (int n = 0; n < 10000; n++) {
+					HIT_COUNTER.increment(o);
+				}
+			});
+
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(40000, HIT_COUNTER.getAsLong(o));
+		assertEquals(Long.valueOf(40000), o.get(HIT_COUNTER));
+		assertTrue(new JsonBuilder().appendRelatable(o, null, false).toString()
+				.contains("HIT_COUNTER\": 40000"));
+
+		o.set(HIT_COUNTER, 5L);
+		HIT_COUNTER.add(o, 2);
+		assertEquals(7, HIT_COUNTER.getAsLong(o));
+	}
+
+	/**
+	 * Test of event counting with a {@link ConcurrentCounterType}.
+	 */
+	@Test
+	public void testConcurrentEventCounter() {
+		Relatable o = new RelatedObject();
+
+		o.init(UPDATE_COUNTER);
+		o.set(NAME, "Test1");
+		assertEquals(0, UPDATE_COUNTER.getAsLong(o));
+		o.set(NAME, "Test2");
+		o.set(NAME, "Test3");
+		assertEquals(2, UPDATE_COUNTER.getAsLong(o));
+	}
+
 	/**
 	 * Test of an final integer counter.
 	 */
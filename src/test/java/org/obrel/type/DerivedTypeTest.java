@@ -0,0 +1,170 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.obrel.core.RelationTypes.newType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.DerivedRelation;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelatedObject;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypes;
+
+/**
+ * Test of {@link DerivedType}.
+ *
+ * @author eso
+ */
+public class DerivedTypeTest {
+	private static final AtomicInteger TOTAL_EVALUATIONS = new AtomicInteger();
+
+	private static final AtomicInteger LABEL_EVALUATIONS = new AtomicInteger();
+
+	private static final RelationType<Integer> PRICE = newType();
+
+	private static final RelationType<Integer> QUANTITY = newType();
+
+	private static final RelationType<String> CURRENCY = newType();
+
+	@SuppressWarnings("boxing")
+	private static final RelationType<Integer> TOTAL =
+		DerivedType.newDerivedType(PRICE, QUANTITY, (p, q) -> {
+			TOTAL_EVALUATIONS.incrementAndGet();
+
+			return p * q;
+		});
+
+	private static final RelationType<String> LABEL =
+		DerivedType.newDerivedType(TOTAL, CURRENCY, (t, c) -> {
+			LABEL_EVALUATIONS.incrementAndGet();
+
+			return t + " " + c;
+		});
+
+	static {
+		RelationTypes.init(DerivedTypeTest.class);
+	}
+
+	/**
+	 * Test of the memoization and lazy re-evaluation of derived values.
+	 */
+	@Test
+	@SuppressWarnings("boxing")
+	public void testMemoization() {
+		Relatable o = newOrder();
+
+		TOTAL_EVALUATIONS.set(0);
+		assertEquals(Integer.valueOf(20), o.get(TOTAL));
+		assertEquals(Integer.valueOf(20), o.get(TOTAL));
+		assertEquals(1, TOTAL_EVALUATIONS.get());
+		assertTrue(o.getRelation(TOTAL) instanceof DerivedRelation);
+
+		o.set(PRICE, 5);
+		o.set(QUANTITY, 3);
+		o.set(PRICE, 6);
+		assertFalse(((DerivedRelation<?>) o.getRelation(TOTAL)).isValid());
+		assertEquals(1, TOTAL_EVALUATIONS.get());
+		assertEquals(Integer.valueOf(18), o.get(TOTAL));
+		assertEquals(2, TOTAL_EVALUATIONS.get());
+
+		o.set(CURRENCY, "USD");
+		o.get(TOTAL);
+		assertEquals(2, TOTAL_EVALUATIONS.get());
+
+		o.set(TOTAL, 100);
+		assertEquals(Integer.valueOf(100), o.get(TOTAL));
+		o.deleteRelation(QUANTITY);
+		o.set(QUANTITY, 1);
+		assertEquals(Integer.valueOf(6), o.get(TOTAL));
+	}
+
+	/**
+	 * Test of the consistent propagation through multiple derived types.
+	 */
+	@Test
+	@SuppressWarnings("boxing")
+	public void testPropagation() {
+		Relatable o = newOrder();
+
+		assertTrue(((DerivedType<?>) LABEL).getDependencies().contains(PRICE));
+		assertEquals("20 EUR", o.get(LABEL));
+
+		TOTAL_EVALUATIONS.set(0);
+		LABEL_EVALUATIONS.set(0);
+
+		o.set(PRICE, 3);
+		o.set(QUANTITY, 5);
+		o.set(CURRENCY, "USD");
+
+		assertFalse(((DerivedRelation<?>) o.getRelation(TOTAL)).isValid());
+		assertFalse(((DerivedRelation<?>) o.getRelation(LABEL)).isValid());
+		assertEquals("15 USD", o.get(LABEL));
+		assertEquals(1, TOTAL_EVALUATIONS.get());
+		assertEquals(1, LABEL_EVALUATIONS.get());
+		assertEquals(Integer.valueOf(15), o.get(TOTAL));
+		assertEquals(1, TOTAL_EVALUATIONS.get());
+	}
+
+	/**
+	 * Test that listeners which query a derived value while being notified of
+	 * a dependency change don't memoize an outdated value.
+	 */
+	@Test
+	@SuppressWarnings("boxing")
+	public void testQueryInListener() {
+		Relatable o = newOrder();
+		List<Integer> totals = new ArrayList<>();
+
+		assertEquals(Integer.valueOf(20), o.get(TOTAL));
+		o
+			.get(ListenerTypes.RELATION_LISTENERS)
+			.add(e -> totals.add(o.get(TOTAL)));
+
+		o.set(PRICE, 5);
+		assertEquals(Arrays.asList(20), totals);
+		assertEquals(Integer.valueOf(10), o.get(TOTAL));
+
+		TOTAL_EVALUATIONS.set(0);
+		assertEquals(Integer.valueOf(10), o.get(TOTAL));
+		assertEquals(0, TOTAL_EVALUATIONS.get());
+	}
+
+	/**
+	 * Creates a new test object.
+	 *
+	 * @return The new object
+	 */
+	@SuppressWarnings("boxing")
+	private Relatable newOrder() {
+		Relatable o = new RelatedObject();
+
+		o.set(PRICE, 10);
+		o.set(QUANTITY, 2);
+		o.set(CURRENCY, "EUR");
+
+		return o;
+	}
+}
@@ -0,0 +1,136 @@
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+// This file is a part of the 'objectrelations' project.
+// Copyright 2026 Elmar Sonnenschein, esoco GmbH, Flensburg, Germany
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//	  http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+//++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++++
+package org.obrel.type;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+import org.obrel.core.Relatable;
+import org.obrel.core.RelatedObject;
+import org.obrel.core.RelationType;
+import org.obrel.core.RelationTypes;
+
+import de.esoco.lib.logging.LatencyHistogram;
+
+/**
+ * Test of {@link HistogramType} and high-resolution {@link TimerType}.
+ *
+ * @author eso
+ */
+public class HistogramTypeTest {
+	private static final RelationType<LatencyHistogram> LATENCY = HistogramType.newHistogram();
+
+	private static final TimerType LAP_TIMER = TimerType.newNanoTimer();
+
+	static {
+		RelationTypes.init(HistogramTypeTest.class);
+	}
+
+	/**
+	 * Test of recording values and querying percentiles.
+	 */
+	@Test
+	public void testPercentiles() {
+		Relatable o = new RelatedObject();
+		HistogramType type = (HistogramType) LATENCY;
+
+		for (int i = 1; i <= 1000; i++) {
+			type.record(o, i * 1000L);
+		}
+
+		LatencyHistogram histogram = o.get(LATENCY);
+
+		assertEquals(1000, histogram.getCount());
+		assertEquals(1000, histogram.getMinimum());
+		assertEquals(1_000_000, histogram.getMaximum());
+		assertEquals(500_500, histogram.getMean(), 0.1);
+		assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+		assertPercentile(1000, histogram.getValueAtPercentile(0));
+		assertPercentile(500_000, histogram.getValueAtPercentile(50));
+		assertPercentile(990_000, histogram.getValueAtPercentile(99));
+
+		histogram.reset();
+		assertEquals(0, histogram.getCount());
+		assertEquals(0, histogram.getValueAtPercentile(50));
+	}
+
+	/**
+	 * Test of exact recording of small values and the bucket precision.
+	 */
+	@Test
+	public void testPrecision() {
+		LatencyHistogram histogram = new LatencyHistogram(3);
+
+		for (int i = 0; i < 8; i++) {
+			histogram.record(i);
+		}
+
+		assertEquals(3, histogram.getValueAtPercentile(50));
+		assertEquals(7, histogram.getValueAtPercentile(100));
+
+		histogram.reset();
+
+		for (long value = 8; value < Long.MAX_VALUE / 4; value = value * 3 + 1) {
+			histogram.record(value);
+
+			long max = histogram.getValueAtPercentile(100);
+
+			assertEquals(value, max);
+			histogram.reset();
+			histogram.record(value);
+			histogram.record(value + 1);
+			assertTrue(histogram.getValueAtPercentile(50) - value <= value / 8);
+			histogram.reset();
+		}
+
+		histogram.record(Long.MAX_VALUE);
+		assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+	}
+
+	/**
+	 * Test of a nanosecond timer in combination with a histogram.
+	 */
+	@Test
+	@SuppressWarnings("boxing")
+	public void testNanoTimer() {
+		Relatable o = new RelatedObject();
+		HistogramType type = (HistogramType) LATENCY;
+
+		o.init(LAP_TIMER);
+
+		long elapsed = type.recordLap(o, LAP_TIMER);
+
+		assertTrue(elapsed >= 0);
+		assertTrue(o.get(LAP_TIMER) >= 0);
+		assertEquals(1, o.get(LATENCY).getCount());
+
+		type.measure(o, () -> o.set(StandardTypes.NAME, "TEST"));
+		assertEquals(2, o.get(LATENCY).getCount());
+	}
+
+	/**
+	 * Asserts that a percentile value is within the histogram precision.
+	 *
+	 * @param expected The expected value
+	 * @param actual   The actual value
+	 */
+	private void assertPercentile(long expected, long actual) {
+		assertTrue(Math.abs(actual - expected) <= expected / 16,
+				"Expected " + expected + " but was " + actual);
+	}
+}